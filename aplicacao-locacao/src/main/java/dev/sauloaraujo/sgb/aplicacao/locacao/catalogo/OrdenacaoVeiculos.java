@@ -0,0 +1,66 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.catalogo;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Ordenações estáveis aceitas na paginação por cursor de veículos disponíveis.
+ *
+ * <p>
+ * Toda ordenação termina na placa, que é única, de modo que o cursor (a chave
+ * do último item entregue) identifica sem ambiguidade onde a próxima página
+ * começa.
+ * </p>
+ */
+public enum OrdenacaoVeiculos {
+    PLACA(Comparator.comparing(VeiculoResumo::placa)),
+    DIARIA(Comparator.comparing(VeiculoResumo::diaria).thenComparing(VeiculoResumo::placa));
+
+    private static final String SEPARADOR = "|";
+
+    private final Comparator<VeiculoResumo> comparador;
+
+    OrdenacaoVeiculos(Comparator<VeiculoResumo> comparador) {
+        this.comparador = comparador;
+    }
+
+    public Comparator<VeiculoResumo> comparador() {
+        return comparador;
+    }
+
+    /**
+     * Codifica a chave do veículo como cursor opaco para a próxima página.
+     */
+    public String cursor(VeiculoResumo veiculo) {
+        var chave = this == DIARIA
+                ? veiculo.diaria().toPlainString() + SEPARADOR + veiculo.placa()
+                : veiculo.placa();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((name() + SEPARADOR + chave).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor desta ordenação num veículo que contém apenas os
+     * campos da chave, comparável com {@link #comparador()}.
+     */
+    public VeiculoResumo chave(String cursor) {
+        var prefixo = name() + SEPARADOR;
+        try {
+            var conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!conteudo.startsWith(prefixo)) {
+                throw new IllegalArgumentException("Cursor de outra ordenação");
+            }
+            var chave = conteudo.substring(prefixo.length());
+            if (this == PLACA) {
+                return new VeiculoResumo(chave, null, null, null, null, null);
+            }
+            var posicao = chave.indexOf(SEPARADOR);
+            return new VeiculoResumo(chave.substring(posicao + 1), null, null, null,
+                    new BigDecimal(chave.substring(0, posicao)), null);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido para a ordenação " + name());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.catalogo;
+
+import java.util.List;
+
+/**
+ * Página de veículos disponíveis; {@code proximoCursor} é nulo na última página.
+ */
+public record PaginaVeiculos(
+        List<VeiculoResumo> itens,
+        String proximoCursor
+) {}
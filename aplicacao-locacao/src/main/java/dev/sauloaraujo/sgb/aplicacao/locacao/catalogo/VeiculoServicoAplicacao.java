@@ -3,9 +3,12 @@ package dev.sauloaraujo.sgb.aplicacao.locacao.catalogo;
 import static org.apache.commons.lang3.Validate.notNull;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +19,7 @@ import dev.sauloaraujo.sgb.dominio.locacao.catalogo.ConsultaDisponibilidade;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoDisponivel;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
 
 /**
@@ -114,6 +118,98 @@ public class VeiculoServicoAplicacao {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca uma página de veículos disponíveis por cursor (keyset).
+     *
+     * <p>
+     * Os itens seguem a ordenação estável informada e começam logo após o
+     * cursor. Sem {@code limite}, a página tem {@link PedidoPagina#LIMITE_PADRAO}
+     * veículos, e nunca mais de {@link PedidoPagina#LIMITE_MAXIMO}. A ordem e a
+     * chave do cursor vão na consulta, que devolve só os primeiros
+     * {@code limite + 1} veículos; com período, os locados nele são retirados e
+     * a consulta continua da última chave lida até completar a página.
+     * Categoria e período são opcionais, como nas consultas sem paginação.
+     * </p>
+     */
+    @Transactional(readOnly = true)
+    public PaginaVeiculos buscarDisponiveis(
+            String cidade,
+            CategoriaCodigo categoria,
+            LocalDateTime dataRetirada,
+            LocalDateTime dataDevolucao,
+            OrdenacaoVeiculos ordenacao,
+            String cursor,
+            Integer limite) {
+
+        notNull(ordenacao, "A ordenação é obrigatória");
+        var pedido = PedidoPagina.de(cursor, limite);
+        var chave = pedido.primeiraPagina() ? null : ordenacao.chave(pedido.cursor());
+        var locadas = placasLocadas(cidade, categoria, dataRetirada, dataDevolucao);
+
+        var itens = new ArrayList<VeiculoResumo>(pedido.limite() + 1);
+        List<Veiculo> lote;
+        do {
+            lote = buscarApos(ordenacao, cidade, categoria, chave, pedido.limite() + 1);
+            for (var veiculo : lote) {
+                chave = toResumo(veiculo);
+                if (itens.size() <= pedido.limite() && !locadas.contains(veiculo.getPlaca())) {
+                    itens.add(chave);
+                }
+            }
+        } while (itens.size() <= pedido.limite() && lote.size() > pedido.limite());
+
+        if (itens.size() <= pedido.limite()) {
+            return new PaginaVeiculos(itens, null);
+        }
+        itens.remove(itens.size() - 1);
+        return new PaginaVeiculos(itens, ordenacao.cursor(itens.get(itens.size() - 1)));
+    }
+
+    /**
+     * Percorre os veículos disponíveis em ordem de placa, lidos do banco à
+     * medida que o fluxo é consumido. Categoria e período são opcionais. O
+     * fluxo segura uma conexão até ser fechado; use-o em um try-with-resources.
+     */
+    public Stream<VeiculoResumo> percorrerDisponiveis(
+            String cidade,
+            CategoriaCodigo categoria,
+            LocalDateTime dataRetirada,
+            LocalDateTime dataDevolucao) {
+        var locadas = placasLocadas(cidade, categoria, dataRetirada, dataDevolucao);
+        return veiculoRepositorio.percorrerDisponiveis(cidade, categoria)
+                .filter(veiculo -> !locadas.contains(veiculo.getPlaca()))
+                .map(this::toResumo);
+    }
+
+    private List<Veiculo> buscarApos(
+            OrdenacaoVeiculos ordenacao,
+            String cidade,
+            CategoriaCodigo categoria,
+            VeiculoResumo chave,
+            int limite) {
+        var placa = chave == null ? null : chave.placa();
+        if (ordenacao == OrdenacaoVeiculos.DIARIA) {
+            return veiculoRepositorio.buscarDisponiveisPorDiaria(cidade, categoria,
+                    chave == null ? null : chave.diaria(), placa, limite);
+        }
+        return veiculoRepositorio.buscarDisponiveisPorPlaca(cidade, categoria, placa, limite);
+    }
+
+    private Set<String> placasLocadas(
+            String cidade,
+            CategoriaCodigo categoria,
+            LocalDateTime dataRetirada,
+            LocalDateTime dataDevolucao) {
+        if (dataRetirada == null || dataDevolucao == null) {
+            return Set.of();
+        }
+        return catalogoVeiculosServico.listarPlacasLocadas(ConsultaDisponibilidade.builder()
+                .cidade(cidade)
+                .periodo(new PeriodoLocacao(dataRetirada, dataDevolucao))
+                .categoria(categoria)
+                .construir());
+    }
+
     private VeiculoResumo toResumo(Veiculo veiculo) {
         return new VeiculoResumo(
                 veiculo.getPlaca(),
@@ -126,18 +222,13 @@ public class VeiculoServicoAplicacao {
     }
 
     private VeiculoResumo toResumo(VeiculoDisponivel veiculoDisponivel) {
-        // Buscar veículo completo para obter cidade e status
-        var veiculo = veiculoRepositorio.buscarPorPlaca(veiculoDisponivel.placa())
-                .orElseThrow(() -> new IllegalStateException("Veículo não encontrado: " + veiculoDisponivel.placa()));
-        
         return new VeiculoResumo(
                 veiculoDisponivel.placa(),
                 veiculoDisponivel.modelo(),
                 veiculoDisponivel.categoria().name(),
-                veiculo.getCidade(),
+                veiculoDisponivel.cidade(),
                 veiculoDisponivel.diaria(),
-                veiculo.getStatus().name()
+                veiculoDisponivel.status().name()
         );
     }
 }
-
@@ -1,23 +1,37 @@
 package dev.sauloaraujo.sgb.aplicacao.locacao.config;
 
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculoListrado;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CatalogoVeiculosServico;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.IndiceFrota;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.manutencao.ManutencaoServico;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.DevolucaoServico;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaServico;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.AgendaExpiracaoReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceDisponibilidadeVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceOcupacaoCategoria;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaCancelamentoServico;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaExpiracaoServico;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaReplanejamentoServico;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaServico;
 
 @Configuration
 public class DominioConfig {
+    private static final int FAIXAS_BLOQUEIO_VEICULO = 256;
+    private static final Duration ESPERA_BLOQUEIO_VEICULO = Duration.ofSeconds(5);
 
     @Bean
     public DevolucaoServico devolucaoServico(
@@ -31,22 +45,51 @@ public class DominioConfig {
         return new ManutencaoServico(veiculoRepositorio);
     }
 
+    @Bean
+    public IndiceDisponibilidadeVeiculo indiceDisponibilidadeVeiculo() {
+        return new IndiceDisponibilidadeVeiculo();
+    }
+
+    @Bean
+    public IndiceOcupacaoCategoria indiceOcupacaoCategoria() {
+        return new IndiceOcupacaoCategoria();
+    }
+
+    @Bean
+    public IndiceFrota indiceFrota() {
+        return new IndiceFrota();
+    }
+
+    @Bean
+    public AgendaExpiracaoReserva agendaExpiracaoReserva(
+            @Value("${sgb.reservas.expiracao.carencia:2h}") Duration carencia) {
+        return new AgendaExpiracaoReserva(carencia, Clock.systemDefaultZone());
+    }
+
+    @Bean
+    public BloqueioVeiculoListrado bloqueioVeiculoListrado() {
+        return new BloqueioVeiculoListrado(FAIXAS_BLOQUEIO_VEICULO, ESPERA_BLOQUEIO_VEICULO);
+    }
+
     @Bean
     public ReservaServico reservaServico(
             ReservaRepositorio reservaRepositorio,
             CategoriaRepositorio categoriaRepositorio,
             ClienteRepositorio clienteRepositorio,
             LocacaoRepositorio locacaoRepositorio,
-            VeiculoRepositorio veiculoRepositorio) {
-        return new ReservaServico(reservaRepositorio, categoriaRepositorio, clienteRepositorio, locacaoRepositorio, veiculoRepositorio);
+            VeiculoRepositorio veiculoRepositorio,
+            IndiceDisponibilidadeVeiculo indiceDisponibilidadeVeiculo,
+            IndiceOcupacaoCategoria indiceOcupacaoCategoria,
+            BloqueioVeiculo bloqueioVeiculo) {
+        return new ReservaServico(reservaRepositorio, categoriaRepositorio, clienteRepositorio, locacaoRepositorio,
+                veiculoRepositorio, indiceDisponibilidadeVeiculo, indiceOcupacaoCategoria, bloqueioVeiculo);
     }
 
     @Bean
     public RetiradaServico retiradaServico(
-            ReservaRepositorio reservaRepositorio,
-            VeiculoRepositorio veiculoRepositorio,
-            LocacaoRepositorio locacaoRepositorio) {
-        return new RetiradaServico(reservaRepositorio, veiculoRepositorio, locacaoRepositorio);
+            RetiradaRepositorio retiradaRepositorio,
+            BloqueioVeiculo bloqueioVeiculo) {
+        return new RetiradaServico(retiradaRepositorio, bloqueioVeiculo);
     }
 
     @Bean
@@ -54,19 +97,29 @@ public class DominioConfig {
         return new ReservaCancelamentoServico(reservaRepositorio);
     }
 
+    @Bean
+    public ReservaExpiracaoServico reservaExpiracaoServico(
+            ReservaRepositorio reservaRepositorio,
+            AgendaExpiracaoReserva agendaExpiracaoReserva) {
+        return new ReservaExpiracaoServico(reservaRepositorio, agendaExpiracaoReserva);
+    }
+
     @Bean
     public ReservaReplanejamentoServico reservaReplanejamentoServico(
             ReservaRepositorio reservaRepositorio,
             CategoriaRepositorio categoriaRepositorio,
-            LocacaoRepositorio locacaoRepositorio) {
-        return new ReservaReplanejamentoServico(reservaRepositorio, categoriaRepositorio, locacaoRepositorio);
+            LocacaoRepositorio locacaoRepositorio,
+            IndiceOcupacaoCategoria indiceOcupacaoCategoria) {
+        return new ReservaReplanejamentoServico(reservaRepositorio, categoriaRepositorio, locacaoRepositorio,
+                indiceOcupacaoCategoria);
     }
 
     @Bean
     public CatalogoVeiculosServico catalogoVeiculosServico(
             CategoriaRepositorio categoriaRepositorio,
             VeiculoRepositorio veiculoRepositorio,
-            LocacaoRepositorio locacaoRepositorio) {
-        return new CatalogoVeiculosServico(categoriaRepositorio, veiculoRepositorio, locacaoRepositorio);
+            LocacaoRepositorio locacaoRepositorio,
+            IndiceFrota indiceFrota) {
+        return new CatalogoVeiculosServico(categoriaRepositorio, veiculoRepositorio, locacaoRepositorio, indiceFrota);
     }
 }
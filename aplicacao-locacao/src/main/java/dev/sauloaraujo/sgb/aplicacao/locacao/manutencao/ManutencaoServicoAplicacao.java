@@ -10,6 +10,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.manutencao.ManutencaoServico;
@@ -20,26 +21,33 @@ public class ManutencaoServicoAplicacao {
     private final ManutencaoServico manutencaoServico;
     private final ApplicationEventPublisher eventPublisher;
     private final VeiculoRepositorio veiculoRepositorio;
+    private final RetentativaOtimista retentativa;
 
     public ManutencaoServicoAplicacao(ManutencaoServico manutencaoServico,
                                       ApplicationEventPublisher eventPublisher,
-                                      VeiculoRepositorio veiculoRepositorio) {
+                                      VeiculoRepositorio veiculoRepositorio,
+                                      RetentativaOtimista retentativa) {
         this.manutencaoServico = Objects.requireNonNull(manutencaoServico,
                 "Serviço de manutenção de domínio é obrigatório");
         this.eventPublisher = Objects.requireNonNull(eventPublisher,
                 "Publicador de eventos da aplicação é obrigatório");
         this.veiculoRepositorio = notNull(veiculoRepositorio,
                 "Repositório de veículos é obrigatório");
+        this.retentativa = notNull(retentativa,
+                "Política de nova tentativa é obrigatória");
     }
 
-    @Transactional
+    /**
+     * Agenda a manutenção, repetindo a transação em caso de conflito de versão.
+     * O evento só é publicado depois que a gravação foi confirmada.
+     */
     public void agendar(AgendarManutencaoCmd comando) {
         Objects.requireNonNull(comando, "Comando de agendamento é obrigatório");
 
-        var evento = manutencaoServico.agendar(
+        var evento = retentativa.executar(() -> manutencaoServico.agendar(
                 comando.placa(),
                 comando.previsaoTermino(),
-                comando.motivo());
+                comando.motivo()));
 
         eventPublisher.publishEvent(evento);
     }
@@ -0,0 +1,181 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.operacao;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.noNullElements;
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.DevolucaoServico;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ProcessarDevolucaoCommand;
+
+/**
+ * Processa devoluções em lote, como as do fechamento de turno.
+ *
+ * <p>
+ * As devoluções são agrupadas por locação, e cada locação ativa ocupa um
+ * veículo diferente, então grupos distintos não disputam as mesmas linhas. Os
+ * grupos são reunidos em fatias de até {@code tamanhoFatia} devoluções, e as
+ * fatias rodam em paralelo num pool limitado: a fila de espera tem tamanho
+ * fixo e, cheia, a própria thread da requisição executa a fatia.
+ * </p>
+ *
+ * <p>
+ * Cada fatia é uma transação: as locações vêm em uma consulta e as gravações
+ * saem no flush do commit. Uma devolução recusada pelo domínio vira erro do
+ * item, sem gravar nada dele, e as demais seguem. Se a transação da fatia
+ * falha ao gravar (conflito de versão, restrição do banco), ela é desfeita e
+ * as devoluções da fatia são refeitas uma a uma, cada uma na sua transação e
+ * com nova tentativa em conflito, para que um item ruim não desfaça os outros.
+ * </p>
+ *
+ * <p>
+ * As fatias passam pelo {@link TaskDecorator} antes de ir ao pool, para levar
+ * às threads do pool o contexto da thread da requisição, como a medição dos
+ * comandos SQL.
+ * </p>
+ */
+@Service
+public class DevolucaoLoteServicoAplicacao implements AutoCloseable {
+
+    private final DevolucaoServico devolucaoServico;
+    private final RetentativaOtimista retentativa;
+    private final TransactionTemplate transacao;
+    private final TaskDecorator decorador;
+    private final int tamanhoFatia;
+    private final int maximoItens;
+    private final ThreadPoolExecutor executor;
+
+    public DevolucaoLoteServicoAplicacao(
+            DevolucaoServico devolucaoServico,
+            RetentativaOtimista retentativa,
+            PlatformTransactionManager gerenciadorTransacao,
+            TaskDecorator decorador,
+            @Value("${sgb.devolucoes.lote.paralelismo:4}") int paralelismo,
+            @Value("${sgb.devolucoes.lote.tamanho-fatia:20}") int tamanhoFatia,
+            @Value("${sgb.devolucoes.lote.maximo-itens:500}") int maximoItens) {
+        this.devolucaoServico = notNull(devolucaoServico, "Serviço de devolução não pode ser nulo");
+        this.retentativa = notNull(retentativa, "Política de nova tentativa não pode ser nula");
+        this.transacao = new TransactionTemplate(
+                notNull(gerenciadorTransacao, "Gerenciador de transações não pode ser nulo"));
+        this.decorador = notNull(decorador, "Decorador de tarefas não pode ser nulo");
+        isTrue(paralelismo > 0 && tamanhoFatia > 0 && maximoItens > 0,
+                "Paralelismo, tamanho da fatia e máximo de itens devem ser maiores que zero");
+        this.tamanhoFatia = tamanhoFatia;
+        this.maximoItens = maximoItens;
+
+        var sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(paralelismo, paralelismo, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(paralelismo * 4), tarefa -> {
+                    var thread = new Thread(tarefa, "sgb-devolucoes-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Processa as devoluções e retorna um resultado por comando, na ordem
+     * recebida. Devoluções da mesma locação são feitas na ordem em que vieram.
+     */
+    public List<ResultadoDevolucao> processarDevolucoes(List<ProcessarDevolucaoCommand> comandos) {
+        notNull(comandos, "Comandos de devolução não podem ser nulos");
+        noNullElements(comandos, "Comando de devolução não pode ser nulo");
+        if (comandos.size() > maximoItens) {
+            throw new IllegalArgumentException(
+                    "Um lote aceita no máximo " + maximoItens + " devoluções; recebidas " + comandos.size());
+        }
+
+        var resultados = new ResultadoDevolucao[comandos.size()];
+        var tarefas = new ArrayList<CompletableFuture<Void>>();
+        for (var fatia : fatiar(comandos)) {
+            tarefas.add(CompletableFuture.runAsync(
+                    decorador.decorate(() -> processarFatia(comandos, fatia, resultados)), executor));
+        }
+        CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).join();
+        return List.of(resultados);
+    }
+
+    /**
+     * Reúne os índices dos comandos de cada locação e junta grupos inteiros em
+     * fatias de até {@code tamanhoFatia} comandos.
+     */
+    private List<List<Integer>> fatiar(List<ProcessarDevolucaoCommand> comandos) {
+        var grupos = new LinkedHashMap<String, List<Integer>>();
+        for (int i = 0; i < comandos.size(); i++) {
+            grupos.computeIfAbsent(comandos.get(i).getCodigoLocacao(), codigo -> new ArrayList<>()).add(i);
+        }
+
+        var fatias = new ArrayList<List<Integer>>();
+        var atual = new ArrayList<Integer>();
+        for (var grupo : grupos.values()) {
+            if (!atual.isEmpty() && atual.size() + grupo.size() > tamanhoFatia) {
+                fatias.add(atual);
+                atual = new ArrayList<>();
+            }
+            atual.addAll(grupo);
+        }
+        if (!atual.isEmpty()) {
+            fatias.add(atual);
+        }
+        return fatias;
+    }
+
+    private void processarFatia(List<ProcessarDevolucaoCommand> comandos, List<Integer> fatia,
+            ResultadoDevolucao[] resultados) {
+        try {
+            var daFatia = transacao.execute(status -> {
+                var codigos = fatia.stream().map(i -> comandos.get(i).getCodigoLocacao()).toList();
+                var carregadas = devolucaoServico.carregar(codigos);
+                var parciais = new ArrayList<ResultadoDevolucao>(fatia.size());
+                for (var indice : fatia) {
+                    var comando = comandos.get(indice);
+                    try {
+                        parciais.add(ResultadoDevolucao.sucesso(comando.getCodigoLocacao(),
+                                devolucaoServico.processar(comando, carregadas)));
+                    } catch (DataAccessException e) {
+                        throw e;
+                    } catch (RuntimeException e) {
+                        parciais.add(ResultadoDevolucao.falha(comando.getCodigoLocacao(), e.getMessage()));
+                    }
+                }
+                return parciais;
+            });
+            for (int i = 0; i < fatia.size(); i++) {
+                resultados[fatia.get(i)] = daFatia.get(i);
+            }
+        } catch (RuntimeException e) {
+            for (var indice : fatia) {
+                resultados[indice] = processarSozinha(comandos.get(indice));
+            }
+        }
+    }
+
+    private ResultadoDevolucao processarSozinha(ProcessarDevolucaoCommand comando) {
+        try {
+            return ResultadoDevolucao.sucesso(comando.getCodigoLocacao(),
+                    retentativa.executar(() -> devolucaoServico.processar(comando)));
+        } catch (RuntimeException e) {
+            return ResultadoDevolucao.falha(comando.getCodigoLocacao(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -3,6 +3,9 @@ package dev.sauloaraujo.sgb.aplicacao.locacao.operacao;
 import java.util.List;
 import java.util.Optional;
 
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+
 /**
  * Interface do Repositório de Aplicação para Locação.
  * Define os métodos de consulta necessários para a camada de aplicação.
@@ -15,6 +18,12 @@ public interface LocacaoRepositorioAplicacao {
 	List<LocacaoResumo> listarAtivas();
 	
 	List<LocacaoResumo> listarEmAndamento();
+
+	/**
+	 * Locações em andamento em ordem de código, paginadas por chave; o cursor é
+	 * o código da última locação entregue.
+	 */
+	Pagina<LocacaoResumo> listarEmAndamento(PedidoPagina pedido);
 	
 	List<LocacaoResumo> listarPorCliente(String cpfOuCnpj);
 }
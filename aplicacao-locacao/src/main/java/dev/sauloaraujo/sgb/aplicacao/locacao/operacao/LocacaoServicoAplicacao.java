@@ -6,24 +6,29 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.DevolucaoServico;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.Faturamento;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.ProcessarDevolucaoCommand;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
 
 @Service
 public class LocacaoServicoAplicacao {
     
     private final LocacaoRepositorioAplicacao repositorioLeitura;
     private final DevolucaoServico devolucaoServico; // Serviço de Domínio
+    private final RetentativaOtimista retentativa;
 
     // Injeção via construtor
     public LocacaoServicoAplicacao(
             LocacaoRepositorioAplicacao repositorioLeitura,
-            DevolucaoServico devolucaoServico) {
+            DevolucaoServico devolucaoServico,
+            RetentativaOtimista retentativa) {
         this.repositorioLeitura = notNull(repositorioLeitura, "Repositório de leitura não pode ser nulo");
         this.devolucaoServico = notNull(devolucaoServico, "Serviço de devolução não pode ser nulo");
+        this.retentativa = notNull(retentativa, "Política de nova tentativa não pode ser nula");
     }
 
     public List<LocacaoResumo> pesquisarResumos() {
@@ -41,6 +46,11 @@ public class LocacaoServicoAplicacao {
     public List<LocacaoResumo> listarEmAndamento() {
         return repositorioLeitura.listarEmAndamento();
     }
+
+    public Pagina<LocacaoResumo> listarEmAndamento(PedidoPagina pedido) {
+        notNull(pedido, "Pedido de página não pode ser nulo");
+        return repositorioLeitura.listarEmAndamento(pedido);
+    }
     
     public List<LocacaoResumo> listarPorCliente(String cpfOuCnpj) {
         return repositorioLeitura.listarPorCliente(cpfOuCnpj);
@@ -50,10 +60,10 @@ public class LocacaoServicoAplicacao {
      * Processa a devolução de uma locação.
      * Delega a regra de negócio para o domínio e garante a transação.
      */
-    @Transactional
     public Faturamento processarDevolucao(ProcessarDevolucaoCommand comando) {
         // O serviço de domínio (DevolucaoServico) executa a lógica e salva as entidades.
-        // O @Transactional aqui garante que, se algo falhar, nada é salvo.
-        return devolucaoServico.processar(comando);
+        // A transação garante que, se algo falhar, nada é salvo; em conflito de versão,
+        // a devolução é refeita sobre o estado atual.
+        return retentativa.executar(() -> devolucaoServico.processar(comando));
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.operacao;
+
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Faturamento;
+
+/**
+ * Resultado de uma devolução de um lote: o faturamento, se a devolução foi
+ * gravada, ou a mensagem do erro que a impediu.
+ */
+public record ResultadoDevolucao(String codigoLocacao, Faturamento faturamento, String erro) {
+
+    public static ResultadoDevolucao sucesso(String codigoLocacao, Faturamento faturamento) {
+        return new ResultadoDevolucao(codigoLocacao, faturamento, null);
+    }
+
+    public static ResultadoDevolucao falha(String codigoLocacao, String erro) {
+        return new ResultadoDevolucao(codigoLocacao, null, erro);
+    }
+
+    public boolean isSucesso() {
+        return faturamento != null;
+    }
+}
@@ -0,0 +1,131 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.reserva;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.AgendaExpiracaoReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaExpiracaoServico;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+
+/**
+ * Expira as reservas ativas não retiradas até a data de retirada mais a
+ * carência.
+ *
+ * <p>
+ * Ao iniciar, a {@link AgendaExpiracaoReserva} é carregada com as reservas
+ * ativas do banco; dali em diante os repositórios a mantêm a cada gravação, sem
+ * varreduras periódicas. Uma thread espera o próximo prazo vencer e expira as
+ * reservas vencidas em lotes de até {@code tamanhoLote}, cada lote em uma
+ * transação com uma leitura e uma gravação. Um lote que falha volta para a
+ * agenda e é tentado de novo mais tarde.
+ * </p>
+ */
+@Service
+public class ExpiracaoReservaServicoAplicacao implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ExpiracaoReservaServicoAplicacao.class.getName());
+    private static final Duration ESPERA_APOS_FALHA = Duration.ofMinutes(1);
+
+    private final ReservaExpiracaoServico expiracaoServico;
+    private final AgendaExpiracaoReserva agenda;
+    private final ReservaRepositorio reservaRepositorio;
+    private final RetentativaOtimista retentativa;
+    private final int tamanhoLote;
+    private final boolean habilitada;
+    private Thread executor;
+
+    public ExpiracaoReservaServicoAplicacao(
+            ReservaExpiracaoServico expiracaoServico,
+            AgendaExpiracaoReserva agenda,
+            ReservaRepositorio reservaRepositorio,
+            RetentativaOtimista retentativa,
+            @Value("${sgb.reservas.expiracao.tamanho-lote:100}") int tamanhoLote,
+            @Value("${sgb.reservas.expiracao.habilitada:true}") boolean habilitada) {
+        this.expiracaoServico = notNull(expiracaoServico, "Serviço de expiração de reservas é obrigatório");
+        this.agenda = notNull(agenda, "Agenda de expiração é obrigatória");
+        this.reservaRepositorio = notNull(reservaRepositorio, "Repositório de reservas é obrigatório");
+        this.retentativa = notNull(retentativa, "Política de nova tentativa é obrigatória");
+        isTrue(tamanhoLote > 0, "O tamanho do lote deve ser maior que zero");
+        this.tamanhoLote = tamanhoLote;
+        this.habilitada = habilitada;
+    }
+
+    /**
+     * Carrega a agenda e inicia a expiração automática, se habilitada.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void iniciar() {
+        if (!habilitada || executor != null) {
+            return;
+        }
+        reconstruir();
+        executor = new Thread(this::executar, "sgb-expiracao-reservas");
+        executor.setDaemon(true);
+        executor.start();
+    }
+
+    /**
+     * Recarrega a agenda com as reservas ativas gravadas no banco.
+     */
+    public void reconstruir() {
+        try (var ativas = reservaRepositorio.percorrerAtivas()) {
+            agenda.carregar(ativas);
+        }
+    }
+
+    /**
+     * Expira agora, em lotes, as reservas cujo prazo já venceu, sem esperar a
+     * thread de expiração.
+     *
+     * @return quantidade de reservas expiradas
+     */
+    public int expirarVencidas() {
+        var expiradas = 0;
+        for (var lote = agenda.vencidas(tamanhoLote); !lote.isEmpty(); lote = agenda.vencidas(tamanhoLote)) {
+            expiradas += expirar(lote);
+        }
+        return expiradas;
+    }
+
+    private void executar() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                expirar(agenda.aguardarVencidas(tamanhoLote));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int expirar(List<String> codigos) {
+        try {
+            return retentativa.executar(() -> expiracaoServico.expirar(codigos, LocalDateTime.now())).size();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, String.format(
+                    "Falha ao expirar um lote de %d reservas; nova tentativa em %s", codigos.size(),
+                    ESPERA_APOS_FALHA), e);
+            agenda.adiar(codigos, LocalDateTime.now().plus(ESPERA_APOS_FALHA));
+            return 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.interrupt();
+            executor = null;
+        }
+    }
+}
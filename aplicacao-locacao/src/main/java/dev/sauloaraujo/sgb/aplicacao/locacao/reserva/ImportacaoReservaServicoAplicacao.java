@@ -0,0 +1,200 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.reserva;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.PedidoReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaServico;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ResultadoPedidoReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+
+/**
+ * Importação em massa de reservas, como as planilhas de contas corporativas e
+ * de frotas.
+ *
+ * <p>
+ * As linhas são consumidas à medida que chegam, em fatias de até
+ * {@code tamanhoFatia} reservas e {@code maximoVeiculosFatia} veículos
+ * distintos: os veículos de uma fatia ficam bloqueados até o commit, e poucos
+ * veículos por fatia deixam livres as reservas e retiradas avulsas. Cada fatia é uma transação do
+ * {@link ReservaServico#importar(List)}: uma leitura de categorias, veículos e
+ * clientes, a validação de todas as reservas contra os mesmos índices de
+ * ocupação, com os conflitos dentro do próprio arquivo resolvidos na ordem das
+ * linhas, e as inserções em lotes JDBC num único flush. As fatias seguem em
+ * ordem, e cada uma vê as reservas aceitas nas anteriores.
+ * </p>
+ *
+ * <p>
+ * Linhas malformadas ou recusadas pelo domínio são informadas e as demais
+ * seguem. Se a gravação de uma fatia falhar, por exemplo porque outra operação
+ * reservou o mesmo veículo ao mesmo tempo, as reservas da fatia são refeitas
+ * uma a uma, cada uma na sua transação.
+ * </p>
+ */
+@Service
+public class ImportacaoReservaServicoAplicacao {
+
+    private final ReservaServico reservaServico;
+    private final RetentativaOtimista retentativa;
+    private final int tamanhoFatia;
+    private final int maximoVeiculosFatia;
+
+    public ImportacaoReservaServicoAplicacao(
+            ReservaServico reservaServico,
+            RetentativaOtimista retentativa,
+            @Value("${sgb.reservas.importacao.tamanho-fatia:200}") int tamanhoFatia,
+            @Value("${sgb.reservas.importacao.maximo-veiculos-fatia:16}") int maximoVeiculosFatia) {
+        this.reservaServico = notNull(reservaServico, "Serviço de reserva de domínio é obrigatório");
+        this.retentativa = notNull(retentativa, "Política de nova tentativa é obrigatória");
+        isTrue(tamanhoFatia > 0, "O tamanho da fatia deve ser maior que zero");
+        isTrue(maximoVeiculosFatia > 0, "O máximo de veículos por fatia deve ser maior que zero");
+        this.tamanhoFatia = tamanhoFatia;
+        this.maximoVeiculosFatia = maximoVeiculosFatia;
+    }
+
+    /**
+     * Importa as reservas e retorna um resultado por linha, na ordem lida.
+     */
+    public List<ResultadoImportacaoReserva> importar(Iterator<LinhaImportacaoReserva> linhas) {
+        notNull(linhas, "Linhas da importação são obrigatórias");
+
+        var resultados = new ArrayList<ResultadoImportacaoReserva>();
+        var fatia = new ArrayList<LinhaImportacaoReserva>(tamanhoFatia);
+        var veiculos = new HashSet<String>();
+        while (linhas.hasNext()) {
+            var linha = linhas.next();
+            if (!cabeNaFatia(linha, veiculos)) {
+                importarFatia(fatia, resultados);
+                fatia.clear();
+                veiculos.clear();
+                cabeNaFatia(linha, veiculos);
+            }
+            fatia.add(linha);
+            if (fatia.size() == tamanhoFatia) {
+                importarFatia(fatia, resultados);
+                fatia.clear();
+                veiculos.clear();
+            }
+        }
+        if (!fatia.isEmpty()) {
+            importarFatia(fatia, resultados);
+        }
+        return resultados;
+    }
+
+    /**
+     * Conta o veículo da linha na fatia, se ainda couber nela.
+     */
+    private boolean cabeNaFatia(LinhaImportacaoReserva linha, Set<String> veiculos) {
+        if (linha == null || linha.placaVeiculo() == null || linha.placaVeiculo().isBlank()) {
+            return true;
+        }
+        var placa = linha.placaVeiculo().trim();
+        if (veiculos.contains(placa) || veiculos.size() < maximoVeiculosFatia) {
+            veiculos.add(placa);
+            return true;
+        }
+        return false;
+    }
+
+    private void importarFatia(List<LinhaImportacaoReserva> fatia, List<ResultadoImportacaoReserva> resultados) {
+        var primeiraLinha = resultados.size() + 1;
+        var daFatia = new ResultadoImportacaoReserva[fatia.size()];
+        var pedidos = new ArrayList<PedidoReserva>(fatia.size());
+        var posicoes = new ArrayList<Integer>(fatia.size());
+        for (int i = 0; i < fatia.size(); i++) {
+            try {
+                pedidos.add(paraPedido(fatia.get(i)));
+                posicoes.add(i);
+            } catch (IllegalArgumentException e) {
+                daFatia[i] = ResultadoImportacaoReserva.recusada(primeiraLinha + i, e.getMessage());
+            }
+        }
+
+        List<ResultadoPedidoReserva> importados;
+        try {
+            importados = retentativa.executar(() -> reservaServico.importar(pedidos));
+        } catch (RuntimeException e) {
+            importados = pedidos.stream().map(this::importarSozinho).toList();
+        }
+        for (int i = 0; i < posicoes.size(); i++) {
+            var posicao = posicoes.get(i);
+            daFatia[posicao] = paraResultado(primeiraLinha + posicao, importados.get(i));
+        }
+        resultados.addAll(List.of(daFatia));
+    }
+
+    private ResultadoPedidoReserva importarSozinho(PedidoReserva pedido) {
+        try {
+            return retentativa.executar(() -> reservaServico.importar(List.of(pedido))).get(0);
+        } catch (RuntimeException e) {
+            return ResultadoPedidoReserva.recusado(e.getMessage());
+        }
+    }
+
+    private static ResultadoImportacaoReserva paraResultado(int linha, ResultadoPedidoReserva resultado) {
+        if (!resultado.isAceito()) {
+            return ResultadoImportacaoReserva.recusada(linha, resultado.erro());
+        }
+        var reserva = resultado.reserva();
+        return ResultadoImportacaoReserva.aceita(linha, reserva.getCodigo(), reserva.getValorEstimado());
+    }
+
+    private static PedidoReserva paraPedido(LinhaImportacaoReserva linha) {
+        isTrue(linha != null, "Linha vazia");
+        var periodo = new PeriodoLocacao(data(linha.dataRetirada(), "retirada"),
+                data(linha.dataDevolucao(), "devolução"));
+        return new PedidoReserva(gerarCodigoReserva(), categoria(linha.categoria()),
+                obrigatorio(linha.cidadeRetirada(), "A cidade de retirada é obrigatória"), periodo,
+                obrigatorio(linha.documentoCliente(), "O documento do cliente é obrigatório"),
+                obrigatorio(linha.placaVeiculo(), "A placa do veículo é obrigatória"));
+    }
+
+    private static CategoriaCodigo categoria(String categoria) {
+        var codigo = obrigatorio(categoria, "A categoria é obrigatória");
+        try {
+            return CategoriaCodigo.valueOf(codigo.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Categoria inválida: " + codigo);
+        }
+    }
+
+    private static LocalDateTime data(String data, String descricao) {
+        var valor = obrigatorio(data, "A data de " + descricao + " é obrigatória");
+        try {
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                    "Data de " + descricao + " inválida: " + valor + ". Use ISO 8601 (ex: 2026-05-09T06:49:00)");
+        }
+    }
+
+    private static String obrigatorio(String valor, String mensagem) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException(mensagem);
+        }
+        return valor.trim();
+    }
+
+    /**
+     * Gera um código único para a reserva, no mesmo formato da criação avulsa.
+     */
+    private static String gerarCodigoReserva() {
+        return "RES-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
@@ -0,0 +1,22 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.reserva;
+
+/**
+ * Reserva de um arquivo de importação, com os campos como vieram (CSV ou
+ * JSON). A conversão é feita na importação, para que uma linha malformada seja
+ * recusada sozinha.
+ *
+ * @param categoria código da categoria (ECONOMICO, SUV...)
+ * @param cidadeRetirada cidade de retirada
+ * @param dataRetirada data e hora de retirada, ISO 8601
+ * @param dataDevolucao data e hora de devolução, ISO 8601
+ * @param documentoCliente CPF ou CNPJ de cliente já cadastrado
+ * @param placaVeiculo placa do veículo reservado
+ */
+public record LinhaImportacaoReserva(
+        String categoria,
+        String cidadeRetirada,
+        String dataRetirada,
+        String dataDevolucao,
+        String documentoCliente,
+        String placaVeiculo) {
+}
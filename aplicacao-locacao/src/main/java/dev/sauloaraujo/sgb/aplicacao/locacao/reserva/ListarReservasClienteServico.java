@@ -10,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
 
 /**
  * Serviço de aplicação para listar reservas de um cliente.
@@ -40,6 +42,22 @@ public class ListarReservasClienteServico {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Lista uma página das reservas de um cliente, da retirada mais recente para
+     * a mais antiga.
+     * 
+     * @param cpfOuCnpj CPF ou CNPJ do cliente
+     * @param pedido cursor da página anterior e limite
+     * @return página de resumos com o cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public Pagina<ReservaResumo> listarPorCliente(String cpfOuCnpj, PedidoPagina pedido) {
+        notNull(cpfOuCnpj, "CPF/CNPJ do cliente é obrigatório");
+        notNull(pedido, "Pedido de página é obrigatório");
+        
+        return reservaRepositorio.listarPorCliente(cpfOuCnpj, pedido).mapear(this::toResumo);
+    }
+    
     /**
      * Converte entidade de domínio para DTO de resumo.
      */
@@ -6,8 +6,8 @@ import java.util.Objects;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaCancelamentoServico;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaReplanejamentoServico;
@@ -23,24 +23,27 @@ public class ReservaServicoAplicacao {
     private final ReservaServico reservaServico;
     private final ReservaCancelamentoServico cancelamentoServico;
     private final ReservaReplanejamentoServico replanejamentoServico;
+    private final RetentativaOtimista retentativa;
 
     public ReservaServicoAplicacao(
             ReservaServico reservaServico,
             ReservaCancelamentoServico cancelamentoServico,
-            ReservaReplanejamentoServico replanejamentoServico) {
+            ReservaReplanejamentoServico replanejamentoServico,
+            RetentativaOtimista retentativa) {
         this.reservaServico = notNull(reservaServico, "Serviço de reserva de domínio é obrigatório");
         this.cancelamentoServico = notNull(cancelamentoServico, "Serviço de cancelamento é obrigatório");
         this.replanejamentoServico = notNull(replanejamentoServico, "Serviço de replanejamento é obrigatório");
+        this.retentativa = notNull(retentativa, "Política de nova tentativa é obrigatória");
     }
 
     /**
      * Cria uma nova reserva.
-     * Delega a lógica de negócio para o domínio e garante a transação.
+     * Delega a lógica de negócio para o domínio e garante a transação,
+     * repetindo-a em caso de conflito de versão.
      * 
      * @param comando comando contendo os dados da reserva
      * @return resumo da reserva criada
      */
-    @Transactional
     public ReservaResumo criar(CriarReservaCmd comando) {
         Objects.requireNonNull(comando, "Comando de criação é obrigatório");
 
@@ -48,14 +51,14 @@ public class ReservaServicoAplicacao {
         String codigo = gerarCodigoReserva();
 
         // Delega para o serviço de domínio que executa toda a lógica de negócio
-        Reserva reserva = reservaServico.criarReserva(
+        Reserva reserva = retentativa.executar(() -> reservaServico.criarReserva(
                 codigo,
                 comando.categoriaCodigo(),
                 comando.cidadeRetirada(),
                 comando.periodo(),
                 comando.cliente(),
                 comando.placaVeiculo()
-        );
+        ));
 
         // Converte entidade de domínio para DTO de resumo
         return toResumo(reserva);
@@ -78,7 +81,6 @@ public class ReservaServicoAplicacao {
      * @throws IllegalArgumentException se a reserva não for encontrada ou não pertencer ao cliente
      * @throws IllegalStateException se não houver 12 horas de antecedência ou reserva não estiver ativa
      */
-    @Transactional
     public CancelarReservaResponse cancelar(CancelarReservaCmd comando) {
         Objects.requireNonNull(comando, "Comando de cancelamento é obrigatório");
 
@@ -87,11 +89,11 @@ public class ReservaServicoAplicacao {
         // - Validação de 12 horas de antecedência
         // - Validação de status (reserva deve estar ativa)
         // - Cálculo de tarifa
-        var resultado = cancelamentoServico.cancelar(
+        var resultado = retentativa.executar(() -> cancelamentoServico.cancelar(
                 comando.codigoReserva(),
                 comando.cpfOuCnpjCliente(),
                 comando.dataSolicitacao()
-        );
+        ));
 
         // Converte resultado de domínio para DTO de resposta
         return new CancelarReservaResponse(
@@ -103,20 +105,20 @@ public class ReservaServicoAplicacao {
 
     /**
      * Altera o período de uma reserva (replanejamento).
-     * Delega a lógica de negócio para o domínio e garante a transação.
+     * Delega a lógica de negócio para o domínio e garante a transação,
+     * repetindo-a em caso de conflito de versão.
      * 
      * @param comando comando contendo os dados da alteração
      * @return resumo da reserva alterada
      */
-    @Transactional
     public ReservaResumo alterar(AlterarReservaCmd comando) {
         Objects.requireNonNull(comando, "Comando de alteração é obrigatório");
 
         // Delega para o serviço de domínio que executa toda a lógica de negócio
-        Reserva reserva = replanejamentoServico.replanejar(
+        Reserva reserva = retentativa.executar(() -> replanejamentoServico.replanejar(
                 comando.codigoReserva(),
                 comando.novoPeriodo()
-        );
+        ));
 
         // Converte entidade de domínio para DTO de resumo
         return toResumo(reserva);
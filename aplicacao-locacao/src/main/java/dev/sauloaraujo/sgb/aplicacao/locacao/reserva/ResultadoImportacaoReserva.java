@@ -0,0 +1,28 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.reserva;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de uma linha da importação de reservas: o código e o valor da
+ * reserva criada, ou o motivo da recusa.
+ *
+ * @param linha posição da reserva no arquivo, a partir de 1
+ */
+public record ResultadoImportacaoReserva(
+        int linha,
+        String codigoReserva,
+        BigDecimal valorEstimado,
+        String erro) {
+
+    public static ResultadoImportacaoReserva aceita(int linha, String codigoReserva, BigDecimal valorEstimado) {
+        return new ResultadoImportacaoReserva(linha, codigoReserva, valorEstimado, null);
+    }
+
+    public static ResultadoImportacaoReserva recusada(int linha, String erro) {
+        return new ResultadoImportacaoReserva(linha, null, null, erro);
+    }
+
+    public boolean isAceita() {
+        return erro == null;
+    }
+}
@@ -0,0 +1,81 @@
+package dev.sauloaraujo.sgb.aplicacao.locacao.shared;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Executa casos de uso de escrita em transação, repetindo-os quando outra
+ * operação grava a mesma reserva, locação ou veículo antes (conflito de versão).
+ *
+ * <p>
+ * Cada tentativa roda numa transação nova, relendo os agregados. Entre as
+ * tentativas há uma espera aleatória entre zero e um teto que dobra a cada
+ * conflito ("full jitter"), para que as operações concorrentes não voltem a
+ * colidir no mesmo instante. Esgotadas as tentativas, o conflito é informado
+ * como {@link IllegalStateException}.
+ * </p>
+ *
+ * <p>
+ * Se já houver transação ativa, a operação apenas participa dela: não é
+ * possível repetir só parte de uma transação, e quem a abriu decide como tratar
+ * o conflito.
+ * </p>
+ */
+@Component
+public class RetentativaOtimista {
+	public static final int TENTATIVAS = 4;
+	private static final long ESPERA_BASE_MILIS = 10;
+	private static final long ESPERA_MAXIMA_MILIS = 200;
+
+	private final TransactionTemplate transacao;
+
+	public RetentativaOtimista(PlatformTransactionManager gerenciadorTransacao) {
+		this.transacao = new TransactionTemplate(
+				notNull(gerenciadorTransacao, "Gerenciador de transações é obrigatório"));
+	}
+
+	public <T> T executar(Supplier<T> operacao) {
+		notNull(operacao, "Operação é obrigatória");
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			return operacao.get();
+		}
+
+		for (int tentativa = 1;; tentativa++) {
+			try {
+				return transacao.execute(status -> operacao.get());
+			} catch (OptimisticLockingFailureException e) {
+				if (tentativa == TENTATIVAS) {
+					throw new IllegalStateException(
+							"O registro foi alterado por outra operação ao mesmo tempo. Tente novamente", e);
+				}
+				aguardar(tentativa);
+			}
+		}
+	}
+
+	public void executar(Runnable operacao) {
+		notNull(operacao, "Operação é obrigatória");
+		executar(() -> {
+			operacao.run();
+			return null;
+		});
+	}
+
+	private static void aguardar(int tentativa) {
+		var teto = Math.min(ESPERA_MAXIMA_MILIS, ESPERA_BASE_MILIS << tentativa);
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(teto + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Operação interrompida ao aguardar nova tentativa", e);
+		}
+	}
+}
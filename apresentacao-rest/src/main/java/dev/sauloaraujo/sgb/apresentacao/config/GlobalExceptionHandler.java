@@ -12,6 +12,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaConflitanteException;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.CursorInvalidoException;
+
 /**
  * Handler global de exceções para a API REST.
  * Captura exceções e retorna respostas HTTP adequadas.
@@ -37,6 +40,24 @@ public class GlobalExceptionHandler {
 		return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
 	}
 
+	/**
+	 * Trata reservas rejeitadas pela base por sobreposição de período (409 Conflict).
+	 */
+	@ExceptionHandler(ReservaConflitanteException.class)
+	public ResponseEntity<Map<String, Object>> handleReservaConflitanteException(
+			ReservaConflitanteException ex, WebRequest request) {
+		return buildErrorResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
+	}
+
+	/**
+	 * Trata cursores de paginação inválidos (400 Bad Request).
+	 */
+	@ExceptionHandler(CursorInvalidoException.class)
+	public ResponseEntity<Map<String, Object>> handleCursorInvalidoException(
+			CursorInvalidoException ex, WebRequest request) {
+		return buildErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request);
+	}
+
 	/**
 	 * Trata exceções de recurso não encontrado (404 Not Found).
 	 */
@@ -0,0 +1,53 @@
+package dev.sauloaraujo.sgb.apresentacao.config;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.medicao.MedicaoComandos;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Registra, para cada requisição, os comandos SQL enviados, as idas ao banco e
+ * os tempos, para que regressões no número de consultas apareçam no log.
+ * Requisições acima do limite de comandos são registradas como aviso.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class MedicaoRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(MedicaoRequisicaoFilter.class);
+
+    private final int limiteComandos;
+
+    public MedicaoRequisicaoFilter(@Value("${sgb.medicao.limite-comandos:50}") int limiteComandos) {
+        this.limiteComandos = limiteComandos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var medicao = MedicaoComandos.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            medicao.close();
+            if (medicao.getComandos() > limiteComandos) {
+                log.warn("{} {} -> {}: {} (limite de {} comandos)", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), medicao.resumo(), limiteComandos);
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {} -> {}: {}", request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        medicao.resumo());
+            }
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package dev.sauloaraujo.sgb.apresentacao.locacao.catalogo;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.catalogo.OrdenacaoVeiculos;
 import dev.sauloaraujo.sgb.aplicacao.locacao.catalogo.VeiculoResumo;
 import dev.sauloaraujo.sgb.aplicacao.locacao.catalogo.VeiculoServicoAplicacao;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
@@ -24,10 +33,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Veículos", description = "Operações de consulta de veículos")
 public class VeiculoController {
 
+    static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int ITENS_POR_DESCARGA = 64;
+
     private final VeiculoServicoAplicacao veiculoServico;
+    private final ObjectMapper objectMapper;
 
-    public VeiculoController(VeiculoServicoAplicacao veiculoServico) {
+    public VeiculoController(VeiculoServicoAplicacao veiculoServico, ObjectMapper objectMapper) {
         this.veiculoServico = veiculoServico;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -46,10 +61,15 @@ public class VeiculoController {
     /**
      * Busca veículos disponíveis por cidade e categoria.
      * REGRA DE NEGÓCIO: Exclui veículos locados durante o período solicitado.
+     *
+     * Com {@code ordenacao}, {@code cursor} ou {@code limite}, a resposta é uma
+     * página ordenada e o cursor da próxima página vem no cabeçalho
+     * {@value #CABECALHO_PROXIMO_CURSOR} (ausente na última página).
      */
     @GetMapping("/disponiveis")
     @Operation(summary = "Buscar veículos disponíveis",
-               description = "Retorna veículos disponíveis filtrados por cidade, categoria (opcional) e período. Exclui veículos locados no período.")
+               description = "Retorna veículos disponíveis filtrados por cidade, categoria (opcional) e período. Exclui veículos locados no período. "
+                       + "Aceita paginação por cursor com ordenação por PLACA ou DIARIA; o próximo cursor vem no cabeçalho X-Proximo-Cursor.")
     public ResponseEntity<List<VeiculoResumo>> buscarDisponiveis(
             @Parameter(description = "Cidade para busca") @RequestParam String cidade,
             @Parameter(description = "Categoria do veículo (opcional)") 
@@ -57,8 +77,24 @@ public class VeiculoController {
             @Parameter(description = "Data de retirada (ISO 8601, opcional)") 
             @RequestParam(required = false) String dataRetirada,
             @Parameter(description = "Data de devolução (ISO 8601, opcional)") 
-            @RequestParam(required = false) String dataDevolucao) {
+            @RequestParam(required = false) String dataDevolucao,
+            @Parameter(description = "Ordenação da página: PLACA ou DIARIA (opcional)")
+            @RequestParam(required = false) String ordenacao,
+            @Parameter(description = "Cursor devolvido pela página anterior (opcional)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de veículos na página (opcional)")
+            @RequestParam(required = false) Integer limite) {
         
+        if (ordenacao != null || cursor != null || limite != null) {
+            var pagina = veiculoServico.buscarDisponiveis(cidade, categoria(categoria),
+                    data(dataRetirada), data(dataDevolucao), ordenacao(ordenacao), cursor, limite);
+            var resposta = ResponseEntity.ok();
+            if (pagina.proximoCursor() != null) {
+                resposta.header(CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor());
+            }
+            return resposta.body(pagina.itens());
+        }
+
         List<VeiculoResumo> veiculos;
         
         if (dataRetirada != null && !dataRetirada.isBlank() 
@@ -91,5 +127,68 @@ public class VeiculoController {
         
         return ResponseEntity.ok(veiculos);
     }
+
+    /**
+     * Escreve os veículos disponíveis em NDJSON, um por linha, em ordem de
+     * placa, à medida que são lidos do banco, com descargas periódicas. A
+     * leitura é aberta no corpo da resposta e fechada após a última linha ou
+     * quando a escrita falha, como na desconexão do cliente.
+     */
+    @GetMapping(value = "/disponiveis", params = "formato=ndjson")
+    @Operation(summary = "Buscar veículos disponíveis em NDJSON",
+               description = "Mesmos filtros da busca de veículos disponíveis, com um veículo por linha em application/x-ndjson.")
+    public ResponseEntity<StreamingResponseBody> buscarDisponiveisNdjson(
+            @Parameter(description = "Cidade para busca") @RequestParam String cidade,
+            @Parameter(description = "Categoria do veículo (opcional)")
+            @RequestParam(required = false) String categoria,
+            @Parameter(description = "Data de retirada (ISO 8601, opcional)")
+            @RequestParam(required = false) String dataRetirada,
+            @Parameter(description = "Data de devolução (ISO 8601, opcional)")
+            @RequestParam(required = false) String dataDevolucao) {
+
+        var categoriaCodigo = categoria(categoria);
+        var retirada = data(dataRetirada);
+        var devolucao = data(dataDevolucao);
+
+        StreamingResponseBody corpo = saida -> {
+            try (var veiculos = veiculoServico.percorrerDisponiveis(cidade, categoriaCodigo, retirada, devolucao)) {
+                var escritos = 0;
+                for (var iterador = veiculos.iterator(); iterador.hasNext();) {
+                    escreverLinha(saida, iterador.next());
+                    if (++escritos % ITENS_POR_DESCARGA == 0) {
+                        saida.flush();
+                    }
+                }
+            }
+            saida.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(corpo);
+    }
+
+    private void escreverLinha(OutputStream saida, VeiculoResumo veiculo) throws IOException {
+        saida.write(objectMapper.writeValueAsBytes(veiculo));
+        saida.write('\n');
+    }
+
+    private static CategoriaCodigo categoria(String categoria) {
+        return categoria == null || categoria.isBlank() ? null : CategoriaCodigo.valueOf(categoria.toUpperCase());
+    }
+
+    private static LocalDateTime data(String data) {
+        if (data == null || data.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(data);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida: " + data);
+        }
+    }
+
+    private static OrdenacaoVeiculos ordenacao(String ordenacao) {
+        return ordenacao == null || ordenacao.isBlank()
+                ? OrdenacaoVeiculos.PLACA
+                : OrdenacaoVeiculos.valueOf(ordenacao.toUpperCase());
+    }
 }
 
@@ -5,17 +5,22 @@ import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoResumo;
 import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoServicoAplicacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
 @RequestMapping("/admin/locacoes")
 @Tag(name = "Locações Admin", description = "Operações de consulta de locações para administradores")
 public class AdminLocacaoController {
+
+	static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
 	
 	private final LocacaoServicoAplicacao locacaoServico;
 
@@ -23,9 +28,27 @@ public class AdminLocacaoController {
 		this.locacaoServico = locacaoServico;
 	}
 
+	/**
+	 * Com {@code cursor} ou {@code limite}, a resposta é uma página em ordem de
+	 * código e o cursor da próxima página vem no cabeçalho
+	 * {@value #CABECALHO_PROXIMO_CURSOR} (ausente na última página).
+	 */
 	@GetMapping("/em-andamento")
-	@Operation(summary = "Listar locações em andamento", description = "Retorna todas as locações em andamento (status EM_ANDAMENTO) para administradores")
-	public ResponseEntity<List<LocacaoResumo>> listarEmAndamento() {
+	@Operation(summary = "Listar locações em andamento", description = "Retorna todas as locações em andamento (status EM_ANDAMENTO) para administradores. "
+			+ "Aceita paginação por cursor; o próximo cursor vem no cabeçalho X-Proximo-Cursor.")
+	public ResponseEntity<List<LocacaoResumo>> listarEmAndamento(
+			@Parameter(description = "Cursor devolvido pela página anterior (opcional)")
+			@RequestParam(required = false) String cursor,
+			@Parameter(description = "Quantidade máxima de locações na página (opcional)")
+			@RequestParam(required = false) Integer limite) {
+		if (cursor != null || limite != null) {
+			var pagina = locacaoServico.listarEmAndamento(PedidoPagina.de(cursor, limite));
+			var resposta = ResponseEntity.ok();
+			if (pagina.temProxima()) {
+				resposta.header(CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor());
+			}
+			return resposta.body(pagina.itens());
+		}
 		var locacoes = locacaoServico.listarEmAndamento();
 		return ResponseEntity.ok(locacoes);
 	}
@@ -6,6 +6,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,13 +15,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.DevolucaoLoteServicoAplicacao;
 import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoServicoAplicacao;
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.ResultadoDevolucao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Faturamento;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.ProcessarDevolucaoCommand;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
 @RestController
@@ -29,9 +34,11 @@ import jakarta.validation.constraints.NotNull;
 public class DevolucaoController {
 
     private final LocacaoServicoAplicacao servico;
+    private final DevolucaoLoteServicoAplicacao servicoLote;
 
-    public DevolucaoController(LocacaoServicoAplicacao servico) {
+    public DevolucaoController(LocacaoServicoAplicacao servico, DevolucaoLoteServicoAplicacao servicoLote) {
         this.servico = servico;
+        this.servicoLote = servicoLote;
     }
 
     @PostMapping("/{codigo}/processar-devolucao")
@@ -40,31 +47,46 @@ public class DevolucaoController {
             @PathVariable String codigo,
             @Valid @RequestBody DevolucaoRequest request) {
 
+        var comando = paraComando(codigo, request.quilometragem(), request.combustivel(),
+                request.possuiAvarias(), request.dataDevolucao());
+
+        var faturamento = servico.processarDevolucao(comando);
+
+        return ResponseEntity.ok(FaturamentoResponse.de(faturamento));
+    }
+
+    @PostMapping("/devolucoes:batch")
+    @Operation(summary = "Processar Devoluções em Lote", description = "Processa várias devoluções, como as do fechamento de turno, e retorna um resultado por item, na ordem recebida: o faturamento ou o erro. Um item recusado não impede os demais.")
+    public ResponseEntity<List<ResultadoDevolucaoResponse>> processarDevolucoes(
+            @Valid @RequestBody DevolucoesLoteRequest request) {
+
+        var comandos = request.devolucoes().stream()
+                .map(item -> paraComando(item.codigoLocacao(), item.quilometragem(), item.combustivel(),
+                        item.possuiAvarias(), item.dataDevolucao()))
+                .toList();
+
+        var resultados = servicoLote.processarDevolucoes(comandos);
+
+        return ResponseEntity.ok(resultados.stream().map(ResultadoDevolucaoResponse::de).toList());
+    }
+
+    private ProcessarDevolucaoCommand paraComando(String codigo, int quilometragem, String combustivel,
+            boolean possuiAvarias, String dataDevolucaoInformada) {
         LocalDateTime dataDevolucao;
-        if (request.dataDevolucao() != null && !request.dataDevolucao().isEmpty()) {
-            dataDevolucao = parseDataDevolucao(request.dataDevolucao());
+        if (dataDevolucaoInformada != null && !dataDevolucaoInformada.isEmpty()) {
+            dataDevolucao = parseDataDevolucao(dataDevolucaoInformada);
         } else {
             dataDevolucao = LocalDateTime.now();
         }
-        
-        var comando = ProcessarDevolucaoCommand.builder()
+
+        return ProcessarDevolucaoCommand.builder()
                 .codigoLocacao(codigo)
-                .quilometragem(request.quilometragem())
-                .combustivel(request.combustivel())
-                .possuiAvarias(request.possuiAvarias())
+                .quilometragem(quilometragem)
+                .combustivel(combustivel)
+                .possuiAvarias(possuiAvarias)
                 .dataDevolucao(dataDevolucao)
                 .percentualMultaAtraso(new BigDecimal("0.10"))
                 .build();
-
-        var faturamento = servico.processarDevolucao(comando);
-
-        return ResponseEntity.ok(new FaturamentoResponse(
-                faturamento.total(),
-                faturamento.diarias(),
-                faturamento.valorAtraso(),
-                faturamento.multaAtraso(),
-                faturamento.taxasAdicionais()
-        ));
     }
     
     private LocalDateTime parseDataDevolucao(String dataString) {
@@ -107,10 +129,56 @@ record DevolucaoRequest(
     String dataDevolucao
 ) {}
 
+record DevolucaoLoteItemRequest(
+    @NotBlank(message = "Código da locação obrigatório")
+    String codigoLocacao,
+
+    @Min(value = 0, message = "Quilometragem inválida") 
+    int quilometragem,
+    
+    @NotBlank(message = "Combustível obrigatório") 
+    String combustivel,
+    
+    @NotNull 
+    boolean possuiAvarias,
+    String dataDevolucao
+) {}
+
+record DevolucoesLoteRequest(
+    @NotEmpty(message = "Informe ao menos uma devolução")
+    List<@Valid @NotNull DevolucaoLoteItemRequest> devolucoes
+) {}
+
 record FaturamentoResponse(
     BigDecimal valorTotal,
     BigDecimal valorDiarias,
     BigDecimal valorAtraso,
     BigDecimal valorMulta,
     BigDecimal valorTaxas
-) {}
+) {
+    static FaturamentoResponse de(Faturamento faturamento) {
+        return new FaturamentoResponse(
+                faturamento.total(),
+                faturamento.diarias(),
+                faturamento.valorAtraso(),
+                faturamento.multaAtraso(),
+                faturamento.taxasAdicionais()
+        );
+    }
+}
+
+record ResultadoDevolucaoResponse(
+    String codigoLocacao,
+    boolean sucesso,
+    FaturamentoResponse faturamento,
+    String erro
+) {
+    static ResultadoDevolucaoResponse de(ResultadoDevolucao resultado) {
+        return new ResultadoDevolucaoResponse(
+                resultado.codigoLocacao(),
+                resultado.isSucesso(),
+                resultado.isSucesso() ? FaturamentoResponse.de(resultado.faturamento()) : null,
+                resultado.erro()
+        );
+    }
+}
@@ -0,0 +1,176 @@
+package dev.sauloaraujo.sgb.apresentacao.locacao.reserva;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.ImportacaoReservaServicoAplicacao;
+import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.LinhaImportacaoReserva;
+import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.ResultadoImportacaoReserva;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Importação em massa de reservas para contas corporativas e de frotas.
+ *
+ * <p>
+ * O corpo é lido à medida que chega, sem carregar o arquivo inteiro: em CSV,
+ * com cabeçalho e separador vírgula ou ponto e vírgula, ou em JSON, como um
+ * array ou um objeto por linha (NDJSON). A resposta traz um resultado por
+ * linha de dados, na ordem do arquivo.
+ * </p>
+ */
+@RestController
+@RequestMapping("/admin/reservas")
+@Tag(name = "Reservas Admin", description = "Operações de reservas para administradores")
+public class ImportacaoReservaController {
+
+    private static final Pattern SEPARADOR_CSV = Pattern.compile("[,;]");
+    private static final List<String> COLUNAS = List.of("categoria", "cidaderetirada", "dataretirada",
+            "datadevolucao", "documentocliente", "placaveiculo");
+
+    private final ImportacaoReservaServicoAplicacao servico;
+    private final ObjectMapper objectMapper;
+
+    public ImportacaoReservaController(ImportacaoReservaServicoAplicacao servico, ObjectMapper objectMapper) {
+        this.servico = servico;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(value = "/importacoes", consumes = "text/csv")
+    @Operation(summary = "Importar Reservas (CSV)", description = "Importa reservas de um CSV com as colunas categoria, cidadeRetirada, dataRetirada, dataDevolucao, documentoCliente e placaVeiculo. Os clientes devem estar cadastrados. Conflitos dentro do arquivo são resolvidos na ordem das linhas.")
+    public ResponseEntity<ImportacaoReservaResponse> importarCsv(InputStream corpo) throws IOException {
+        var leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(ImportacaoReservaResponse.de(servico.importar(new LinhasCsv(leitor))));
+    }
+
+    @PostMapping(value = "/importacoes", consumes = { "application/json", "application/x-ndjson" })
+    @Operation(summary = "Importar Reservas (JSON)", description = "Importa reservas de um array JSON ou de um objeto por linha (NDJSON), com os mesmos campos do CSV. Os clientes devem estar cadastrados. Conflitos dentro do arquivo são resolvidos na ordem das linhas.")
+    public ResponseEntity<ImportacaoReservaResponse> importarJson(InputStream corpo) throws IOException {
+        try (var linhas = objectMapper.readerFor(LinhaImportacaoReserva.class)
+                .<LinhaImportacaoReserva>readValues(corpo)) {
+            return ResponseEntity.ok(ImportacaoReservaResponse.de(servico.importar(linhas)));
+        }
+    }
+
+    /**
+     * Lê as linhas de dados do CSV sob demanda, pela posição das colunas no
+     * cabeçalho. Linhas em branco são ignoradas.
+     */
+    private static final class LinhasCsv implements Iterator<LinhaImportacaoReserva> {
+
+        private final BufferedReader leitor;
+        private final int[] posicoes;
+        private String proxima;
+
+        LinhasCsv(BufferedReader leitor) throws IOException {
+            this.leitor = leitor;
+            var cabecalho = lerNaoVazia();
+            if (cabecalho == null) {
+                throw new IllegalArgumentException("O CSV deve começar por um cabeçalho com as colunas " + COLUNAS);
+            }
+            var nomes = campos(cabecalho);
+            var indices = new HashMap<String, Integer>();
+            for (int i = 0; i < nomes.length; i++) {
+                indices.putIfAbsent(nomes[i].toLowerCase(Locale.ROOT), i);
+            }
+            this.posicoes = new int[COLUNAS.size()];
+            for (int i = 0; i < COLUNAS.size(); i++) {
+                var posicao = indices.get(COLUNAS.get(i));
+                if (posicao == null) {
+                    throw new IllegalArgumentException("Coluna ausente no cabeçalho do CSV: " + COLUNAS.get(i));
+                }
+                posicoes[i] = posicao;
+            }
+            this.proxima = lerNaoVazia();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return proxima != null;
+        }
+
+        @Override
+        public LinhaImportacaoReserva next() {
+            if (proxima == null) {
+                throw new NoSuchElementException();
+            }
+            var campos = campos(proxima);
+            try {
+                proxima = lerNaoVazia();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new LinhaImportacaoReserva(campo(campos, 0), campo(campos, 1), campo(campos, 2),
+                    campo(campos, 3), campo(campos, 4), campo(campos, 5));
+        }
+
+        private String campo(String[] campos, int coluna) {
+            var posicao = posicoes[coluna];
+            return posicao < campos.length ? campos[posicao] : null;
+        }
+
+        private String lerNaoVazia() throws IOException {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (!linha.isBlank()) {
+                    return linha;
+                }
+            }
+            return null;
+        }
+
+        private static String[] campos(String linha) {
+            var campos = SEPARADOR_CSV.split(linha, -1);
+            for (int i = 0; i < campos.length; i++) {
+                campos[i] = campos[i].strip();
+            }
+            return campos;
+        }
+    }
+}
+
+// DTOs de Response
+
+record ImportacaoReservaResponse(
+        int total,
+        long aceitas,
+        long recusadas,
+        List<ResultadoImportacaoReservaResponse> resultados
+) {
+    static ImportacaoReservaResponse de(List<ResultadoImportacaoReserva> resultados) {
+        var aceitas = resultados.stream().filter(ResultadoImportacaoReserva::isAceita).count();
+        return new ImportacaoReservaResponse(resultados.size(), aceitas, resultados.size() - aceitas,
+                resultados.stream().map(ResultadoImportacaoReservaResponse::de).toList());
+    }
+}
+
+record ResultadoImportacaoReservaResponse(
+        int linha,
+        boolean aceita,
+        String codigoReserva,
+        BigDecimal valorEstimado,
+        String erro
+) {
+    static ResultadoImportacaoReservaResponse de(ResultadoImportacaoReserva resultado) {
+        return new ResultadoImportacaoReservaResponse(resultado.linha(), resultado.isAceita(),
+                resultado.codigoReserva(), resultado.valorEstimado(), resultado.erro());
+    }
+}
@@ -5,12 +5,15 @@ import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.ListarReservasClienteServico;
 import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.ReservaResumo;
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -21,6 +24,8 @@ import jakarta.servlet.http.HttpServletRequest;
 @RequestMapping("/reservas")
 @Tag(name = "Reservas", description = "Operações de consulta de reservas")
 public class ListarReservasClienteController {
+
+    static final String CABECALHO_PROXIMO_CURSOR = "X-Proximo-Cursor";
     
     private final ListarReservasClienteServico servico;
     
@@ -28,16 +33,36 @@ public class ListarReservasClienteController {
         this.servico = servico;
     }
     
+    /**
+     * Com {@code cursor} ou {@code limite}, a resposta é uma página (da retirada
+     * mais recente para a mais antiga) e o cursor da próxima página vem no
+     * cabeçalho {@value #CABECALHO_PROXIMO_CURSOR} (ausente na última página).
+     */
     @GetMapping("/minhas")
     @Operation(summary = "Listar minhas reservas",
-               description = "Retorna todas as reservas do cliente autenticado")
-    public ResponseEntity<List<ReservaResumo>> listarMinhasReservas(HttpServletRequest request) {
+               description = "Retorna todas as reservas do cliente autenticado. "
+                       + "Aceita paginação por cursor; o próximo cursor vem no cabeçalho X-Proximo-Cursor.")
+    public ResponseEntity<List<ReservaResumo>> listarMinhasReservas(
+            HttpServletRequest request,
+            @Parameter(description = "Cursor devolvido pela página anterior (opcional)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de reservas na página (opcional)")
+            @RequestParam(required = false) Integer limite) {
         // Obter cliente autenticado do interceptor
         Cliente cliente = (Cliente) request.getAttribute("clienteAutenticado");
         if (cliente == null) {
             return ResponseEntity.status(401).build();
         }
         
+        if (cursor != null || limite != null) {
+            var pagina = servico.listarPorCliente(cliente.getCpfOuCnpj(), PedidoPagina.de(cursor, limite));
+            var resposta = ResponseEntity.ok();
+            if (pagina.temProxima()) {
+                resposta.header(CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor());
+            }
+            return resposta.body(pagina.itens());
+        }
+        
         // Listar reservas do cliente
         List<ReservaResumo> reservas = servico.listarPorCliente(cliente.getCpfOuCnpj());
         
@@ -0,0 +1,127 @@
+package dev.sauloaraujo.sgb.apresentacao.locacao.catalogo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.catalogo.VeiculoResumo;
+import dev.sauloaraujo.sgb.apresentacao.AlugaCarApplication;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+/**
+ * Busca de veículos disponíveis pela API: páginas por cursor no cabeçalho
+ * {@value VeiculoController#CABECALHO_PROXIMO_CURSOR}, limite máximo da página
+ * e resposta em NDJSON. Cada teste usa uma cidade própria.
+ */
+@SpringBootTest(classes = AlugaCarApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("teste")
+@DisplayName("API de veículos disponíveis")
+class VeiculoControllerTest {
+
+	private static final int QUANTIDADE_VEICULOS = 11;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	private String sufixo;
+	private String cidade;
+
+	@BeforeEach
+	void preparar() {
+		sufixo = UUID.randomUUID().toString().substring(0, 5).toUpperCase();
+		cidade = "Cidade " + sufixo;
+		for (var indice = 0; indice < QUANTIDADE_VEICULOS; indice++) {
+			veiculoRepositorio.salvar(new Veiculo("A" + sufixo + indice, "Onix", CategoriaCodigo.ECONOMICO, cidade,
+					new BigDecimal(100 + indice % 3 * 10), StatusVeiculo.DISPONIVEL));
+		}
+	}
+
+	@Test
+	@DisplayName("Deve seguir o cursor do cabeçalho até a última página, na ordem da diária")
+	void devePaginarPeloCabecalhoDeCursor() throws Exception {
+		var lidos = new ArrayList<VeiculoResumo>();
+		String cursor = null;
+		var paginas = 0;
+		do {
+			var pedido = get("/veiculos/disponiveis").param("cidade", cidade).param("ordenacao", "diaria")
+					.param("limite", "4");
+			if (cursor != null) {
+				pedido.param("cursor", cursor);
+			}
+			var resposta = mvc.perform(pedido).andExpect(status().isOk()).andReturn().getResponse();
+			var pagina = objectMapper.readValue(resposta.getContentAsByteArray(),
+					new TypeReference<List<VeiculoResumo>>() {
+					});
+			assertTrue(pagina.size() <= 4);
+			lidos.addAll(pagina);
+			cursor = resposta.getHeader(VeiculoController.CABECALHO_PROXIMO_CURSOR);
+			paginas++;
+		} while (cursor != null);
+
+		assertEquals(3, paginas);
+		assertEquals(QUANTIDADE_VEICULOS, lidos.size());
+		assertEquals(lidos.stream().sorted(Comparator.comparing(VeiculoResumo::diaria)
+				.thenComparing(VeiculoResumo::placa)).toList(), lidos);
+	}
+
+	@Test
+	@DisplayName("Deve recusar com 400 um limite acima do máximo")
+	void deveRecusarLimiteAcimaDoMaximo() throws Exception {
+		for (var limite : List.of(PedidoPagina.LIMITE_MAXIMO + 1, 2_000_000_000, Integer.MAX_VALUE)) {
+			mvc.perform(get("/veiculos/disponiveis").param("cidade", cidade).param("limite", String.valueOf(limite)))
+					.andExpect(status().isBadRequest());
+		}
+	}
+
+	@Test
+	@DisplayName("Deve escrever um veículo por linha em NDJSON")
+	void deveEscreverNdjson() throws Exception {
+		var inicio = mvc.perform(get("/veiculos/disponiveis").param("cidade", cidade).param("formato", "ndjson"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		var resposta = mvc.perform(asyncDispatch(inicio))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(VeiculoController.APPLICATION_NDJSON))
+				.andReturn().getResponse();
+
+		var linhas = resposta.getContentAsString().split("\n");
+		assertEquals(QUANTIDADE_VEICULOS, linhas.length);
+		for (var linha : linhas) {
+			var veiculo = objectMapper.readValue(linha, VeiculoResumo.class);
+			assertEquals(cidade, veiculo.cidade());
+			assertTrue(veiculo.placa().startsWith("A" + sufixo), veiculo.placa());
+		}
+	}
+}
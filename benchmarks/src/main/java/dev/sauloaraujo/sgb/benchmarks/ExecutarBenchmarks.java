@@ -0,0 +1,46 @@
+package dev.sauloaraujo.sgb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do {@code benchmarks.jar}.
+ *
+ * <p>
+ * Executa os benchmarks duas vezes, com o {@link GCProfiler} ligado: uma em
+ * vazão (op/s) e outra em tempo médio (ns/op); a alocação por operação aparece
+ * como {@code gc.alloc.rate.norm} (B/op). Os argumentos são os da linha de
+ * comando do JMH e valem para as duas execuções, por exemplo
+ * {@code java -jar benchmarks/target/benchmarks.jar Reserva -f 1 -rf json}.
+ * Para usar o JMH sem esse roteiro, rode
+ * {@code java -cp benchmarks/target/benchmarks.jar org.openjdk.jmh.Main -prof gc}.
+ * </p>
+ */
+public final class ExecutarBenchmarks {
+
+	private ExecutarBenchmarks() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		var linhaDeComando = new CommandLineOptions(args);
+
+		new Runner(new OptionsBuilder()
+				.parent(linhaDeComando)
+				.mode(Mode.Throughput)
+				.timeUnit(TimeUnit.SECONDS)
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+
+		new Runner(new OptionsBuilder()
+				.parent(linhaDeComando)
+				.mode(Mode.AverageTime)
+				.timeUnit(TimeUnit.NANOSECONDS)
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,225 @@
+package dev.sauloaraujo.sgb.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ChecklistVistoriaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ClienteJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.LocacaoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.PeriodoLocacaoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ReservaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.RetiradaInfoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Grafos de entidades JPA parecidos com os lidos do banco, para os benchmarks.
+ *
+ * <p>
+ * Cada cliente tem várias reservas, metade das reservas já foi retirada (com
+ * {@link RetiradaInfoJpa}) e cada locação aponta para a reserva e o veículo
+ * correspondentes, com vistoria de retirada e, em parte delas, de devolução.
+ * </p>
+ */
+final class GrafosPersistencia {
+	private static final int RESERVAS_POR_CLIENTE = 4;
+	private static final LocalDateTime INICIO = LocalDateTime.of(2026, 1, 10, 10, 0);
+
+	private GrafosPersistencia() {
+	}
+
+	/**
+	 * Cria um {@link JpaMapeador} fora do Spring. As referências que ele pede ao
+	 * {@link EntityManager} ao converter para JPA vêm de um mapa por tipo e
+	 * identificador, como o contexto de persistência faria, sem ir ao banco.
+	 */
+	static JpaMapeador mapeador() {
+		Map<Object, Object> referencias = new HashMap<>();
+		var entityManager = (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+				new Class<?>[] { EntityManager.class }, (proxy, metodo, argumentos) -> {
+					if (!metodo.getName().equals("getReference")) {
+						throw new UnsupportedOperationException(metodo.getName());
+					}
+					var tipo = (Class<?>) argumentos[0];
+					var id = argumentos[1];
+					return referencias.computeIfAbsent(List.of(tipo, id), chave -> referencia(tipo, id));
+				});
+
+		var mapeador = new JpaMapeador();
+		try {
+			var campo = JpaMapeador.class.getDeclaredField("entityManager");
+			campo.setAccessible(true);
+			campo.set(mapeador, entityManager);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Não foi possível preparar o JpaMapeador", e);
+		}
+		return mapeador;
+	}
+
+	private static Object referencia(Class<?> tipo, Object id) {
+		if (tipo == ClienteJpa.class) {
+			var cliente = new ClienteJpa();
+			cliente.setCpfOuCnpj((String) id);
+			return cliente;
+		}
+		if (tipo == ReservaJpa.class) {
+			var reserva = new ReservaJpa();
+			reserva.setCodigo((String) id);
+			return reserva;
+		}
+		if (tipo == VeiculoJpa.class) {
+			var veiculo = new VeiculoJpa();
+			veiculo.setPlaca((String) id);
+			return veiculo;
+		}
+		throw new IllegalArgumentException("Tipo sem referência: " + tipo);
+	}
+
+	static List<LocacaoJpa> locacoes(int quantidade) {
+		var locacoes = new ArrayList<LocacaoJpa>(quantidade);
+		ClienteJpa cliente = null;
+		for (int indice = 0; indice < quantidade; indice++) {
+			if (indice % RESERVAS_POR_CLIENTE == 0) {
+				cliente = cliente(indice / RESERVAS_POR_CLIENTE);
+			}
+			var veiculo = veiculo(indice);
+			var reserva = reserva(indice, cliente, veiculo.getPlaca(), StatusReserva.EM_ANDAMENTO);
+			locacoes.add(locacao(indice, reserva, veiculo, indice % 2 == 0));
+		}
+		return locacoes;
+	}
+
+	static List<ReservaJpa> reservas(int quantidade) {
+		var reservas = new ArrayList<ReservaJpa>(quantidade);
+		ClienteJpa cliente = null;
+		for (int indice = 0; indice < quantidade; indice++) {
+			if (indice % RESERVAS_POR_CLIENTE == 0) {
+				cliente = cliente(indice / RESERVAS_POR_CLIENTE);
+			}
+			var status = indice % 2 == 0 ? StatusReserva.ATIVA : StatusReserva.EM_ANDAMENTO;
+			reservas.add(reserva(indice, cliente, placa(indice), status));
+		}
+		return reservas;
+	}
+
+	static List<VeiculoJpa> veiculos(int quantidade) {
+		var veiculos = new ArrayList<VeiculoJpa>(quantidade);
+		for (int indice = 0; indice < quantidade; indice++) {
+			veiculos.add(veiculo(indice));
+		}
+		return veiculos;
+	}
+
+	/**
+	 * Reserva cancelada de antes da placa obrigatória, que cai no fallback
+	 * {@code HIST-}.
+	 */
+	static ReservaJpa reservaHistorica() {
+		var reserva = reserva(0, cliente(0), "MIGRAR", StatusReserva.CANCELADA);
+		reserva.setRetiradaInfo(null);
+		return reserva;
+	}
+
+	/**
+	 * Reserva ativa sem placa, rejeitada pela validação do mapeador.
+	 */
+	static ReservaJpa reservaInvalida() {
+		var reserva = reserva(0, cliente(0), null, StatusReserva.ATIVA);
+		reserva.setRetiradaInfo(null);
+		return reserva;
+	}
+
+	static ClienteJpa cliente(int indice) {
+		var documento = String.format("%011d", 10_000_000_000L + indice);
+		var cliente = new ClienteJpa();
+		cliente.setCpfOuCnpj(documento);
+		cliente.setNome("Cliente " + indice);
+		cliente.setCnh(documento);
+		cliente.setEmail("cliente" + indice + "@email.com");
+		cliente.setLogin("cliente." + indice);
+		cliente.setSenhaHash("$2a$10$7EqJtq98hPqEX7fNZaFWoO5r0JxSuz5nP3G1m2PpPpC9bZK4tQ6tC");
+		cliente.setStatus("ATIVO");
+		return cliente;
+	}
+
+	static VeiculoJpa veiculo(int indice) {
+		var veiculo = new VeiculoJpa();
+		veiculo.setPlaca(placa(indice));
+		veiculo.setModelo(indice % 3 == 0 ? "Onix" : "HB20");
+		veiculo.setCategoria(indice % 3 == 0 ? "ECONOMICO" : "INTERMEDIARIO");
+		veiculo.setCidade(indice % 2 == 0 ? "Recife" : "Olinda");
+		veiculo.setDiaria(new BigDecimal("120.00"));
+		veiculo.setStatus(StatusVeiculo.LOCADO);
+		veiculo.setVersao(3L);
+		return veiculo;
+	}
+
+	private static ReservaJpa reserva(int indice, ClienteJpa cliente, String placa, StatusReserva status) {
+		var retirada = INICIO.plusDays(indice % 60);
+		var periodo = new PeriodoLocacaoJpa();
+		periodo.setRetirada(retirada);
+		periodo.setDevolucao(retirada.plusDays(3 + indice % 5));
+
+		var reserva = new ReservaJpa();
+		reserva.setCodigo(String.format("RES-%08d", indice));
+		reserva.setCategoria("ECONOMICO");
+		reserva.setCidadeRetirada("Recife");
+		reserva.setPeriodo(periodo);
+		reserva.setValorEstimado(new BigDecimal("360.00"));
+		reserva.setStatus(status);
+		reserva.setCliente(cliente);
+		reserva.setPlacaVeiculo(placa);
+		reserva.setVersao(1L);
+
+		if (status == StatusReserva.EM_ANDAMENTO) {
+			var info = new RetiradaInfoJpa();
+			info.setPlacaVeiculo(placa);
+			info.setCnhCondutor(cliente.getCnh());
+			info.setDataHoraRetirada(retirada);
+			info.setQuilometragemSaida(15_000L + indice);
+			info.setNivelTanqueSaida("CHEIO");
+			info.setObservacoes("Sem observações");
+			reserva.setRetiradaInfo(info);
+		}
+		return reserva;
+	}
+
+	private static LocacaoJpa locacao(int indice, ReservaJpa reserva, VeiculoJpa veiculo, boolean devolvida) {
+		var locacao = new LocacaoJpa();
+		locacao.setCodigo(String.format("LOC-%08d", indice));
+		locacao.setReserva(reserva);
+		locacao.setVeiculo(veiculo);
+		locacao.setDiasPrevistos(3 + indice % 5);
+		locacao.setValorDiaria(new BigDecimal("120.00"));
+		locacao.setVistoriaRetirada(vistoria(15_000 + indice, false));
+		if (devolvida) {
+			locacao.setVistoriaDevolucao(vistoria(15_400 + indice, indice % 10 == 0));
+			locacao.setStatus(StatusLocacao.FINALIZADA);
+		} else {
+			locacao.setStatus(StatusLocacao.ATIVA);
+		}
+		locacao.setVersao(2L);
+		return locacao;
+	}
+
+	private static ChecklistVistoriaJpa vistoria(int quilometragem, boolean avarias) {
+		var vistoria = new ChecklistVistoriaJpa();
+		vistoria.setQuilometragem(quilometragem);
+		vistoria.setCombustivel("CHEIO");
+		vistoria.setPossuiAvarias(avarias);
+		return vistoria;
+	}
+
+	private static String placa(int indice) {
+		return String.format("BEN%04d", indice % 10_000);
+	}
+}
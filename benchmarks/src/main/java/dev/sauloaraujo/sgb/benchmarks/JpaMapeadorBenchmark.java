@@ -0,0 +1,124 @@
+package dev.sauloaraujo.sgb.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ClienteJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.LocacaoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ReservaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+
+/**
+ * Custo de uma conversão do {@link JpaMapeador}, nos dois sentidos.
+ *
+ * <p>
+ * Além dos casos comuns, mede a reserva histórica que cai no fallback
+ * {@code HIST-} e a reserva inválida, cujo custo é o da exceção criada,
+ * embrulhada pelo mapeador e descartada pelo repositório.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JpaMapeadorBenchmark {
+
+	private JpaMapeador mapeador;
+	private ClienteJpa clienteJpa;
+	private VeiculoJpa veiculoJpa;
+	private ReservaJpa reservaJpa;
+	private ReservaJpa reservaHistoricaJpa;
+	private ReservaJpa reservaInvalidaJpa;
+	private LocacaoJpa locacaoJpa;
+	private Cliente cliente;
+	private Veiculo veiculo;
+	private Reserva reserva;
+	private Locacao locacao;
+
+	@Setup
+	public void preparar() {
+		mapeador = GrafosPersistencia.mapeador();
+		locacaoJpa = GrafosPersistencia.locacoes(2).get(0);
+		reservaJpa = locacaoJpa.getReserva();
+		veiculoJpa = locacaoJpa.getVeiculo();
+		clienteJpa = reservaJpa.getCliente();
+		reservaHistoricaJpa = GrafosPersistencia.reservaHistorica();
+		reservaInvalidaJpa = GrafosPersistencia.reservaInvalida();
+
+		cliente = mapeador.paraCliente(clienteJpa);
+		veiculo = mapeador.paraVeiculo(veiculoJpa);
+		reserva = mapeador.paraReserva(reservaJpa);
+		locacao = mapeador.paraLocacao(locacaoJpa);
+	}
+
+	@Benchmark
+	public Cliente clienteParaDominio() {
+		return mapeador.paraCliente(clienteJpa);
+	}
+
+	@Benchmark
+	public ClienteJpa clienteParaJpa() {
+		return mapeador.paraClienteJpa(cliente);
+	}
+
+	@Benchmark
+	public Veiculo veiculoParaDominio() {
+		return mapeador.paraVeiculo(veiculoJpa);
+	}
+
+	@Benchmark
+	public VeiculoJpa veiculoParaJpa() {
+		return mapeador.paraVeiculoJpa(veiculo);
+	}
+
+	@Benchmark
+	public Reserva reservaParaDominio() {
+		return mapeador.paraReserva(reservaJpa);
+	}
+
+	@Benchmark
+	public Reserva reservaHistoricaParaDominio() {
+		return mapeador.paraReserva(reservaHistoricaJpa);
+	}
+
+	@Benchmark
+	public Reserva reservaInvalidaParaDominio() {
+		try {
+			return mapeador.paraReserva(reservaInvalidaJpa);
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	@Benchmark
+	public ReservaJpa reservaParaJpa() {
+		return mapeador.paraReservaJpa(reserva);
+	}
+
+	@Benchmark
+	public Locacao locacaoParaDominio() {
+		return mapeador.paraLocacao(locacaoJpa);
+	}
+
+	@Benchmark
+	public LocacaoJpa locacaoParaJpa() {
+		return mapeador.paraLocacaoJpa(locacao);
+	}
+}
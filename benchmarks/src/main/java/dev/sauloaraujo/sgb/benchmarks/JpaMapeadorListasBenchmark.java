@@ -0,0 +1,90 @@
+package dev.sauloaraujo.sgb.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.LocacaoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ReservaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+
+/**
+ * Custo de {@link JpaMapeador#mapearLista} sobre listas do tamanho de uma
+ * página e de uma tabela inteira, como nas listagens dos repositórios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JpaMapeadorListasBenchmark {
+
+	@Param({ "20", "1000" })
+	public int tamanho;
+
+	private JpaMapeador mapeador;
+	private List<VeiculoJpa> veiculosJpa;
+	private List<ReservaJpa> reservasJpa;
+	private List<LocacaoJpa> locacoesJpa;
+	private List<Veiculo> veiculos;
+	private List<Reserva> reservas;
+	private List<Locacao> locacoes;
+
+	@Setup
+	public void preparar() {
+		mapeador = GrafosPersistencia.mapeador();
+		veiculosJpa = GrafosPersistencia.veiculos(tamanho);
+		reservasJpa = GrafosPersistencia.reservas(tamanho);
+		locacoesJpa = GrafosPersistencia.locacoes(tamanho);
+
+		veiculos = mapeador.mapearLista(veiculosJpa, mapeador::paraVeiculo);
+		reservas = mapeador.mapearLista(reservasJpa, mapeador::paraReserva);
+		locacoes = mapeador.mapearLista(locacoesJpa, mapeador::paraLocacao);
+	}
+
+	@Benchmark
+	public List<Veiculo> veiculosParaDominio() {
+		return mapeador.mapearLista(veiculosJpa, mapeador::paraVeiculo);
+	}
+
+	@Benchmark
+	public List<VeiculoJpa> veiculosParaJpa() {
+		return mapeador.mapearLista(veiculos, mapeador::paraVeiculoJpa);
+	}
+
+	@Benchmark
+	public List<Reserva> reservasParaDominio() {
+		return mapeador.mapearLista(reservasJpa, mapeador::paraReserva);
+	}
+
+	@Benchmark
+	public List<ReservaJpa> reservasParaJpa() {
+		return mapeador.mapearLista(reservas, mapeador::paraReservaJpa);
+	}
+
+	@Benchmark
+	public List<Locacao> locacoesParaDominio() {
+		return mapeador.mapearLista(locacoesJpa, mapeador::paraLocacao);
+	}
+
+	@Benchmark
+	public List<LocacaoJpa> locacoesParaJpa() {
+		return mapeador.mapearLista(locacoes, mapeador::paraLocacaoJpa);
+	}
+}
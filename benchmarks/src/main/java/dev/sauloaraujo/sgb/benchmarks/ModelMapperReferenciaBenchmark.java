@@ -0,0 +1,121 @@
+package dev.sauloaraujo.sgb.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.LocacaoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ReservaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+
+/**
+ * Referência do mapeamento anterior via ModelMapper, para comparar com o
+ * {@link JpaMapeadorListasBenchmark}.
+ *
+ * <p>
+ * O {@code ModelMapper} é configurado como o mapeador antigo (casamento por
+ * campo, acesso privado, nulos ignorados) e seus conversores executam o mesmo
+ * corpo de conversão do {@link JpaMapeador}. A diferença medida é, portanto, só
+ * o custo de resolver o conversor e o contexto de mapeamento a cada chamada.
+ * Mede também o custo de criar cada um dos mapeadores.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelMapperReferenciaBenchmark {
+
+	@Param({ "20", "1000" })
+	public int tamanho;
+
+	private JpaMapeador mapeador;
+	private ModelMapper modelMapper;
+	private List<VeiculoJpa> veiculosJpa;
+	private List<ReservaJpa> reservasJpa;
+	private List<LocacaoJpa> locacoesJpa;
+	private List<Veiculo> veiculos;
+
+	@Setup
+	public void preparar() {
+		mapeador = GrafosPersistencia.mapeador();
+		modelMapper = modelMapper(mapeador);
+		veiculosJpa = GrafosPersistencia.veiculos(tamanho);
+		reservasJpa = GrafosPersistencia.reservas(tamanho);
+		locacoesJpa = GrafosPersistencia.locacoes(tamanho);
+		veiculos = mapeador.mapearLista(veiculosJpa, mapeador::paraVeiculo);
+	}
+
+	@Benchmark
+	public List<Veiculo> veiculosParaDominio() {
+		return veiculosJpa.stream().map(jpa -> modelMapper.map(jpa, Veiculo.class)).toList();
+	}
+
+	@Benchmark
+	public List<VeiculoJpa> veiculosParaJpa() {
+		return veiculos.stream().map(veiculo -> modelMapper.map(veiculo, VeiculoJpa.class)).toList();
+	}
+
+	@Benchmark
+	public List<Reserva> reservasParaDominio() {
+		return reservasJpa.stream().map(jpa -> modelMapper.map(jpa, Reserva.class)).toList();
+	}
+
+	@Benchmark
+	public List<Locacao> locacoesParaDominio() {
+		return locacoesJpa.stream().map(jpa -> modelMapper.map(jpa, Locacao.class)).toList();
+	}
+
+	@Benchmark
+	public ModelMapper criarModelMapper() {
+		return modelMapper(mapeador);
+	}
+
+	@Benchmark
+	public JpaMapeador criarJpaMapeador() {
+		return new JpaMapeador();
+	}
+
+	private static ModelMapper modelMapper(JpaMapeador mapeador) {
+		var modelMapper = new ModelMapper();
+		var configuracao = modelMapper.getConfiguration();
+		configuracao.setFieldMatchingEnabled(true);
+		configuracao.setFieldAccessLevel(AccessLevel.PRIVATE);
+		configuracao.setSkipNullEnabled(true);
+		modelMapper.addConverter(conversor(mapeador::paraVeiculo), VeiculoJpa.class, Veiculo.class);
+		modelMapper.addConverter(conversor(mapeador::paraVeiculoJpa), Veiculo.class, VeiculoJpa.class);
+		modelMapper.addConverter(conversor(mapeador::paraReserva), ReservaJpa.class, Reserva.class);
+		modelMapper.addConverter(conversor(mapeador::paraLocacao), LocacaoJpa.class, Locacao.class);
+		return modelMapper;
+	}
+
+	private static <S, T> AbstractConverter<S, T> conversor(Function<S, T> conversao) {
+		return new AbstractConverter<>() {
+			@Override
+			protected T convert(S origem) {
+				return conversao.apply(origem);
+			}
+		};
+	}
+}
@@ -0,0 +1,37 @@
+package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Exclusão mútua por veículo para operações do tipo verificar-e-gravar, como
+ * reservar e retirar.
+ *
+ * <p>
+ * Apenas operações sobre a mesma placa são serializadas; operações sobre
+ * veículos diferentes seguem em paralelo. Se o veículo não puder ser obtido no
+ * tempo de espera da implementação, é lançada {@link IllegalStateException}.
+ * </p>
+ */
+public interface BloqueioVeiculo {
+
+	/**
+	 * Executa a ação com exclusividade sobre o veículo e devolve o seu resultado.
+	 */
+	<T> T executar(String placa, Supplier<T> acao);
+
+	/**
+	 * Executa a ação com exclusividade sobre todos os veículos informados e
+	 * devolve o seu resultado. As travas são obtidas numa ordem global fixa da
+	 * implementação, e não na ordem das placas, para que duas operações sobre
+	 * conjuntos de veículos que se cruzam não fiquem esperando uma pela outra.
+	 */
+	<T> T executarTodos(Collection<String> placas, Supplier<T> acao);
+
+	default void executar(String placa, Runnable acao) {
+		executar(placa, () -> {
+			acao.run();
+			return null;
+		});
+	}
+}
@@ -0,0 +1,148 @@
+package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link BloqueioVeiculo} em memória com travas listradas.
+ *
+ * <p>
+ * Há um número fixo de travas reentrantes (potência de dois) e cada placa é
+ * associada a uma delas pelo seu hash. Placas diferentes só disputam a mesma
+ * trava quando caem na mesma faixa, o que, com faixas suficientes, é raro; a
+ * memória usada não cresce com a frota. A espera por uma trava é limitada, e
+ * ao esgotá-la a operação falha em vez de ficar bloqueada indefinidamente.
+ * </p>
+ *
+ * <p>
+ * Várias placas são bloqueadas pelas suas faixas, cada faixa uma única vez e
+ * em ordem crescente de índice. Como a ordem é a das faixas, e não a das
+ * placas, dois lotes que disputam as mesmas faixas não ficam, cada um, com
+ * uma faixa que o outro espera.
+ * </p>
+ *
+ * <p>
+ * Vale apenas dentro de uma JVM.
+ * </p>
+ */
+public class BloqueioVeiculoListrado implements BloqueioVeiculo {
+	private final ReentrantLock[] faixas;
+	private final long esperaNanos;
+
+	public BloqueioVeiculoListrado(int quantidadeFaixas, Duration espera) {
+		if (quantidadeFaixas < 1) {
+			throw new IllegalArgumentException("A quantidade de faixas deve ser maior que zero");
+		}
+		Objects.requireNonNull(espera, "O tempo de espera é obrigatório");
+		if (espera.isNegative()) {
+			throw new IllegalArgumentException("O tempo de espera não pode ser negativo");
+		}
+
+		var tamanho = Integer.highestOneBit(quantidadeFaixas);
+		if (tamanho < quantidadeFaixas) {
+			tamanho <<= 1;
+		}
+		this.faixas = new ReentrantLock[tamanho];
+		for (int indice = 0; indice < tamanho; indice++) {
+			faixas[indice] = new ReentrantLock();
+		}
+		this.esperaNanos = espera.toNanos();
+	}
+
+	@Override
+	public <T> T executar(String placa, Supplier<T> acao) {
+		Objects.requireNonNull(acao, "A ação é obrigatória");
+		adquirir(placa);
+		try {
+			return acao.get();
+		} finally {
+			liberar(placa);
+		}
+	}
+
+	@Override
+	public <T> T executarTodos(Collection<String> placas, Supplier<T> acao) {
+		Objects.requireNonNull(acao, "A ação é obrigatória");
+		var indices = adquirirTodos(placas);
+		try {
+			return acao.get();
+		} finally {
+			liberarFaixas(indices);
+		}
+	}
+
+	/**
+	 * Obtém a trava do veículo para a thread atual, esperando no máximo o tempo
+	 * configurado. Cada chamada deve ser seguida de um {@link #liberar(String)}
+	 * na mesma thread.
+	 */
+	public void adquirir(String placa) {
+		adquirir(indice(placa), placa);
+	}
+
+	public void liberar(String placa) {
+		faixas[indice(placa)].unlock();
+	}
+
+	/**
+	 * Obtém as travas de todas as placas para a thread atual, cada faixa uma
+	 * única vez e em ordem crescente de índice. Se alguma não for obtida no tempo
+	 * de espera, as já obtidas são liberadas. As faixas devolvidas devem ser
+	 * passadas a {@link #liberarFaixas(int[])} na mesma thread.
+	 */
+	public int[] adquirirTodos(Collection<String> placas) {
+		Objects.requireNonNull(placas, "As placas são obrigatórias");
+		var porFaixa = new TreeMap<Integer, String>();
+		placas.forEach(placa -> porFaixa.putIfAbsent(indice(placa), placa));
+
+		var indices = new int[porFaixa.size()];
+		var obtidas = 0;
+		try {
+			for (var faixa : porFaixa.entrySet()) {
+				adquirir(faixa.getKey(), faixa.getValue());
+				indices[obtidas++] = faixa.getKey();
+			}
+		} catch (RuntimeException e) {
+			liberarFaixas(Arrays.copyOf(indices, obtidas));
+			throw e;
+		}
+		return indices;
+	}
+
+	/**
+	 * Libera, em ordem inversa, as faixas obtidas por {@link #adquirirTodos(Collection)}.
+	 */
+	public void liberarFaixas(int[] indices) {
+		for (int posicao = indices.length - 1; posicao >= 0; posicao--) {
+			faixas[indices[posicao]].unlock();
+		}
+	}
+
+	public int quantidadeFaixas() {
+		return faixas.length;
+	}
+
+	int indice(String placa) {
+		Objects.requireNonNull(placa, "A placa é obrigatória");
+		var hash = placa.hashCode();
+		return (hash ^ (hash >>> 16)) & (faixas.length - 1);
+	}
+
+	private void adquirir(int indice, String placa) {
+		try {
+			if (!faixas[indice].tryLock(esperaNanos, TimeUnit.NANOSECONDS)) {
+				throw new IllegalStateException(
+						"O veículo " + placa + " está em uso por outra operação. Tente novamente");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Operação interrompida aguardando o veículo " + placa);
+		}
+	}
+}
@@ -1,25 +1,24 @@
 package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
-import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
-import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
 
 public class CatalogoVeiculosServico {
 	private final CategoriaRepositorio categoriaRepositorio;
 	private final VeiculoRepositorio veiculoRepositorio;
 	private final LocacaoRepositorio locacaoRepositorio;
+	private final IndiceFrota indiceFrota;
 
 	public CatalogoVeiculosServico(CategoriaRepositorio categoriaRepositorio, VeiculoRepositorio veiculoRepositorio,
-			LocacaoRepositorio locacaoRepositorio) {
+			LocacaoRepositorio locacaoRepositorio, IndiceFrota indiceFrota) {
 		this.categoriaRepositorio = Objects.requireNonNull(categoriaRepositorio, "Repositorio de categorias é obrigatório");
 		this.veiculoRepositorio = Objects.requireNonNull(veiculoRepositorio, "Repositorio de veículos é obrigatório");
 		this.locacaoRepositorio = Objects.requireNonNull(locacaoRepositorio, "Repositorio de locações é obrigatório");
+		this.indiceFrota = Objects.requireNonNull(indiceFrota, "Índice da frota é obrigatório");
 	}
 
 	public void registrarCategoria(Categoria categoria) {
@@ -38,42 +37,30 @@ public class CatalogoVeiculosServico {
 	public List<VeiculoDisponivel> buscarDisponiveis(ConsultaDisponibilidade consulta) {
 		Objects.requireNonNull(consulta, "A consulta é obrigatória");
 
-		// 1. Buscar veículos com status DISPONIVEL
-		var veiculos = consulta.getCategoria()
-				.map(categoria -> veiculoRepositorio.buscarDisponiveis(consulta.getCidade(), categoria))
-				.orElseGet(() -> veiculoRepositorio.buscarDisponiveis(consulta.getCidade()));
+		if (!indiceFrota.carregado()) {
+			indiceFrota.carregar(veiculoRepositorio::listarTodos);
+		}
 
-		// 2. Obter placas de veículos locados no período solicitado
-		Set<String> placasLocadasNoPeriodo = obterPlacasLocadasNoPeriodo(consulta.getPeriodo());
+		// 1. Obter placas de veículos locados no período solicitado
+		Set<String> placasLocadasNoPeriodo = listarPlacasLocadas(consulta);
 
-		// 3. Filtrar veículos que não estão locados no período
-		return veiculos.stream()
-				.filter(veiculo -> !placasLocadasNoPeriodo.contains(veiculo.getPlaca()))
-				.map(veiculo -> new VeiculoDisponivel(veiculo.getPlaca(), veiculo.getModelo(), veiculo.getCategoria(),
-						veiculo.getDiaria()))
-				.toList();
+		// 2. Cruzar os mapas de cidade, categoria e status DISPONIVEL, retirando os veículos locados
+		return indiceFrota.buscar(consulta.getCidade(), consulta.getCategoria(), StatusVeiculo.DISPONIVEL,
+				placasLocadasNoPeriodo);
 	}
 
 	/**
-	 * Obtém as placas dos veículos que estão locados (status ATIVA) durante o período solicitado.
+	 * Obtém as placas dos veículos que estão locados (status ATIVA) durante o período solicitado,
+	 * restritas à cidade e, se informada, à categoria da consulta. Quem lê os veículos do
+	 * repositório, em vez do índice da frota, retira essas placas do resultado.
 	 */
-	private Set<String> obterPlacasLocadasNoPeriodo(PeriodoLocacao periodo) {
-		return locacaoRepositorio.listarLocacoes().stream()
-				.filter(locacao -> locacao.getStatus() == StatusLocacao.ATIVA)
-				.filter(locacao -> periodosConflitantes(locacao.getReserva().getPeriodo(), periodo))
-				.map(locacao -> locacao.getVeiculo().getPlaca())
-				.collect(Collectors.toSet());
-	}
+	public Set<String> listarPlacasLocadas(ConsultaDisponibilidade consulta) {
+		Objects.requireNonNull(consulta, "A consulta é obrigatória");
 
-	/**
-	 * Verifica se dois períodos conflitam (se há sobreposição).
-	 */
-	private boolean periodosConflitantes(PeriodoLocacao existente, PeriodoLocacao desejado) {
-		LocalDateTime inicioExistente = existente.getRetirada();
-		LocalDateTime fimExistente = existente.getDevolucao();
-		LocalDateTime inicioNovo = desejado.getRetirada();
-		LocalDateTime fimNovo = desejado.getDevolucao();
-		return !inicioNovo.isAfter(fimExistente) && !fimNovo.isBefore(inicioExistente);
+		return consulta.getCategoria()
+				.map(categoria -> locacaoRepositorio.listarPlacasLocadas(consulta.getCidade(), categoria,
+						consulta.getPeriodo()))
+				.orElseGet(() -> locacaoRepositorio.listarPlacasLocadas(consulta.getCidade(), consulta.getPeriodo()));
 	}
 
 	public List<Categoria> listarCategorias() {
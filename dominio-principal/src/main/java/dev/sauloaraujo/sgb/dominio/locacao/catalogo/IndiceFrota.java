@@ -0,0 +1,209 @@
+package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+/**
+ * Índice em memória da frota por cidade, categoria e status.
+ *
+ * <p>
+ * Cada veículo recebe um ordinal denso na primeira vez em que é registrado, e
+ * há um mapa de bits por cidade, por {@link CategoriaCodigo} e por
+ * {@link StatusVeiculo}. Os candidatos de uma busca são a interseção desses
+ * mapas, da qual se retiram os bits das placas ocupadas no período; só os
+ * veículos que sobram são materializados.
+ * </p>
+ *
+ * <p>
+ * Deve ser atualizado pelo repositório de veículos a cada gravação, de modo que
+ * transições como locar, devolver e agendar manutenção movam o veículo entre os
+ * mapas de status. Enquanto não for {@link #carregar(Supplier) carregado}, o
+ * índice não deve ser consultado.
+ * </p>
+ *
+ * <p>
+ * Como nos índices de reservas, as placas registradas enquanto o índice não
+ * está carregado são reaplicadas sobre a frota lida pela carga, e uma carga
+ * iniciada antes de um {@link #limpar()} é descartada.
+ * </p>
+ */
+public class IndiceFrota {
+	private static final BitSet VAZIO = new BitSet();
+
+	private final Map<String, Integer> ordinaisPorPlaca = new HashMap<>();
+	private final List<VeiculoDisponivel> veiculosPorOrdinal = new ArrayList<>();
+	private final Map<String, BitSet> porCidade = new HashMap<>();
+	private final Map<CategoriaCodigo, BitSet> porCategoria = new EnumMap<>(CategoriaCodigo.class);
+	private final Map<StatusVeiculo, BitSet> porStatus = new EnumMap<>(StatusVeiculo.class);
+	private final Set<String> registradasSemCarga = new HashSet<>();
+	private boolean carregado;
+	private long geracao;
+
+	public synchronized boolean carregado() {
+		return carregado;
+	}
+
+	/**
+	 * Reconstrói o índice a partir de uma frota já lida.
+	 */
+	public void carregar(Collection<Veiculo> veiculos) {
+		Objects.requireNonNull(veiculos, "Os veículos são obrigatórios");
+		carregar(() -> veiculos);
+	}
+
+	/**
+	 * Carrega o índice, se ainda não estiver carregado, a partir de toda a frota,
+	 * lida fora da trava do índice. As placas registradas desde que o índice
+	 * deixou de estar carregado são reaplicadas sobre a frota lida.
+	 */
+	public void carregar(Supplier<? extends Collection<Veiculo>> veiculos) {
+		Objects.requireNonNull(veiculos, "Os veículos são obrigatórios");
+		long geracaoLida;
+		synchronized (this) {
+			if (carregado) {
+				return;
+			}
+			geracaoLida = geracao;
+		}
+		var lidos = veiculos.get();
+
+		synchronized (this) {
+			if (carregado || geracao != geracaoLida) {
+				return;
+			}
+			var registrados = new HashMap<String, VeiculoDisponivel>();
+			registradasSemCarga.forEach(placa -> registrados.put(placa, registro(placa)));
+			limparEstruturas();
+			lidos.forEach(veiculo -> aplicar(veiculo.getPlaca(), registro(veiculo)));
+			registrados.forEach(this::aplicar);
+			registradasSemCarga.clear();
+			carregado = true;
+		}
+	}
+
+	public synchronized void limpar() {
+		limparEstruturas();
+		registradasSemCarga.clear();
+		carregado = false;
+		geracao++;
+	}
+
+	public synchronized void registrar(Veiculo veiculo) {
+		Objects.requireNonNull(veiculo, "O veículo é obrigatório");
+		atualizar(veiculo.getPlaca(), registro(veiculo));
+	}
+
+	/**
+	 * Retira o veículo do índice, como quando a sua gravação é desfeita.
+	 */
+	public synchronized void remover(String placa) {
+		Objects.requireNonNull(placa, "A placa é obrigatória");
+		atualizar(placa, null);
+	}
+
+	private void atualizar(String placa, VeiculoDisponivel registro) {
+		if (!carregado) {
+			registradasSemCarga.add(placa);
+		}
+		aplicar(placa, registro);
+	}
+
+	private void aplicar(String placa, VeiculoDisponivel registro) {
+		var ordinal = ordinaisPorPlaca.get(placa);
+		if (ordinal != null) {
+			var anterior = veiculosPorOrdinal.get(ordinal);
+			if (anterior != null) {
+				desmarcar(ordinal, anterior);
+			}
+		}
+		if (registro == null) {
+			if (ordinal != null) {
+				veiculosPorOrdinal.set(ordinal, null);
+			}
+			return;
+		}
+		if (ordinal == null) {
+			ordinal = veiculosPorOrdinal.size();
+			ordinaisPorPlaca.put(placa, ordinal);
+			veiculosPorOrdinal.add(null);
+		}
+		veiculosPorOrdinal.set(ordinal, registro);
+		porCidade.computeIfAbsent(chaveCidade(registro.cidade()), c -> new BitSet()).set(ordinal);
+		porCategoria.computeIfAbsent(registro.categoria(), c -> new BitSet()).set(ordinal);
+		porStatus.computeIfAbsent(registro.status(), s -> new BitSet()).set(ordinal);
+	}
+
+	/**
+	 * Lista os veículos da cidade (sem distinção de maiúsculas) no status
+	 * informado, opcionalmente restritos a uma categoria, excluindo as placas
+	 * ocupadas.
+	 */
+	public synchronized List<VeiculoDisponivel> buscar(String cidade, Optional<CategoriaCodigo> categoria,
+			StatusVeiculo status, Collection<String> placasOcupadas) {
+		Objects.requireNonNull(cidade, "A cidade é obrigatória");
+		Objects.requireNonNull(categoria, "A categoria é obrigatória");
+		Objects.requireNonNull(status, "O status é obrigatório");
+		Objects.requireNonNull(placasOcupadas, "As placas ocupadas são obrigatórias");
+
+		var candidatos = (BitSet) porCidade.getOrDefault(chaveCidade(cidade), VAZIO).clone();
+		candidatos.and(porStatus.getOrDefault(status, VAZIO));
+		categoria.ifPresent(codigo -> candidatos.and(porCategoria.getOrDefault(codigo, VAZIO)));
+
+		for (var placa : placasOcupadas) {
+			var ordinal = ordinaisPorPlaca.get(placa);
+			if (ordinal != null) {
+				candidatos.clear(ordinal);
+			}
+		}
+
+		var resultado = new ArrayList<VeiculoDisponivel>(candidatos.cardinality());
+		for (int ordinal = candidatos.nextSetBit(0); ordinal >= 0; ordinal = candidatos.nextSetBit(ordinal + 1)) {
+			resultado.add(veiculosPorOrdinal.get(ordinal));
+		}
+		return resultado;
+	}
+
+	private VeiculoDisponivel registro(String placa) {
+		var ordinal = ordinaisPorPlaca.get(placa);
+		return ordinal == null ? null : veiculosPorOrdinal.get(ordinal);
+	}
+
+	private static VeiculoDisponivel registro(Veiculo veiculo) {
+		return new VeiculoDisponivel(veiculo.getPlaca(), veiculo.getModelo(), veiculo.getCategoria(),
+				veiculo.getCidade(), veiculo.getDiaria(), veiculo.getStatus());
+	}
+
+	private void desmarcar(int ordinal, VeiculoDisponivel anterior) {
+		var cidade = porCidade.get(chaveCidade(anterior.cidade()));
+		if (cidade != null) {
+			cidade.clear(ordinal);
+		}
+		porCategoria.get(anterior.categoria()).clear(ordinal);
+		porStatus.get(anterior.status()).clear(ordinal);
+	}
+
+	private void limparEstruturas() {
+		ordinaisPorPlaca.clear();
+		veiculosPorOrdinal.clear();
+		porCidade.clear();
+		porCategoria.clear();
+		porStatus.clear();
+	}
+
+	private static String chaveCidade(String cidade) {
+		return cidade.toLowerCase(Locale.ROOT);
+	}
+}
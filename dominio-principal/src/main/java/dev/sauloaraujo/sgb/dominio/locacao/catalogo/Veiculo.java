@@ -17,6 +17,7 @@ public class Veiculo {
 	private LocalDateTime manutencaoPrevista;
 	private String manutencaoNota;
 	private Patio patio;
+	private Long versao;
 
 	public Veiculo(String placa, String modelo, CategoriaCodigo categoria, String cidade, BigDecimal diaria,
 			StatusVeiculo status) {
@@ -45,6 +46,22 @@ public class Veiculo {
 		return placa;
 	}
 
+	/**
+	 * Versão de concorrência otimista; nula enquanto o agregado não foi gravado.
+	 */
+	public Long getVersao() {
+		return versao;
+	}
+
+	/**
+	 * Restaura a versão lida ou gerada pela persistência. Não é uma operação de
+	 * negócio: serve apenas para que a próxima gravação seja conferida contra a
+	 * versão em que o agregado foi carregado.
+	 */
+	public void restaurarVersao(Long versao) {
+		this.versao = versao;
+	}
+
 	public String getModelo() {
 		return modelo;
 	}
@@ -2,5 +2,8 @@ package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
 
 import java.math.BigDecimal;
 
-public record VeiculoDisponivel(String placa, String modelo, CategoriaCodigo categoria, BigDecimal diaria) {
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+public record VeiculoDisponivel(String placa, String modelo, CategoriaCodigo categoria, String cidade,
+		BigDecimal diaria, StatusVeiculo status) {
 }
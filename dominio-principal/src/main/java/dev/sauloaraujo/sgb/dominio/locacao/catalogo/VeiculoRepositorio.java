@@ -1,16 +1,62 @@
 package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface VeiculoRepositorio {
 	void salvar(Veiculo veiculo);
 
 	Optional<Veiculo> buscarPorPlaca(String placa);
 
+	/**
+	 * Busca de uma vez os veículos das placas informadas; placas sem veículo são
+	 * ignoradas.
+	 */
+	List<Veiculo> buscarPorPlacas(Collection<String> placas);
+
 	List<Veiculo> buscarDisponiveis(String cidade, CategoriaCodigo categoria);
 
 	List<Veiculo> buscarDisponiveis(String cidade);
 
+	/**
+	 * Busca até {@code limite} veículos disponíveis da cidade em ordem de placa,
+	 * a partir da primeira placa maior que {@code placaApos}.
+	 *
+	 * @param categoria categoria dos veículos, ou {@code null} para todas
+	 * @param placaApos placa do último veículo da página anterior, ou
+	 *                  {@code null} na primeira página
+	 */
+	List<Veiculo> buscarDisponiveisPorPlaca(String cidade, CategoriaCodigo categoria, String placaApos, int limite);
+
+	/**
+	 * Busca até {@code limite} veículos disponíveis da cidade em ordem de
+	 * (diária, placa), a partir da primeira chave maior que
+	 * ({@code diariaApos}, {@code placaApos}).
+	 *
+	 * @param categoria categoria dos veículos, ou {@code null} para todas
+	 * @param diariaApos diária do último veículo da página anterior, ou
+	 *                   {@code null} na primeira página
+	 * @param placaApos placa do último veículo da página anterior
+	 */
+	List<Veiculo> buscarDisponiveisPorDiaria(String cidade, CategoriaCodigo categoria, BigDecimal diariaApos,
+			String placaApos, int limite);
+
+	/**
+	 * Percorre os veículos disponíveis da cidade em ordem de placa, lidos do
+	 * banco aos poucos. O fluxo segura recursos até ser fechado; use-o em um
+	 * try-with-resources.
+	 *
+	 * @param categoria categoria dos veículos, ou {@code null} para todas
+	 */
+	Stream<Veiculo> percorrerDisponiveis(String cidade, CategoriaCodigo categoria);
+
 	List<Veiculo> buscarQuePrecisamManutencao();
+
+	/**
+	 * Lista toda a frota. Usado para carregar o {@link IndiceFrota}.
+	 */
+	List<Veiculo> listarTodos();
 }
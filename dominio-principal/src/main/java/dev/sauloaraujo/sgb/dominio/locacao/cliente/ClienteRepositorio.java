@@ -3,6 +3,9 @@ package dev.sauloaraujo.sgb.dominio.locacao.cliente;
 import java.util.List;
 import java.util.Optional;
 
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+
 public interface ClienteRepositorio {
 	void salvar(Cliente cliente);
 
@@ -11,4 +14,10 @@ public interface ClienteRepositorio {
 	Optional<Cliente> buscarPorLogin(String login);
 
 	List<Cliente> listarClientes();
+
+	/**
+	 * Lista os clientes em ordem de CPF/CNPJ, paginados por chave; o cursor é o
+	 * documento do último cliente entregue.
+	 */
+	Pagina<Cliente> listarClientes(PedidoPagina pedido);
 }
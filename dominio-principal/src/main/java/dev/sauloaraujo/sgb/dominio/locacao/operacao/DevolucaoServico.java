@@ -1,5 +1,8 @@
 package dev.sauloaraujo.sgb.dominio.locacao.operacao;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
@@ -37,10 +40,41 @@ public class DevolucaoServico {
 
 		// 1. Buscar Locação
 		var locacao = locacaoRepositorio.buscarPorCodigoLocacao(command.getCodigoLocacao())
-				.orElseThrow(() -> new IllegalArgumentException(
-					"Locação não encontrada: " + command.getCodigoLocacao()
-				));
+				.orElseThrow(() -> naoEncontrada(command));
 
+		return devolver(locacao, command);
+	}
+
+	/**
+	 * Carrega de uma vez as locações de um lote de devoluções, indexadas pelo
+	 * código, para uso em {@link #processar(ProcessarDevolucaoCommand, Map)}.
+	 */
+	public Map<String, Locacao> carregar(Collection<String> codigosLocacao) {
+		Objects.requireNonNull(codigosLocacao, "Os códigos das locações são obrigatórios");
+
+		var carregadas = new LinkedHashMap<String, Locacao>();
+		for (var locacao : locacaoRepositorio.buscarPorCodigosLocacao(codigosLocacao)) {
+			carregadas.put(locacao.getCodigo(), locacao);
+		}
+		return carregadas;
+	}
+
+	/**
+	 * Processa a devolução de uma locação já carregada por {@link #carregar}.
+	 * Devoluções seguidas da mesma locação veem o estado deixado pela anterior.
+	 */
+	public Faturamento processar(ProcessarDevolucaoCommand command, Map<String, Locacao> carregadas) {
+		Objects.requireNonNull(command, "O comando é obrigatório");
+		Objects.requireNonNull(carregadas, "As locações carregadas são obrigatórias");
+
+		var locacao = carregadas.get(command.getCodigoLocacao());
+		if (locacao == null) {
+			throw naoEncontrada(command);
+		}
+		return devolver(locacao, command);
+	}
+
+	private Faturamento devolver(Locacao locacao, ProcessarDevolucaoCommand command) {
 		// 2. Criar Value Object de Vistoria
 		var vistoria = new ChecklistVistoria(
 			command.getQuilometragem(), 
@@ -61,4 +95,8 @@ public class DevolucaoServico {
 		// 5. Retornar Resultado
 		return faturamento;
 	}
+
+	private static IllegalArgumentException naoEncontrada(ProcessarDevolucaoCommand command) {
+		return new IllegalArgumentException("Locação não encontrada: " + command.getCodigoLocacao());
+	}
 }
@@ -17,6 +17,7 @@ public class Locacao {
 	private StatusLocacao status;
 	private ChecklistVistoria vistoriaRetirada;
 	private ChecklistVistoria vistoriaDevolucao;
+	private Long versao;
 
 	public Locacao(String codigo, Reserva reserva, Veiculo veiculo, int diasPrevistos, BigDecimal valorDiaria,
 			ChecklistVistoria vistoriaRetirada, CalculoMultaStrategy estrategiaMulta) {
@@ -60,6 +61,22 @@ public class Locacao {
 		return codigo;
 	}
 
+	/**
+	 * Versão de concorrência otimista; nula enquanto o agregado não foi gravado.
+	 */
+	public Long getVersao() {
+		return versao;
+	}
+
+	/**
+	 * Restaura a versão lida ou gerada pela persistência. Não é uma operação de
+	 * negócio: serve apenas para que a próxima gravação seja conferida contra a
+	 * versão em que o agregado foi carregado.
+	 */
+	public void restaurarVersao(Long versao) {
+		this.versao = versao;
+	}
+
 	public Reserva getReserva() {
 		return reserva;
 	}
@@ -1,12 +1,64 @@
 package dev.sauloaraujo.sgb.dominio.locacao.operacao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
 
 public interface LocacaoRepositorio {
 	void salvar(Locacao locacao);
 
     Optional<Locacao> buscarPorCodigoLocacao(String codigo);
 
+    /**
+     * Busca de uma vez as locações dos códigos informados, para devoluções em
+     * lote. Códigos sem locação são ignorados.
+     */
+    List<Locacao> buscarPorCodigosLocacao(Collection<String> codigos);
+
     List<Locacao> listarLocacoes();
+
+    /**
+     * Lista as locações em ordem de código, paginadas por chave; o cursor é o
+     * código da última locação entregue.
+     */
+    Pagina<Locacao> listarLocacoes(PedidoPagina pedido);
+
+    /**
+     * Percorre todas as locações sem carregá-las de uma vez, para faturamento e
+     * exportações em lote. O fluxo mantém recursos abertos até ser fechado: use-o
+     * em um try-with-resources.
+     */
+    Stream<Locacao> percorrerLocacoes();
+
+    /**
+     * Conta as locações ativas da categoria cujo período da reserva se sobrepõe
+     * ao informado (limites inclusivos).
+     */
+    long contarLocacoesConflitantes(CategoriaCodigo categoria, PeriodoLocacao periodo);
+
+    /**
+     * Lista as placas dos veículos com locação ativa cujo período se sobrepõe ao
+     * informado (limites inclusivos).
+     */
+    Set<String> listarPlacasLocadas(PeriodoLocacao periodo);
+
+    /**
+     * Lista as placas dos veículos da cidade com locação ativa cujo período se
+     * sobrepõe ao informado. Consulta de leitura usada pelo catálogo: retorna
+     * apenas as placas, sem carregar locações.
+     */
+    Set<String> listarPlacasLocadas(String cidade, PeriodoLocacao periodo);
+
+    /**
+     * Igual a {@link #listarPlacasLocadas(String, PeriodoLocacao)}, restrito a
+     * veículos da categoria informada.
+     */
+    Set<String> listarPlacasLocadas(String cidade, CategoriaCodigo categoria, PeriodoLocacao periodo);
 }
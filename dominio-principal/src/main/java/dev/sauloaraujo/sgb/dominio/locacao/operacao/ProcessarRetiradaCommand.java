@@ -2,6 +2,8 @@ package dev.sauloaraujo.sgb.dominio.locacao.operacao;
 
 import java.util.Objects;
 
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.RetiradaInfo;
+
 public class ProcessarRetiradaCommand {
 	private final String codigoReserva;
 	private final String codigoLocacao;
@@ -9,6 +11,7 @@ public class ProcessarRetiradaCommand {
 	private final boolean documentosValidos;
 	private final int quilometragem;
 	private final String combustivel;
+	private final RetiradaInfo retiradaInfo;
 
 	private ProcessarRetiradaCommand(Builder builder) {
 		this.codigoReserva = Objects.requireNonNull(builder.codigoReserva, "O código da reserva é obrigatório");
@@ -17,6 +20,7 @@ public class ProcessarRetiradaCommand {
 		this.documentosValidos = builder.documentosValidos;
 		this.quilometragem = builder.quilometragem;
 		this.combustivel = Objects.requireNonNull(builder.combustivel, "O nível de combustível é obrigatório");
+		this.retiradaInfo = builder.retiradaInfo;
 	}
 
 	public String getCodigoReserva() {
@@ -43,6 +47,14 @@ public class ProcessarRetiradaCommand {
 		return combustivel;
 	}
 
+	/**
+	 * Informações da retirada a registrar na reserva, ou {@code null} quando a
+	 * reserva deve apenas ser concluída.
+	 */
+	public RetiradaInfo getRetiradaInfo() {
+		return retiradaInfo;
+	}
+
 	public static Builder builder() {
 		return new Builder();
 	}
@@ -54,6 +66,7 @@ public class ProcessarRetiradaCommand {
 		private boolean documentosValidos = true;
 		private int quilometragem;
 		private String combustivel = "CHEIO";
+		private RetiradaInfo retiradaInfo;
 
 		public Builder codigoReserva(String codigoReserva) {
 			this.codigoReserva = codigoReserva;
@@ -85,6 +98,11 @@ public class ProcessarRetiradaCommand {
 			return this;
 		}
 
+		public Builder retiradaInfo(RetiradaInfo retiradaInfo) {
+			this.retiradaInfo = retiradaInfo;
+			return this;
+		}
+
 		public ProcessarRetiradaCommand build() {
 			return new ProcessarRetiradaCommand(this);
 		}
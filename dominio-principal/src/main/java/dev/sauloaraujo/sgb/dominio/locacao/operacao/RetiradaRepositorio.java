@@ -0,0 +1,36 @@
+package dev.sauloaraujo.sgb.dominio.locacao.operacao;
+
+import java.util.Optional;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+
+/**
+ * Acesso aos agregados de uma retirada como uma única operação: a reserva e o
+ * veículo são lidos juntos e a reserva, o veículo e a nova locação são
+ * gravados juntos.
+ */
+public interface RetiradaRepositorio {
+
+	/**
+	 * Carrega a reserva, com o cliente, e o veículo da retirada, mantendo ambos
+	 * bloqueados contra outras gravações até o fim da transação.
+	 *
+	 * @param codigoReserva código da reserva
+	 * @param placaVeiculo placa do veículo a retirar
+	 * @return a reserva e o veículo encontrados
+	 */
+	CargaRetirada carregar(String codigoReserva, String placaVeiculo);
+
+	/**
+	 * Grava o resultado da retirada. As três gravações seguem juntas para o
+	 * banco e nenhuma fica gravada sem as outras.
+	 */
+	void gravar(Reserva reserva, Veiculo veiculo, Locacao locacao);
+
+	/**
+	 * Reserva e veículo lidos para a retirada; vazios quando não existem.
+	 */
+	record CargaRetirada(Optional<Reserva> reserva, Optional<Veiculo> veiculo) {
+	}
+}
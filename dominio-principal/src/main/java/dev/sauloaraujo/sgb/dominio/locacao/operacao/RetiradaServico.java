@@ -2,28 +2,39 @@ package dev.sauloaraujo.sgb.dominio.locacao.operacao;
 
 import java.util.Objects;
 
-import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
-import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
-import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
-import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
 
+/**
+ * Retirada de veículo: valida a reserva e o veículo, abre a locação
+ * EM_ANDAMENTO e grava reserva, veículo e locação juntos.
+ *
+ * <p>
+ * Quando o comando traz as informações da retirada (condutor, horário,
+ * quilometragem), elas ficam registradas na reserva, que passa a EM_ANDAMENTO;
+ * sem elas a reserva é concluída.
+ * </p>
+ */
 public class RetiradaServico {
-	private final ReservaRepositorio reservaRepositorio;
-	private final VeiculoRepositorio veiculoRepositorio;
-	private final LocacaoRepositorio locacaoRepositorio;
-
-	public RetiradaServico(ReservaRepositorio reservaRepositorio, VeiculoRepositorio veiculoRepositorio,
-			LocacaoRepositorio locacaoRepositorio) {
-		this.reservaRepositorio = Objects.requireNonNull(reservaRepositorio, "Repositorio de reservas é obrigatório");
-		this.veiculoRepositorio = Objects.requireNonNull(veiculoRepositorio, "Repositorio de veículos é obrigatório");
-		this.locacaoRepositorio = Objects.requireNonNull(locacaoRepositorio, "Repositorio de locações é obrigatório");
+	private final RetiradaRepositorio retiradaRepositorio;
+	private final BloqueioVeiculo bloqueioVeiculo;
+
+	public RetiradaServico(RetiradaRepositorio retiradaRepositorio, BloqueioVeiculo bloqueioVeiculo) {
+		this.retiradaRepositorio = Objects.requireNonNull(retiradaRepositorio, "Repositorio de retiradas é obrigatório");
+		this.bloqueioVeiculo = Objects.requireNonNull(bloqueioVeiculo, "Bloqueio de veículos é obrigatório");
 	}
 
 	public ContratoLocacao processar(ProcessarRetiradaCommand command) {
 		Objects.requireNonNull(command, "O comando é obrigatório");
 
-		var reserva = reservaRepositorio.buscarPorCodigo(command.getCodigoReserva())
+		return bloqueioVeiculo.executar(command.getPlacaVeiculo(), () -> processarBloqueado(command));
+	}
+
+	private ContratoLocacao processarBloqueado(ProcessarRetiradaCommand command) {
+		var carga = retiradaRepositorio.carregar(command.getCodigoReserva(), command.getPlacaVeiculo());
+
+		var reserva = carga.reserva()
 				.orElseThrow(() -> new IllegalArgumentException("Reserva não encontrada"));
 
 		if (!reserva.getStatus().ativa()) {
@@ -34,7 +45,7 @@ public class RetiradaServico {
 			throw new IllegalArgumentException("CNH vencida. Renovação necessária");
 		}
 
-		var veiculo = veiculoRepositorio.buscarPorPlaca(command.getPlacaVeiculo())
+		var veiculo = carga.veiculo()
 				.orElseThrow(() -> new IllegalArgumentException("Veículo não encontrado"));
 
 		if (veiculo.getStatus() == StatusVeiculo.VENDIDO) {
@@ -53,17 +64,19 @@ public class RetiradaServico {
 			throw new IllegalStateException("Categoria do veículo não corresponde à reserva");
 		}
 
+		if (command.getRetiradaInfo() != null) {
+			reserva.confirmarRetirada(veiculo, command.getRetiradaInfo());
+		} else {
+			reserva.concluir();
+		}
 		veiculo.locar();
-		veiculoRepositorio.salvar(veiculo);
 
 		var vistoria = new ChecklistVistoria(command.getQuilometragem(), command.getCombustivel(), false);
 		var diasPrevistos = Math.toIntExact(reserva.diasReservados());
 		var locacao = new Locacao(command.getCodigoLocacao(), reserva, veiculo, diasPrevistos, veiculo.getDiaria(),
-				vistoria);
-		locacaoRepositorio.salvar(locacao);
+				vistoria, new MultaPadraoStrategy(), StatusLocacao.EM_ANDAMENTO);
 
-		reserva.concluir();
-		reservaRepositorio.salvar(reserva);
+		retiradaRepositorio.gravar(reserva, veiculo, locacao);
 
 		return new ContratoLocacao(locacao.getCodigo(), reserva.getCodigo(), veiculo.getPlaca(), locacao.getStatus());
 	}
@@ -0,0 +1,177 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Agenda em memória do prazo de expiração de cada reserva ativa: a data de
+ * retirada mais a carência.
+ *
+ * <p>
+ * Os prazos ficam numa {@link DelayQueue}, que entrega cada reserva só depois
+ * de vencido o seu prazo; registrar custa O(log n) e retirar as vencidas não
+ * percorre as demais. Uma reserva alterada não é procurada na fila: o prazo
+ * vigente fica num mapa por código, e a entrada antiga, quando vence, é
+ * descartada por não coincidir com ele.
+ * </p>
+ *
+ * <p>
+ * Assim como os índices de disponibilidade, deve ser atualizada pelos
+ * repositórios a cada gravação e carregada a partir das reservas ativas ao
+ * iniciar. As reservas entregues devem ser conferidas no banco antes de
+ * expiradas, pois podem ter mudado desde o registro.
+ * </p>
+ */
+public class AgendaExpiracaoReserva {
+
+	private final Duration carencia;
+	private final Clock relogio;
+	private final DelayQueue<Prazo> fila = new DelayQueue<>();
+	private final Map<String, LocalDateTime> prazosPorCodigo = new ConcurrentHashMap<>();
+
+	public AgendaExpiracaoReserva(Duration carencia, Clock relogio) {
+		this.carencia = Objects.requireNonNull(carencia, "A carência é obrigatória");
+		if (carencia.isNegative()) {
+			throw new IllegalArgumentException("A carência não pode ser negativa");
+		}
+		this.relogio = Objects.requireNonNull(relogio, "O relógio é obrigatório");
+	}
+
+	/**
+	 * Prazo a partir do qual a reserva, se continuar ativa, expira.
+	 */
+	public LocalDateTime prazo(Reserva reserva) {
+		return reserva.getPeriodo().getRetirada().plus(carencia);
+	}
+
+	/**
+	 * Reconstrói a agenda a partir das reservas ativas.
+	 */
+	public synchronized void carregar(Stream<Reserva> reservas) {
+		Objects.requireNonNull(reservas, "As reservas são obrigatórias");
+		fila.clear();
+		prazosPorCodigo.clear();
+		reservas.forEach(this::registrar);
+	}
+
+	/**
+	 * Agenda a reserva ativa para o seu prazo ou, se ela deixou de estar ativa,
+	 * retira-a da agenda.
+	 */
+	public synchronized void registrar(Reserva reserva) {
+		Objects.requireNonNull(reserva, "A reserva é obrigatória");
+		if (!reserva.getStatus().ativa()) {
+			prazosPorCodigo.remove(reserva.getCodigo());
+			return;
+		}
+		agendar(reserva.getCodigo(), prazo(reserva));
+	}
+
+	/**
+	 * Devolve à agenda, para o novo prazo, reservas entregues cuja expiração não
+	 * pôde ser gravada. Reservas registradas de novo nesse meio-tempo mantêm o
+	 * prazo registrado.
+	 */
+	public synchronized void adiar(Collection<String> codigos, LocalDateTime novoPrazo) {
+		Objects.requireNonNull(novoPrazo, "O novo prazo é obrigatório");
+		for (var codigo : codigos) {
+			if (prazosPorCodigo.putIfAbsent(codigo, novoPrazo) == null) {
+				fila.add(new Prazo(codigo, novoPrazo));
+			}
+		}
+	}
+
+	/**
+	 * Retira da agenda até {@code maximo} reservas de prazo vencido, sem esperar.
+	 */
+	public List<String> vencidas(int maximo) {
+		var codigos = new ArrayList<String>();
+		Prazo prazo;
+		while (codigos.size() < maximo && (prazo = fila.poll()) != null) {
+			entregar(prazo, codigos);
+		}
+		return codigos;
+	}
+
+	/**
+	 * Espera o próximo prazo vencer e retira da agenda até {@code maximo}
+	 * reservas de prazo vencido. Um prazo registrado durante a espera, se for
+	 * anterior, é o que encerra a espera.
+	 */
+	public List<String> aguardarVencidas(int maximo) throws InterruptedException {
+		var codigos = new ArrayList<String>();
+		while (codigos.isEmpty()) {
+			entregar(fila.take(), codigos);
+			codigos.addAll(vencidas(maximo - codigos.size()));
+		}
+		return codigos;
+	}
+
+	/**
+	 * Quantidade de reservas agendadas.
+	 */
+	public int pendentes() {
+		return prazosPorCodigo.size();
+	}
+
+	public boolean agendada(String codigo) {
+		return prazosPorCodigo.containsKey(codigo);
+	}
+
+	private void agendar(String codigo, LocalDateTime prazo) {
+		var anterior = prazosPorCodigo.put(codigo, prazo);
+		if (!prazo.equals(anterior)) {
+			fila.add(new Prazo(codigo, prazo));
+		}
+	}
+
+	/**
+	 * Uma entrada só vale se ainda for o prazo vigente da reserva; entregá-la a
+	 * retira da agenda.
+	 */
+	private void entregar(Prazo prazo, List<String> codigos) {
+		if (prazosPorCodigo.remove(prazo.codigo(), prazo.vencimento())) {
+			codigos.add(prazo.codigo());
+		}
+	}
+
+	private final class Prazo implements Delayed {
+		private final String codigo;
+		private final LocalDateTime vencimento;
+
+		Prazo(String codigo, LocalDateTime vencimento) {
+			this.codigo = codigo;
+			this.vencimento = vencimento;
+		}
+
+		String codigo() {
+			return codigo;
+		}
+
+		LocalDateTime vencimento() {
+			return vencimento;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unidade) {
+			var restante = Duration.between(LocalDateTime.now(relogio), vencimento);
+			return unidade.convert(restante);
+		}
+
+		@Override
+		public int compareTo(Delayed outro) {
+			return vencimento.compareTo(((Prazo) outro).vencimento);
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+
+/**
+ * Índice em memória dos períodos ocupados de cada veículo.
+ *
+ * <p>
+ * Para cada placa mantém os períodos de reservas ativas e de locações ativas
+ * ordenados pela data de retirada, junto com a maior duração já registrada.
+ * Um período só pode conflitar com [inicio, fim] se começar entre
+ * {@code inicio - maiorDuracao} e {@code fim}, de modo que a consulta
+ * percorre apenas essa faixa da árvore em vez de todas as reservas e locações.
+ * </p>
+ *
+ * <p>
+ * Os repositórios devem chamar {@link #registrar(Reserva)} e
+ * {@link #registrar(Locacao)} a cada gravação, para que cancelamentos,
+ * replanejamentos e conclusões reflitam no índice. Enquanto não for
+ * {@link #carregar(Supplier, Supplier) carregado}, o índice não deve ser
+ * consultado.
+ * </p>
+ *
+ * <p>
+ * Enquanto o índice não está carregado, as origens registradas são anotadas.
+ * A carga lê o estado dos repositórios fora da trava do índice e, ao
+ * reconstruí-lo, reaplica por cima dele o último registro de cada origem
+ * anotada: uma gravação feita entre a leitura e a reconstrução não se perde.
+ * Uma carga iniciada antes de um {@link #limpar()} é descartada.
+ * </p>
+ */
+public class IndiceDisponibilidadeVeiculo {
+	public static final String ORIGEM_RESERVA = "R:";
+	public static final String ORIGEM_LOCACAO = "L:";
+
+	private final Map<String, PeriodosDoVeiculo> periodosPorPlaca = new HashMap<>();
+	private final Map<String, Ocupacao> ocupacoesPorOrigem = new HashMap<>();
+	private final Set<String> registradasSemCarga = new HashSet<>();
+	private boolean carregado;
+	private long geracao;
+
+	public synchronized boolean carregado() {
+		return carregado;
+	}
+
+	/**
+	 * Reconstrói o índice a partir de um estado já lido dos repositórios.
+	 */
+	public void carregar(Collection<Reserva> reservas, Collection<Locacao> locacoes) {
+		Objects.requireNonNull(reservas, "As reservas são obrigatórias");
+		Objects.requireNonNull(locacoes, "As locações são obrigatórias");
+		carregar(() -> reservas, () -> locacoes);
+	}
+
+	/**
+	 * Carrega o índice, se ainda não estiver carregado, a partir do estado
+	 * completo dos repositórios, lido fora da trava do índice. As origens
+	 * registradas desde que o índice deixou de estar carregado são reaplicadas
+	 * sobre o estado lido.
+	 */
+	public void carregar(Supplier<? extends Collection<Reserva>> reservas,
+			Supplier<? extends Collection<Locacao>> locacoes) {
+		Objects.requireNonNull(reservas, "As reservas são obrigatórias");
+		Objects.requireNonNull(locacoes, "As locações são obrigatórias");
+		long geracaoLida;
+		synchronized (this) {
+			if (carregado) {
+				return;
+			}
+			geracaoLida = geracao;
+		}
+		var reservasLidas = reservas.get();
+		var locacoesLidas = locacoes.get();
+
+		synchronized (this) {
+			if (carregado || geracao != geracaoLida) {
+				return;
+			}
+			var registradas = new HashMap<String, Ocupacao>();
+			registradasSemCarga.forEach(origem -> registradas.put(origem, ocupacoesPorOrigem.get(origem)));
+			periodosPorPlaca.clear();
+			ocupacoesPorOrigem.clear();
+			reservasLidas.forEach(reserva -> aplicar(origem(reserva), ocupacao(reserva)));
+			locacoesLidas.forEach(locacao -> aplicar(origem(locacao), ocupacao(locacao)));
+			registradas.forEach(this::aplicar);
+			registradasSemCarga.clear();
+			carregado = true;
+		}
+	}
+
+	public synchronized void limpar() {
+		periodosPorPlaca.clear();
+		ocupacoesPorOrigem.clear();
+		registradasSemCarga.clear();
+		carregado = false;
+		geracao++;
+	}
+
+	public synchronized void registrar(Reserva reserva) {
+		Objects.requireNonNull(reserva, "A reserva é obrigatória");
+		atualizar(origem(reserva), ocupacao(reserva));
+	}
+
+	public synchronized void registrar(Locacao locacao) {
+		Objects.requireNonNull(locacao, "A locação é obrigatória");
+		atualizar(origem(locacao), ocupacao(locacao));
+	}
+
+	/**
+	 * Retira do índice a reserva, como quando a sua gravação é desfeita.
+	 */
+	public synchronized void removerReserva(String codigo) {
+		Objects.requireNonNull(codigo, "O código da reserva é obrigatório");
+		atualizar(ORIGEM_RESERVA + codigo, null);
+	}
+
+	/**
+	 * Retira do índice a locação, como quando a sua gravação é desfeita.
+	 */
+	public synchronized void removerLocacao(String codigo) {
+		Objects.requireNonNull(codigo, "O código da locação é obrigatório");
+		atualizar(ORIGEM_LOCACAO + codigo, null);
+	}
+
+	/**
+	 * Indica se o veículo não possui reserva ativa nem locação ativa que se
+	 * sobreponha ao período informado (limites inclusivos).
+	 */
+	public synchronized boolean livre(String placa, PeriodoLocacao periodo) {
+		return buscarConflito(placa, periodo, null) == null;
+	}
+
+	/**
+	 * Retorna a origem ({@link #ORIGEM_RESERVA} ou {@link #ORIGEM_LOCACAO} seguida do código) de
+	 * um período que conflita com o informado, ignorando a origem excluída, ou
+	 * {@code null} se o veículo estiver livre.
+	 */
+	public synchronized String buscarConflito(String placa, PeriodoLocacao periodo, String origemIgnorada) {
+		Objects.requireNonNull(placa, "A placa do veículo é obrigatória");
+		Objects.requireNonNull(periodo, "O período é obrigatório");
+		var periodos = periodosPorPlaca.get(placa);
+		if (periodos == null) {
+			return null;
+		}
+		return periodos.buscarConflito(periodo.getRetirada(), periodo.getDevolucao(), origemIgnorada);
+	}
+
+	private static String origem(Reserva reserva) {
+		return ORIGEM_RESERVA + reserva.getCodigo();
+	}
+
+	private static String origem(Locacao locacao) {
+		return ORIGEM_LOCACAO + locacao.getCodigo();
+	}
+
+	private static Ocupacao ocupacao(Reserva reserva) {
+		var ocupa = reserva.getStatus().ativa() && reserva.getPlacaVeiculo() != null;
+		return ocupa ? ocupacao(reserva.getPlacaVeiculo(), reserva.getPeriodo()) : null;
+	}
+
+	private static Ocupacao ocupacao(Locacao locacao) {
+		var ocupa = locacao.getStatus().ocupaVeiculo();
+		return ocupa ? ocupacao(locacao.getVeiculo().getPlaca(), locacao.getReserva().getPeriodo()) : null;
+	}
+
+	private static Ocupacao ocupacao(String placa, PeriodoLocacao periodo) {
+		return periodo == null ? null : new Ocupacao(placa, periodo.getRetirada(), periodo.getDevolucao());
+	}
+
+	private void atualizar(String origem, Ocupacao ocupacao) {
+		if (!carregado) {
+			registradasSemCarga.add(origem);
+		}
+		aplicar(origem, ocupacao);
+	}
+
+	private void aplicar(String origem, Ocupacao ocupacao) {
+		var anterior = ocupacoesPorOrigem.remove(origem);
+		if (anterior != null) {
+			var periodos = periodosPorPlaca.get(anterior.placa());
+			periodos.remover(origem, anterior.inicio());
+			if (periodos.vazio()) {
+				periodosPorPlaca.remove(anterior.placa());
+			}
+		}
+		if (ocupacao == null) {
+			return;
+		}
+		ocupacoesPorOrigem.put(origem, ocupacao);
+		periodosPorPlaca.computeIfAbsent(ocupacao.placa(), p -> new PeriodosDoVeiculo())
+				.adicionar(origem, ocupacao.inicio(), ocupacao.fim());
+	}
+
+	private record Ocupacao(String placa, LocalDateTime inicio, LocalDateTime fim) {
+	}
+
+	private static class PeriodosDoVeiculo {
+		private final NavigableMap<LocalDateTime, Map<String, LocalDateTime>> fimPorInicio = new TreeMap<>();
+		private Duration maiorDuracao = Duration.ZERO;
+
+		void adicionar(String origem, LocalDateTime inicio, LocalDateTime fim) {
+			fimPorInicio.computeIfAbsent(inicio, i -> new HashMap<>()).put(origem, fim);
+			var duracao = Duration.between(inicio, fim);
+			if (duracao.compareTo(maiorDuracao) > 0) {
+				maiorDuracao = duracao;
+			}
+		}
+
+		void remover(String origem, LocalDateTime inicio) {
+			var origens = fimPorInicio.get(inicio);
+			if (origens != null) {
+				origens.remove(origem);
+				if (origens.isEmpty()) {
+					fimPorInicio.remove(inicio);
+				}
+			}
+		}
+
+		boolean vazio() {
+			return fimPorInicio.isEmpty();
+		}
+
+		String buscarConflito(LocalDateTime inicio, LocalDateTime fim, String origemIgnorada) {
+			var candidatos = fimPorInicio.subMap(inicio.minus(maiorDuracao), true, fim, true);
+			for (var origens : candidatos.values()) {
+				for (var entrada : origens.entrySet()) {
+					if (!entrada.getValue().isBefore(inicio) && !entrada.getKey().equals(origemIgnorada)) {
+						return entrada.getKey();
+					}
+				}
+			}
+			return null;
+		}
+	}
+}
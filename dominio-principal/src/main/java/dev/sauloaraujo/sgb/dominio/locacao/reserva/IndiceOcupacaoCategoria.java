@@ -0,0 +1,267 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+
+/**
+ * Índice em memória da ocupação de cada categoria ao longo do tempo.
+ *
+ * <p>
+ * O tempo é dividido em faixas de uma hora e, para cada categoria, uma árvore
+ * de segmentos esparsa guarda quantas reservas ativas e locações ativas ocupam
+ * cada faixa. Registrar ou remover um período e consultar a ocupação máxima
+ * simultânea em um intervalo custam O(log n) no número de faixas.
+ * </p>
+ *
+ * <p>
+ * Um período ocupa todas as faixas entre a hora da retirada e a hora da
+ * devolução, inclusive; dois períodos que compartilham a mesma hora contam como
+ * simultâneos, preservando a regra de conflito com limites inclusivos.
+ * </p>
+ *
+ * <p>
+ * Assim como o {@link IndiceDisponibilidadeVeiculo}, deve ser atualizado pelos
+ * repositórios a cada gravação e carregado uma vez antes da primeira consulta,
+ * e a carga reaplica as origens registradas enquanto ele não estava carregado.
+ * </p>
+ */
+public class IndiceOcupacaoCategoria {
+	private static final String ORIGEM_RESERVA = IndiceDisponibilidadeVeiculo.ORIGEM_RESERVA;
+	private static final String ORIGEM_LOCACAO = IndiceDisponibilidadeVeiculo.ORIGEM_LOCACAO;
+
+	private final Map<CategoriaCodigo, ArvoreOcupacao> arvores = new EnumMap<>(CategoriaCodigo.class);
+	private final Map<String, Ocupacao> ocupacoesPorOrigem = new HashMap<>();
+	private final Set<String> registradasSemCarga = new HashSet<>();
+	private boolean carregado;
+	private long geracao;
+
+	public synchronized boolean carregado() {
+		return carregado;
+	}
+
+	/**
+	 * Reconstrói o índice a partir de um estado já lido dos repositórios.
+	 */
+	public void carregar(Collection<Reserva> reservas, Collection<Locacao> locacoes) {
+		Objects.requireNonNull(reservas, "As reservas são obrigatórias");
+		Objects.requireNonNull(locacoes, "As locações são obrigatórias");
+		carregar(() -> reservas, () -> locacoes);
+	}
+
+	/**
+	 * Carrega o índice, se ainda não estiver carregado, a partir do estado
+	 * completo dos repositórios, lido fora da trava do índice, como no
+	 * {@link IndiceDisponibilidadeVeiculo#carregar(Supplier, Supplier)}.
+	 */
+	public void carregar(Supplier<? extends Collection<Reserva>> reservas,
+			Supplier<? extends Collection<Locacao>> locacoes) {
+		Objects.requireNonNull(reservas, "As reservas são obrigatórias");
+		Objects.requireNonNull(locacoes, "As locações são obrigatórias");
+		long geracaoLida;
+		synchronized (this) {
+			if (carregado) {
+				return;
+			}
+			geracaoLida = geracao;
+		}
+		var reservasLidas = reservas.get();
+		var locacoesLidas = locacoes.get();
+
+		synchronized (this) {
+			if (carregado || geracao != geracaoLida) {
+				return;
+			}
+			var registradas = new HashMap<String, Ocupacao>();
+			registradasSemCarga.forEach(origem -> registradas.put(origem, ocupacoesPorOrigem.get(origem)));
+			arvores.clear();
+			ocupacoesPorOrigem.clear();
+			reservasLidas.forEach(reserva -> aplicar(ORIGEM_RESERVA + reserva.getCodigo(), ocupacao(reserva)));
+			locacoesLidas.forEach(locacao -> aplicar(ORIGEM_LOCACAO + locacao.getCodigo(), ocupacao(locacao)));
+			registradas.forEach(this::aplicar);
+			registradasSemCarga.clear();
+			carregado = true;
+		}
+	}
+
+	public synchronized void limpar() {
+		arvores.clear();
+		ocupacoesPorOrigem.clear();
+		registradasSemCarga.clear();
+		carregado = false;
+		geracao++;
+	}
+
+	public synchronized void registrar(Reserva reserva) {
+		Objects.requireNonNull(reserva, "A reserva é obrigatória");
+		atualizar(ORIGEM_RESERVA + reserva.getCodigo(), ocupacao(reserva));
+	}
+
+	public synchronized void registrar(Locacao locacao) {
+		Objects.requireNonNull(locacao, "A locação é obrigatória");
+		atualizar(ORIGEM_LOCACAO + locacao.getCodigo(), ocupacao(locacao));
+	}
+
+	/**
+	 * Retira do índice a reserva, como quando a sua gravação é desfeita.
+	 */
+	public synchronized void removerReserva(String codigo) {
+		Objects.requireNonNull(codigo, "O código da reserva é obrigatório");
+		atualizar(ORIGEM_RESERVA + codigo, null);
+	}
+
+	/**
+	 * Retira do índice a locação, como quando a sua gravação é desfeita.
+	 */
+	public synchronized void removerLocacao(String codigo) {
+		Objects.requireNonNull(codigo, "O código da locação é obrigatório");
+		atualizar(ORIGEM_LOCACAO + codigo, null);
+	}
+
+	/**
+	 * Maior número de reservas ativas e locações ativas simultâneas da categoria
+	 * em qualquer momento do período informado.
+	 */
+	public synchronized int ocupacaoMaxima(CategoriaCodigo categoria, PeriodoLocacao periodo) {
+		Objects.requireNonNull(categoria, "A categoria é obrigatória");
+		Objects.requireNonNull(periodo, "O período é obrigatório");
+		var arvore = arvores.get(categoria);
+		if (arvore == null) {
+			return 0;
+		}
+		return arvore.maximo(faixa(periodo.getRetirada()), faixa(periodo.getDevolucao()));
+	}
+
+	/**
+	 * Igual a {@link #ocupacaoMaxima(CategoriaCodigo, PeriodoLocacao)}, mas
+	 * desconsiderando a ocupação da própria reserva, como no replanejamento.
+	 */
+	public synchronized int ocupacaoMaximaIgnorando(CategoriaCodigo categoria, PeriodoLocacao periodo,
+			String codigoReserva) {
+		var origem = ORIGEM_RESERVA + codigoReserva;
+		var propria = ocupacoesPorOrigem.get(origem);
+		if (propria != null) {
+			arvores.get(propria.categoria()).adicionar(propria.inicio(), propria.fim(), -1);
+		}
+		try {
+			return ocupacaoMaxima(categoria, periodo);
+		} finally {
+			if (propria != null) {
+				arvores.get(propria.categoria()).adicionar(propria.inicio(), propria.fim(), 1);
+			}
+		}
+	}
+
+	private static Ocupacao ocupacao(Reserva reserva) {
+		return reserva.getStatus().ativa() ? ocupacao(reserva.getCategoria(), reserva.getPeriodo()) : null;
+	}
+
+	private static Ocupacao ocupacao(Locacao locacao) {
+		var reserva = locacao.getReserva();
+		return locacao.getStatus().ocupaVeiculo() ? ocupacao(reserva.getCategoria(), reserva.getPeriodo()) : null;
+	}
+
+	private static Ocupacao ocupacao(CategoriaCodigo categoria, PeriodoLocacao periodo) {
+		if (categoria == null || periodo == null) {
+			return null;
+		}
+		return new Ocupacao(categoria, faixa(periodo.getRetirada()), faixa(periodo.getDevolucao()));
+	}
+
+	private void atualizar(String origem, Ocupacao ocupacao) {
+		if (!carregado) {
+			registradasSemCarga.add(origem);
+		}
+		aplicar(origem, ocupacao);
+	}
+
+	private void aplicar(String origem, Ocupacao ocupacao) {
+		var anterior = ocupacoesPorOrigem.remove(origem);
+		if (anterior != null) {
+			arvores.get(anterior.categoria()).adicionar(anterior.inicio(), anterior.fim(), -1);
+		}
+		if (ocupacao == null) {
+			return;
+		}
+		ocupacoesPorOrigem.put(origem, ocupacao);
+		arvores.computeIfAbsent(ocupacao.categoria(), c -> new ArvoreOcupacao())
+				.adicionar(ocupacao.inicio(), ocupacao.fim(), 1);
+	}
+
+	private static long faixa(LocalDateTime instante) {
+		return Math.floorDiv(instante.toEpochSecond(ZoneOffset.UTC), 3600L);
+	}
+
+	private record Ocupacao(CategoriaCodigo categoria, long inicio, long fim) {
+	}
+
+	/**
+	 * Árvore de segmentos esparsa com soma em intervalo e consulta de máximo.
+	 * Os nós são criados sob demanda, cobrindo faixas de hora em [-2^40, 2^40).
+	 */
+	private static class ArvoreOcupacao {
+		private static final long LIMITE_INFERIOR = -(1L << 40);
+		private static final long LIMITE_SUPERIOR = (1L << 40) - 1;
+
+		private final No raiz = new No();
+
+		void adicionar(long inicio, long fim, int delta) {
+			adicionar(raiz, LIMITE_INFERIOR, LIMITE_SUPERIOR, inicio, fim, delta);
+		}
+
+		int maximo(long inicio, long fim) {
+			return maximo(raiz, LIMITE_INFERIOR, LIMITE_SUPERIOR, inicio, fim);
+		}
+
+		private void adicionar(No no, long menor, long maior, long inicio, long fim, int delta) {
+			if (fim < menor || maior < inicio) {
+				return;
+			}
+			if (inicio <= menor && maior <= fim) {
+				no.acrescimo += delta;
+				no.maximo += delta;
+				return;
+			}
+			var meio = menor + (maior - menor) / 2;
+			if (no.esquerda == null) {
+				no.esquerda = new No();
+			}
+			if (no.direita == null) {
+				no.direita = new No();
+			}
+			adicionar(no.esquerda, menor, meio, inicio, fim, delta);
+			adicionar(no.direita, meio + 1, maior, inicio, fim, delta);
+			no.maximo = no.acrescimo + Math.max(no.esquerda.maximo, no.direita.maximo);
+		}
+
+		private int maximo(No no, long menor, long maior, long inicio, long fim) {
+			if (no == null || fim < menor || maior < inicio) {
+				return 0;
+			}
+			if (inicio <= menor && maior <= fim) {
+				return no.maximo;
+			}
+			var meio = menor + (maior - menor) / 2;
+			return no.acrescimo + Math.max(maximo(no.esquerda, menor, meio, inicio, fim),
+					maximo(no.direita, meio + 1, maior, inicio, fim));
+		}
+
+		private static class No {
+			private No esquerda;
+			private No direita;
+			private int acrescimo;
+			private int maximo;
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+
+/**
+ * Pedido de reserva de um lote importado: o cliente vem pelo documento e deve
+ * estar cadastrado.
+ */
+public record PedidoReserva(String codigo, CategoriaCodigo categoria, String cidadeRetirada,
+		PeriodoLocacao periodo, String documentoCliente, String placaVeiculo) {
+
+	public PedidoReserva {
+		exigir(codigo, "O código é obrigatório");
+		exigir(categoria, "A categoria é obrigatória");
+		exigir(cidadeRetirada, "A cidade de retirada é obrigatória");
+		exigir(periodo, "O período é obrigatório");
+		exigir(documentoCliente, "O documento do cliente é obrigatório");
+		exigir(placaVeiculo, "A placa do veículo é obrigatória");
+	}
+
+	/**
+	 * Campos ausentes são erro do pedido, recusado como os demais erros de
+	 * validação, e não falha do serviço.
+	 */
+	private static void exigir(Object valor, String mensagem) {
+		if (valor == null || valor instanceof String texto && texto.isBlank()) {
+			throw new IllegalArgumentException(mensagem);
+		}
+	}
+}
@@ -21,6 +21,7 @@ public class Reserva {
 	private StatusReserva status;
 	private final String placaVeiculo;
 	private RetiradaInfo retiradaInfo;
+	private Long versao;
 
 	public Reserva(CategoriaCodigo categoria, String cidadeRetirada, PeriodoLocacao periodo, BigDecimal valorEstimado,
 			Cliente cliente, String placaVeiculo) {
@@ -56,6 +57,22 @@ public class Reserva {
 		return codigo;
 	}
 
+	/**
+	 * Versão de concorrência otimista; nula enquanto o agregado não foi gravado.
+	 */
+	public Long getVersao() {
+		return versao;
+	}
+
+	/**
+	 * Restaura a versão lida ou gerada pela persistência. Não é uma operação de
+	 * negócio: serve apenas para que a próxima gravação seja conferida contra a
+	 * versão em que o agregado foi carregado.
+	 */
+	public void restaurarVersao(Long versao) {
+		this.versao = versao;
+	}
+
 	public CategoriaCodigo getCategoria() {
 		return categoria;
 	}
@@ -113,7 +130,19 @@ public class Reserva {
 		}
 		status = StatusReserva.CANCELADA;
 	}
-	
+
+	/**
+	 * Encerra uma reserva cujo cliente não compareceu à retirada.
+	 */
+	public void expirar() {
+		if (status != StatusReserva.ATIVA) {
+			throw new IllegalStateException(
+				"Só é possível expirar reservas ATIVAS. Status atual: " + status
+			);
+		}
+		status = StatusReserva.EXPIRADA;
+	}
+
 	public void confirmarRetirada(Veiculo veiculo, RetiradaInfo info) {
 		if (status != StatusReserva.ATIVA) {
 			throw new IllegalStateException(
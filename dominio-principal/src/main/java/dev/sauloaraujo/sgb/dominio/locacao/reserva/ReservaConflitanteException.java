@@ -0,0 +1,22 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+/**
+ * Indica que a reserva não pôde ser gravada porque o veículo já tem outra
+ * reserva ativa em um período que se sobrepõe ao dela.
+ *
+ * <p>
+ * É lançada pelo {@link ReservaRepositorio} quando a própria base de dados
+ * rejeita a sobreposição, o que cobre gravações concorrentes que passaram
+ * juntas pela verificação do {@link ReservaServico}. Não estende
+ * {@link IllegalStateException} para não ser reinterpretada pela tradução de
+ * exceções de acesso a dados aplicada aos repositórios.
+ * </p>
+ */
+public class ReservaConflitanteException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ReservaConflitanteException(String mensagem, Throwable causa) {
+		super(mensagem, causa);
+	}
+}
@@ -0,0 +1,48 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+public class ReservaExpiracaoServico {
+    private final ReservaRepositorio reservaRepositorio;
+    private final AgendaExpiracaoReserva agenda;
+
+    public ReservaExpiracaoServico(ReservaRepositorio reservaRepositorio, AgendaExpiracaoReserva agenda) {
+        this.reservaRepositorio = Objects.requireNonNull(reservaRepositorio,
+                "Repositorio de reservas é obrigatório");
+        this.agenda = Objects.requireNonNull(agenda, "A agenda de expiração é obrigatória");
+    }
+
+    /**
+     * Expira, numa única gravação, as reservas informadas que continuam ativas e
+     * cujo prazo já venceu.
+     * REGRA DE NEGÓCIO: uma reserva ativa não retirada até a data de retirada
+     * mais a carência deixa de ocupar o veículo e a categoria.
+     *
+     * As reservas são relidas do repositório: as que foram retiradas, canceladas
+     * ou replanejadas depois de agendadas são ignoradas.
+     *
+     * @param codigos códigos das reservas entregues pela agenda
+     * @param agora data/hora de referência
+     * @return reservas expiradas
+     */
+    public List<Reserva> expirar(Collection<String> codigos, LocalDateTime agora) {
+        Objects.requireNonNull(codigos, "Os códigos das reservas são obrigatórios");
+        Objects.requireNonNull(agora, "A data de referência é obrigatória");
+        if (codigos.isEmpty()) {
+            return List.of();
+        }
+
+        var vencidas = reservaRepositorio.buscarPorCodigos(codigos).stream()
+                .filter(reserva -> reserva.getStatus().ativa())
+                .filter(reserva -> !agenda.prazo(reserva).isAfter(agora))
+                .toList();
+        if (!vencidas.isEmpty()) {
+            vencidas.forEach(Reserva::expirar);
+            reservaRepositorio.salvarTodas(vencidas);
+        }
+        return vencidas;
+    }
+}
@@ -1,13 +1,33 @@
 package dev.sauloaraujo.sgb.dominio.locacao.reserva;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
 
 public interface ReservaRepositorio {
 	void salvar(Reserva reserva);
 
+	/**
+	 * Grava as reservas de um lote de uma só vez. Se alguma violar as regras do
+	 * banco, nenhuma é gravada e a exceção é propagada.
+	 */
+	void salvarTodas(Collection<Reserva> reservas);
+
 	Optional<Reserva> buscarPorCodigo(String codigo);
 
+	/**
+	 * Busca as reservas dos códigos informados em uma leitura; códigos sem
+	 * reserva são ignorados.
+	 */
+	List<Reserva> buscarPorCodigos(Collection<String> codigos);
+
 	List<Reserva> listar();
 	
 	/**
@@ -25,4 +45,51 @@ public interface ReservaRepositorio {
 	 * @return lista de reservas do veículo
 	 */
 	List<Reserva> listarPorVeiculo(String placaVeiculo);
+
+	/*
+	 * Listagens paginadas por chave: as reservas vêm da retirada mais recente para
+	 * a mais antiga, desempatadas pelo código em ordem decrescente, e o cursor é
+	 * a chave (retirada, código) da última reserva entregue.
+	 */
+
+	Pagina<Reserva> listar(PedidoPagina pedido);
+
+	Pagina<Reserva> listarPorCliente(String cpfOuCnpj, PedidoPagina pedido);
+
+	Pagina<Reserva> listarPorVeiculo(String placaVeiculo, PedidoPagina pedido);
+
+	/**
+	 * Percorre todas as reservas sem carregá-las de uma vez, para exportações e
+	 * recálculos em lote. O fluxo mantém recursos abertos até ser fechado: use-o
+	 * em um try-with-resources.
+	 * 
+	 * @return fluxo das reservas, sem ordem definida
+	 */
+	Stream<Reserva> percorrer();
+
+	/**
+	 * Percorre, como {@link #percorrer()}, apenas as reservas ativas.
+	 * 
+	 * @return fluxo das reservas ativas, sem ordem definida
+	 */
+	Stream<Reserva> percorrerAtivas();
+
+	/**
+	 * Conta as reservas ativas da categoria cujo período se sobrepõe ao informado
+	 * (limites inclusivos).
+	 * 
+	 * @param categoria categoria das reservas
+	 * @param periodo período desejado
+	 * @return quantidade de reservas ativas conflitantes
+	 */
+	long contarConflitantes(CategoriaCodigo categoria, PeriodoLocacao periodo);
+
+	/**
+	 * Lista as placas com reserva ativa cujo período se sobrepõe ao informado
+	 * (limites inclusivos).
+	 * 
+	 * @param periodo período desejado
+	 * @return placas reservadas no período
+	 */
+	Set<String> listarPlacasOcupadas(PeriodoLocacao periodo);
 }
@@ -1,19 +1,26 @@
 package dev.sauloaraujo.sgb.dominio.locacao.reserva;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Function;
 
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Categoria;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
-import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
 
 public class ReservaServico {
@@ -23,10 +30,14 @@ public class ReservaServico {
     private final ClienteRepositorio clienteRepositorio;
     private final LocacaoRepositorio locacaoRepositorio;
     private final VeiculoRepositorio veiculoRepositorio;
+    private final IndiceDisponibilidadeVeiculo indiceDisponibilidade;
+    private final IndiceOcupacaoCategoria indiceOcupacao;
+    private final BloqueioVeiculo bloqueioVeiculo;
 
     public ReservaServico(ReservaRepositorio reservaRepositorio, CategoriaRepositorio categoriaRepositorio,
             ClienteRepositorio clienteRepositorio, LocacaoRepositorio locacaoRepositorio,
-            VeiculoRepositorio veiculoRepositorio) {
+            VeiculoRepositorio veiculoRepositorio, IndiceDisponibilidadeVeiculo indiceDisponibilidade,
+            IndiceOcupacaoCategoria indiceOcupacao, BloqueioVeiculo bloqueioVeiculo) {
         this.reservaRepositorio = Objects.requireNonNull(reservaRepositorio,
                 "Repositorio de reservas é obrigatório");
         this.categoriaRepositorio = Objects.requireNonNull(categoriaRepositorio,
@@ -37,6 +48,12 @@ public class ReservaServico {
                 "Repositorio de locações é obrigatório");
         this.veiculoRepositorio = Objects.requireNonNull(veiculoRepositorio,
                 "Repositorio de veículos é obrigatório");
+        this.indiceDisponibilidade = Objects.requireNonNull(indiceDisponibilidade,
+                "Índice de disponibilidade de veículos é obrigatório");
+        this.indiceOcupacao = Objects.requireNonNull(indiceOcupacao,
+                "Índice de ocupação de categorias é obrigatório");
+        this.bloqueioVeiculo = Objects.requireNonNull(bloqueioVeiculo,
+                "Bloqueio de veículos é obrigatório");
     }
 
 	public InformacaoReserva obterInformacoesReserva() {
@@ -51,15 +68,115 @@ public class ReservaServico {
 		return new RequisitosCriacaoReserva(true, true, true, true);
 	}
 
+	/**
+	 * Cria a reserva do veículo. A verificação de disponibilidade e a gravação
+	 * ocorrem com o veículo bloqueado, para que duas reservas simultâneas da mesma
+	 * placa não passem ambas pela validação.
+	 */
 	public Reserva criarReserva(String codigo, CategoriaCodigo categoriaCodigo, String cidadeRetirada,
 			PeriodoLocacao periodo, Cliente cliente, String placaVeiculo) {
 		Objects.requireNonNull(codigo, "O código é obrigatório");
 		Objects.requireNonNull(placaVeiculo, "A placa do veículo é obrigatória");
-		
+
+		return bloqueioVeiculo.executar(placaVeiculo,
+				() -> criarReservaBloqueada(codigo, categoriaCodigo, cidadeRetirada, periodo, cliente, placaVeiculo));
+	}
+
+	private Reserva criarReservaBloqueada(String codigo, CategoriaCodigo categoriaCodigo, String cidadeRetirada,
+			PeriodoLocacao periodo, Cliente cliente, String placaVeiculo) {
 		// 1. Validar que o veículo existe e está disponível
 		var veiculo = veiculoRepositorio.buscarPorPlaca(placaVeiculo)
-				.orElseThrow(() -> new IllegalArgumentException("Veículo não encontrado: " + placaVeiculo));
-		
+				.orElseThrow(() -> veiculoNaoEncontrado(placaVeiculo));
+
+		var reserva = novaReserva(codigo, categoriaCodigo, cidadeRetirada, periodo, cliente, veiculo,
+				this::obterCategoria);
+        registrarClienteSeNecessario(cliente);
+        reservaRepositorio.salvar(reserva);
+
+        return reserva;
+    }
+
+	/**
+	 * Cria as reservas de um lote, como os de contas corporativas, e devolve um
+	 * resultado por pedido, na ordem recebida.
+	 *
+	 * <p>
+	 * Categorias, veículos e clientes do lote são lidos uma vez, e todos os
+	 * pedidos são validados com as mesmas regras de {@link #criarReserva} contra
+	 * os índices de disponibilidade e ocupação. Cada pedido aceito passa a
+	 * ocupar os índices, então pedidos do próprio lote que disputam o mesmo
+	 * veículo, ou a última vaga da categoria, são resolvidos na ordem do lote.
+	 * Os veículos do lote ficam bloqueados juntos, pelo
+	 * {@link BloqueioVeiculo#executarTodos}, até o fim do lote, e as reservas
+	 * aceitas são gravadas juntas; cabe ao chamador manter poucos veículos por
+	 * lote, para não prender travas de que reservas avulsas precisam. Se a
+	 * gravação falhar, as reservas aceitas são retiradas dos índices e a
+	 * exceção é propagada: nenhuma reserva do lote é gravada.
+	 * </p>
+	 */
+	public List<ResultadoPedidoReserva> importar(List<PedidoReserva> pedidos) {
+		Objects.requireNonNull(pedidos, "Os pedidos são obrigatórios");
+		if (pedidos.isEmpty()) {
+			return List.of();
+		}
+
+		var placas = new TreeSet<String>();
+		pedidos.forEach(pedido -> placas.add(pedido.placaVeiculo()));
+		return bloqueioVeiculo.executarTodos(placas, () -> importarBloqueados(pedidos, placas));
+	}
+
+	private List<ResultadoPedidoReserva> importarBloqueados(List<PedidoReserva> pedidos, TreeSet<String> placas) {
+		var categorias = new EnumMap<CategoriaCodigo, Categoria>(CategoriaCodigo.class);
+		categoriaRepositorio.listarTodas().forEach(categoria -> categorias.put(categoria.getCodigo(), categoria));
+		var veiculos = new HashMap<String, Veiculo>();
+		veiculoRepositorio.buscarPorPlacas(placas).forEach(veiculo -> veiculos.put(veiculo.getPlaca(), veiculo));
+		var clientes = new HashMap<String, Optional<Cliente>>();
+		carregarIndices();
+
+		var resultados = new ArrayList<ResultadoPedidoReserva>(pedidos.size());
+		var aceitas = new ArrayList<Reserva>();
+		try {
+			for (var pedido : pedidos) {
+				try {
+					var reserva = novaReserva(pedido, categorias, veiculos, clientes);
+					indiceDisponibilidade.registrar(reserva);
+					indiceOcupacao.registrar(reserva);
+					aceitas.add(reserva);
+					resultados.add(ResultadoPedidoReserva.aceito(reserva));
+				} catch (IllegalArgumentException | IllegalStateException e) {
+					resultados.add(ResultadoPedidoReserva.recusado(e.getMessage()));
+				}
+			}
+			reservaRepositorio.salvarTodas(aceitas);
+		} catch (RuntimeException e) {
+			for (var reserva : aceitas) {
+				indiceDisponibilidade.removerReserva(reserva.getCodigo());
+				indiceOcupacao.removerReserva(reserva.getCodigo());
+			}
+			throw e;
+		}
+		return resultados;
+	}
+
+	private Reserva novaReserva(PedidoReserva pedido, Map<CategoriaCodigo, Categoria> categorias,
+			Map<String, Veiculo> veiculos, Map<String, Optional<Cliente>> clientes) {
+		var veiculo = veiculos.get(pedido.placaVeiculo());
+		if (veiculo == null) {
+			throw veiculoNaoEncontrado(pedido.placaVeiculo());
+		}
+		var cliente = clientes
+				.computeIfAbsent(pedido.documentoCliente(), clienteRepositorio::buscarPorDocumento)
+				.orElseThrow(() -> new IllegalArgumentException(
+						"Cliente não encontrado: " + pedido.documentoCliente()));
+
+		return novaReserva(pedido.codigo(), pedido.categoria(), pedido.cidadeRetirada(), pedido.periodo(), cliente,
+				veiculo, codigo -> Optional.ofNullable(categorias.get(codigo))
+						.orElseThrow(() -> categoriaNaoEncontrada(codigo)));
+	}
+
+	private Reserva novaReserva(String codigo, CategoriaCodigo categoriaCodigo, String cidadeRetirada,
+			PeriodoLocacao periodo, Cliente cliente, Veiculo veiculo,
+			Function<CategoriaCodigo, Categoria> categorias) {
 		// 2. Validar que a categoria do veículo corresponde à categoria solicitada
 		if (!veiculo.getCategoria().equals(categoriaCodigo)) {
 			throw new IllegalArgumentException("A categoria do veículo não corresponde à categoria solicitada");
@@ -71,18 +188,14 @@ public class ReservaServico {
 		}
 		
 		// 4. Validar que o veículo não está reservado ou locado no período solicitado
-		validarDisponibilidadeVeiculo(placaVeiculo, periodo);
+		validarDisponibilidadeVeiculo(veiculo.getPlaca(), periodo);
 		
-		var categoria = obterCategoria(categoriaCodigo);
+		var categoria = categorias.apply(categoriaCodigo);
         var valorEstimado = calcularValorEstimado(categoria.getDiaria(), periodo, categoriaCodigo,
                 categoria.getQuantidadeDisponivel());
-        registrarClienteSeNecessario(cliente);
 
-        var reserva = new Reserva(codigo, categoriaCodigo, cidadeRetirada, periodo, valorEstimado,
-                StatusReserva.ATIVA, cliente, placaVeiculo);
-        reservaRepositorio.salvar(reserva);
-
-        return reserva;
+        return new Reserva(codigo, categoriaCodigo, cidadeRetirada, periodo, valorEstimado,
+                StatusReserva.ATIVA, cliente, veiculo.getPlaca());
     }
 
 	public List<Categoria> categoriasDisponiveis() {
@@ -111,32 +224,26 @@ public class ReservaServico {
      * Considera TANTO reservas ativas QUANTO locações ativas no período.
      * 
      * REGRA DE NEGÓCIO: Um veículo locado não pode estar disponível durante o período da locação.
+     * 
+     * A ocupação é o maior número de reservas e locações simultâneas dentro do período,
+     * obtido do índice de ocupação por categoria.
      */
     private int calcularOcupacao(CategoriaCodigo categoriaCodigo, PeriodoLocacao periodo) {
-        // Contar reservas ativas conflitantes
-        long reservasConflitantes = reservaRepositorio.listar().stream()
-                .filter(reserva -> reserva.getCategoria().equals(categoriaCodigo))
-                .filter(reserva -> reserva.getStatus().ativa())
-                .filter(reserva -> periodosConflitantes(reserva.getPeriodo(), periodo))
-                .count();
-
-        // Contar locações ativas conflitantes
-        long locacoesConflitantes = locacaoRepositorio.listarLocacoes().stream()
-                .filter(locacao -> locacao.getReserva().getCategoria().equals(categoriaCodigo))
-                .filter(locacao -> locacao.getStatus() == StatusLocacao.ATIVA)
-                .filter(locacao -> periodosConflitantes(locacao.getReserva().getPeriodo(), periodo))
-                .count();
-
-        return Math.toIntExact(reservasConflitantes + locacoesConflitantes);
+        if (!indiceOcupacao.carregado()) {
+            indiceOcupacao.carregar(reservaRepositorio::listar, locacaoRepositorio::listarLocacoes);
+        }
+        return indiceOcupacao.ocupacaoMaxima(categoriaCodigo, periodo);
     }
 
-	private boolean periodosConflitantes(PeriodoLocacao existente, PeriodoLocacao desejado) {
-		LocalDateTime inicioExistente = existente.getRetirada();
-		LocalDateTime fimExistente = existente.getDevolucao();
-		LocalDateTime inicioNovo = desejado.getRetirada();
-		LocalDateTime fimNovo = desejado.getDevolucao();
-		return !inicioNovo.isAfter(fimExistente) && !fimNovo.isBefore(inicioExistente);
-	}
+    /**
+     * Carrega os índices que ainda não estiverem carregados. Cada um lê
+     * reservas e locações na sua própria carga, para reaplicar sobre elas as
+     * gravações feitas desde a leitura.
+     */
+    private void carregarIndices() {
+        indiceDisponibilidade.carregar(reservaRepositorio::listar, locacaoRepositorio::listarLocacoes);
+        indiceOcupacao.carregar(reservaRepositorio::listar, locacaoRepositorio::listarLocacoes);
+    }
 
 	private void registrarClienteSeNecessario(Cliente cliente) {
 		var documento = cliente.getCpfOuCnpj();
@@ -148,30 +255,36 @@ public class ReservaServico {
 	 * Valida se um veículo específico está disponível no período solicitado.
 	 * REGRA DE NEGÓCIO: Um veículo não pode ser reservado se já existe uma reserva ativa
 	 * ou locação ativa para o mesmo veículo no período solicitado.
+	 *
+	 * A consulta usa o índice de períodos por placa; apenas na primeira chamada o índice
+	 * é carregado a partir dos repositórios.
 	 */
 	private void validarDisponibilidadeVeiculo(String placaVeiculo, PeriodoLocacao periodo) {
-		// Verificar reservas ativas do mesmo veículo no período
-		boolean temReservaConflitante = reservaRepositorio.listarPorVeiculo(placaVeiculo).stream()
-				.filter(reserva -> reserva.getStatus().ativa())
-				.anyMatch(reserva -> periodosConflitantes(reserva.getPeriodo(), periodo));
-		
-		if (temReservaConflitante) {
-			throw new IllegalStateException("O veículo já está reservado para outro cliente no período solicitado");
+		if (!indiceDisponibilidade.carregado()) {
+			indiceDisponibilidade.carregar(reservaRepositorio::listar, locacaoRepositorio::listarLocacoes);
 		}
-		
-		// Verificar locações ativas do mesmo veículo no período
-		boolean temLocacaoConflitante = locacaoRepositorio.listarLocacoes().stream()
-				.filter(locacao -> locacao.getStatus() == StatusLocacao.ATIVA)
-				.filter(locacao -> locacao.getVeiculo().getPlaca().equals(placaVeiculo))
-				.anyMatch(locacao -> periodosConflitantes(locacao.getReserva().getPeriodo(), periodo));
-		
-		if (temLocacaoConflitante) {
-			throw new IllegalStateException("O veículo já está locado para outro cliente no período solicitado");
+
+		var conflito = indiceDisponibilidade.buscarConflito(placaVeiculo, periodo, null);
+		if (conflito == null) {
+			return;
+		}
+
+		if (conflito.startsWith(IndiceDisponibilidadeVeiculo.ORIGEM_RESERVA)) {
+			throw new IllegalStateException("O veículo já está reservado para outro cliente no período solicitado");
 		}
+		throw new IllegalStateException("O veículo já está locado para outro cliente no período solicitado");
 	}
 
 	private Categoria obterCategoria(CategoriaCodigo categoria) {
 		return categoriaRepositorio.buscarPorCodigo(categoria)
-				.orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada: " + categoria));
+				.orElseThrow(() -> categoriaNaoEncontrada(categoria));
+	}
+
+	private static IllegalArgumentException categoriaNaoEncontrada(CategoriaCodigo categoria) {
+		return new IllegalArgumentException("Categoria não encontrada: " + categoria);
+	}
+
+	private static IllegalArgumentException veiculoNaoEncontrado(String placa) {
+		return new IllegalArgumentException("Veículo não encontrado: " + placa);
 	}
 }
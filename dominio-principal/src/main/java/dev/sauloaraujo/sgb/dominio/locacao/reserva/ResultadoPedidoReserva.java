@@ -0,0 +1,20 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+/**
+ * Resultado de um {@link PedidoReserva}: a reserva criada ou o motivo da
+ * recusa.
+ */
+public record ResultadoPedidoReserva(Reserva reserva, String erro) {
+
+	public static ResultadoPedidoReserva aceito(Reserva reserva) {
+		return new ResultadoPedidoReserva(reserva, null);
+	}
+
+	public static ResultadoPedidoReserva recusado(String erro) {
+		return new ResultadoPedidoReserva(null, erro);
+	}
+
+	public boolean isAceito() {
+		return reserva != null;
+	}
+}
@@ -0,0 +1,20 @@
+package dev.sauloaraujo.sgb.dominio.locacao.shared;
+
+/**
+ * Indica que o cursor de um {@link PedidoPagina} não foi gerado pela listagem
+ * consultada ou foi adulterado.
+ *
+ * <p>
+ * O cursor só é decodificado dentro dos repositórios, que conhecem a chave da
+ * listagem; por isso não estende {@link IllegalArgumentException}, que a
+ * tradução de exceções de acesso a dados reinterpretaria.
+ * </p>
+ */
+public class CursorInvalidoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CursorInvalidoException(String mensagem) {
+		super(mensagem);
+	}
+}
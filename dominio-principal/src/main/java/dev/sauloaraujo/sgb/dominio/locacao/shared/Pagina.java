@@ -0,0 +1,54 @@
+package dev.sauloaraujo.sgb.dominio.locacao.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por chave; {@code proximoCursor} é nulo na
+ * última página.
+ */
+public record Pagina<T>(List<T> itens, String proximoCursor) {
+
+	public Pagina {
+		itens = List.copyOf(itens);
+	}
+
+	/**
+	 * Monta a página a partir dos itens lidos com um a mais que o limite do
+	 * pedido: se o item extra veio, há próxima página e o cursor é a chave do
+	 * último item entregue.
+	 *
+	 * @param lidos itens na ordem da listagem, até {@code limite + 1}
+	 * @param chave partes da chave de ordenação de um item
+	 */
+	public static <T> Pagina<T> de(List<T> lidos, PedidoPagina pedido, Function<? super T, String[]> chave) {
+		if (lidos.size() <= pedido.limite()) {
+			return new Pagina<>(lidos, null);
+		}
+		var itens = lidos.subList(0, pedido.limite());
+		return new Pagina<>(itens, cursor(chave.apply(itens.get(itens.size() - 1))));
+	}
+
+	/**
+	 * Codifica as partes de uma chave como cursor opaco.
+	 */
+	public static String cursor(String... partes) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(String.join(PedidoPagina.SEPARADOR, partes).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public boolean temProxima() {
+		return proximoCursor != null;
+	}
+
+	public <R> Pagina<R> mapear(Function<? super T, ? extends R> conversao) {
+		var convertidos = new ArrayList<R>(itens.size());
+		for (var item : itens) {
+			convertidos.add(conversao.apply(item));
+		}
+		return new Pagina<>(convertidos, proximoCursor);
+	}
+}
@@ -0,0 +1,72 @@
+package dev.sauloaraujo.sgb.dominio.locacao.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Pedido de uma página de listagem paginada por chave (keyset).
+ *
+ * <p>
+ * O {@code cursor} é a chave do último item da página anterior, codificada por
+ * {@link Pagina#cursor(String...)}; nulo na primeira página. Cada repositório
+ * define a ordenação estável da listagem e, portanto, o que a chave contém.
+ * </p>
+ */
+public record PedidoPagina(String cursor, int limite) {
+	public static final int LIMITE_PADRAO = 50;
+	public static final int LIMITE_MAXIMO = 500;
+
+	static final String SEPARADOR = "|";
+
+	public PedidoPagina {
+		if (limite < 1) {
+			throw new IllegalArgumentException("O limite deve ser maior que zero");
+		}
+		if (limite > LIMITE_MAXIMO) {
+			throw new IllegalArgumentException("O limite deve ser no máximo " + LIMITE_MAXIMO);
+		}
+		if (cursor != null && cursor.isBlank()) {
+			cursor = null;
+		}
+	}
+
+	public static PedidoPagina primeira(int limite) {
+		return new PedidoPagina(null, limite);
+	}
+
+	/**
+	 * Pedido a partir dos parâmetros opcionais de uma requisição; sem limite, usa
+	 * {@link #LIMITE_PADRAO}.
+	 */
+	public static PedidoPagina de(String cursor, Integer limite) {
+		return new PedidoPagina(cursor, limite == null ? LIMITE_PADRAO : limite);
+	}
+
+	public boolean primeiraPagina() {
+		return cursor == null;
+	}
+
+	/**
+	 * Decodifica o cursor nas partes da chave.
+	 *
+	 * @param partes quantidade de partes esperada pela ordenação da listagem
+	 * @throws CursorInvalidoException se o cursor não for desta listagem
+	 */
+	public List<String> chave(int partes) {
+		if (cursor == null) {
+			throw new IllegalStateException("A primeira página não tem chave");
+		}
+		try {
+			var conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			var chave = conteudo.split(Pattern.quote(SEPARADOR), partes);
+			if (chave.length != partes) {
+				throw new CursorInvalidoException("Cursor inválido");
+			}
+			return List.of(chave);
+		} catch (IllegalArgumentException e) {
+			throw new CursorInvalidoException("Cursor inválido");
+		}
+	}
+}
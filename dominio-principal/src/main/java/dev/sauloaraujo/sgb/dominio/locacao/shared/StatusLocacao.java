@@ -1,5 +1,8 @@
 package dev.sauloaraujo.sgb.dominio.locacao.shared;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum StatusLocacao {
 	ATIVA,
 	EM_ANDAMENTO,
@@ -16,4 +19,20 @@ public enum StatusLocacao {
 	public boolean finalizada() {
 		return this == FINALIZADA;
 	}
+
+	/**
+	 * Indica se a locação ainda está com o veículo. A retirada abre a locação
+	 * EM_ANDAMENTO; locações ATIVAS vêm de retiradas anteriores a esse status.
+	 */
+	public boolean ocupaVeiculo() {
+		return this == ATIVA || this == EM_ANDAMENTO;
+	}
+
+	/**
+	 * Status em que {@link #ocupaVeiculo()} é verdadeiro, para consultas de
+	 * ocupação.
+	 */
+	public static Set<StatusLocacao> ocupandoVeiculo() {
+		return EnumSet.of(ATIVA, EM_ANDAMENTO);
+	}
 }
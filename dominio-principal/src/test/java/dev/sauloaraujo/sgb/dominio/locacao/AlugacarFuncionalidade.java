@@ -1,10 +1,12 @@
 package dev.sauloaraujo.sgb.dominio.locacao;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculoListrado;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CatalogoVeiculosServico;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Categoria;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
@@ -28,6 +30,7 @@ import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
 public abstract class AlugacarFuncionalidade {
 	private static final InMemoryRepositorio REPOSITORIO = new InMemoryRepositorio();
 	private static final ThreadLocal<RuntimeException> ULTIMO_ERRO = new ThreadLocal<>();
+	private static final BloqueioVeiculoListrado BLOQUEIO = new BloqueioVeiculoListrado(16, Duration.ofSeconds(1));
 
 	protected final InMemoryRepositorio repositorio;
 	protected final CatalogoVeiculosServico catalogoServico;
@@ -41,13 +44,16 @@ public abstract class AlugacarFuncionalidade {
 
 	protected AlugacarFuncionalidade() {
 		this.repositorio = REPOSITORIO;
-		this.catalogoServico = new CatalogoVeiculosServico(repositorio, repositorio, repositorio);
+		this.catalogoServico = new CatalogoVeiculosServico(repositorio, repositorio, repositorio,
+				repositorio.getIndiceFrota());
 		this.clienteServico = new ClienteServico(repositorio);
-		this.reservaServico = new ReservaServico(repositorio, repositorio, repositorio, repositorio, repositorio);
-		this.reservaReplanejamentoServico = new ReservaReplanejamentoServico(repositorio, repositorio, repositorio);
+		this.reservaServico = new ReservaServico(repositorio, repositorio, repositorio, repositorio, repositorio,
+				repositorio.getIndiceDisponibilidade(), repositorio.getIndiceOcupacao(), BLOQUEIO);
+		this.reservaReplanejamentoServico = new ReservaReplanejamentoServico(repositorio, repositorio, repositorio,
+				repositorio.getIndiceOcupacao());
 		this.reservaCancelamentoServico = new ReservaCancelamentoServico(repositorio);
 		this.manutencaoServico = new ManutencaoServico(repositorio);
-		this.retiradaServico = new RetiradaServico(repositorio, repositorio, repositorio);
+		this.retiradaServico = new RetiradaServico(repositorio, BLOQUEIO);
 		this.devolucaoServico = new DevolucaoServico(repositorio, repositorio);
 	}
 
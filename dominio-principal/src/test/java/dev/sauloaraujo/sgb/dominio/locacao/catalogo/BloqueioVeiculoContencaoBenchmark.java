@@ -0,0 +1,70 @@
+package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Medição de contenção do {@link BloqueioVeiculoListrado}.
+ *
+ * <p>
+ * Compara a vazão com todas as threads disputando a mesma placa e com cada
+ * thread operando sobre placas próprias, para 1 até o número de núcleos. A
+ * seção crítica simula um verificar-e-gravar curto. Não é executada pelo
+ * Surefire; rode com
+ * {@code java -cp target/classes:target/test-classes dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculoContencaoBenchmark}.
+ * </p>
+ */
+public class BloqueioVeiculoContencaoBenchmark {
+	private static final Duration DURACAO = Duration.ofSeconds(2);
+	private static final int PLACAS_POR_THREAD = 1024;
+
+	public static void main(String[] args) throws Exception {
+		var nucleos = Runtime.getRuntime().availableProcessors();
+		var bloqueio = new BloqueioVeiculoListrado(1024, Duration.ofSeconds(5));
+
+		medir(bloqueio, 1, false);
+		System.out.printf("%-8s %18s %18s%n", "threads", "mesma placa op/s", "placas distintas op/s");
+		for (int threads = 1; threads <= nucleos; threads *= 2) {
+			System.out.printf("%-8d %18.0f %18.0f%n", threads, medir(bloqueio, threads, true),
+					medir(bloqueio, threads, false));
+		}
+	}
+
+	private static double medir(BloqueioVeiculoListrado bloqueio, int threads, boolean mesmaPlaca)
+			throws Exception {
+		var operacoes = new LongAdder();
+		var fim = System.nanoTime() + DURACAO.toNanos();
+		var executor = Executors.newFixedThreadPool(threads);
+		try {
+			var tarefas = new ArrayList<Callable<Long>>();
+			for (int thread = 0; thread < threads; thread++) {
+				var prefixo = "T" + thread + "-";
+				tarefas.add(() -> {
+					var estado = new long[1];
+					var contador = 0;
+					while (System.nanoTime() < fim) {
+						var placa = mesmaPlaca ? "AAA0001" : prefixo + (contador++ % PLACAS_POR_THREAD);
+						bloqueio.executar(placa, () -> secaoCritica(estado));
+						operacoes.increment();
+					}
+					return estado[0];
+				});
+			}
+			for (var resultado : executor.invokeAll(tarefas)) {
+				resultado.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return operacoes.sum() / (DURACAO.toNanos() / 1e9);
+	}
+
+	private static void secaoCritica(long[] estado) {
+		for (int passo = 0; passo < 200; passo++) {
+			estado[0] = estado[0] * 31 + passo;
+		}
+	}
+}
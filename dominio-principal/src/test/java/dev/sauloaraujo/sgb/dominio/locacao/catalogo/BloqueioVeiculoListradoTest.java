@@ -0,0 +1,142 @@
+package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários do bloqueio listrado de veículos.
+ */
+@DisplayName("Bloqueio listrado de veículos")
+class BloqueioVeiculoListradoTest {
+
+	@Test
+	@DisplayName("Deve arredondar a quantidade de faixas para potência de dois")
+	void deveArredondarFaixas() {
+		assertEquals(16, new BloqueioVeiculoListrado(10, Duration.ZERO).quantidadeFaixas());
+		assertEquals(1, new BloqueioVeiculoListrado(1, Duration.ZERO).quantidadeFaixas());
+		assertThrows(IllegalArgumentException.class, () -> new BloqueioVeiculoListrado(0, Duration.ZERO));
+	}
+
+	@Test
+	@DisplayName("Deve falhar ao esgotar a espera pelo mesmo veículo e liberar outro veículo")
+	void deveSerializarApenasOMesmoVeiculo() throws Exception {
+		var bloqueio = new BloqueioVeiculoListrado(1024, Duration.ofMillis(50));
+		var obtido = new CountDownLatch(1);
+		var encerrar = new CountDownLatch(1);
+		var executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(() -> bloqueio.executar("AAA0001", () -> {
+				obtido.countDown();
+				aguardar(encerrar);
+			}));
+			assertTrue(obtido.await(5, TimeUnit.SECONDS));
+
+			var erro = assertThrows(IllegalStateException.class,
+					() -> bloqueio.executar("AAA0001", () -> "reservado"));
+			assertTrue(erro.getMessage().contains("AAA0001"));
+			assertEquals("locado", bloqueio.executar("BBB0002", () -> "locado"));
+		} finally {
+			encerrar.countDown();
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals("reservado", bloqueio.executar("AAA0001", () -> "reservado"));
+	}
+
+	@Test
+	@DisplayName("Deve permitir que a mesma thread bloqueie o veículo novamente")
+	void devePermitirReentrada() {
+		var bloqueio = new BloqueioVeiculoListrado(4, Duration.ZERO);
+
+		var resultado = bloqueio.executar("AAA0001", () -> bloqueio.executar("AAA0001", () -> "ok"));
+
+		assertEquals("ok", resultado);
+	}
+
+	@Test
+	@DisplayName("Deve bloquear várias placas na ordem das faixas, não na das placas")
+	void deveBloquearVariasPlacasNaOrdemDasFaixas() throws Exception {
+		var bloqueio = new BloqueioVeiculoListrado(4, Duration.ofSeconds(5));
+		var placas = placasComFaixasInvertidas(bloqueio);
+		var menor = placas.get(0);
+		var maior = placas.get(1);
+		var executor = Executors.newFixedThreadPool(2);
+		bloqueio.adquirir(maior);
+		try {
+			var lote = executor.submit(() -> bloqueio.executarTodos(List.of(menor, maior, menor), () -> "lote"));
+			Thread.sleep(100);
+
+			var avulsa = executor.submit(() -> bloqueio.executar(menor, () -> "avulsa"));
+			assertEquals("avulsa", avulsa.get(1, TimeUnit.SECONDS));
+			assertFalse(lote.isDone());
+			bloqueio.liberar(maior);
+			assertEquals("lote", lote.get(5, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	@DisplayName("Deve liberar as faixas já obtidas quando uma das placas do lote está em uso")
+	void deveLiberarFaixasObtidasAoFalhar() throws Exception {
+		var bloqueio = new BloqueioVeiculoListrado(4, Duration.ofMillis(50));
+		var placas = placasComFaixasInvertidas(bloqueio);
+		var obtido = new CountDownLatch(1);
+		var encerrar = new CountDownLatch(1);
+		var executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit(() -> bloqueio.executar(placas.get(0), () -> {
+				obtido.countDown();
+				aguardar(encerrar);
+			}));
+			assertTrue(obtido.await(5, TimeUnit.SECONDS));
+
+			assertThrows(IllegalStateException.class, () -> bloqueio.executarTodos(placas, () -> "lote"));
+			var outraThread = Executors.newSingleThreadExecutor();
+			try {
+				assertEquals("livre", outraThread.submit(() -> bloqueio.executar(placas.get(1), () -> "livre"))
+						.get(5, TimeUnit.SECONDS));
+			} finally {
+				outraThread.shutdown();
+			}
+		} finally {
+			encerrar.countDown();
+			executor.shutdown();
+		}
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Duas placas em que a menor, em ordem alfabética, cai na faixa de maior
+	 * índice.
+	 */
+	private static List<String> placasComFaixasInvertidas(BloqueioVeiculoListrado bloqueio) {
+		for (int i = 0; i < 100; i++) {
+			for (int j = i + 1; j < 100; j++) {
+				var menor = String.format("AAA%04d", i);
+				var maior = String.format("AAA%04d", j);
+				if (bloqueio.indice(menor) > bloqueio.indice(maior)) {
+					return List.of(menor, maior);
+				}
+			}
+		}
+		throw new IllegalStateException("Nenhum par de placas com faixas invertidas");
+	}
+
+	private static void aguardar(CountDownLatch sinal) {
+		try {
+			sinal.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package dev.sauloaraujo.sgb.dominio.locacao.catalogo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+/**
+ * Testes unitários do índice de mapas de bits da frota.
+ */
+@DisplayName("Índice da frota")
+class IndiceFrotaTest {
+
+	private IndiceFrota indice;
+
+	@BeforeEach
+	void preparar() {
+		indice = new IndiceFrota();
+		indice.carregar(List.of(
+				veiculo("AAA0001", CategoriaCodigo.ECONOMICO, "Recife"),
+				veiculo("AAA0002", CategoriaCodigo.ECONOMICO, "Recife"),
+				veiculo("AAA0003", CategoriaCodigo.SUV, "Recife"),
+				veiculo("AAA0004", CategoriaCodigo.ECONOMICO, "Olinda")));
+	}
+
+	@Test
+	@DisplayName("Deve cruzar cidade, categoria e status e retirar as placas ocupadas")
+	void deveCruzarFiltrosERetirarOcupadas() {
+		assertEquals(Set.of("AAA0001", "AAA0002"), placas(indice.buscar("recife",
+				Optional.of(CategoriaCodigo.ECONOMICO), StatusVeiculo.DISPONIVEL, Set.of())));
+		assertEquals(Set.of("AAA0002", "AAA0003"), placas(indice.buscar("Recife", Optional.empty(),
+				StatusVeiculo.DISPONIVEL, Set.of("AAA0001", "ZZZ9999"))));
+		assertTrue(indice.buscar("Caruaru", Optional.empty(), StatusVeiculo.DISPONIVEL, Set.of()).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Deve mover o veículo entre os mapas de status quando é regravado")
+	void deveAtualizarStatusAoRegravar() {
+		var veiculo = veiculo("AAA0001", CategoriaCodigo.ECONOMICO, "Recife");
+		veiculo.locar();
+		indice.registrar(veiculo);
+
+		assertEquals(Set.of("AAA0002"), placas(indice.buscar("Recife", Optional.of(CategoriaCodigo.ECONOMICO),
+				StatusVeiculo.DISPONIVEL, Set.of())));
+		assertEquals(Set.of("AAA0001"), placas(indice.buscar("Recife", Optional.empty(), StatusVeiculo.LOCADO,
+				Set.of())));
+	}
+
+	@Test
+	@DisplayName("Deve reaplicar as gravações feitas enquanto a carga lia a frota")
+	void deveReaplicarGravacoesFeitasDuranteACarga() {
+		var novo = new IndiceFrota();
+		var lidos = List.of(veiculo("AAA0001", CategoriaCodigo.ECONOMICO, "Recife"));
+
+		novo.carregar(() -> {
+			var locado = veiculo("AAA0001", CategoriaCodigo.ECONOMICO, "Recife");
+			locado.locar();
+			novo.registrar(locado);
+			novo.registrar(veiculo("AAA0002", CategoriaCodigo.ECONOMICO, "Recife"));
+			return lidos;
+		});
+
+		assertTrue(novo.carregado());
+		assertEquals(Set.of("AAA0002"), placas(novo.buscar("Recife", Optional.empty(), StatusVeiculo.DISPONIVEL,
+				Set.of())));
+		novo.remover("AAA0002");
+		assertTrue(novo.buscar("Recife", Optional.empty(), StatusVeiculo.DISPONIVEL, Set.of()).isEmpty());
+	}
+
+	private Veiculo veiculo(String placa, CategoriaCodigo categoria, String cidade) {
+		return new Veiculo(placa, "Modelo", categoria, cidade, new BigDecimal("100.00"), StatusVeiculo.DISPONIVEL);
+	}
+
+	private Set<String> placas(List<VeiculoDisponivel> veiculos) {
+		return Set.copyOf(veiculos.stream().map(VeiculoDisponivel::placa).toList());
+	}
+}
@@ -1,30 +1,68 @@
 package dev.sauloaraujo.sgb.dominio.locacao.infra;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Categoria;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.IndiceFrota;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceDisponibilidadeVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceOcupacaoCategoria;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.CursorInvalidoException;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
 
 public class InMemoryRepositorio implements CategoriaRepositorio, VeiculoRepositorio, ReservaRepositorio,
-		LocacaoRepositorio, ClienteRepositorio {
-	private final Map<CategoriaCodigo, Categoria> categorias = new HashMap<>();
-	private final Map<String, Veiculo> veiculos = new HashMap<>();
-	private final Map<String, Reserva> reservas = new HashMap<>();
-	private final Map<String, Locacao> locacoes = new HashMap<>();
-	private final Map<String, Cliente> clientes = new HashMap<>();
+		LocacaoRepositorio, ClienteRepositorio, RetiradaRepositorio {
+	private static final Comparator<Reserva> ORDEM_RESERVAS = Comparator
+			.comparing((Reserva reserva) -> reserva.getPeriodo().getRetirada()).thenComparing(Reserva::getCodigo)
+			.reversed();
+
+	private final Map<CategoriaCodigo, Categoria> categorias = new ConcurrentHashMap<>();
+	private final Map<String, Veiculo> veiculos = new ConcurrentHashMap<>();
+	private final Map<String, Reserva> reservas = new ConcurrentHashMap<>();
+	private final Map<String, Locacao> locacoes = new ConcurrentHashMap<>();
+	private final Map<String, Cliente> clientes = new ConcurrentHashMap<>();
+	private final IndiceDisponibilidadeVeiculo indiceDisponibilidade = new IndiceDisponibilidadeVeiculo();
+	private final IndiceOcupacaoCategoria indiceOcupacao = new IndiceOcupacaoCategoria();
+	private final IndiceFrota indiceFrota = new IndiceFrota();
+
+	public IndiceDisponibilidadeVeiculo getIndiceDisponibilidade() {
+		return indiceDisponibilidade;
+	}
+
+	public IndiceOcupacaoCategoria getIndiceOcupacao() {
+		return indiceOcupacao;
+	}
+
+	public IndiceFrota getIndiceFrota() {
+		return indiceFrota;
+	}
 
 	@Override
 	public void salvar(Categoria categoria) {
@@ -44,6 +82,7 @@ public class InMemoryRepositorio implements CategoriaRepositorio, VeiculoReposit
 	@Override
 	public void salvar(Veiculo veiculo) {
 		veiculos.put(veiculo.getPlaca(), veiculo);
+		indiceFrota.registrar(veiculo);
 	}
 
 	@Override
@@ -51,6 +90,11 @@ public class InMemoryRepositorio implements CategoriaRepositorio, VeiculoReposit
 		return Optional.ofNullable(veiculos.get(placa));
 	}
 
+	@Override
+	public List<Veiculo> buscarPorPlacas(Collection<String> placas) {
+		return placas.stream().map(veiculos::get).filter(Objects::nonNull).toList();
+	}
+
 	@Override
 	public List<Veiculo> buscarDisponiveis(String cidade, CategoriaCodigo categoria) {
 		return veiculos.values().stream()
@@ -65,6 +109,32 @@ public class InMemoryRepositorio implements CategoriaRepositorio, VeiculoReposit
 				.filter(veiculo -> veiculo.getCidade().equalsIgnoreCase(cidade) && veiculo.disponivel()).toList();
 	}
 
+	@Override
+	public List<Veiculo> buscarDisponiveisPorPlaca(String cidade, CategoriaCodigo categoria, String placaApos,
+			int limite) {
+		return percorrerDisponiveis(cidade, categoria)
+				.filter(veiculo -> placaApos == null || veiculo.getPlaca().compareTo(placaApos) > 0)
+				.limit(limite).toList();
+	}
+
+	@Override
+	public List<Veiculo> buscarDisponiveisPorDiaria(String cidade, CategoriaCodigo categoria, BigDecimal diariaApos,
+			String placaApos, int limite) {
+		var ordem = Comparator.comparing(Veiculo::getDiaria).thenComparing(Veiculo::getPlaca);
+		return percorrerDisponiveis(cidade, categoria)
+				.filter(veiculo -> diariaApos == null || veiculo.getDiaria().compareTo(diariaApos) > 0
+						|| veiculo.getDiaria().compareTo(diariaApos) == 0 && veiculo.getPlaca().compareTo(placaApos) > 0)
+				.sorted(ordem).limit(limite).toList();
+	}
+
+	@Override
+	public Stream<Veiculo> percorrerDisponiveis(String cidade, CategoriaCodigo categoria) {
+		return veiculos.values().stream()
+				.filter(veiculo -> veiculo.getCidade().equalsIgnoreCase(cidade) && veiculo.disponivel()
+						&& (categoria == null || veiculo.getCategoria().equals(categoria)))
+				.sorted(Comparator.comparing(Veiculo::getPlaca));
+	}
+
 	@Override
 	public List<Veiculo> buscarQuePrecisamManutencao() {
 		return veiculos.values().stream()
@@ -72,18 +142,35 @@ public class InMemoryRepositorio implements CategoriaRepositorio, VeiculoReposit
 				.toList();
 	}
 
+	@Override
+	public List<Veiculo> listarTodos() {
+		return new ArrayList<>(veiculos.values());
+	}
+
 	@Override
 	public void salvar(Reserva reserva) {
 		reservas.put(reserva.getCodigo(), reserva);
+		indiceDisponibilidade.registrar(reserva);
+		indiceOcupacao.registrar(reserva);
 		var documento = reserva.getCliente().getCpfOuCnpj();
 		clientes.put(documento, reserva.getCliente());
 	}
 
+	@Override
+	public void salvarTodas(Collection<Reserva> reservas) {
+		reservas.forEach(this::salvar);
+	}
+
 	@Override
 	public Optional<Reserva> buscarPorCodigo(String codigo) {
 		return Optional.ofNullable(reservas.get(codigo));
 	}
 
+	@Override
+	public List<Reserva> buscarPorCodigos(Collection<String> codigos) {
+		return codigos.stream().distinct().map(reservas::get).filter(Objects::nonNull).toList();
+	}
+
 	@Override
 	public List<Reserva> listar() {
 		return new ArrayList<>(reservas.values());
@@ -103,9 +190,85 @@ public class InMemoryRepositorio implements CategoriaRepositorio, VeiculoReposit
 				.collect(java.util.stream.Collectors.toList());
 	}
 
+	@Override
+	public Pagina<Reserva> listar(PedidoPagina pedido) {
+		return paginarReservas(reservas.values().stream(), pedido);
+	}
+
+	@Override
+	public Pagina<Reserva> listarPorCliente(String cpfOuCnpj, PedidoPagina pedido) {
+		return paginarReservas(reservas.values().stream()
+				.filter(reserva -> reserva.getCliente().getCpfOuCnpj().equals(cpfOuCnpj)), pedido);
+	}
+
+	@Override
+	public Pagina<Reserva> listarPorVeiculo(String placaVeiculo, PedidoPagina pedido) {
+		return paginarReservas(reservas.values().stream()
+				.filter(reserva -> reserva.getPlacaVeiculo().equals(placaVeiculo)), pedido);
+	}
+
+	@Override
+	public Stream<Reserva> percorrer() {
+		return new ArrayList<>(reservas.values()).stream();
+	}
+
+	@Override
+	public Stream<Reserva> percorrerAtivas() {
+		return percorrer().filter(reserva -> reserva.getStatus().ativa());
+	}
+
+	private Pagina<Reserva> paginarReservas(Stream<Reserva> candidatas, PedidoPagina pedido) {
+		if (!pedido.primeiraPagina()) {
+			var chave = pedido.chave(2);
+			LocalDateTime retirada;
+			try {
+				retirada = LocalDateTime.parse(chave.get(0));
+			} catch (DateTimeParseException e) {
+				throw new CursorInvalidoException("Cursor inválido");
+			}
+			var codigo = chave.get(1);
+			candidatas = candidatas.filter(reserva -> reserva.getPeriodo().getRetirada().isBefore(retirada)
+					|| reserva.getPeriodo().getRetirada().equals(retirada) && reserva.getCodigo().compareTo(codigo) < 0);
+		}
+		var lidas = candidatas.sorted(ORDEM_RESERVAS).limit(pedido.limite() + 1L).collect(Collectors.toList());
+		return Pagina.de(lidas, pedido,
+				reserva -> new String[] { reserva.getPeriodo().getRetirada().toString(), reserva.getCodigo() });
+	}
+
+	private static <T> Pagina<T> paginarPorChave(Stream<T> candidatos, Function<T, String> chave,
+			PedidoPagina pedido) {
+		if (!pedido.primeiraPagina()) {
+			var ultima = pedido.chave(1).get(0);
+			candidatos = candidatos.filter(item -> chave.apply(item).compareTo(ultima) > 0);
+		}
+		var lidos = candidatos.sorted(Comparator.comparing(chave)).limit(pedido.limite() + 1L)
+				.collect(Collectors.toList());
+		return Pagina.de(lidos, pedido, item -> new String[] { chave.apply(item) });
+	}
+
+	@Override
+	public long contarConflitantes(CategoriaCodigo categoria, PeriodoLocacao periodo) {
+		return reservas.values().stream()
+				.filter(reserva -> reserva.getCategoria().equals(categoria))
+				.filter(reserva -> reserva.getStatus().ativa())
+				.filter(reserva -> periodosConflitantes(reserva.getPeriodo(), periodo))
+				.count();
+	}
+
+	@Override
+	public Set<String> listarPlacasOcupadas(PeriodoLocacao periodo) {
+		return reservas.values().stream()
+				.filter(reserva -> reserva.getStatus().ativa())
+				.filter(reserva -> periodosConflitantes(reserva.getPeriodo(), periodo))
+				.map(Reserva::getPlacaVeiculo)
+				.collect(Collectors.toSet());
+	}
+
 	@Override
 	public void salvar(Locacao locacao) {
 		locacoes.put(locacao.getCodigo(), locacao);
+		indiceDisponibilidade.registrar(locacao);
+		indiceOcupacao.registrar(locacao);
 	}
 
 	@Override
@@ -113,17 +276,91 @@ public class InMemoryRepositorio implements CategoriaRepositorio, VeiculoReposit
 		return Optional.ofNullable(locacoes.get(codigo));
 	}
 
+	@Override
+	public List<Locacao> buscarPorCodigosLocacao(Collection<String> codigos) {
+		return codigos.stream().map(locacoes::get).filter(Objects::nonNull).toList();
+	}
+
 	@Override
 	public List<Locacao> listarLocacoes() {
 		return new ArrayList<>(locacoes.values());
 	}
 
+	@Override
+	public Pagina<Locacao> listarLocacoes(PedidoPagina pedido) {
+		return paginarPorChave(locacoes.values().stream(), Locacao::getCodigo, pedido);
+	}
+
+	@Override
+	public Stream<Locacao> percorrerLocacoes() {
+		return new ArrayList<>(locacoes.values()).stream();
+	}
+
+	@Override
+	public long contarLocacoesConflitantes(CategoriaCodigo categoria, PeriodoLocacao periodo) {
+		return locacoes.values().stream()
+				.filter(locacao -> locacao.getReserva().getCategoria().equals(categoria))
+				.filter(locacao -> locacao.getStatus().ocupaVeiculo())
+				.filter(locacao -> periodosConflitantes(locacao.getReserva().getPeriodo(), periodo))
+				.count();
+	}
+
+	@Override
+	public Set<String> listarPlacasLocadas(PeriodoLocacao periodo) {
+		return locacoes.values().stream()
+				.filter(locacao -> locacao.getStatus().ocupaVeiculo())
+				.filter(locacao -> periodosConflitantes(locacao.getReserva().getPeriodo(), periodo))
+				.map(locacao -> locacao.getVeiculo().getPlaca())
+				.collect(Collectors.toSet());
+	}
+
+	@Override
+	public Set<String> listarPlacasLocadas(String cidade, PeriodoLocacao periodo) {
+		return locacoes.values().stream()
+				.filter(locacao -> locacao.getStatus().ocupaVeiculo())
+				.filter(locacao -> locacao.getVeiculo().getCidade().equalsIgnoreCase(cidade))
+				.filter(locacao -> periodosConflitantes(locacao.getReserva().getPeriodo(), periodo))
+				.map(locacao -> locacao.getVeiculo().getPlaca())
+				.collect(Collectors.toSet());
+	}
+
+	@Override
+	public Set<String> listarPlacasLocadas(String cidade, CategoriaCodigo categoria, PeriodoLocacao periodo) {
+		return locacoes.values().stream()
+				.filter(locacao -> locacao.getStatus().ocupaVeiculo())
+				.filter(locacao -> locacao.getVeiculo().getCidade().equalsIgnoreCase(cidade))
+				.filter(locacao -> locacao.getVeiculo().getCategoria().equals(categoria))
+				.filter(locacao -> periodosConflitantes(locacao.getReserva().getPeriodo(), periodo))
+				.map(locacao -> locacao.getVeiculo().getPlaca())
+				.collect(Collectors.toSet());
+	}
+
+	@Override
+	public CargaRetirada carregar(String codigoReserva, String placaVeiculo) {
+		return new CargaRetirada(buscarPorCodigo(codigoReserva), buscarPorPlaca(placaVeiculo));
+	}
+
+	@Override
+	public void gravar(Reserva reserva, Veiculo veiculo, Locacao locacao) {
+		salvar(veiculo);
+		salvar(locacao);
+		salvar(reserva);
+	}
+
+	private boolean periodosConflitantes(PeriodoLocacao existente, PeriodoLocacao desejado) {
+		return !desejado.getRetirada().isAfter(existente.getDevolucao())
+				&& !desejado.getDevolucao().isBefore(existente.getRetirada());
+	}
+
 	public void limpar() {
 		categorias.clear();
 		veiculos.clear();
 		reservas.clear();
 		locacoes.clear();
 		clientes.clear();
+		indiceDisponibilidade.limpar();
+		indiceOcupacao.limpar();
+		indiceFrota.limpar();
 	}
 
 	@Override
@@ -147,4 +384,9 @@ public class InMemoryRepositorio implements CategoriaRepositorio, VeiculoReposit
 	public List<Cliente> listarClientes() {
 		return new ArrayList<>(clientes.values());
 	}
+
+	@Override
+	public Pagina<Cliente> listarClientes(PedidoPagina pedido) {
+		return paginarPorChave(clientes.values().stream(), Cliente::getCpfOuCnpj, pedido);
+	}
 }
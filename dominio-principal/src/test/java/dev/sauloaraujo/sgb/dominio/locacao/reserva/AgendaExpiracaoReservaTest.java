@@ -0,0 +1,135 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+
+/**
+ * Testes unitários da agenda de expiração de reservas.
+ */
+@DisplayName("Agenda de expiração de reservas")
+class AgendaExpiracaoReservaTest {
+
+	private RelogioAjustavel relogio;
+	private AgendaExpiracaoReserva agenda;
+	private Cliente cliente;
+
+	@BeforeEach
+	void preparar() {
+		relogio = new RelogioAjustavel(LocalDateTime.parse("2026-01-01T08:00"));
+		agenda = new AgendaExpiracaoReserva(Duration.ofHours(2), relogio);
+		cliente = new Cliente("Cliente Teste", "12345678901", "12345678901", "cliente@alugacar.com",
+				"cliente_teste", "senha123");
+	}
+
+	@Test
+	@DisplayName("Deve entregar só as reservas de prazo vencido, na ordem dos prazos e até o máximo pedido")
+	void deveEntregarAsVencidasNaOrdemDosPrazos() {
+		agenda.registrar(reserva("RES-3", "2026-01-01T12:00", StatusReserva.ATIVA));
+		agenda.registrar(reserva("RES-1", "2026-01-01T09:00", StatusReserva.ATIVA));
+		agenda.registrar(reserva("RES-2", "2026-01-01T10:00", StatusReserva.ATIVA));
+
+		assertEquals(List.of(), agenda.vencidas(10));
+
+		relogio.ajustar("2026-01-01T12:00");
+		assertEquals(List.of("RES-1"), agenda.vencidas(1));
+		assertEquals(List.of("RES-2"), agenda.vencidas(10));
+		assertEquals(1, agenda.pendentes());
+		assertTrue(agenda.agendada("RES-3"));
+	}
+
+	@Test
+	@DisplayName("Deve seguir o prazo mais recente e esquecer reservas que deixaram de estar ativas")
+	void deveSeguirOPrazoMaisRecente() {
+		agenda.registrar(reserva("RES-1", "2026-01-01T09:00", StatusReserva.ATIVA));
+		agenda.registrar(reserva("RES-1", "2026-01-02T09:00", StatusReserva.ATIVA));
+		agenda.registrar(reserva("RES-2", "2026-01-01T09:00", StatusReserva.ATIVA));
+		agenda.registrar(reserva("RES-2", "2026-01-01T09:00", StatusReserva.CANCELADA));
+
+		relogio.ajustar("2026-01-01T12:00");
+		assertEquals(List.of(), agenda.vencidas(10));
+		assertEquals(1, agenda.pendentes());
+
+		relogio.ajustar("2026-01-02T11:00");
+		assertEquals(List.of("RES-1"), agenda.vencidas(10));
+		assertEquals(0, agenda.pendentes());
+	}
+
+	@Test
+	@DisplayName("Deve recarregar a partir das reservas ativas e devolver lotes adiados")
+	void deveRecarregarEAdiar() throws InterruptedException {
+		agenda.registrar(reserva("RES-ANTIGA", "2026-01-01T09:00", StatusReserva.ATIVA));
+		agenda.carregar(Stream.of(reserva("RES-1", "2026-01-01T09:00", StatusReserva.ATIVA),
+				reserva("RES-2", "2026-01-01T09:30", StatusReserva.ATIVA)));
+
+		relogio.ajustar("2026-01-01T12:00");
+		var vencidas = agenda.aguardarVencidas(10);
+		assertEquals(List.of("RES-1", "RES-2"), vencidas);
+
+		agenda.adiar(vencidas, LocalDateTime.parse("2026-01-01T12:01"));
+		assertEquals(List.of(), agenda.vencidas(10));
+		relogio.ajustar("2026-01-01T12:01");
+		assertEquals(List.of("RES-1", "RES-2"), agenda.vencidas(10));
+	}
+
+	@Test
+	@DisplayName("Deve expirar apenas reservas ativas")
+	void deveExpirarApenasReservasAtivas() {
+		var ativa = reserva("RES-1", "2026-01-01T09:00", StatusReserva.ATIVA);
+		ativa.expirar();
+		assertEquals(StatusReserva.EXPIRADA, ativa.getStatus());
+
+		var cancelada = reserva("RES-2", "2026-01-01T09:00", StatusReserva.CANCELADA);
+		assertThrows(IllegalStateException.class, cancelada::expirar);
+	}
+
+	private Reserva reserva(String codigo, String retirada, StatusReserva status) {
+		var inicio = LocalDateTime.parse(retirada);
+		return new Reserva(codigo, CategoriaCodigo.SUV, "Recife", new PeriodoLocacao(inicio, inicio.plusDays(2)),
+				new BigDecimal("300.00"), status, cliente, "ABC1234");
+	}
+
+	private static final class RelogioAjustavel extends Clock {
+		private volatile Instant agora;
+
+		RelogioAjustavel(LocalDateTime agora) {
+			ajustar(agora.toString());
+		}
+
+		void ajustar(String dataHora) {
+			agora = LocalDateTime.parse(dataHora).toInstant(ZoneOffset.UTC);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zona) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return agora;
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ChecklistVistoria;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+/**
+ * Testes unitários do índice de períodos ocupados por veículo.
+ */
+@DisplayName("Índice de disponibilidade de veículos")
+class IndiceDisponibilidadeVeiculoTest {
+
+	private static final String PLACA = "ABC1D23";
+
+	private IndiceDisponibilidadeVeiculo indice;
+	private Cliente cliente;
+
+	@BeforeEach
+	void preparar() {
+		indice = new IndiceDisponibilidadeVeiculo();
+		indice.carregar(List.of(), List.of());
+		cliente = new Cliente("Cliente Teste", "12345678901", "12345678901", "cliente@alugacar.com",
+				"cliente_teste", "senha123");
+	}
+
+	@Test
+	@DisplayName("Deve detectar sobreposição com reserva ativa, inclusive nos limites")
+	void deveDetectarSobreposicaoComReservaAtiva() {
+		indice.registrar(reserva("RES-1", periodo("2026-01-10T10:00", "2026-01-15T10:00"), StatusReserva.ATIVA));
+
+		assertFalse(indice.livre(PLACA, periodo("2026-01-12T10:00", "2026-01-13T10:00")));
+		assertFalse(indice.livre(PLACA, periodo("2026-01-15T10:00", "2026-01-20T10:00")));
+		assertFalse(indice.livre(PLACA, periodo("2026-01-01T10:00", "2026-01-10T10:00")));
+		assertTrue(indice.livre(PLACA, periodo("2026-01-16T10:00", "2026-01-20T10:00")));
+		assertTrue(indice.livre("OUT1A11", periodo("2026-01-12T10:00", "2026-01-13T10:00")));
+	}
+
+	@Test
+	@DisplayName("Deve encontrar período longo que começa bem antes do período consultado")
+	void deveEncontrarPeriodoLongoIniciadoAntes() {
+		indice.registrar(reserva("RES-1", periodo("2026-01-01T10:00", "2026-03-01T10:00"), StatusReserva.ATIVA));
+		indice.registrar(reserva("RES-2", periodo("2026-03-05T10:00", "2026-03-06T10:00"), StatusReserva.ATIVA));
+
+		assertEquals(IndiceDisponibilidadeVeiculo.ORIGEM_RESERVA + "RES-1",
+				indice.buscarConflito(PLACA, periodo("2026-02-10T10:00", "2026-02-11T10:00"), null));
+	}
+
+	@Test
+	@DisplayName("Deve liberar o veículo quando a reserva é cancelada ou replanejada")
+	void deveAtualizarAoCancelarOuReplanejar() {
+		var reserva = reserva("RES-1", periodo("2026-01-10T10:00", "2026-01-15T10:00"), StatusReserva.ATIVA);
+		indice.registrar(reserva);
+
+		reserva.replanejar(periodo("2026-02-10T10:00", "2026-02-15T10:00"), new BigDecimal("100.00"));
+		indice.registrar(reserva);
+		assertTrue(indice.livre(PLACA, periodo("2026-01-10T10:00", "2026-01-15T10:00")));
+		assertFalse(indice.livre(PLACA, periodo("2026-02-11T10:00", "2026-02-12T10:00")));
+
+		reserva.cancelar();
+		indice.registrar(reserva);
+		assertTrue(indice.livre(PLACA, periodo("2026-02-11T10:00", "2026-02-12T10:00")));
+	}
+
+	@Test
+	@DisplayName("Deve considerar locação ativa e liberar após a devolução")
+	void deveConsiderarLocacaoAtiva() {
+		var periodo = periodo("2026-01-10T10:00", "2026-01-15T10:00");
+		var reserva = reserva("RES-1", periodo, StatusReserva.CONCLUIDA);
+		var veiculo = new Veiculo(PLACA, "Onix", CategoriaCodigo.ECONOMICO, "Recife", new BigDecimal("100.00"),
+				StatusVeiculo.LOCADO);
+		var locacao = new Locacao("LOC-1", reserva, veiculo, 5, new BigDecimal("100.00"),
+				new ChecklistVistoria(1000, "CHEIO", false));
+		indice.registrar(reserva);
+		indice.registrar(locacao);
+
+		assertEquals(IndiceDisponibilidadeVeiculo.ORIGEM_LOCACAO + "LOC-1",
+				indice.buscarConflito(PLACA, periodo, null));
+		assertNull(indice.buscarConflito(PLACA, periodo, IndiceDisponibilidadeVeiculo.ORIGEM_LOCACAO + "LOC-1"));
+	}
+
+	@Test
+	@DisplayName("Deve reaplicar as gravações feitas enquanto a carga lia os repositórios")
+	void deveReaplicarGravacoesFeitasDuranteACarga() {
+		var novo = new IndiceDisponibilidadeVeiculo();
+		var primeiro = periodo("2026-01-10T10:00", "2026-01-12T10:00");
+		var segundo = periodo("2026-02-10T10:00", "2026-02-12T10:00");
+		var lidas = List.of(reserva("RES-1", primeiro, StatusReserva.ATIVA));
+
+		novo.carregar(() -> {
+			novo.registrar(reserva("RES-1", primeiro, StatusReserva.CANCELADA));
+			novo.registrar(reserva("RES-2", segundo, StatusReserva.ATIVA));
+			return lidas;
+		}, List::of);
+
+		assertTrue(novo.carregado());
+		assertTrue(novo.livre(PLACA, primeiro));
+		assertFalse(novo.livre(PLACA, segundo));
+	}
+
+	@Test
+	@DisplayName("Deve descartar a carga iniciada antes de uma limpeza e retirar reservas desfeitas")
+	void deveDescartarCargaAnteriorALimpeza() {
+		var periodo = periodo("2026-01-10T10:00", "2026-01-12T10:00");
+		indice.limpar();
+		indice.carregar(() -> {
+			indice.limpar();
+			return List.of(reserva("RES-1", periodo, StatusReserva.ATIVA));
+		}, List::of);
+		assertFalse(indice.carregado());
+
+		indice.carregar(List.of(reserva("RES-1", periodo, StatusReserva.ATIVA)), List.of());
+		indice.removerReserva("RES-1");
+		assertTrue(indice.livre(PLACA, periodo));
+	}
+
+	private Reserva reserva(String codigo, PeriodoLocacao periodo, StatusReserva status) {
+		return new Reserva(codigo, CategoriaCodigo.ECONOMICO, "Recife", periodo, new BigDecimal("500.00"), status,
+				cliente, PLACA);
+	}
+
+	private PeriodoLocacao periodo(String inicio, String fim) {
+		return new PeriodoLocacao(LocalDateTime.parse(inicio), LocalDateTime.parse(fim));
+	}
+}
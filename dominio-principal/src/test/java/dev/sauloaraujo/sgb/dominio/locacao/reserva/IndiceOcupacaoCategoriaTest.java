@@ -0,0 +1,100 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+
+/**
+ * Testes unitários do índice de ocupação por categoria.
+ */
+@DisplayName("Índice de ocupação de categorias")
+class IndiceOcupacaoCategoriaTest {
+
+	private IndiceOcupacaoCategoria indice;
+	private Cliente cliente;
+
+	@BeforeEach
+	void preparar() {
+		indice = new IndiceOcupacaoCategoria();
+		indice.carregar(List.of(), List.of());
+		cliente = new Cliente("Cliente Teste", "12345678901", "12345678901", "cliente@alugacar.com",
+				"cliente_teste", "senha123");
+	}
+
+	@Test
+	@DisplayName("Deve retornar a ocupação máxima simultânea e não a soma das reservas do período")
+	void deveRetornarOcupacaoMaximaSimultanea() {
+		indice.registrar(reserva("RES-1", CategoriaCodigo.SUV, "2026-01-01T10:00", "2026-01-05T10:00"));
+		indice.registrar(reserva("RES-2", CategoriaCodigo.SUV, "2026-01-06T10:00", "2026-01-10T10:00"));
+		indice.registrar(reserva("RES-3", CategoriaCodigo.SUV, "2026-01-04T10:00", "2026-01-07T10:00"));
+		indice.registrar(reserva("RES-4", CategoriaCodigo.ECONOMICO, "2026-01-01T10:00", "2026-01-10T10:00"));
+
+		assertEquals(2, indice.ocupacaoMaxima(CategoriaCodigo.SUV, periodo("2026-01-01T10:00", "2026-01-10T10:00")));
+		assertEquals(1, indice.ocupacaoMaxima(CategoriaCodigo.SUV, periodo("2026-01-08T10:00", "2026-01-09T10:00")));
+		assertEquals(0, indice.ocupacaoMaxima(CategoriaCodigo.SUV, periodo("2026-02-01T10:00", "2026-02-02T10:00")));
+		assertEquals(0, indice.ocupacaoMaxima(CategoriaCodigo.PREMIUM, periodo("2026-01-01T10:00", "2026-01-10T10:00")));
+	}
+
+	@Test
+	@DisplayName("Deve considerar limites inclusivos como ocupação simultânea")
+	void deveConsiderarLimitesInclusivos() {
+		indice.registrar(reserva("RES-1", CategoriaCodigo.SUV, "2026-01-01T10:00", "2026-01-05T10:00"));
+		indice.registrar(reserva("RES-2", CategoriaCodigo.SUV, "2026-01-05T10:00", "2026-01-08T10:00"));
+
+		assertEquals(2, indice.ocupacaoMaxima(CategoriaCodigo.SUV, periodo("2026-01-05T10:00", "2026-01-05T10:00")));
+	}
+
+	@Test
+	@DisplayName("Deve atualizar a ocupação ao cancelar e ignorar a própria reserva no replanejamento")
+	void deveAtualizarAoCancelarEIgnorarPropriaReserva() {
+		var primeira = reserva("RES-1", CategoriaCodigo.SUV, "2026-01-01T10:00", "2026-01-05T10:00");
+		var segunda = reserva("RES-2", CategoriaCodigo.SUV, "2026-01-02T10:00", "2026-01-04T10:00");
+		indice.registrar(primeira);
+		indice.registrar(segunda);
+		var periodo = periodo("2026-01-03T10:00", "2026-01-03T12:00");
+
+		assertEquals(1, indice.ocupacaoMaximaIgnorando(CategoriaCodigo.SUV, periodo, "RES-1"));
+		assertEquals(2, indice.ocupacaoMaxima(CategoriaCodigo.SUV, periodo));
+
+		segunda.cancelar();
+		indice.registrar(segunda);
+		assertEquals(1, indice.ocupacaoMaxima(CategoriaCodigo.SUV, periodo));
+	}
+
+	@Test
+	@DisplayName("Deve reaplicar as gravações feitas enquanto a carga lia os repositórios")
+	void deveReaplicarGravacoesFeitasDuranteACarga() {
+		var novo = new IndiceOcupacaoCategoria();
+		var lidas = List.of(reserva("RES-1", CategoriaCodigo.SUV, "2026-01-01T10:00", "2026-01-05T10:00"));
+
+		novo.carregar(() -> {
+			novo.registrar(reserva("RES-2", CategoriaCodigo.SUV, "2026-01-03T10:00", "2026-01-06T10:00"));
+			return lidas;
+		}, List::of);
+
+		assertTrue(novo.carregado());
+		assertEquals(2, novo.ocupacaoMaxima(CategoriaCodigo.SUV, periodo("2026-01-01T10:00", "2026-01-10T10:00")));
+		novo.removerReserva("RES-2");
+		assertEquals(1, novo.ocupacaoMaxima(CategoriaCodigo.SUV, periodo("2026-01-01T10:00", "2026-01-10T10:00")));
+	}
+
+	private Reserva reserva(String codigo, CategoriaCodigo categoria, String inicio, String fim) {
+		return new Reserva(codigo, categoria, "Recife", periodo(inicio, fim), new BigDecimal("500.00"),
+				StatusReserva.ATIVA, cliente, "PLACA-" + codigo);
+	}
+
+	private PeriodoLocacao periodo(String inicio, String fim) {
+		return new PeriodoLocacao(LocalDateTime.parse(inicio), LocalDateTime.parse(fim));
+	}
+}
@@ -0,0 +1,107 @@
+package dev.sauloaraujo.sgb.dominio.locacao.reserva;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculoListrado;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Categoria;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.infra.InMemoryRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+/**
+ * Testes de concorrência da criação de reservas.
+ */
+@DisplayName("Reservas concorrentes")
+class ReservaServicoConcorrenciaTest {
+
+	private static final int THREADS = 8;
+
+	private InMemoryRepositorio repositorio;
+	private ReservaServico servico;
+	private Cliente cliente;
+
+	@BeforeEach
+	void preparar() {
+		repositorio = new InMemoryRepositorio();
+		repositorio.salvar(new Categoria(CategoriaCodigo.SUV, "SUV", "Categoria SUV", new BigDecimal("200.00"),
+				List.of("Modelo SUV"), THREADS));
+		for (int indice = 1; indice <= THREADS; indice++) {
+			repositorio.salvar(new Veiculo("SUV000" + indice, "Modelo SUV", CategoriaCodigo.SUV, "Recife",
+					new BigDecimal("200.00"), StatusVeiculo.DISPONIVEL));
+		}
+		servico = new ReservaServico(repositorio, repositorio, repositorio, repositorio, repositorio,
+				repositorio.getIndiceDisponibilidade(), repositorio.getIndiceOcupacao(),
+				new BloqueioVeiculoListrado(64, Duration.ofSeconds(5)));
+		cliente = new Cliente("Cliente Teste", "12345678901", "12345678901", "cliente@alugacar.com",
+				"cliente_teste", "senha123");
+	}
+
+	@Test
+	@DisplayName("Deve aceitar só uma de várias reservas simultâneas do mesmo veículo no mesmo período")
+	void deveImpedirReservaDuplaDoMesmoVeiculo() throws Exception {
+		var erros = executarEmParalelo(indice -> "SUV0001");
+
+		assertEquals(THREADS - 1, erros.size());
+		erros.forEach(erro -> assertInstanceOf(IllegalStateException.class, erro));
+		assertEquals(1, repositorio.listarPorVeiculo("SUV0001").size());
+	}
+
+	@Test
+	@DisplayName("Deve aceitar reservas simultâneas de veículos diferentes")
+	void deveAceitarReservasDeVeiculosDiferentes() throws Exception {
+		var erros = executarEmParalelo(indice -> "SUV000" + (indice + 1));
+
+		assertTrue(erros.isEmpty(), () -> "Erros inesperados: " + erros);
+		assertEquals(THREADS, repositorio.listar().size());
+	}
+
+	private List<Throwable> executarEmParalelo(IntFunction<String> placaPorThread)
+			throws Exception {
+		var largada = new CyclicBarrier(THREADS);
+		var periodo = new PeriodoLocacao(LocalDateTime.parse("2030-01-10T10:00"),
+				LocalDateTime.parse("2030-01-15T10:00"));
+		var executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			var tarefas = new ArrayList<Callable<Reserva>>();
+			for (int indice = 0; indice < THREADS; indice++) {
+				var codigo = "RES-" + indice;
+				var placa = placaPorThread.apply(indice);
+				tarefas.add(() -> {
+					largada.await(5, TimeUnit.SECONDS);
+					return servico.criarReserva(codigo, CategoriaCodigo.SUV, "Recife", periodo, cliente, placa);
+				});
+			}
+
+			var erros = new ArrayList<Throwable>();
+			for (var resultado : executor.invokeAll(tarefas, 10, TimeUnit.SECONDS)) {
+				try {
+					resultado.get();
+				} catch (ExecutionException e) {
+					erros.add(e.getCause());
+				}
+			}
+			return erros;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
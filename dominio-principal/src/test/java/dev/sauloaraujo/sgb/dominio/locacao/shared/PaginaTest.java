@@ -0,0 +1,48 @@
+package dev.sauloaraujo.sgb.dominio.locacao.shared;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários da página e do pedido de página por chave.
+ */
+@DisplayName("Paginação por chave")
+class PaginaTest {
+
+	@Test
+	@DisplayName("Deve cortar o item extra e apontar o cursor para o último item entregue")
+	void deveMontarPaginaComProximoCursor() {
+		var pedido = PedidoPagina.primeira(2);
+		var pagina = Pagina.de(List.of("A", "B", "C"), pedido, item -> new String[] { item, item.toLowerCase() });
+
+		assertEquals(List.of("A", "B"), pagina.itens());
+		assertTrue(pagina.temProxima());
+		assertEquals(List.of("B", "b"), new PedidoPagina(pagina.proximoCursor(), 2).chave(2));
+	}
+
+	@Test
+	@DisplayName("Deve encerrar a listagem quando não vem o item extra")
+	void deveEncerrarNaUltimaPagina() {
+		var pagina = Pagina.de(List.of("A", "B"), PedidoPagina.primeira(2), item -> new String[] { item });
+
+		assertEquals(List.of("A", "B"), pagina.itens());
+		assertFalse(pagina.temProxima());
+		assertEquals(List.of("a", "b"), pagina.mapear(String::toLowerCase).itens());
+	}
+
+	@Test
+	@DisplayName("Deve validar o limite e rejeitar cursores de outra listagem")
+	void deveValidarPedido() {
+		assertThrows(IllegalArgumentException.class, () -> PedidoPagina.primeira(0));
+		assertThrows(IllegalArgumentException.class, () -> PedidoPagina.primeira(PedidoPagina.LIMITE_MAXIMO + 1));
+		assertEquals(PedidoPagina.LIMITE_PADRAO, PedidoPagina.de(null, null).limite());
+		assertTrue(PedidoPagina.de(" ", 10).primeiraPagina());
+
+		assertThrows(CursorInvalidoException.class, () -> new PedidoPagina("%%%", 10).chave(1));
+		assertThrows(CursorInvalidoException.class, () -> new PedidoPagina(Pagina.cursor("X"), 10).chave(2));
+	}
+}
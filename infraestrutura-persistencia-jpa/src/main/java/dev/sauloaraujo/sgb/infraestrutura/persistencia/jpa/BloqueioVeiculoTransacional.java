@@ -0,0 +1,81 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculoListrado;
+
+/**
+ * {@link BloqueioVeiculo} que mantém o veículo bloqueado até o fim da transação.
+ *
+ * <p>
+ * Liberar a trava ao final da ação, ainda antes do commit, deixaria outra
+ * operação ler o estado anterior do veículo no banco e repetir a reserva ou a
+ * retirada. Por isso, havendo transação ativa, a trava do
+ * {@link BloqueioVeiculoListrado} só é liberada após o commit ou o rollback.
+ * Fora de transação, o comportamento é o do bloqueio listrado.
+ * </p>
+ *
+ * <p>
+ * As faixas de um lote também ficam presas até o fim da transação; por isso o
+ * lote deve abranger poucos veículos.
+ * </p>
+ */
+@Component
+@Primary
+public class BloqueioVeiculoTransacional implements BloqueioVeiculo {
+
+	private final BloqueioVeiculoListrado bloqueio;
+
+	public BloqueioVeiculoTransacional(BloqueioVeiculoListrado bloqueio) {
+		this.bloqueio = bloqueio;
+	}
+
+	@Override
+	public <T> T executar(String placa, Supplier<T> acao) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return bloqueio.executar(placa, acao);
+		}
+
+		bloqueio.adquirir(placa);
+		try {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					bloqueio.liberar(placa);
+				}
+			});
+		} catch (RuntimeException e) {
+			bloqueio.liberar(placa);
+			throw e;
+		}
+		return acao.get();
+	}
+
+	@Override
+	public <T> T executarTodos(Collection<String> placas, Supplier<T> acao) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return bloqueio.executarTodos(placas, acao);
+		}
+
+		var faixas = bloqueio.adquirirTodos(placas);
+		try {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					bloqueio.liberarFaixas(faixas);
+				}
+			});
+		} catch (RuntimeException e) {
+			bloqueio.liberarFaixas(faixas);
+			throw e;
+		}
+		return acao.get();
+	}
+}
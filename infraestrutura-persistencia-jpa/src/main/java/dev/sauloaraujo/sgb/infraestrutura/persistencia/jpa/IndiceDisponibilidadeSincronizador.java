@@ -0,0 +1,205 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.IndiceFrota;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.AgendaExpiracaoReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceDisponibilidadeVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceOcupacaoCategoria;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.BarramentoInvalidacao;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.LocacaoJpaRepository;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.ReservaJpaRepository;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.VeiculoJpaRepository;
+
+/**
+ * Mantém o {@link IndiceDisponibilidadeVeiculo}, o {@link IndiceOcupacaoCategoria}
+ * e o {@link IndiceFrota} coerentes com o que é gravado pelos repositórios JPA.
+ *
+ * <p>
+ * A gravação é refletida imediatamente nos índices, para que validações seguintes
+ * na mesma transação a enxerguem. Se a transação for desfeita, só os agregados
+ * que ela gravou são relidos do banco, numa transação própria, e registrados de
+ * novo, ou retirados dos índices se não existirem mais; os demais registros
+ * continuam valendo. Se a releitura falhar, os índices são limpos e
+ * recarregados na próxima consulta.
+ * </p>
+ *
+ * <p>
+ * Após o commit, a chave de cada agregado gravado segue pelo
+ * {@link BarramentoInvalidacao}, e os outros nós releem do banco só esses
+ * agregados. Os índices só são limpos nos outros nós quando o barramento manda
+ * limpar o cache inteiro, como numa rajada de gravações ou quando mensagens se
+ * perdem.
+ * </p>
+ *
+ * <p>
+ * A {@link AgendaExpiracaoReserva} só recebe a reserva após o commit: ela não
+ * é recarregada sob demanda, então uma gravação desfeita não pode tirar dela
+ * uma reserva ainda ativa. Cada nó agenda as reservas que grava e, ao iniciar,
+ * todas as ativas; uma reserva agendada em mais de um nó é conferida no banco
+ * antes de expirar.
+ * </p>
+ */
+@Component
+public class IndiceDisponibilidadeSincronizador {
+
+	private static final Logger log = LoggerFactory.getLogger(IndiceDisponibilidadeSincronizador.class);
+
+	private static final String CACHE = "indices-disponibilidade";
+	private static final String ORIGEM_RESERVA = IndiceDisponibilidadeVeiculo.ORIGEM_RESERVA;
+	private static final String ORIGEM_LOCACAO = IndiceDisponibilidadeVeiculo.ORIGEM_LOCACAO;
+	private static final String ORIGEM_VEICULO = "V:";
+
+	private final IndiceDisponibilidadeVeiculo indice;
+	private final IndiceOcupacaoCategoria indiceOcupacao;
+	private final IndiceFrota indiceFrota;
+	private final AgendaExpiracaoReserva agendaExpiracao;
+	private final BarramentoInvalidacao barramentoInvalidacao;
+	private final ReservaJpaRepository reservaRepositorio;
+	private final LocacaoJpaRepository locacaoRepositorio;
+	private final VeiculoJpaRepository veiculoRepositorio;
+	private final JpaMapeador mapeador;
+	private final TransactionTemplate releitura;
+
+	public IndiceDisponibilidadeSincronizador(IndiceDisponibilidadeVeiculo indice,
+			IndiceOcupacaoCategoria indiceOcupacao, IndiceFrota indiceFrota,
+			AgendaExpiracaoReserva agendaExpiracao, BarramentoInvalidacao barramentoInvalidacao,
+			ReservaJpaRepository reservaRepositorio, LocacaoJpaRepository locacaoRepositorio,
+			VeiculoJpaRepository veiculoRepositorio, JpaMapeador mapeador,
+			PlatformTransactionManager transactionManager) {
+		this.indice = indice;
+		this.indiceOcupacao = indiceOcupacao;
+		this.indiceFrota = indiceFrota;
+		this.agendaExpiracao = agendaExpiracao;
+		this.barramentoInvalidacao = barramentoInvalidacao;
+		this.reservaRepositorio = reservaRepositorio;
+		this.locacaoRepositorio = locacaoRepositorio;
+		this.veiculoRepositorio = veiculoRepositorio;
+		this.mapeador = mapeador;
+		this.releitura = new TransactionTemplate(transactionManager);
+		releitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		releitura.setReadOnly(true);
+		barramentoInvalidacao.registrar(CACHE, chave -> reler(List.of(chave)), this::limpar);
+	}
+
+	public void registrar(Veiculo veiculo) {
+		indiceFrota.registrar(veiculo);
+		relerSeDesfeita(ORIGEM_VEICULO + veiculo.getPlaca());
+	}
+
+	public void registrar(Reserva reserva) {
+		indice.registrar(reserva);
+		indiceOcupacao.registrar(reserva);
+		relerSeDesfeita(ORIGEM_RESERVA + reserva.getCodigo());
+		agendarExpiracaoSeConfirmada(reserva);
+	}
+
+	public void registrar(Locacao locacao) {
+		indice.registrar(locacao);
+		indiceOcupacao.registrar(locacao);
+		relerSeDesfeita(ORIGEM_LOCACAO + locacao.getCodigo());
+	}
+
+	/**
+	 * Relê do banco os agregados das chaves ({@code R:}, {@code L:} ou
+	 * {@code V:} seguido do código ou da placa) e os registra de novo nos
+	 * índices. Se a releitura falhar, os índices são limpos.
+	 */
+	void reler(Collection<String> chaves) {
+		try {
+			releitura.executeWithoutResult(status -> chaves.forEach(this::reler));
+		} catch (RuntimeException e) {
+			log.warn("Falha ao reler {} agregados dos índices de disponibilidade; os índices serão recarregados",
+					chaves.size(), e);
+			limpar();
+		}
+	}
+
+	private void reler(String chave) {
+		if (chave.startsWith(ORIGEM_RESERVA)) {
+			var codigo = chave.substring(ORIGEM_RESERVA.length());
+			reservaRepositorio.buscarComCliente(codigo).map(mapeador::paraReserva).ifPresentOrElse(reserva -> {
+				indice.registrar(reserva);
+				indiceOcupacao.registrar(reserva);
+			}, () -> {
+				indice.removerReserva(codigo);
+				indiceOcupacao.removerReserva(codigo);
+			});
+		} else if (chave.startsWith(ORIGEM_LOCACAO)) {
+			var codigo = chave.substring(ORIGEM_LOCACAO.length());
+			locacaoRepositorio.findByCodigo(codigo).map(mapeador::paraLocacao).ifPresentOrElse(locacao -> {
+				indice.registrar(locacao);
+				indiceOcupacao.registrar(locacao);
+			}, () -> {
+				indice.removerLocacao(codigo);
+				indiceOcupacao.removerLocacao(codigo);
+			});
+		} else if (chave.startsWith(ORIGEM_VEICULO)) {
+			var placa = chave.substring(ORIGEM_VEICULO.length());
+			veiculoRepositorio.findById(placa).map(mapeador::paraVeiculo)
+					.ifPresentOrElse(indiceFrota::registrar, () -> indiceFrota.remover(placa));
+		}
+	}
+
+	/**
+	 * Publica a chave do agregado aos outros nós e a anota na transação
+	 * corrente; se ela for desfeita, os agregados anotados são relidos do banco.
+	 */
+	private void relerSeDesfeita(String chave) {
+		barramentoInvalidacao.publicar(CACHE, chave);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		var daTransacao = (Set<String>) TransactionSynchronizationManager.getResource(this);
+		if (daTransacao == null) {
+			var gravadas = new LinkedHashSet<String>();
+			TransactionSynchronizationManager.bindResource(this, gravadas);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(IndiceDisponibilidadeSincronizador.this);
+					if (status != STATUS_COMMITTED) {
+						reler(gravadas);
+					}
+				}
+			});
+			daTransacao = gravadas;
+		}
+		daTransacao.add(chave);
+	}
+
+	private void agendarExpiracaoSeConfirmada(Reserva reserva) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			agendaExpiracao.registrar(reserva);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				agendaExpiracao.registrar(reserva);
+			}
+		});
+	}
+
+	private void limpar() {
+		indice.limpar();
+		indiceOcupacao.limpar();
+		indiceFrota.limpar();
+	}
+}
@@ -1,12 +1,9 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
-import org.modelmapper.AbstractConverter;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
-import org.modelmapper.config.Configuration.AccessLevel;
 import org.springframework.stereotype.Component;
 
 import jakarta.persistence.EntityManager;
@@ -15,11 +12,15 @@ import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Categoria;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
 import dev.sauloaraujo.sgb.dominio.locacao.admin.Administrador;
+import dev.sauloaraujo.sgb.dominio.locacao.admin.StatusAdministrador;
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.StatusCliente;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.ChecklistVistoria;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
-import dev.sauloaraujo.sgb.dominio.locacao.patio.Patio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.MultaPadraoStrategy;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.RetiradaInfo;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Credenciais;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
@@ -36,670 +37,517 @@ import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
 
 /**
  * Componente responsável pelo mapeamento entre objetos de domínio e entidades JPA.
- * Utiliza ModelMapper com conversores customizados para garantir compatibilidade total.
+ *
+ * <p>
+ * Cada conversão é um método escrito à mão, chamado diretamente pelos
+ * repositórios: não há busca de conversores por tipo, reflexão nem
+ * configuração na inicialização, e nada é alocado além dos objetos de destino.
+ * As validações feitas ao reconstruir reservas e locações são as mesmas de
+ * antes e continuam falhando com {@link IllegalStateException}.
+ * </p>
+ *
+ * <p>
+ * Os métodos {@code preencher...} copiam o estado do agregado para uma entidade
+ * existente, nova ou gerenciada, sem tocar na versão; a {@link UnidadeDeTrabalho}
+ * os usa para que a gravação altere só o que mudou.
+ * </p>
  */
 @Component
-public class JpaMapeador extends ModelMapper {
+public class JpaMapeador {
+
+	private static final MultaPadraoStrategy MULTA_PADRAO = new MultaPadraoStrategy();
 
 	@PersistenceContext
 	private EntityManager entityManager;
 
-	public JpaMapeador() {
-		var configuracao = getConfiguration();
-		configuracao.setFieldMatchingEnabled(true);
-		configuracao.setFieldAccessLevel(AccessLevel.PRIVATE);
-		// Desabilitar mapeamento automático de propriedades aninhadas
-		// Isso força o uso de conversores customizados quando disponíveis
-		configuracao.setSkipNullEnabled(true);
-
-		configurarConversoresAuditoria();
-		configurarConversoresCliente();
-		configurarConversoresAdministrador();
-		configurarConversoresCategoria();
-		configurarConversoresVeiculo();
-		configurarConversoresReserva();
-		configurarConversoresLocacao();
-		configurarConversoresPatio();
-		configurarConversoresPeriodo();
-		configurarConversoresChecklist();
+	// ===== Cliente =====
+
+	public Cliente paraCliente(ClienteJpa source) {
+		if (source == null) {
+			return null;
+		}
+		// Usar construtor de reconstrução com Credenciais e StatusCliente
+		var credenciais = new Credenciais(source.getLogin(), source.getSenhaHash());
+		var status = StatusCliente.valueOf(source.getStatus());
+
+		return new Cliente(
+			source.getNome(),
+			source.getCpfOuCnpj(),
+			source.getCnh(),
+			source.getEmail(),
+			credenciais,
+			status
+		);
 	}
 
-	private void configurarConversoresAuditoria() {
+	public ClienteJpa paraClienteJpa(Cliente source) {
+		if (source == null) {
+			return null;
+		}
+		var jpa = new ClienteJpa();
+		preencherClienteJpa(source, jpa);
+		return jpa;
 	}
 
-	private void configurarConversoresCliente() {
-		addConverter(new AbstractConverter<ClienteJpa, Cliente>() {
-			@Override
-			protected Cliente convert(ClienteJpa source) {
-				if (source == null) {
-					return null;
-				}
-				// Usar construtor de reconstrução com Credenciais e StatusCliente
-				var credenciais = new dev.sauloaraujo.sgb.dominio.locacao.shared.Credenciais(
-					source.getLogin(), 
-					source.getSenhaHash()
-				);
-				var status = dev.sauloaraujo.sgb.dominio.locacao.cliente.StatusCliente.valueOf(source.getStatus());
-				
-				return new Cliente(
-					source.getNome(), 
-					source.getCpfOuCnpj(), 
-					source.getCnh(), 
-					source.getEmail(),
-					credenciais,
-					status
-				);
-			}
-		});
+	public void preencherClienteJpa(Cliente source, ClienteJpa jpa) {
+		jpa.setCpfOuCnpj(source.getCpfOuCnpj());
+		jpa.setNome(source.getNome());
+		jpa.setCnh(source.getCnh());
+		jpa.setEmail(source.getEmail());
+		jpa.setLogin(source.getCredenciais().getLogin());
+		jpa.setSenhaHash(source.getCredenciais().getSenhaCriptografada());
+		jpa.setStatus(source.getStatus().name());
+	}
 
-		addConverter(new AbstractConverter<Cliente, ClienteJpa>() {
-			@Override
-			protected ClienteJpa convert(Cliente source) {
-				if (source == null) {
-					return null;
-				}
-				var jpa = new ClienteJpa();
-				jpa.setCpfOuCnpj(source.getCpfOuCnpj());
-				jpa.setNome(source.getNome());
-				jpa.setCnh(source.getCnh());
-				jpa.setEmail(source.getEmail());
-				jpa.setLogin(source.getCredenciais().getLogin());
-				jpa.setSenhaHash(source.getCredenciais().getSenhaCriptografada());
-				jpa.setStatus(source.getStatus().name());
-				return jpa;
-			}
-		});
+	// ===== Administrador =====
+
+	public Administrador paraAdministrador(AdministradorJpa source) {
+		if (source == null) {
+			return null;
+		}
+		var credenciais = new Credenciais(source.getLogin(), source.getSenhaHash());
+		var status = StatusAdministrador.valueOf(source.getStatus());
+
+		return new Administrador(
+			source.getId(),
+			source.getNome(),
+			source.getEmail(),
+			credenciais,
+			status
+		);
 	}
 
-	private void configurarConversoresAdministrador() {
-		addConverter(new AbstractConverter<AdministradorJpa, Administrador>() {
-			@Override
-			protected Administrador convert(AdministradorJpa source) {
-				if (source == null) {
-					return null;
-				}
-				var credenciais = new dev.sauloaraujo.sgb.dominio.locacao.shared.Credenciais(
-					source.getLogin(), 
-					source.getSenhaHash()
-				);
-				var status = dev.sauloaraujo.sgb.dominio.locacao.admin.StatusAdministrador.valueOf(source.getStatus());
-				
-				return new Administrador(
-					source.getId(),
-					source.getNome(), 
-					source.getEmail(),
-					credenciais,
-					status
-				);
-			}
-		});
+	public AdministradorJpa paraAdministradorJpa(Administrador source) {
+		if (source == null) {
+			return null;
+		}
+		var jpa = new AdministradorJpa();
+		jpa.setId(source.getId());
+		jpa.setNome(source.getNome());
+		jpa.setEmail(source.getEmail());
+		jpa.setLogin(source.getCredenciais().getLogin());
+		jpa.setSenhaHash(source.getCredenciais().getSenhaCriptografada());
+		jpa.setStatus(source.getStatus().name());
+		return jpa;
+	}
 
-		addConverter(new AbstractConverter<Administrador, AdministradorJpa>() {
-			@Override
-			protected AdministradorJpa convert(Administrador source) {
-				if (source == null) {
-					return null;
-				}
-				var jpa = new AdministradorJpa();
-				jpa.setId(source.getId());
-				jpa.setNome(source.getNome());
-				jpa.setEmail(source.getEmail());
-				jpa.setLogin(source.getCredenciais().getLogin());
-				jpa.setSenhaHash(source.getCredenciais().getSenhaCriptografada());
-				jpa.setStatus(source.getStatus().name());
-				return jpa;
-			}
-		});
+	// ===== Categoria =====
+
+	public Categoria paraCategoria(CategoriaJpa source) {
+		if (source == null) {
+			return null;
+		}
+
+		var modelosLista = source.getModelosExemplo() != null && !source.getModelosExemplo().isBlank()
+				? List.of(source.getModelosExemplo().split(","))
+				: List.<String>of();
+
+		var codigo = CategoriaCodigo.fromTexto(source.getCodigo());
+
+		return new Categoria(codigo, source.getNome(), source.getDescricao(),
+				source.getDiaria(), modelosLista, source.getQuantidadeDisponivel());
 	}
 
-	private void configurarConversoresCategoria() {
-		addConverter(new AbstractConverter<CategoriaJpa, Categoria>() {
-			@Override
-			protected Categoria convert(CategoriaJpa source) {
-				if (source == null) {
-					return null;
-				}
+	public CategoriaJpa paraCategoriaJpa(Categoria source) {
+		if (source == null) {
+			return null;
+		}
+		var jpa = new CategoriaJpa();
+		jpa.setCodigo(source.getCodigo().name());
+		jpa.setNome(source.getNome());
+		jpa.setDescricao(source.getDescricao());
+		jpa.setDiaria(source.getDiaria());
+		jpa.setModelosExemplo(String.join(",", source.getModelosExemplo()));
+		jpa.setQuantidadeDisponivel(source.getQuantidadeDisponivel());
+		return jpa;
+	}
 
-				var modelosLista = source.getModelosExemplo() != null && !source.getModelosExemplo().isBlank()
-						? List.of(source.getModelosExemplo().split(","))
-						: List.<String>of();
+	// ===== Veículo =====
 
-				var codigo = CategoriaCodigo.fromTexto(source.getCodigo());
+	public Veiculo paraVeiculo(VeiculoJpa source) {
+		if (source == null) {
+			return null;
+		}
 
-				return new Categoria(codigo, source.getNome(), source.getDescricao(),
-						source.getDiaria(), modelosLista, source.getQuantidadeDisponivel());
-			}
-		});
+		var categoria = CategoriaCodigo.fromTexto(source.getCategoria());
+		var veiculo = new Veiculo(source.getPlaca(), source.getModelo(), categoria,
+				source.getCidade(), source.getDiaria(), source.getStatus());
 
-		addConverter(new AbstractConverter<Categoria, CategoriaJpa>() {
-			@Override
-			protected CategoriaJpa convert(Categoria source) {
-				if (source == null) {
-					return null;
-				}
-				var jpa = new CategoriaJpa();
-				jpa.setCodigo(source.getCodigo().name());
-				jpa.setNome(source.getNome());
-				jpa.setDescricao(source.getDescricao());
-				jpa.setDiaria(source.getDiaria());
-				jpa.setModelosExemplo(String.join(",", source.getModelosExemplo()));
-				jpa.setQuantidadeDisponivel(source.getQuantidadeDisponivel());
-				return jpa;
-			}
-		});
+		if (source.getManutencaoPrevista() != null) {
+			veiculo.agendarManutencao(source.getManutencaoPrevista(), source.getManutencaoNota());
+		}
+		veiculo.restaurarVersao(source.getVersao());
+
+		// O pátio é reconstruído automaticamente pelo domínio com base na cidade.
+		return veiculo;
 	}
 
-	private void configurarConversoresVeiculo() {
-		addConverter(new AbstractConverter<VeiculoJpa, Veiculo>() {
-			@Override
-			protected Veiculo convert(VeiculoJpa source) {
-				if (source == null) {
-					return null;
-				}
+	public VeiculoJpa paraVeiculoJpa(Veiculo source) {
+		if (source == null) {
+			return null;
+		}
+		var jpa = new VeiculoJpa();
+		preencherVeiculoJpa(source, jpa);
+		jpa.setVersao(source.getVersao());
+		return jpa;
+	}
 
-				var categoria = CategoriaCodigo.fromTexto(source.getCategoria());
-				var veiculo = new Veiculo(source.getPlaca(), source.getModelo(), categoria,
-						source.getCidade(), source.getDiaria(), source.getStatus());
+	public void preencherVeiculoJpa(Veiculo source, VeiculoJpa jpa) {
+		jpa.setPlaca(source.getPlaca());
+		jpa.setModelo(source.getModelo());
+		jpa.setCategoria(source.getCategoria().name());
+		jpa.setCidade(source.getCidade());
+		jpa.setDiaria(source.getDiaria());
+		jpa.setStatus(source.getStatus());
+		jpa.setManutencaoPrevista(source.getManutencaoPrevista());
+		jpa.setManutencaoNota(source.getManutencaoNota());
+
+		if (source.getPatio() != null) {
+			var patioJpa = new PatioJpa();
+			patioJpa.setCodigo(source.getPatio().getCodigo());
+			patioJpa.setLocalizacao(source.getPatio().getCidade());
+			jpa.setPatio(patioJpa);
+		} else {
+			jpa.setPatio(null);
+		}
+	}
 
-				if (source.getManutencaoPrevista() != null) {
-					veiculo.agendarManutencao(source.getManutencaoPrevista(), source.getManutencaoNota());
-				}
+	// ===== Reserva =====
 
-				// O pátio é reconstruído automaticamente pelo domínio com base na cidade.
-				return veiculo;
+	public Reserva paraReserva(ReservaJpa source) {
+		if (source == null) {
+			return null;
+		}
+
+		try {
+			// Validar período
+			var periodoJpa = source.getPeriodo();
+			if (periodoJpa == null) {
+				throw new IllegalStateException(
+						"ReservaJpa sem período (codigo: " + source.getCodigo() + ")");
 			}
-		});
 
-		addConverter(new AbstractConverter<Veiculo, VeiculoJpa>() {
-			@Override
-			protected VeiculoJpa convert(Veiculo source) {
-				if (source == null) {
-					return null;
-				}
-				var jpa = new VeiculoJpa();
-				jpa.setPlaca(source.getPlaca());
-				jpa.setModelo(source.getModelo());
-				jpa.setCategoria(source.getCategoria().name());
-				jpa.setCidade(source.getCidade());
-				jpa.setDiaria(source.getDiaria());
-				jpa.setStatus(source.getStatus());
-				jpa.setManutencaoPrevista(source.getManutencaoPrevista());
-				jpa.setManutencaoNota(source.getManutencaoNota());
-
-				if (source.getPatio() != null) {
-					var patioJpa = new PatioJpa();
-					patioJpa.setCodigo(source.getPatio().getCodigo());
-					patioJpa.setLocalizacao(source.getPatio().getCidade());
-					jpa.setPatio(patioJpa);
-				}
+			if (periodoJpa.getRetirada() == null || periodoJpa.getDevolucao() == null) {
+				throw new IllegalStateException(
+						"ReservaJpa com período inválido (codigo: " + source.getCodigo() +
+						", retirada: " + periodoJpa.getRetirada() +
+						", devolucao: " + periodoJpa.getDevolucao() + ")");
+			}
+
+			var periodo = new PeriodoLocacao(periodoJpa.getRetirada(), periodoJpa.getDevolucao());
 
-				return jpa;
+			// Validar cliente
+			if (source.getCliente() == null) {
+				throw new IllegalStateException(
+						"ReservaJpa sem cliente (codigo: " + source.getCodigo() + ")");
 			}
-		});
-	}
 
-	private void configurarConversoresReserva() {
-		addConverter(new AbstractConverter<ReservaJpa, Reserva>() {
-			@Override
-			protected Reserva convert(ReservaJpa source) {
-				if (source == null) {
-					return null;
-				}
+			var cliente = paraCliente(source.getCliente());
 
-				try {
-					// Validar período
-					var periodoJpa = source.getPeriodo();
-					if (periodoJpa == null) {
-						throw new IllegalStateException(
-								"ReservaJpa sem período (codigo: " + source.getCodigo() + ")");
-					}
-					
-					if (periodoJpa.getRetirada() == null || periodoJpa.getDevolucao() == null) {
-						throw new IllegalStateException(
-								"ReservaJpa com período inválido (codigo: " + source.getCodigo() + 
-								", retirada: " + periodoJpa.getRetirada() + 
-								", devolucao: " + periodoJpa.getDevolucao() + ")");
-					}
-					
-					var periodo = new PeriodoLocacao(periodoJpa.getRetirada(), periodoJpa.getDevolucao());
-					
-					// Validar cliente
-					if (source.getCliente() == null) {
-						throw new IllegalStateException(
-								"ReservaJpa sem cliente (codigo: " + source.getCodigo() + ")");
-					}
-					
-					var cliente = map(source.getCliente(), Cliente.class);
-					if (cliente == null) {
-						throw new IllegalStateException(
-								"Falha ao converter ClienteJpa para Cliente na reserva: " + source.getCodigo());
-					}
-					
-					// Validar categoria
-					if (source.getCategoria() == null || source.getCategoria().isBlank()) {
-						throw new IllegalStateException(
-								"ReservaJpa sem categoria (codigo: " + source.getCodigo() + ")");
-					}
-					
-					var categoria = CategoriaCodigo.fromTexto(source.getCategoria());
-
-					if (source.getStatus() == null) {
-						throw new IllegalStateException(
-								"ReservaJpa sem status (codigo: " + source.getCodigo() + ")");
-					}
-					
-					StatusReserva status = source.getStatus();
-					String placaVeiculo = source.getPlacaVeiculo();
-					boolean precisaPlacaValida = status == StatusReserva.ATIVA || status == StatusReserva.CONCLUIDA;
-					
-					if (precisaPlacaValida) {
-						if (placaVeiculo == null || placaVeiculo.isBlank() || 
-						    placaVeiculo.equals("MIGRAR") || placaVeiculo.equals("TEMP") ||
-						    placaVeiculo.equals("INVALIDA")) {
-							throw new IllegalStateException(
-									"ReservaJpa sem placaVeiculo válida (codigo: " + source.getCodigo() + 
-									", status: " + source.getStatus() + 
-									", placaVeiculo: " + source.getPlacaVeiculo() + 
-									"). Reservas ATIVAS e CONCLUIDAS devem ter placa do veículo válida."
-							);
-						}
-					} else {
-						if (placaVeiculo == null || placaVeiculo.isBlank() || 
-						    placaVeiculo.equals("MIGRAR") || placaVeiculo.equals("TEMP") ||
-						    placaVeiculo.equals("INVALIDA")) {
-							placaVeiculo = "HIST-" + source.getCodigo().substring(0, Math.min(6, source.getCodigo().length()));
-						}
-					}
-					
-					// Validar valor estimado
-					if (source.getValorEstimado() == null) {
-						throw new IllegalStateException(
-								"ReservaJpa sem valorEstimado (codigo: " + source.getCodigo() + ")");
-					}
-
-					dev.sauloaraujo.sgb.dominio.locacao.reserva.RetiradaInfo retiradaInfo = null;
-					if (source.getRetiradaInfo() != null) {
-						var infoJpa = source.getRetiradaInfo();
-						retiradaInfo = new dev.sauloaraujo.sgb.dominio.locacao.reserva.RetiradaInfo(
-							infoJpa.getPlacaVeiculo(),
-							infoJpa.getCnhCondutor(),
-							infoJpa.getDataHoraRetirada(),
-							infoJpa.getQuilometragemSaida() != null ? infoJpa.getQuilometragemSaida() : 0L,
-							infoJpa.getNivelTanqueSaida(),
-							infoJpa.getObservacoes()
-						);
-					}
-
-					return new Reserva(source.getCodigo(), categoria, source.getCidadeRetirada(),
-							periodo, source.getValorEstimado(), source.getStatus(), cliente, placaVeiculo, retiradaInfo);
-				} catch (IllegalStateException e) {
-					// Re-lançar IllegalStateException com contexto adicional
-					throw new IllegalStateException(
-							"Erro ao converter ReservaJpa para Reserva (codigo: " + source.getCodigo() + "): " + e.getMessage(), 
-							e);
-				} catch (Exception e) {
-					// Capturar qualquer outra exceção e fornecer contexto
-					throw new IllegalStateException(
-							"Erro inesperado ao converter ReservaJpa para Reserva (codigo: " + source.getCodigo() + 
-							", categoria: " + source.getCategoria() + 
-							", placaVeiculo: " + source.getPlacaVeiculo() + 
-							"): " + e.getMessage(), 
-							e);
-				}
+			// Validar categoria
+			if (source.getCategoria() == null || source.getCategoria().isBlank()) {
+				throw new IllegalStateException(
+						"ReservaJpa sem categoria (codigo: " + source.getCodigo() + ")");
 			}
-		});
 
-		addConverter(new AbstractConverter<Reserva, ReservaJpa>() {
-			@Override
-			protected ReservaJpa convert(Reserva source) {
-				if (source == null) {
-					return null;
-				}
-				var jpa = new ReservaJpa();
-				jpa.setCodigo(source.getCodigo());
-				jpa.setCategoria(source.getCategoria().name());
-				jpa.setCidadeRetirada(source.getCidadeRetirada());
-				jpa.setValorEstimado(source.getValorEstimado());
-				jpa.setStatus(source.getStatus());
-				jpa.setPlacaVeiculo(source.getPlacaVeiculo());
-
-				var periodoJpa = new PeriodoLocacaoJpa();
-				periodoJpa.setRetirada(source.getPeriodo().getRetirada());
-				periodoJpa.setDevolucao(source.getPeriodo().getDevolucao());
-				jpa.setPeriodo(periodoJpa);
-
-				var clienteJpa = entityManager.getReference(ClienteJpa.class, source.getCliente().getCpfOuCnpj());
-				jpa.setCliente(clienteJpa);
-
-				if (source.getRetiradaInfo() != null) {
-					var retiradaInfo = source.getRetiradaInfo();
-					var retiradaInfoJpa = new RetiradaInfoJpa();
-					retiradaInfoJpa.setPlacaVeiculo(retiradaInfo.placaVeiculo());
-					retiradaInfoJpa.setCnhCondutor(retiradaInfo.cnhCondutor());
-					retiradaInfoJpa.setDataHoraRetirada(retiradaInfo.dataHoraRetirada());
-					retiradaInfoJpa.setQuilometragemSaida(retiradaInfo.quilometragemSaida());
-					retiradaInfoJpa.setNivelTanqueSaida(retiradaInfo.nivelTanqueSaida());
-					retiradaInfoJpa.setObservacoes(retiradaInfo.observacoes());
-					jpa.setRetiradaInfo(retiradaInfoJpa);
-				}
+			var categoria = CategoriaCodigo.fromTexto(source.getCategoria());
 
-				return jpa;
+			if (source.getStatus() == null) {
+				throw new IllegalStateException(
+						"ReservaJpa sem status (codigo: " + source.getCodigo() + ")");
 			}
-		});
-	}
 
-	private void configurarConversoresLocacao() {
-		addConverter(new AbstractConverter<LocacaoJpa, Locacao>() {
-			@Override
-			protected Locacao convert(LocacaoJpa source) {
-				if (source == null) {
-					return null;
-				}
+			StatusReserva status = source.getStatus();
+			String placaVeiculo = source.getPlacaVeiculo();
+			boolean precisaPlacaValida = status == StatusReserva.ATIVA || status == StatusReserva.CONCLUIDA;
 
-				try {
-					// Validações básicas
-					if (source.getCodigo() == null || source.getCodigo().isBlank()) {
-						throw new IllegalStateException("LocacaoJpa sem código");
-					}
-					
-					if (source.getDiasPrevistos() <= 0) {
-						throw new IllegalStateException("LocacaoJpa com diasPrevistos inválido: " + source.getDiasPrevistos());
-					}
-					
-					if (source.getValorDiaria() == null) {
-						throw new IllegalStateException("LocacaoJpa sem valorDiaria");
-					}
-					
-					if (source.getVeiculo() == null) {
-						throw new IllegalStateException("LocacaoJpa sem veículo: " + source.getCodigo());
-					}
-
-					// Converter reserva, mas se ela não tiver placaVeiculo (reserva antiga),
-					// usar a placa do veículo da locação
-					var reservaJpa = source.getReserva();
-					if (reservaJpa == null) {
-						throw new IllegalStateException("LocacaoJpa sem reserva: " + source.getCodigo());
-					}
-					
-					// Validar campos críticos da reserva antes de converter
-					if (reservaJpa.getPeriodo() == null) {
-						throw new IllegalStateException("ReservaJpa sem período: " + reservaJpa.getCodigo());
-					}
-					
-					if (reservaJpa.getCliente() == null) {
-						throw new IllegalStateException("ReservaJpa sem cliente: " + reservaJpa.getCodigo());
-					}
-					
-					String placaVeiculoReserva = reservaJpa.getPlacaVeiculo();
-					if (placaVeiculoReserva == null || placaVeiculoReserva.isBlank() || placaVeiculoReserva.equals("MIGRAR")) {
-						var reservaJpaComPlaca = new ReservaJpa();
-						reservaJpaComPlaca.setCodigo(reservaJpa.getCodigo());
-						reservaJpaComPlaca.setCategoria(reservaJpa.getCategoria());
-						reservaJpaComPlaca.setCidadeRetirada(reservaJpa.getCidadeRetirada());
-						reservaJpaComPlaca.setPeriodo(reservaJpa.getPeriodo());
-						reservaJpaComPlaca.setValorEstimado(reservaJpa.getValorEstimado());
-						reservaJpaComPlaca.setStatus(reservaJpa.getStatus());
-						reservaJpaComPlaca.setCliente(reservaJpa.getCliente());
-						
-						String placaVeiculoLocacao = source.getVeiculo().getPlaca();
-						if (placaVeiculoLocacao == null || placaVeiculoLocacao.isBlank()) {
-							throw new IllegalStateException("Veículo da locação sem placa: " + source.getCodigo());
-						}
-						reservaJpaComPlaca.setPlacaVeiculo(placaVeiculoLocacao);
-						reservaJpa = reservaJpaComPlaca;
-					}
-
-					// Converter reserva MANUALMENTE (sem usar ModelMapper recursivo)
-					// Isso evita que o ModelMapper chame o conversor de Reserva diretamente,
-					// que não tem acesso ao contexto da locação para obter a placa do veículo
-					Reserva reserva;
-					try {
-						// Garantir que a placa está definida antes de converter
-						String placaFinal = reservaJpa.getPlacaVeiculo();
-						if (placaFinal == null || placaFinal.isBlank() || placaFinal.equals("MIGRAR")) {
-							placaFinal = source.getVeiculo().getPlaca();
-							if (placaFinal == null || placaFinal.isBlank()) {
-								throw new IllegalStateException("Não foi possível determinar placa do veículo para reserva: " + reservaJpa.getCodigo());
-							}
-							reservaJpa.setPlacaVeiculo(placaFinal);
-						}
-						
-						// Converter manualmente os componentes da reserva
-						var periodoJpa = reservaJpa.getPeriodo();
-						if (periodoJpa == null) {
-							throw new IllegalStateException("ReservaJpa sem período: " + reservaJpa.getCodigo());
-						}
-						var periodo = new PeriodoLocacao(periodoJpa.getRetirada(), periodoJpa.getDevolucao());
-						
-						var cliente = map(reservaJpa.getCliente(), Cliente.class);
-						if (cliente == null) {
-							throw new IllegalStateException("Falha ao converter ClienteJpa para Cliente na reserva: " + reservaJpa.getCodigo());
-						}
-						
-						var categoria = CategoriaCodigo.fromTexto(reservaJpa.getCategoria());
-						
-						// Criar Reserva diretamente (sem usar ModelMapper para evitar recursão)
-						reserva = new Reserva(
-								reservaJpa.getCodigo(),
-								categoria,
-								reservaJpa.getCidadeRetirada(),
-								periodo,
-								reservaJpa.getValorEstimado(),
-								reservaJpa.getStatus(),
-								cliente,
-								placaFinal
-						);
-					} catch (Exception e) {
-						throw new IllegalStateException("Erro ao converter ReservaJpa para Reserva (codigo: " + reservaJpa.getCodigo() + "): " + e.getMessage(), e);
-					}
-
-					// Converter veículo
-					Veiculo veiculo;
-					try {
-						veiculo = map(source.getVeiculo(), Veiculo.class);
-						if (veiculo == null) {
-							throw new IllegalStateException("Falha ao converter VeiculoJpa para Veiculo (retornou null)");
-						}
-					} catch (Exception e) {
-						throw new IllegalStateException("Erro ao converter VeiculoJpa para Veiculo (placa: " + source.getVeiculo().getPlaca() + "): " + e.getMessage(), e);
-					}
-					
-					// Tratar vistoriaRetirada null ou com campos null
-					ChecklistVistoria vistoriaRetirada;
-					var vistoriaRetiradaJpa = source.getVistoriaRetirada();
-					if (vistoriaRetiradaJpa == null) {
-						// Criar vistoria padrão se não existir (para locações antigas)
-						vistoriaRetirada = new ChecklistVistoria(0, "CHEIO", false);
-					} else {
-						// Converter vistoria, tratando campos null
-						int quilometragem = vistoriaRetiradaJpa.getQuilometragem() != null 
-								? vistoriaRetiradaJpa.getQuilometragem() 
-								: 0;
-						String combustivel = vistoriaRetiradaJpa.getCombustivel() != null 
-								? vistoriaRetiradaJpa.getCombustivel() 
-								: "CHEIO";
-						boolean possuiAvarias = vistoriaRetiradaJpa.getPossuiAvarias() != null 
-								? vistoriaRetiradaJpa.getPossuiAvarias() 
-								: false;
-						vistoriaRetirada = new ChecklistVistoria(quilometragem, combustivel, possuiAvarias);
-					}
-
-					// Criar Locacao com o status do banco
-					Locacao locacao;
-					try {
-						var status = source.getStatus() != null ? source.getStatus() : StatusLocacao.ATIVA;
-						locacao = new Locacao(
-								source.getCodigo(), 
-								reserva, 
-								veiculo,
-								source.getDiasPrevistos(), 
-								source.getValorDiaria(), 
-								vistoriaRetirada,
-								new dev.sauloaraujo.sgb.dominio.locacao.operacao.MultaPadraoStrategy(),
-								status
-						);
-					} catch (Exception e) {
-						throw new IllegalStateException(
-								"Erro ao criar Locacao (codigo: " + source.getCodigo() + 
-								", diasPrevistos: " + source.getDiasPrevistos() + 
-								", valorDiaria: " + source.getValorDiaria() + 
-								", status: " + source.getStatus() + "): " + e.getMessage(), 
-								e
-						);
-					}
-
-					// Registrar vistoria de devolução se existir
-					if (source.getVistoriaDevolucao() != null) {
-						var vistoriaDevolucaoJpa = source.getVistoriaDevolucao();
-						int kmDevolucao = vistoriaDevolucaoJpa.getQuilometragem() != null 
-								? vistoriaDevolucaoJpa.getQuilometragem() 
-								: 0;
-						String combustivelDevolucao = vistoriaDevolucaoJpa.getCombustivel() != null 
-								? vistoriaDevolucaoJpa.getCombustivel() 
-								: "CHEIO";
-						boolean avariasDevolucao = vistoriaDevolucaoJpa.getPossuiAvarias() != null 
-								? vistoriaDevolucaoJpa.getPossuiAvarias() 
-								: false;
-						var vistoriaDevolucao = new ChecklistVistoria(kmDevolucao, combustivelDevolucao, avariasDevolucao);
-						locacao.registrarDevolucao(vistoriaDevolucao);
-					}
-
-					return locacao;
-				} catch (IllegalStateException e) {
-					// Re-lançar IllegalStateException sem wrappear
-					throw e;
-				} catch (Exception e) {
+			if (placaInvalida(placaVeiculo)) {
+				if (precisaPlacaValida) {
 					throw new IllegalStateException(
-							"Erro ao converter LocacaoJpa para Locacao (codigo: " + source.getCodigo() + "): " + e.getMessage(), 
-							e
+							"ReservaJpa sem placaVeiculo válida (codigo: " + source.getCodigo() +
+							", status: " + source.getStatus() +
+							", placaVeiculo: " + source.getPlacaVeiculo() +
+							"). Reservas ATIVAS e CONCLUIDAS devem ter placa do veículo válida."
 					);
 				}
+				placaVeiculo = "HIST-" + source.getCodigo().substring(0, Math.min(6, source.getCodigo().length()));
 			}
-		});
 
-		addConverter(new AbstractConverter<Locacao, LocacaoJpa>() {
-			@Override
-			protected LocacaoJpa convert(Locacao source) {
-				if (source == null) {
-					return null;
-				}
-				var jpa = new LocacaoJpa();
-				jpa.setCodigo(source.getCodigo());
-				jpa.setDiasPrevistos(source.getDiasPrevistos());
-				jpa.setValorDiaria(source.getValorDiaria());
-				jpa.setStatus(source.getStatus());
-
-				// Respeitando DDD: Não fazer consultas ao banco no conversor
-				// Usar getReference() para criar referências lazy (não consulta o banco)
-				// Se as entidades não existirem, o Hibernate lançará erro ao salvar
-				var reservaJpa = entityManager.getReference(ReservaJpa.class, source.getReserva().getCodigo());
-				jpa.setReserva(reservaJpa);
-
-				var veiculoJpa = entityManager.getReference(VeiculoJpa.class, source.getVeiculo().getPlaca());
-				jpa.setVeiculo(veiculoJpa);
-
-				jpa.setVistoriaRetirada(map(source.getVistoriaRetirada(), ChecklistVistoriaJpa.class));
-				if (source.getVistoriaDevolucao() != null) {
-					jpa.setVistoriaDevolucao(map(source.getVistoriaDevolucao(), ChecklistVistoriaJpa.class));
-				}
+			// Validar valor estimado
+			if (source.getValorEstimado() == null) {
+				throw new IllegalStateException(
+						"ReservaJpa sem valorEstimado (codigo: " + source.getCodigo() + ")");
+			}
 
-				return jpa;
+			RetiradaInfo retiradaInfo = null;
+			if (source.getRetiradaInfo() != null) {
+				var infoJpa = source.getRetiradaInfo();
+				retiradaInfo = new RetiradaInfo(
+					infoJpa.getPlacaVeiculo(),
+					infoJpa.getCnhCondutor(),
+					infoJpa.getDataHoraRetirada(),
+					infoJpa.getQuilometragemSaida() != null ? infoJpa.getQuilometragemSaida() : 0L,
+					infoJpa.getNivelTanqueSaida(),
+					infoJpa.getObservacoes()
+				);
 			}
-		});
+
+			var reserva = new Reserva(source.getCodigo(), categoria, source.getCidadeRetirada(),
+					periodo, source.getValorEstimado(), source.getStatus(), cliente, placaVeiculo, retiradaInfo);
+			reserva.restaurarVersao(source.getVersao());
+			return reserva;
+		} catch (IllegalStateException e) {
+			// Re-lançar IllegalStateException com contexto adicional
+			throw new IllegalStateException(
+					"Erro ao converter ReservaJpa para Reserva (codigo: " + source.getCodigo() + "): " + e.getMessage(),
+					e);
+		} catch (Exception e) {
+			// Capturar qualquer outra exceção e fornecer contexto
+			throw new IllegalStateException(
+					"Erro inesperado ao converter ReservaJpa para Reserva (codigo: " + source.getCodigo() +
+					", categoria: " + source.getCategoria() +
+					", placaVeiculo: " + source.getPlacaVeiculo() +
+					"): " + e.getMessage(),
+					e);
+		}
 	}
 
-	private void configurarConversoresPatio() {
-		addConverter(new AbstractConverter<PatioJpa, Patio>() {
-			@Override
-			protected Patio convert(PatioJpa source) {
-				if (source == null) {
-					return null;
-				}
-				return new Patio(source.getCodigo(), source.getLocalizacao());
+	public ReservaJpa paraReservaJpa(Reserva source) {
+		if (source == null) {
+			return null;
+		}
+		var jpa = new ReservaJpa();
+		preencherReservaJpa(source, jpa);
+		jpa.setVersao(source.getVersao());
+		return jpa;
+	}
+
+	public void preencherReservaJpa(Reserva source, ReservaJpa jpa) {
+		jpa.setCodigo(source.getCodigo());
+		jpa.setCategoria(source.getCategoria().name());
+		jpa.setCidadeRetirada(source.getCidadeRetirada());
+		jpa.setValorEstimado(source.getValorEstimado());
+		jpa.setStatus(source.getStatus());
+		jpa.setPlacaVeiculo(source.getPlacaVeiculo());
+
+		var periodoJpa = new PeriodoLocacaoJpa();
+		periodoJpa.setRetirada(source.getPeriodo().getRetirada());
+		periodoJpa.setDevolucao(source.getPeriodo().getDevolucao());
+		jpa.setPeriodo(periodoJpa);
+
+		var clienteJpa = entityManager.getReference(ClienteJpa.class, source.getCliente().getCpfOuCnpj());
+		jpa.setCliente(clienteJpa);
+
+		if (source.getRetiradaInfo() != null) {
+			var retiradaInfo = source.getRetiradaInfo();
+			var retiradaInfoJpa = new RetiradaInfoJpa();
+			retiradaInfoJpa.setPlacaVeiculo(retiradaInfo.placaVeiculo());
+			retiradaInfoJpa.setCnhCondutor(retiradaInfo.cnhCondutor());
+			retiradaInfoJpa.setDataHoraRetirada(retiradaInfo.dataHoraRetirada());
+			retiradaInfoJpa.setQuilometragemSaida(retiradaInfo.quilometragemSaida());
+			retiradaInfoJpa.setNivelTanqueSaida(retiradaInfo.nivelTanqueSaida());
+			retiradaInfoJpa.setObservacoes(retiradaInfo.observacoes());
+			jpa.setRetiradaInfo(retiradaInfoJpa);
+		} else {
+			jpa.setRetiradaInfo(null);
+		}
+	}
+
+	// ===== Locação =====
+
+	public Locacao paraLocacao(LocacaoJpa source) {
+		if (source == null) {
+			return null;
+		}
+
+		try {
+			// Validações básicas
+			if (source.getCodigo() == null || source.getCodigo().isBlank()) {
+				throw new IllegalStateException("LocacaoJpa sem código");
 			}
-		});
 
-		addConverter(new AbstractConverter<Patio, PatioJpa>() {
-			@Override
-			protected PatioJpa convert(Patio source) {
-				if (source == null) {
-					return null;
-				}
-				var jpa = new PatioJpa();
-				jpa.setCodigo(source.getCodigo());
-				jpa.setLocalizacao(source.getCidade());
-				return jpa;
+			if (source.getDiasPrevistos() <= 0) {
+				throw new IllegalStateException("LocacaoJpa com diasPrevistos inválido: " + source.getDiasPrevistos());
 			}
-		});
-	}
 
-	private void configurarConversoresPeriodo() {
-		addConverter(new AbstractConverter<PeriodoLocacaoJpa, PeriodoLocacao>() {
-			@Override
-			protected PeriodoLocacao convert(PeriodoLocacaoJpa source) {
-				if (source == null) {
-					return null;
-				}
-				return new PeriodoLocacao(source.getRetirada(), source.getDevolucao());
+			if (source.getValorDiaria() == null) {
+				throw new IllegalStateException("LocacaoJpa sem valorDiaria");
 			}
-		});
 
-		addConverter(new AbstractConverter<PeriodoLocacao, PeriodoLocacaoJpa>() {
-			@Override
-			protected PeriodoLocacaoJpa convert(PeriodoLocacao source) {
-				if (source == null) {
-					return null;
-				}
-				var jpa = new PeriodoLocacaoJpa();
-				jpa.setRetirada(source.getRetirada());
-				jpa.setDevolucao(source.getDevolucao());
-				return jpa;
+			if (source.getVeiculo() == null) {
+				throw new IllegalStateException("LocacaoJpa sem veículo: " + source.getCodigo());
 			}
-		});
-	}
 
-	private void configurarConversoresChecklist() {
-		addConverter(new AbstractConverter<ChecklistVistoriaJpa, ChecklistVistoria>() {
-			@Override
-			protected ChecklistVistoria convert(ChecklistVistoriaJpa source) {
-				if (source == null || source.getQuilometragem() == null) {
-					return null;
-				}
-				return new ChecklistVistoria(
-						source.getQuilometragem(),
-						source.getCombustivel(),
-						Boolean.TRUE.equals(source.getPossuiAvarias()));
+			var reservaJpa = source.getReserva();
+			if (reservaJpa == null) {
+				throw new IllegalStateException("LocacaoJpa sem reserva: " + source.getCodigo());
+			}
+
+			// Validar campos críticos da reserva antes de converter
+			if (reservaJpa.getPeriodo() == null) {
+				throw new IllegalStateException("ReservaJpa sem período: " + reservaJpa.getCodigo());
 			}
-		});
 
-		addConverter(new AbstractConverter<ChecklistVistoria, ChecklistVistoriaJpa>() {
-			@Override
-			protected ChecklistVistoriaJpa convert(ChecklistVistoria source) {
-				if (source == null) {
-					return null;
+			if (reservaJpa.getCliente() == null) {
+				throw new IllegalStateException("ReservaJpa sem cliente: " + reservaJpa.getCodigo());
+			}
+
+			// A reserva é convertida aqui, e não por paraReserva, porque uma reserva
+			// antiga sem placaVeiculo recebe a placa do veículo da locação. A entidade
+			// gerenciada não é alterada.
+			String placaFinal = reservaJpa.getPlacaVeiculo();
+			if (placaFinal == null || placaFinal.isBlank() || placaFinal.equals("MIGRAR")) {
+				placaFinal = source.getVeiculo().getPlaca();
+				if (placaFinal == null || placaFinal.isBlank()) {
+					throw new IllegalStateException("Veículo da locação sem placa: " + source.getCodigo());
 				}
-				var jpa = new ChecklistVistoriaJpa();
-				jpa.setQuilometragem(source.quilometragem());
-				jpa.setCombustivel(source.combustivel());
-				jpa.setPossuiAvarias(source.possuiAvarias());
-				return jpa;
 			}
-		});
+
+			Reserva reserva;
+			try {
+				var periodoJpa = reservaJpa.getPeriodo();
+				var periodo = new PeriodoLocacao(periodoJpa.getRetirada(), periodoJpa.getDevolucao());
+				var cliente = paraCliente(reservaJpa.getCliente());
+				var categoria = CategoriaCodigo.fromTexto(reservaJpa.getCategoria());
+
+				reserva = new Reserva(
+						reservaJpa.getCodigo(),
+						categoria,
+						reservaJpa.getCidadeRetirada(),
+						periodo,
+						reservaJpa.getValorEstimado(),
+						reservaJpa.getStatus(),
+						cliente,
+						placaFinal
+				);
+				reserva.restaurarVersao(reservaJpa.getVersao());
+			} catch (Exception e) {
+				throw new IllegalStateException("Erro ao converter ReservaJpa para Reserva (codigo: " + reservaJpa.getCodigo() + "): " + e.getMessage(), e);
+			}
+
+			// Converter veículo
+			Veiculo veiculo;
+			try {
+				veiculo = paraVeiculo(source.getVeiculo());
+			} catch (Exception e) {
+				throw new IllegalStateException("Erro ao converter VeiculoJpa para Veiculo (placa: " + source.getVeiculo().getPlaca() + "): " + e.getMessage(), e);
+			}
+
+			// Vistoria de retirada ausente (locações antigas) vira a vistoria padrão
+			var vistoriaRetirada = source.getVistoriaRetirada() == null
+					? new ChecklistVistoria(0, "CHEIO", false)
+					: paraChecklistComPadrao(source.getVistoriaRetirada());
+
+			// Criar Locacao com o status do banco
+			Locacao locacao;
+			try {
+				var status = source.getStatus() != null ? source.getStatus() : StatusLocacao.ATIVA;
+				locacao = new Locacao(
+						source.getCodigo(),
+						reserva,
+						veiculo,
+						source.getDiasPrevistos(),
+						source.getValorDiaria(),
+						vistoriaRetirada,
+						MULTA_PADRAO,
+						status
+				);
+				locacao.restaurarVersao(source.getVersao());
+			} catch (Exception e) {
+				throw new IllegalStateException(
+						"Erro ao criar Locacao (codigo: " + source.getCodigo() +
+						", diasPrevistos: " + source.getDiasPrevistos() +
+						", valorDiaria: " + source.getValorDiaria() +
+						", status: " + source.getStatus() + "): " + e.getMessage(),
+						e
+				);
+			}
+
+			// Registrar vistoria de devolução se existir
+			if (source.getVistoriaDevolucao() != null) {
+				locacao.registrarDevolucao(paraChecklistComPadrao(source.getVistoriaDevolucao()));
+			}
+
+			return locacao;
+		} catch (IllegalStateException e) {
+			// Re-lançar IllegalStateException sem wrappear
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(
+					"Erro ao converter LocacaoJpa para Locacao (codigo: " + source.getCodigo() + "): " + e.getMessage(),
+					e
+			);
+		}
+	}
+
+	public LocacaoJpa paraLocacaoJpa(Locacao source) {
+		if (source == null) {
+			return null;
+		}
+		var jpa = new LocacaoJpa();
+		preencherLocacaoJpa(source, jpa);
+		jpa.setVersao(source.getVersao());
+		return jpa;
 	}
 
+	public void preencherLocacaoJpa(Locacao source, LocacaoJpa jpa) {
+		jpa.setCodigo(source.getCodigo());
+		jpa.setDiasPrevistos(source.getDiasPrevistos());
+		jpa.setValorDiaria(source.getValorDiaria());
+		jpa.setStatus(source.getStatus());
+
+		// Respeitando DDD: Não fazer consultas ao banco no conversor
+		// Usar getReference() para criar referências lazy (não consulta o banco)
+		// Se as entidades não existirem, o Hibernate lançará erro ao salvar
+		var reservaJpa = entityManager.getReference(ReservaJpa.class, source.getReserva().getCodigo());
+		jpa.setReserva(reservaJpa);
+
+		var veiculoJpa = entityManager.getReference(VeiculoJpa.class, source.getVeiculo().getPlaca());
+		jpa.setVeiculo(veiculoJpa);
+
+		jpa.setVistoriaRetirada(paraChecklistJpa(source.getVistoriaRetirada()));
+		jpa.setVistoriaDevolucao(paraChecklistJpa(source.getVistoriaDevolucao()));
+	}
+
+	// ===== Listas =====
+
 	/**
-	 * Mapeia uma lista de objetos usando o ModelMapper.
+	 * Converte uma lista com a conversão informada, por exemplo
+	 * {@code mapearLista(veiculosJpa, mapeador::paraVeiculo)}.
 	 */
-	public <S, T> List<T> mapList(List<S> source, Class<T> targetClass) {
-		return source.stream()
-				.map(element -> map(element, targetClass))
-				.collect(Collectors.toList());
+	public <S, T> List<T> mapearLista(List<S> source, Function<? super S, ? extends T> conversao) {
+		var resultado = new ArrayList<T>(source.size());
+		for (var elemento : source) {
+			resultado.add(conversao.apply(elemento));
+		}
+		return resultado;
+	}
+
+	// ===== Auxiliares =====
+
+	private static boolean placaInvalida(String placa) {
+		return placa == null || placa.isBlank() || placa.equals("MIGRAR") || placa.equals("TEMP")
+				|| placa.equals("INVALIDA");
 	}
 
 	/**
-	 * Mapeia uma lista usando TypeToken.
+	 * Converte a vistoria tratando campos nulos de registros antigos.
 	 */
-	public <S, T> List<T> mapList(List<S> source, TypeToken<List<T>> typeToken) {
-		return map(source, typeToken.getType());
+	private static ChecklistVistoria paraChecklistComPadrao(ChecklistVistoriaJpa source) {
+		int quilometragem = source.getQuilometragem() != null ? source.getQuilometragem() : 0;
+		String combustivel = source.getCombustivel() != null ? source.getCombustivel() : "CHEIO";
+		boolean possuiAvarias = source.getPossuiAvarias() != null ? source.getPossuiAvarias() : false;
+		return new ChecklistVistoria(quilometragem, combustivel, possuiAvarias);
+	}
+
+	private static ChecklistVistoriaJpa paraChecklistJpa(ChecklistVistoria source) {
+		if (source == null) {
+			return null;
+		}
+		var jpa = new ChecklistVistoriaJpa();
+		jpa.setQuilometragem(source.quilometragem());
+		jpa.setCombustivel(source.combustivel());
+		jpa.setPossuiAvarias(source.possuiAvarias());
+		return jpa;
 	}
 }
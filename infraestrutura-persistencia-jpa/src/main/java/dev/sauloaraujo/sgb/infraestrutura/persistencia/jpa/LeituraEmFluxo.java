@@ -0,0 +1,171 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Leitura de tabelas inteiras como {@link Stream}, para exportações, recálculos
+ * e faturamento em lote.
+ *
+ * <p>
+ * Cada fluxo abre um {@link EntityManager} próprio, com uma transação somente
+ * leitura, e percorre a consulta com {@link ScrollableResults} de avanço único:
+ * o driver traz {@code fetchSize} linhas por ida ao banco e o contexto de
+ * persistência é limpo a cada {@code limparACada} entidades convertidas, de modo
+ * que a memória usada não depende do tamanho da tabela. No PostgreSQL o
+ * {@code fetchSize} só vale dentro de uma transação, daí a transação própria,
+ * que também isola o fluxo da transação de quem o chamou.
+ * </p>
+ *
+ * <p>
+ * O fluxo segura uma conexão até ser fechado; quem o recebe deve usá-lo em um
+ * try-with-resources. Erros ao abrir liberam tudo antes de propagar.
+ * </p>
+ */
+@Component
+public class LeituraEmFluxo {
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final int fetchSize;
+	private final int limparACada;
+
+	public LeituraEmFluxo(EntityManagerFactory entityManagerFactory,
+			@Value("${sgb.persistencia.fluxo.fetch-size:500}") int fetchSize,
+			@Value("${sgb.persistencia.fluxo.limpar-a-cada:1000}") int limparACada) {
+		if (fetchSize < 1 || limparACada < 1) {
+			throw new IllegalArgumentException("O fetch size e o intervalo de limpeza devem ser maiores que zero");
+		}
+		this.entityManagerFactory = entityManagerFactory;
+		this.fetchSize = fetchSize;
+		this.limparACada = limparACada;
+	}
+
+	/**
+	 * Abre um fluxo sobre o resultado da consulta, convertendo cada entidade antes
+	 * de o contexto de persistência ser limpo.
+	 *
+	 * @param jpql consulta de entidades do tipo informado
+	 * @param tipo tipo das entidades lidas
+	 * @param grafo nome do grafo de entidades usado como plano de carga
+	 * @param conversao conversão para o objeto entregue; não deve reter a entidade
+	 */
+	public <E, T> Stream<T> abrir(String jpql, Class<E> tipo, String grafo, Function<? super E, T> conversao) {
+		return abrir(jpql, Map.of(), tipo, grafo, conversao);
+	}
+
+	/**
+	 * Como {@link #abrir(String, Class, String, Function)}, com parâmetros
+	 * nomeados na consulta.
+	 *
+	 * @param parametros valores dos parâmetros nomeados da consulta
+	 * @param grafo nome do grafo de entidades usado como plano de carga, ou
+	 *              {@code null} para entidades sem associações a carregar
+	 */
+	public <E, T> Stream<T> abrir(String jpql, Map<String, ?> parametros, Class<E> tipo, String grafo,
+			Function<? super E, T> conversao) {
+		var entityManager = entityManagerFactory.createEntityManager();
+		ScrollableResults<E> resultados = null;
+		try {
+			entityManager.getTransaction().begin();
+			var sessao = entityManager.unwrap(Session.class);
+			sessao.setDefaultReadOnly(true);
+			var consulta = sessao.createSelectionQuery(jpql, tipo)
+					.setFetchSize(fetchSize)
+					.setReadOnly(true)
+					.setCacheMode(CacheMode.IGNORE);
+			if (grafo != null) {
+				consulta.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(grafo));
+			}
+			parametros.forEach(consulta::setParameter);
+			resultados = consulta.scroll(ScrollMode.FORWARD_ONLY);
+
+			var linhas = new Linhas<>(resultados, sessao, conversao);
+			var abertos = resultados;
+			return StreamSupport
+					.stream(Spliterators.spliteratorUnknownSize(linhas, Spliterator.ORDERED | Spliterator.NONNULL),
+							false)
+					.onClose(() -> fechar(abertos, entityManager));
+		} catch (RuntimeException e) {
+			fechar(resultados, entityManager);
+			throw e;
+		}
+	}
+
+	private static void fechar(ScrollableResults<?> resultados, EntityManager entityManager) {
+		try {
+			if (resultados != null) {
+				resultados.close();
+			}
+		} finally {
+			try {
+				var transacao = entityManager.getTransaction();
+				if (transacao.isActive()) {
+					transacao.rollback();
+				}
+			} finally {
+				entityManager.close();
+			}
+		}
+	}
+
+	/**
+	 * Avança o cursor sob demanda e limpa a sessão a cada {@code limparACada}
+	 * linhas. Conversões que devolvem {@code null} descartam a linha.
+	 */
+	private final class Linhas<E, T> implements Iterator<T> {
+		private final ScrollableResults<E> resultados;
+		private final Session sessao;
+		private final Function<? super E, T> conversao;
+		private T proximo;
+		private boolean terminou;
+		private long lidas;
+
+		Linhas(ScrollableResults<E> resultados, Session sessao, Function<? super E, T> conversao) {
+			this.resultados = resultados;
+			this.sessao = sessao;
+			this.conversao = conversao;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (proximo == null && !terminou) {
+				if (!resultados.next()) {
+					terminou = true;
+					break;
+				}
+				proximo = conversao.apply(resultados.get());
+				if (++lidas % limparACada == 0) {
+					sessao.clear();
+				}
+			}
+			return proximo != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			var item = proximo;
+			proximo = null;
+			return item;
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Grava agregados sem o {@code merge} do {@code save()} do Spring Data.
+ *
+ * <p>
+ * Os identificadores são atribuídos pelo domínio (placa, código da reserva e da
+ * locação), então o Spring Data trataria toda gravação como {@code merge}, que
+ * sempre consulta a linha antes de gravá-la e copia a entidade inteira. Aqui o
+ * agregado novo é inserido direto com {@code persist}, sem consulta prévia. O
+ * já gravado tem suas mudanças copiadas para a entidade gerenciada, achada no
+ * contexto de persistência da transação ou no cache de segundo nível quando
+ * foi lida ali; com {@code @DynamicUpdate} o UPDATE leva só as colunas
+ * alteradas e, se nada mudou, não há UPDATE.
+ * </p>
+ *
+ * <p>
+ * Nada é descarregado a cada gravação: as instruções da transação saem juntas
+ * no flush do commit, e as inserções de uma mesma tabela vão em lotes JDBC (os
+ * UPDATEs dinâmicos variam de colunas e seguem um a um). A versão de cada agregado é atualizada ao
+ * fim de todo flush que passe pela sua entidade, e um agregado lido em versão
+ * anterior à da entidade é rejeitado antes de qualquer escrita.
+ * </p>
+ *
+ * <p>
+ * Como nos repositórios, as exceções de persistência saem traduzidas para
+ * {@code DataAccessException}.
+ * </p>
+ */
+@Repository
+public class UnidadeDeTrabalho {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Grava um agregado versionado: insere se ainda não tem versão, senão aplica
+	 * as mudanças sobre a entidade da mesma versão.
+	 *
+	 * @param tipo tipo da entidade
+	 * @param id identificador da entidade
+	 * @param versao versão do agregado; {@code null} para agregado novo
+	 * @param criar cria a entidade vazia de um agregado novo
+	 * @param aplicar copia o estado do agregado para a entidade
+	 * @param versaoDaEntidade lê a versão da entidade
+	 * @param restaurarVersao recebe a versão gravada
+	 * @throws ObjectOptimisticLockingFailureException se a entidade não existe ou
+	 *         está em outra versão
+	 */
+	@Transactional
+	public <E> E gravar(Class<E> tipo, Object id, Long versao, Supplier<E> criar, Consumer<E> aplicar,
+			Function<E, Long> versaoDaEntidade, Consumer<Long> restaurarVersao) {
+		E entidade;
+		if (versao == null) {
+			entidade = criar.get();
+			aplicar.accept(entidade);
+			entityManager.persist(entidade);
+		} else {
+			entidade = entityManager.find(tipo, id);
+			if (entidade == null || !versao.equals(versaoDaEntidade.apply(entidade))) {
+				throw new ObjectOptimisticLockingFailureException(tipo, id);
+			}
+			aplicar.accept(entidade);
+		}
+		versoesDaTransacao().acompanhar(entidade, () -> restaurarVersao.accept(versaoDaEntidade.apply(entidade)));
+		restaurarVersao.accept(versaoDaEntidade.apply(entidade));
+		return entidade;
+	}
+
+	/**
+	 * Grava uma entidade sem versão: aplica as mudanças sobre a existente ou
+	 * insere uma nova.
+	 */
+	@Transactional
+	public <E> E gravar(Class<E> tipo, Object id, Supplier<E> criar, Consumer<E> aplicar) {
+		var entidade = entityManager.find(tipo, id);
+		if (entidade == null) {
+			entidade = criar.get();
+			aplicar.accept(entidade);
+			entityManager.persist(entidade);
+		} else {
+			aplicar.accept(entidade);
+		}
+		return entidade;
+	}
+
+	/**
+	 * Grava um agregado versionado e descarrega a transação na hora, para que
+	 * violações de restrições do banco apareçam na própria gravação.
+	 */
+	@Transactional
+	public <E> E gravarEDescarregar(Class<E> tipo, Object id, Long versao, Supplier<E> criar,
+			Consumer<E> aplicar, Function<E, Long> versaoDaEntidade, Consumer<Long> restaurarVersao) {
+		var entidade = gravar(tipo, id, versao, criar, aplicar, versaoDaEntidade, restaurarVersao);
+		entityManager.flush();
+		return entidade;
+	}
+
+	/**
+	 * Descarrega as gravações pendentes da transação, como ao fim de um lote, para
+	 * que violações de restrições do banco apareçam antes do commit.
+	 */
+	@Transactional
+	public void descarregar() {
+		entityManager.flush();
+	}
+
+	private Versoes versoesDaTransacao() {
+		var versoes = (Versoes) TransactionSynchronizationManager.getResource(this);
+		if (versoes == null) {
+			var novas = new Versoes();
+			entityManager.unwrap(Session.class).addEventListeners(novas);
+			TransactionSynchronizationManager.bindResource(this, novas);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(UnidadeDeTrabalho.this);
+					// A sessão pode sobreviver à transação (open-in-view)
+					novas.restauracoes.clear();
+				}
+			});
+			versoes = novas;
+		}
+		return versoes;
+	}
+
+	/**
+	 * Agregados gravados na sessão, cujas versões são restauradas a cada flush.
+	 */
+	private static final class Versoes implements SessionEventListener {
+		private final Map<Object, Runnable> restauracoes = new IdentityHashMap<>();
+
+		void acompanhar(Object entidade, Runnable restauracao) {
+			restauracoes.put(entidade, restauracao);
+		}
+
+		@Override
+		public void flushEnd(int numberOfEntities, int numberOfCollections) {
+			restauracoes.values().forEach(Runnable::run);
+		}
+	}
+}
@@ -1,15 +1,26 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.adapter;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.LeituraEmFluxo;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.LocacaoJpa;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.LocacaoJpaRepository;
 
@@ -22,31 +33,86 @@ public class LocacaoRepositorioJpaAdapter implements LocacaoRepositorio {
 
     private final LocacaoJpaRepository jpaRepository;
     private final JpaMapeador mapeador;
+    private final LeituraEmFluxo leituraEmFluxo;
 
-    public LocacaoRepositorioJpaAdapter(LocacaoJpaRepository jpaRepository, JpaMapeador mapeador) {
+    public LocacaoRepositorioJpaAdapter(LocacaoJpaRepository jpaRepository, JpaMapeador mapeador,
+            LeituraEmFluxo leituraEmFluxo) {
         this.jpaRepository = jpaRepository;
         this.mapeador = mapeador;
+        this.leituraEmFluxo = leituraEmFluxo;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Locacao> buscarPorCodigoLocacao(String codigo) {
         return jpaRepository.findByCodigo(codigo)
-                .map(jpa -> mapeador.map(jpa, Locacao.class));
+                .map(mapeador::paraLocacao);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Locacao> buscarPorCodigosLocacao(Collection<String> codigos) {
+        return jpaRepository.buscarPorCodigos(codigos).stream()
+                .map(mapeador::paraLocacao)
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public void salvar(Locacao locacao) {
-        LocacaoJpa jpa = mapeador.map(locacao, LocacaoJpa.class);
-        jpaRepository.save(jpa);
+        LocacaoJpa jpa = mapeador.paraLocacaoJpa(locacao);
+        var salva = jpaRepository.saveAndFlush(jpa);
+        locacao.restaurarVersao(salva.getVersao());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Locacao> listarLocacoes() {
-        return jpaRepository.findAll().stream()
-                .map(jpa -> mapeador.map(jpa, Locacao.class))
+        return jpaRepository.listarComReservaEVeiculo().stream()
+                .map(mapeador::paraLocacao)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<Locacao> listarLocacoes(PedidoPagina pedido) {
+        var limite = Limit.of(pedido.limite() + 1);
+        var lidas = pedido.primeiraPagina() ? jpaRepository.listarPagina(limite)
+                : jpaRepository.listarPaginaApos(pedido.chave(1).get(0), limite);
+        return Pagina.de(lidas, pedido, jpa -> new String[] { jpa.getCodigo() }).mapear(mapeador::paraLocacao);
+    }
+
+    @Override
+    public Stream<Locacao> percorrerLocacoes() {
+        return leituraEmFluxo.abrir("SELECT l FROM LocacaoJpa l", LocacaoJpa.class, LocacaoJpa.GRAFO_DEVOLUCAO,
+                mapeador::paraLocacao);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarLocacoesConflitantes(CategoriaCodigo categoria, PeriodoLocacao periodo) {
+        return jpaRepository.contarConflitantes(categoria.name(), StatusLocacao.ocupandoVeiculo(), periodo.getRetirada(),
+                periodo.getDevolucao());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> listarPlacasLocadas(PeriodoLocacao periodo) {
+        return new HashSet<>(jpaRepository.listarPlacasLocadas(StatusLocacao.ocupandoVeiculo(), periodo.getRetirada(),
+                periodo.getDevolucao()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> listarPlacasLocadas(String cidade, PeriodoLocacao periodo) {
+        return new HashSet<>(jpaRepository.listarPlacasLocadasPorCidade(cidade, StatusLocacao.ocupandoVeiculo(),
+                periodo.getRetirada(), periodo.getDevolucao()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> listarPlacasLocadas(String cidade, CategoriaCodigo categoria, PeriodoLocacao periodo) {
+        return new HashSet<>(jpaRepository.listarPlacasLocadasPorCidadeECategoria(cidade, categoria.name(),
+                StatusLocacao.ocupandoVeiculo(), periodo.getRetirada(), periodo.getDevolucao()));
+    }
 }
@@ -0,0 +1,72 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.adapter;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ReservaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.ReservaJpaRepository;
+
+/**
+ * Retirada com uma leitura e uma escrita.
+ *
+ * <p>
+ * A reserva, o cliente e o veículo vêm de uma única consulta com bloqueio das
+ * linhas, e ficam gerenciados na transação: as gravações seguintes os acham no
+ * contexto de persistência, sem novas consultas. O veículo e a locação são
+ * gravados sem descarregar e a reserva por último, cuja gravação descarrega a
+ * transação; assim os três comandos saem no mesmo flush, em lote. As gravações
+ * passam pelos repositórios de cada agregado, que mantêm índices e caches.
+ * </p>
+ */
+@Component
+public class RetiradaRepositorioJpaAdapter implements RetiradaRepositorio {
+
+    private final ReservaJpaRepository reservaJpaRepository;
+    private final JpaMapeador mapeador;
+    private final ReservaRepositorio reservaRepositorio;
+    private final VeiculoRepositorio veiculoRepositorio;
+    private final LocacaoRepositorio locacaoRepositorio;
+
+    public RetiradaRepositorioJpaAdapter(ReservaJpaRepository reservaJpaRepository, JpaMapeador mapeador,
+            ReservaRepositorio reservaRepositorio, VeiculoRepositorio veiculoRepositorio,
+            LocacaoRepositorio locacaoRepositorio) {
+        this.reservaJpaRepository = reservaJpaRepository;
+        this.mapeador = mapeador;
+        this.reservaRepositorio = reservaRepositorio;
+        this.veiculoRepositorio = veiculoRepositorio;
+        this.locacaoRepositorio = locacaoRepositorio;
+    }
+
+    @Override
+    @Transactional
+    public CargaRetirada carregar(String codigoReserva, String placaVeiculo) {
+        var linhas = reservaJpaRepository.carregarParaRetirada(codigoReserva, placaVeiculo);
+        if (linhas.isEmpty()) {
+            // Falta a reserva ou o veículo; as buscas avulsas dizem qual
+            return new CargaRetirada(reservaRepositorio.buscarPorCodigo(codigoReserva),
+                    veiculoRepositorio.buscarPorPlaca(placaVeiculo));
+        }
+        var linha = linhas.get(0);
+        return new CargaRetirada(Optional.of(mapeador.paraReserva((ReservaJpa) linha[0])),
+                Optional.of(mapeador.paraVeiculo((VeiculoJpa) linha[1])));
+    }
+
+    @Override
+    @Transactional
+    public void gravar(Reserva reserva, Veiculo veiculo, Locacao locacao) {
+        veiculoRepositorio.salvar(veiculo);
+        locacaoRepositorio.salvar(locacao);
+        reservaRepositorio.salvar(reserva);
+    }
+}
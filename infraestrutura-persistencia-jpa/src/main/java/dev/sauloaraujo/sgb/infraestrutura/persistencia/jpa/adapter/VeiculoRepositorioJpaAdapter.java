@@ -1,16 +1,25 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.adapter;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.IndiceDisponibilidadeSincronizador;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.LeituraEmFluxo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.UnidadeDeTrabalho;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.InvalidacaoCatalogo;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.VeiculoJpaRepository;
 
 
@@ -19,24 +28,45 @@ public class VeiculoRepositorioJpaAdapter implements VeiculoRepositorio {
 
     private final VeiculoJpaRepository jpaRepository;
     private final JpaMapeador mapeador;
+    private final IndiceDisponibilidadeSincronizador indiceDisponibilidade;
+    private final InvalidacaoCatalogo invalidacaoCatalogo;
+    private final UnidadeDeTrabalho unidadeDeTrabalho;
+    private final LeituraEmFluxo leituraEmFluxo;
 
-    public VeiculoRepositorioJpaAdapter(VeiculoJpaRepository jpaRepository, JpaMapeador mapeador) {
+    public VeiculoRepositorioJpaAdapter(VeiculoJpaRepository jpaRepository, JpaMapeador mapeador,
+            IndiceDisponibilidadeSincronizador indiceDisponibilidade, InvalidacaoCatalogo invalidacaoCatalogo,
+            UnidadeDeTrabalho unidadeDeTrabalho, LeituraEmFluxo leituraEmFluxo) {
         this.jpaRepository = jpaRepository;
         this.mapeador = mapeador;
+        this.indiceDisponibilidade = indiceDisponibilidade;
+        this.invalidacaoCatalogo = invalidacaoCatalogo;
+        this.unidadeDeTrabalho = unidadeDeTrabalho;
+        this.leituraEmFluxo = leituraEmFluxo;
     }
 
     @Override
     @Transactional
     public void salvar(Veiculo veiculo) {
-        var veiculoJpa = mapeador.map(veiculo, VeiculoJpa.class);
-        jpaRepository.save(veiculoJpa);
+        unidadeDeTrabalho.gravar(VeiculoJpa.class, veiculo.getPlaca(), veiculo.getVersao(), VeiculoJpa::new,
+                jpa -> mapeador.preencherVeiculoJpa(veiculo, jpa), VeiculoJpa::getVersao, veiculo::restaurarVersao);
+        indiceDisponibilidade.registrar(veiculo);
+        invalidacaoCatalogo.veiculoGravado(veiculo.getPlaca());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Veiculo> buscarPorPlaca(String placa) {
         return jpaRepository.findById(placa)
-                .map(jpa -> mapeador.map(jpa, Veiculo.class));
+                .map(mapeador::paraVeiculo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Veiculo> buscarPorPlacas(Collection<String> placas) {
+        if (placas.isEmpty()) {
+            return List.of();
+        }
+        return mapeador.mapearLista(jpaRepository.findAllById(placas), mapeador::paraVeiculo);
     }
 
     @Override
@@ -45,20 +75,64 @@ public class VeiculoRepositorioJpaAdapter implements VeiculoRepositorio {
         
         var categoriaStr = categoria.name();
         var veiculosJpa = jpaRepository.findDisponiveisPorCidadeECategoria(cidade, categoriaStr);
-        return mapeador.mapList(veiculosJpa, Veiculo.class);
+        return mapeador.mapearLista(veiculosJpa, mapeador::paraVeiculo);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Veiculo> buscarDisponiveis(String cidade) {
         var veiculosJpa = jpaRepository.findDisponiveisPorCidade(cidade);
-        return mapeador.mapList(veiculosJpa, Veiculo.class);
+        return mapeador.mapearLista(veiculosJpa, mapeador::paraVeiculo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Veiculo> buscarDisponiveisPorPlaca(String cidade, CategoriaCodigo categoria, String placaApos,
+            int limite) {
+        var veiculosJpa = placaApos == null
+                ? jpaRepository.listarDisponiveisPorPlaca(cidade, nome(categoria), Limit.of(limite))
+                : jpaRepository.listarDisponiveisPorPlacaApos(cidade, nome(categoria), placaApos, Limit.of(limite));
+        return mapeador.mapearLista(veiculosJpa, mapeador::paraVeiculo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Veiculo> buscarDisponiveisPorDiaria(String cidade, CategoriaCodigo categoria, BigDecimal diariaApos,
+            String placaApos, int limite) {
+        var veiculosJpa = diariaApos == null
+                ? jpaRepository.listarDisponiveisPorDiaria(cidade, nome(categoria), Limit.of(limite))
+                : jpaRepository.listarDisponiveisPorDiariaApos(cidade, nome(categoria), diariaApos, placaApos,
+                        Limit.of(limite));
+        return mapeador.mapearLista(veiculosJpa, mapeador::paraVeiculo);
+    }
+
+    /**
+     * Lê pela {@link LeituraEmFluxo}, com conexão e transação próprias, que são
+     * liberadas ao fechar o fluxo.
+     */
+    @Override
+    public Stream<Veiculo> percorrerDisponiveis(String cidade, CategoriaCodigo categoria) {
+        var parametros = new HashMap<String, Object>();
+        parametros.put("cidade", cidade);
+        parametros.put("categoria", nome(categoria));
+        return leituraEmFluxo.abrir(VeiculoJpaRepository.DISPONIVEIS_DA_CIDADE + " ORDER BY v.placa", parametros,
+                VeiculoJpa.class, null, mapeador::paraVeiculo);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Veiculo> buscarQuePrecisamManutencao() {
         var veiculosJpa = jpaRepository.findQuePrecisamManutencao();
-        return mapeador.mapList(veiculosJpa, Veiculo.class);
+        return mapeador.mapearLista(veiculosJpa, mapeador::paraVeiculo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Veiculo> listarTodos() {
+        return mapeador.mapearLista(jpaRepository.findAll(), mapeador::paraVeiculo);
+    }
+
+    private static String nome(CategoriaCodigo categoria) {
+        return categoria == null ? null : categoria.name();
     }
 }
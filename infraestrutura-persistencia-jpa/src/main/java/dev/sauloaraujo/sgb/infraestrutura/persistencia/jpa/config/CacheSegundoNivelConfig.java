@@ -0,0 +1,40 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.config;
+
+import java.net.URI;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Cache de segundo nível do Hibernate sobre JCache, com o Caffeine embarcado.
+ *
+ * <p>
+ * O {@link CacheManager} é criado aqui e entregue pronto ao Hibernate: passando
+ * só a URI da configuração, o Hibernate a resolveria para um recurso dentro do
+ * jar, que o Caffeine não sabe ler. As regiões estão em
+ * {@value #CONFIGURACAO}; as propriedades {@code hibernate.cache.*} ligam o
+ * cache.
+ * </p>
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+    static final String CONFIGURACAO = "classpath:cache-segundo-nivel.conf";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel() {
+        var provedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        return provedor.getCacheManager(URI.create(CONFIGURACAO), CacheSegundoNivelConfig.class.getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+}
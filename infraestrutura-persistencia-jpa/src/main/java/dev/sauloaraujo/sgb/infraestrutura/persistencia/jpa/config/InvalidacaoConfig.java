@@ -0,0 +1,45 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.BarramentoInvalidacao;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.CanalInvalidacao;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.CanalInvalidacaoLocal;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.CanalInvalidacaoPostgres;
+
+/**
+ * Invalidação dos caches locais entre os nós da aplicação.
+ *
+ * <p>
+ * Sobre PostgreSQL o canal é o LISTEN/NOTIFY do próprio banco; nos demais
+ * (H2 em desenvolvimento e testes) há um único nó e o canal fica no processo.
+ * </p>
+ */
+@Configuration
+public class InvalidacaoConfig {
+
+    @Bean(destroyMethod = "close")
+    public CanalInvalidacao canalInvalidacao(DataSource dataSource,
+            @Value("${sgb.persistencia.invalidacao.canal:sgb_invalidacao}") String canal) throws SQLException {
+        try (var conexao = dataSource.getConnection()) {
+            if ("PostgreSQL".equals(conexao.getMetaData().getDatabaseProductName())) {
+                return new CanalInvalidacaoPostgres(dataSource, canal);
+            }
+        }
+        return new CanalInvalidacaoLocal();
+    }
+
+    @Bean(destroyMethod = "close")
+    public BarramentoInvalidacao barramentoInvalidacao(CanalInvalidacao canalInvalidacao,
+            @Value("${sgb.persistencia.invalidacao.intervalo:50ms}") Duration intervalo,
+            @Value("${sgb.persistencia.invalidacao.limite-chaves:500}") int limiteChaves) {
+        return new BarramentoInvalidacao(canalInvalidacao, intervalo, limiteChaves);
+    }
+}
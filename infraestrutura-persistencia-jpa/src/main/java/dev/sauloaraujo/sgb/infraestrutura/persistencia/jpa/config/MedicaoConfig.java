@@ -0,0 +1,30 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.medicao.MedicaoComandos;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.medicao.MedicaoSessao;
+
+/**
+ * Liga o {@link MedicaoSessao} a todas as sessões do Hibernate, para que as
+ * {@link MedicaoComandos} em curso contem os comandos SQL, e leva a medição
+ * às tarefas dos pools que usam o {@link TaskDecorator}.
+ */
+@Configuration
+public class MedicaoConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer medicaoComandos() {
+        return propriedades -> propriedades.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                MedicaoSessao.class.getName());
+    }
+
+    @Bean
+    public TaskDecorator medicaoTarefas() {
+        return MedicaoComandos::propagar;
+    }
+}
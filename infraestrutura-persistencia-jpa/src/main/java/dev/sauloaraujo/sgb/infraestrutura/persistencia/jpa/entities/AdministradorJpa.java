@@ -100,20 +100,20 @@ class AdministradorRepositorioImpl implements AdministradorRepositorio {
 
 	@Override
 	public void salvar(Administrador administrador) {
-		var administradorJpa = mapeador.map(administrador, AdministradorJpa.class);
+		var administradorJpa = mapeador.paraAdministradorJpa(administrador);
 		repositorio.save(administradorJpa);
 	}
 
 	@Override
 	public Optional<Administrador> buscarPorId(String id) {
 		return repositorio.findById(id)
-			.map(jpa -> mapeador.map(jpa, Administrador.class));
+			.map(mapeador::paraAdministrador);
 	}
 
 	@Override
 	public Optional<Administrador> buscarPorLogin(String login) {
 		return repositorio.findByLogin(login)
-			.map(jpa -> mapeador.map(jpa, Administrador.class));
+			.map(mapeador::paraAdministrador);
 	}
 }
 
@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +13,8 @@ import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Categoria;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaRepositorio;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.InvalidacaoCatalogo;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -18,11 +22,20 @@ import jakarta.persistence.Table;
 
 /**
  * Entidade JPA para persistência de Categorias de Veículos.
+ *
+ * <p>
+ * Lida a cada reserva, cotação e replanejamento e quase nunca alterada, fica no
+ * cache de segundo nível; as gravações atualizam a região no commit.
+ * </p>
  */
 @Entity
 @Table(name = "CATEGORIA")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CategoriaJpa.REGIAO_CACHE)
 public class CategoriaJpa {
 
+	public static final String REGIAO_CACHE = "catalogo-categoria";
+
 	@Id
 	@Column(name = "codigo", nullable = false, length = 20)
 	private String codigo;
@@ -103,23 +116,27 @@ class CategoriaRepositorioImpl implements CategoriaRepositorio {
 	@Autowired
 	JpaMapeador mapeador;
 
+	@Autowired
+	InvalidacaoCatalogo invalidacaoCatalogo;
+
 	@Override
 	public void salvar(Categoria categoria) {
-		var categoriaJpa = mapeador.map(categoria, CategoriaJpa.class);
+		var categoriaJpa = mapeador.paraCategoriaJpa(categoria);
 		repositorio.save(categoriaJpa);
+		invalidacaoCatalogo.categoriaGravada(categoria.getCodigo().name());
 	}
 
 	@Override
 	public Optional<Categoria> buscarPorCodigo(CategoriaCodigo codigo) {
 		return repositorio.findById(codigo.name())
-				.map(jpa -> mapeador.map(jpa, Categoria.class));
+				.map(mapeador::paraCategoria);
 	}
 
 	@Override
 	public List<Categoria> listarTodas() {
 		var categoriasJpa = repositorio.findAll();
 		return categoriasJpa.stream()
-				.map(jpa -> mapeador.map(jpa, Categoria.class))
+				.map(mapeador::paraCategoria)
 				.toList();
 	}
 }
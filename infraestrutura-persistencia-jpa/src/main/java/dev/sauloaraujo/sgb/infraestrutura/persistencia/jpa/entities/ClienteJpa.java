@@ -3,12 +3,17 @@ package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
 import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.UnidadeDeTrabalho;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.ClienteJpaRepository;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -20,6 +25,7 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "CLIENTE")
+@DynamicUpdate
 public class ClienteJpa {
 
 	@Id
@@ -113,27 +119,38 @@ class ClienteRepositorioImpl implements ClienteRepositorio {
 	@Autowired
 	JpaMapeador mapeador;
 
+	@Autowired
+	UnidadeDeTrabalho unidadeDeTrabalho;
+
 	@Override
 	public void salvar(Cliente cliente) {
-		var clienteJpa = mapeador.map(cliente, ClienteJpa.class);
-		repositorio.save(clienteJpa);
+		unidadeDeTrabalho.gravar(ClienteJpa.class, cliente.getCpfOuCnpj(), ClienteJpa::new,
+				jpa -> mapeador.preencherClienteJpa(cliente, jpa));
 	}
 
 	@Override
 	public Optional<Cliente> buscarPorDocumento(String cpfOuCnpj) {
 		return repositorio.findById(cpfOuCnpj)
-				.map(jpa -> mapeador.map(jpa, Cliente.class));
+				.map(mapeador::paraCliente);
 	}
 	
 	@Override
 	public Optional<Cliente> buscarPorLogin(String login) {
 		return repositorio.findByLogin(login)
-				.map(jpa -> mapeador.map(jpa, Cliente.class));
+				.map(mapeador::paraCliente);
 	}
 
 	@Override
 	public List<Cliente> listarClientes() {
 		var clientesJpa = repositorio.findAll();
-		return mapeador.mapList(clientesJpa, Cliente.class);
+		return mapeador.mapearLista(clientesJpa, mapeador::paraCliente);
+	}
+
+	@Override
+	public Pagina<Cliente> listarClientes(PedidoPagina pedido) {
+		var limite = Limit.of(pedido.limite() + 1);
+		var lidos = pedido.primeiraPagina() ? repositorio.listarPagina(limite)
+				: repositorio.listarPaginaApos(pedido.chave(1).get(0), limite);
+		return Pagina.de(lidos, pedido, jpa -> new String[] { jpa.getCpfOuCnpj() }).mapear(mapeador::paraCliente);
 	}
 }
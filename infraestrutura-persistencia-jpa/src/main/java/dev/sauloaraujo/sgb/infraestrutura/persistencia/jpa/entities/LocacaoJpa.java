@@ -1,19 +1,30 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoRepositorioAplicacao;
 import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoResumo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
 import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.IndiceDisponibilidadeSincronizador;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.LeituraEmFluxo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.UnidadeDeTrabalho;
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.AttributeOverrides;
 import jakarta.persistence.Column;
@@ -21,27 +32,56 @@ import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Entidade JPA para persistência de Locações.
+ *
+ * <p>
+ * Reserva e veículo são carregados sob demanda. A conversão para o domínio
+ * precisa dos dois e do cliente da reserva, então as leituras de entidade
+ * (devolução e listagem) usam o grafo {@link #GRAFO_DEVOLUCAO}; as listagens
+ * de tela usam a projeção {@code LocacaoResumo} e a disponibilidade só lê
+ * placas, sem carregar entidades.
+ * </p>
+ *
+ * <p>
+ * Ao contrário do veículo, não usa {@code @DynamicUpdate}: depois da
+ * inserção, a única alteração de uma locação é a devolução, que reescreve
+ * status e vistoria. Com as colunas sempre as mesmas, os UPDATEs das
+ * devoluções em lote saem em lotes JDBC, o que o Hibernate não faz com UPDATEs
+ * dinâmicos.
+ * </p>
  */
 @Entity
 @Table(name = "LOCACAO")
+@NamedEntityGraph(name = LocacaoJpa.GRAFO_DEVOLUCAO, attributeNodes = {
+        @NamedAttributeNode(value = "reserva", subgraph = "reserva"),
+        @NamedAttributeNode("veiculo") }, subgraphs = @NamedSubgraph(name = "reserva", attributeNodes = @NamedAttributeNode("cliente")))
 public class LocacaoJpa {
 
+    /**
+     * Plano de carga da locação com reserva, cliente da reserva e veículo.
+     */
+    public static final String GRAFO_DEVOLUCAO = "LocacaoJpa.devolucao";
+
     @Id
     @Column(name = "codigo", nullable = false, length = 50)
     private String codigo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reserva_codigo", nullable = false)
     private ReservaJpa reserva;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "veiculo_placa", nullable = false)
     private VeiculoJpa veiculo;
 
@@ -66,6 +106,10 @@ public class LocacaoJpa {
     })
     private ChecklistVistoriaJpa vistoriaDevolucao;
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     public LocacaoJpa() {
     }
 
@@ -86,6 +130,8 @@ public class LocacaoJpa {
     public void setVistoriaRetirada(ChecklistVistoriaJpa vistoriaRetirada) { this.vistoriaRetirada = vistoriaRetirada; }
     public ChecklistVistoriaJpa getVistoriaDevolucao() { return vistoriaDevolucao; }
     public void setVistoriaDevolucao(ChecklistVistoriaJpa vistoriaDevolucao) { this.vistoriaDevolucao = vistoriaDevolucao; }
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
 }
 
 /**
@@ -101,80 +147,123 @@ class LocacaoRepositorioImpl implements LocacaoRepositorio, LocacaoRepositorioAp
     @Autowired
     JpaMapeador mapeador;
 
+    @Autowired
+    IndiceDisponibilidadeSincronizador indiceDisponibilidade;
+
+    @Autowired
+    LeituraEmFluxo leituraEmFluxo;
+
+    @Autowired
+    UnidadeDeTrabalho unidadeDeTrabalho;
+
     // ========================================================================
     // Implementação de LocacaoRepositorio (Domínio - Escrita/Regras)
     // ========================================================================
 
     @Override
     public void salvar(Locacao locacao) {
-        var locacaoJpa = mapeador.map(locacao, LocacaoJpa.class);
-        repositorio.save(locacaoJpa);
+        unidadeDeTrabalho.gravar(LocacaoJpa.class, locacao.getCodigo(), locacao.getVersao(), LocacaoJpa::new,
+                jpa -> mapeador.preencherLocacaoJpa(locacao, jpa), LocacaoJpa::getVersao, locacao::restaurarVersao);
+        indiceDisponibilidade.registrar(locacao);
     }
 
     @Override
     public Optional<Locacao> buscarPorCodigoLocacao(String codigo) {
-        return repositorio.findById(codigo)
-                .map(jpa -> mapeador.map(jpa, Locacao.class));
+        return repositorio.findByCodigo(codigo)
+                .map(mapeador::paraLocacao);
+    }
+
+    @Override
+    public List<Locacao> buscarPorCodigosLocacao(Collection<String> codigos) {
+        if (codigos.isEmpty()) {
+            return List.of();
+        }
+        return mapeador.mapearLista(repositorio.buscarPorCodigos(codigos), mapeador::paraLocacao);
     }
 
     @Override
     public List<Locacao> listarLocacoes() {
-        var locacoesJpa = repositorio.findAll();
-        return mapeador.mapList(locacoesJpa, Locacao.class);
+        var locacoesJpa = repositorio.listarComReservaEVeiculo();
+        return mapeador.mapearLista(locacoesJpa, mapeador::paraLocacao);
+    }
+
+    @Override
+    public Pagina<Locacao> listarLocacoes(PedidoPagina pedido) {
+        var limite = Limit.of(pedido.limite() + 1);
+        var lidas = pedido.primeiraPagina() ? repositorio.listarPagina(limite)
+                : repositorio.listarPaginaApos(pedido.chave(1).get(0), limite);
+        return Pagina.de(lidas, pedido, jpa -> new String[] { jpa.getCodigo() }).mapear(mapeador::paraLocacao);
+    }
+
+    @Override
+    public Stream<Locacao> percorrerLocacoes() {
+        return leituraEmFluxo.abrir("SELECT l FROM LocacaoJpa l", LocacaoJpa.class, LocacaoJpa.GRAFO_DEVOLUCAO,
+                mapeador::paraLocacao);
+    }
+
+    @Override
+    public long contarLocacoesConflitantes(CategoriaCodigo categoria, PeriodoLocacao periodo) {
+        return repositorio.contarConflitantes(categoria.name(), StatusLocacao.ocupandoVeiculo(), periodo.getRetirada(),
+                periodo.getDevolucao());
+    }
+
+    @Override
+    public Set<String> listarPlacasLocadas(PeriodoLocacao periodo) {
+        return new HashSet<>(repositorio.listarPlacasLocadas(StatusLocacao.ocupandoVeiculo(), periodo.getRetirada(),
+                periodo.getDevolucao()));
+    }
+
+    @Override
+    public Set<String> listarPlacasLocadas(String cidade, PeriodoLocacao periodo) {
+        return new HashSet<>(repositorio.listarPlacasLocadasPorCidade(cidade, StatusLocacao.ocupandoVeiculo(),
+                periodo.getRetirada(), periodo.getDevolucao()));
+    }
+
+    @Override
+    public Set<String> listarPlacasLocadas(String cidade, CategoriaCodigo categoria, PeriodoLocacao periodo) {
+        return new HashSet<>(repositorio.listarPlacasLocadasPorCidadeECategoria(cidade, categoria.name(),
+                StatusLocacao.ocupandoVeiculo(), periodo.getRetirada(), periodo.getDevolucao()));
     }
 
     // ========================================================================
     // Implementação de LocacaoRepositorioAplicacao (Aplicação - Leitura/DTOs)
     // ========================================================================
 
+    // Leituras servidas pela projeção LocacaoResumo do LocacaoJpaRepository: uma
+    // consulta por listagem, sem carregar locação, reserva, cliente e veículo.
+
     @Override
     public List<LocacaoResumo> pesquisarResumos() {
-        return repositorio.findAll().stream()
-                .map(this::converterParaResumo)
-                .collect(Collectors.toList());
+        return repositorio.listarResumos();
     }
 
     @Override
     public Optional<LocacaoResumo> buscarPorCodigo(String codigo) {
-        return repositorio.findById(codigo)
-                .map(this::converterParaResumo);
+        return repositorio.buscarResumo(codigo);
     }
 
     @Override
     public List<LocacaoResumo> listarAtivas() {
-        return repositorio.findByStatus(StatusLocacao.ATIVA).stream()
-                .map(this::converterParaResumo)
-                .collect(Collectors.toList());
+        return repositorio.listarResumosPorStatus(StatusLocacao.ATIVA);
     }
 
     @Override
     public List<LocacaoResumo> listarEmAndamento() {
-        return repositorio.findByStatus(StatusLocacao.EM_ANDAMENTO).stream()
-                .map(this::converterParaResumo)
-                .collect(Collectors.toList());
+        return repositorio.listarResumosPorStatus(StatusLocacao.EM_ANDAMENTO);
     }
 
     @Override
-    public List<LocacaoResumo> listarPorCliente(String cpfOuCnpj) {
-        return repositorio.findByReserva_Cliente_CpfOuCnpj(cpfOuCnpj).stream()
-                .map(this::converterParaResumo)
-                .collect(Collectors.toList());
+    public Pagina<LocacaoResumo> listarEmAndamento(PedidoPagina pedido) {
+        var limite = Limit.of(pedido.limite() + 1);
+        var lidas = pedido.primeiraPagina()
+                ? repositorio.listarPaginaResumosPorStatus(StatusLocacao.EM_ANDAMENTO, limite)
+                : repositorio.listarPaginaResumosPorStatusApos(StatusLocacao.EM_ANDAMENTO, pedido.chave(1).get(0),
+                        limite);
+        return Pagina.de(lidas, pedido, resumo -> new String[] { resumo.getCodigo() });
     }
 
-    /**
-     * Helper para converter a Entidade JPA diretamente para a Projeção (DTO) de Resumo.
-     * Implementa a interface LocacaoResumo anonimamente.
-     */
-    private LocacaoResumo converterParaResumo(LocacaoJpa jpa) {
-        return new LocacaoResumo() {
-            @Override public String getCodigo() { return jpa.getCodigo(); }
-            @Override public String getReservaCodigo() { return jpa.getReserva().getCodigo(); }
-            @Override public String getVeiculoPlaca() { return jpa.getVeiculo().getPlaca(); }
-            @Override public String getVeiculoModelo() { return jpa.getVeiculo().getModelo(); }
-            @Override public String getClienteNome() { return jpa.getReserva().getCliente().getNome(); }
-            @Override public int getDiasPrevistos() { return jpa.getDiasPrevistos(); }
-            @Override public BigDecimal getValorDiaria() { return jpa.getValorDiaria(); }
-            @Override public String getStatus() { return jpa.getStatus().name(); }
-        };
-    }
-}
\ No newline at end of file
+    @Override
+    public List<LocacaoResumo> listarPorCliente(String cpfOuCnpj) {
+        return repositorio.listarResumosPorCliente(cpfOuCnpj);
+    }
+}
@@ -1,34 +1,76 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaConflitanteException;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.CursorInvalidoException;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.IndiceDisponibilidadeSincronizador;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.JpaMapeador;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.LeituraEmFluxo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.UnidadeDeTrabalho;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.reserva.ExclusaoReservaSobreposta;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.ReservaJpaRepository;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Entidade JPA para persistência de Reservas.
+ *
+ * <p>
+ * O cliente é carregado sob demanda; as leituras que convertem para o domínio
+ * (retirada, cancelamento e listagens do cliente) usam o grafo
+ * {@link #GRAFO_COM_CLIENTE}, que traz a reserva e o cliente em uma consulta.
+ * </p>
+ *
+ * <p>
+ * Não usa {@code @DynamicUpdate}: as alterações de estado que atingem muitas
+ * reservas de uma vez, como a expiração das não retiradas, gravam todas as
+ * colunas, e assim os UPDATEs do mesmo flush saem em lotes JDBC.
+ * </p>
  */
 @Entity
 @Table(name = "RESERVA")
+@NamedEntityGraph(name = ReservaJpa.GRAFO_COM_CLIENTE, attributeNodes = @NamedAttributeNode("cliente"))
 public class ReservaJpa {
 
+	/**
+	 * Plano de carga da reserva com o cliente.
+	 */
+	public static final String GRAFO_COM_CLIENTE = "ReservaJpa.comCliente";
+
 	@Id
 	@Column(name = "codigo", nullable = false, length = 50)
 	private String codigo;
@@ -49,7 +91,7 @@ public class ReservaJpa {
 	@Column(name = "status", nullable = false, length = 20)
 	private StatusReserva status;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "cliente_cpf_cnpj", nullable = false)
 	private ClienteJpa cliente;
 
@@ -59,6 +101,10 @@ public class ReservaJpa {
 	@Embedded
 	private RetiradaInfoJpa retiradaInfo;
 
+	@Version
+	@Column(name = "versao", nullable = false)
+	private Long versao;
+
 	public ReservaJpa() {
 	}
 
@@ -133,6 +179,14 @@ public class ReservaJpa {
 	public void setRetiradaInfo(RetiradaInfoJpa retiradaInfo) {
 		this.retiradaInfo = retiradaInfo;
 	}
+
+	public Long getVersao() {
+		return versao;
+	}
+
+	public void setVersao(Long versao) {
+		this.versao = versao;
+	}
 }
 
 @Repository("reservaRepositorioReal")
@@ -144,18 +198,65 @@ class ReservaRepositorioImpl implements ReservaRepositorio {
 	@Autowired
 	JpaMapeador mapeador;
 
+	@Autowired
+	IndiceDisponibilidadeSincronizador indiceDisponibilidade;
+
+	@Autowired
+	LeituraEmFluxo leituraEmFluxo;
+
+	@Autowired
+	UnidadeDeTrabalho unidadeDeTrabalho;
+
+	/**
+	 * Descarrega na hora para que a restrição de exclusão de reservas sobrepostas
+	 * seja conferida na própria gravação.
+	 */
 	@Override
 	public void salvar(Reserva reserva) {
-		var reservaJpa = mapeador.map(reserva, ReservaJpa.class);
-		repositorio.save(reservaJpa);
+		try {
+			unidadeDeTrabalho.gravarEDescarregar(ReservaJpa.class, reserva.getCodigo(), reserva.getVersao(),
+					ReservaJpa::new, jpa -> mapeador.preencherReservaJpa(reserva, jpa), ReservaJpa::getVersao,
+					reserva::restaurarVersao);
+		} catch (DataIntegrityViolationException e) {
+			if (ExclusaoReservaSobreposta.violadaPor(e)) {
+				throw new ReservaConflitanteException(
+						"O veículo já está reservado para outro cliente no período solicitado", e);
+			}
+			throw e;
+		}
+		indiceDisponibilidade.registrar(reserva);
+	}
+
+	/**
+	 * Grava o lote sem descarregar a cada reserva: as inserções saem em lotes
+	 * JDBC num único flush, e a restrição de exclusão é conferida nele.
+	 */
+	@Override
+	@Transactional
+	public void salvarTodas(Collection<Reserva> reservas) {
+		try {
+			for (var reserva : reservas) {
+				unidadeDeTrabalho.gravar(ReservaJpa.class, reserva.getCodigo(), reserva.getVersao(), ReservaJpa::new,
+						jpa -> mapeador.preencherReservaJpa(reserva, jpa), ReservaJpa::getVersao,
+						reserva::restaurarVersao);
+			}
+			unidadeDeTrabalho.descarregar();
+		} catch (DataIntegrityViolationException e) {
+			if (ExclusaoReservaSobreposta.violadaPor(e)) {
+				throw new ReservaConflitanteException(
+						"Uma das reservas do lote conflita com outra reserva do mesmo veículo no período", e);
+			}
+			throw e;
+		}
+		reservas.forEach(indiceDisponibilidade::registrar);
 	}
 
 	@Override
 	public Optional<Reserva> buscarPorCodigo(String codigo) {
-		return repositorio.findById(codigo)
+		return repositorio.buscarComCliente(codigo)
 			.map(jpa -> {
 				try {
-					return mapeador.map(jpa, Reserva.class);
+					return mapeador.paraReserva(jpa);
 				} catch (IllegalStateException e) {
 					return null;
 				}
@@ -163,13 +264,30 @@ class ReservaRepositorioImpl implements ReservaRepositorio {
 			.filter(java.util.Objects::nonNull);
 	}
 
+	@Override
+	public List<Reserva> buscarPorCodigos(Collection<String> codigos) {
+		if (codigos.isEmpty()) {
+			return List.of();
+		}
+		return repositorio.buscarPorCodigos(codigos).stream()
+			.map(jpa -> {
+				try {
+					return mapeador.paraReserva(jpa);
+				} catch (IllegalStateException e) {
+					return null;
+				}
+			})
+			.filter(java.util.Objects::nonNull)
+			.collect(java.util.stream.Collectors.toList());
+	}
+
 	@Override
 	public List<Reserva> listar() {
-		var reservasJpa = repositorio.findAll();
+		var reservasJpa = repositorio.listarComCliente();
 		return reservasJpa.stream()
 			.map(jpa -> {
 				try {
-					return mapeador.map(jpa, Reserva.class);
+					return mapeador.paraReserva(jpa);
 				} catch (IllegalStateException e) {
 					return null;
 				}
@@ -184,7 +302,7 @@ class ReservaRepositorioImpl implements ReservaRepositorio {
 		return reservasJpa.stream()
 			.map(jpa -> {
 				try {
-					return mapeador.map(jpa, Reserva.class);
+					return mapeador.paraReserva(jpa);
 				} catch (IllegalStateException e) {
 					return null;
 				}
@@ -199,7 +317,7 @@ class ReservaRepositorioImpl implements ReservaRepositorio {
 		return reservasJpa.stream()
 			.map(jpa -> {
 				try {
-					return mapeador.map(jpa, Reserva.class);
+					return mapeador.paraReserva(jpa);
 				} catch (IllegalStateException e) {
 					return null;
 				}
@@ -207,4 +325,100 @@ class ReservaRepositorioImpl implements ReservaRepositorio {
 			.filter(java.util.Objects::nonNull)
 			.collect(java.util.stream.Collectors.toList());
 	}
+
+	@Override
+	public Pagina<Reserva> listar(PedidoPagina pedido) {
+		var limite = Limit.of(pedido.limite() + 1);
+		if (pedido.primeiraPagina()) {
+			return paginar(repositorio.listarPagina(limite), pedido);
+		}
+		var chave = pedido.chave(2);
+		return paginar(repositorio.listarPaginaApos(retirada(chave.get(0)), chave.get(1), limite), pedido);
+	}
+
+	@Override
+	public Pagina<Reserva> listarPorCliente(String cpfOuCnpj, PedidoPagina pedido) {
+		var limite = Limit.of(pedido.limite() + 1);
+		if (pedido.primeiraPagina()) {
+			return paginar(repositorio.listarPaginaPorCliente(cpfOuCnpj, limite), pedido);
+		}
+		var chave = pedido.chave(2);
+		return paginar(repositorio.listarPaginaPorClienteApos(cpfOuCnpj, retirada(chave.get(0)), chave.get(1),
+				limite), pedido);
+	}
+
+	@Override
+	public Pagina<Reserva> listarPorVeiculo(String placaVeiculo, PedidoPagina pedido) {
+		var limite = Limit.of(pedido.limite() + 1);
+		if (pedido.primeiraPagina()) {
+			return paginar(repositorio.listarPaginaPorVeiculo(placaVeiculo, limite), pedido);
+		}
+		var chave = pedido.chave(2);
+		return paginar(repositorio.listarPaginaPorVeiculoApos(placaVeiculo, retirada(chave.get(0)), chave.get(1),
+				limite), pedido);
+	}
+
+	@Override
+	public Stream<Reserva> percorrer() {
+		return leituraEmFluxo.abrir("SELECT r FROM ReservaJpa r", ReservaJpa.class, ReservaJpa.GRAFO_COM_CLIENTE,
+				jpa -> {
+					try {
+						return mapeador.paraReserva(jpa);
+					} catch (IllegalStateException e) {
+						return null;
+					}
+				});
+	}
+
+	@Override
+	public Stream<Reserva> percorrerAtivas() {
+		return leituraEmFluxo.abrir("SELECT r FROM ReservaJpa r WHERE r.status = "
+				+ "dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva.ATIVA", ReservaJpa.class,
+				ReservaJpa.GRAFO_COM_CLIENTE, jpa -> {
+					try {
+						return mapeador.paraReserva(jpa);
+					} catch (IllegalStateException e) {
+						return null;
+					}
+				});
+	}
+
+	/**
+	 * O cursor vem da chave das entidades lidas, não das reservas convertidas:
+	 * uma reserva descartada na conversão (como em {@link #listar()}) não desloca
+	 * a próxima página.
+	 */
+	private Pagina<Reserva> paginar(List<ReservaJpa> lidas, PedidoPagina pedido) {
+		var pagina = Pagina.de(lidas, pedido,
+				jpa -> new String[] { jpa.getPeriodo().getRetirada().toString(), jpa.getCodigo() });
+		var reservas = new ArrayList<Reserva>(pagina.itens().size());
+		for (var jpa : pagina.itens()) {
+			try {
+				reservas.add(mapeador.paraReserva(jpa));
+			} catch (IllegalStateException e) {
+				// Reserva inconsistente: fica fora da listagem, como nas listagens completas
+			}
+		}
+		return new Pagina<>(reservas, pagina.proximoCursor());
+	}
+
+	private static LocalDateTime retirada(String chave) {
+		try {
+			return LocalDateTime.parse(chave);
+		} catch (DateTimeParseException e) {
+			throw new CursorInvalidoException("Cursor inválido");
+		}
+	}
+
+	@Override
+	public long contarConflitantes(CategoriaCodigo categoria, PeriodoLocacao periodo) {
+		return repositorio.contarConflitantes(categoria.name(), StatusReserva.ATIVA, periodo.getRetirada(),
+				periodo.getDevolucao());
+	}
+
+	@Override
+	public Set<String> listarPlacasOcupadas(PeriodoLocacao periodo) {
+		return new HashSet<>(repositorio.listarPlacasOcupadas(StatusReserva.ATIVA, periodo.getRetirada(),
+				periodo.getDevolucao()));
+	}
 }
@@ -5,8 +5,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
@@ -14,14 +18,27 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Entidade JPA para persistência de Veículos.
+ *
+ * <p>
+ * Fica no cache de segundo nível, pois é buscada pela placa várias vezes em
+ * cada retirada e devolução. A estratégia de leitura e escrita trava a entrada
+ * enquanto a transação que grava o veículo está aberta, e a versão otimista
+ * continua sendo conferida no banco.
+ * </p>
  */
 @Entity
 @Table(name = "VEICULO")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = VeiculoJpa.REGIAO_CACHE)
 public class VeiculoJpa {
 
+	public static final String REGIAO_CACHE = "catalogo-veiculo";
+
 	@Id
 	@Column(name = "placa", nullable = false, length = 10)
 	private String placa;
@@ -51,6 +68,10 @@ public class VeiculoJpa {
 	@Embedded
 	private PatioJpa patio;
 
+	@Version
+	@Column(name = "versao", nullable = false)
+	private Long versao;
+
 	public VeiculoJpa() {
 	}
 
@@ -125,4 +146,12 @@ public class VeiculoJpa {
 	public void setPatio(PatioJpa patio) {
 		this.patio = patio;
 	}
+
+	public Long getVersao() {
+		return versao;
+	}
+
+	public void setVersao(Long versao) {
+		this.versao = versao;
+	}
 }
@@ -0,0 +1,283 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Propaga aos outros nós da aplicação as invalidações dos caches locais.
+ *
+ * <p>
+ * Quem grava um agregado em cache publica as chaves afetadas. Dentro de uma
+ * transação elas só seguem após o commit; um rollback as descarta, pois nada
+ * mudou no banco. As chaves publicadas ficam pendentes por
+ * {@code intervalo} e saem juntas: repetidas contam uma vez, vão no menor
+ * número de mensagens que cabem no canal e, quando um cache acumula mais de
+ * {@code limiteChaves} chaves, seguem como uma única ordem de limpar o cache
+ * inteiro. Assim, uma atualização em lote não inunda o canal.
+ * </p>
+ *
+ * <p>
+ * Cada mensagem traz o nó de origem, que ignora as próprias mensagens: o cache
+ * local já foi invalidado por quem gravou. Se o canal avisa que mensagens
+ * podem ter se perdido, todos os caches registrados são limpos.
+ * </p>
+ *
+ * <p>
+ * Há caches que nunca expiram, então uma invalidação não pode ser perdida.
+ * Se o envio falhar, as chaves voltam a ficar pendentes e o envio é repetido
+ * em intervalos que dobram a cada falha, de {@link #ESPERA_MINIMA} ou do
+ * {@code intervalo}, o que for maior, até {@link #ESPERA_MAXIMA}.
+ * </p>
+ */
+public class BarramentoInvalidacao implements AutoCloseable {
+
+	static final String TODAS = "*";
+	static final Duration ESPERA_MINIMA = Duration.ofMillis(100);
+	static final Duration ESPERA_MAXIMA = Duration.ofSeconds(30);
+
+	private static final Logger log = LoggerFactory.getLogger(BarramentoInvalidacao.class);
+
+	private final CanalInvalidacao canal;
+	private final Duration intervalo;
+	private final int limiteChaves;
+	private final String origem = UUID.randomUUID().toString();
+	private final Map<String, Ouvinte> ouvintes = new ConcurrentHashMap<>();
+	private final Set<Chave> pendentes = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean envioAgendado = new AtomicBoolean();
+	private final AtomicLong mensagensEnviadas = new AtomicLong();
+	private final AtomicInteger falhasSeguidas = new AtomicInteger();
+	private final ScheduledExecutorService envio;
+
+	public BarramentoInvalidacao(CanalInvalidacao canal, Duration intervalo, int limiteChaves) {
+		if (intervalo.isNegative() || limiteChaves < 1) {
+			throw new IllegalArgumentException("O intervalo não pode ser negativo e o limite deve ser maior que zero");
+		}
+		this.canal = canal;
+		this.intervalo = intervalo;
+		this.limiteChaves = limiteChaves;
+		this.envio = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+			var thread = new Thread(tarefa, "sgb-invalidacao-envio");
+			thread.setDaemon(true);
+			return thread;
+		});
+		canal.ouvir(new CanalInvalidacao.Receptor() {
+			@Override
+			public void receber(String mensagem) {
+				aplicar(mensagem);
+			}
+
+			@Override
+			public void perdeuMensagens() {
+				limparTudo();
+			}
+		});
+	}
+
+	/**
+	 * Registra um cache local que os outros nós podem invalidar.
+	 *
+	 * @param cache nome do cache, igual em todos os nós
+	 * @param remover remove uma chave do cache
+	 * @param limpar esvazia o cache
+	 */
+	public void registrar(String cache, Consumer<String> remover, Runnable limpar) {
+		validar(cache);
+		ouvintes.put(cache, new Ouvinte(remover, limpar));
+	}
+
+	/**
+	 * Publica a invalidação de uma chave, após o commit da transação corrente ou
+	 * imediatamente fora de transação.
+	 */
+	public void publicar(String cache, String chave) {
+		validar(cache);
+		validar(chave);
+		var entrada = new Chave(cache, chave);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			enfileirar(Set.of(entrada));
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		var daTransacao = (Set<Chave>) TransactionSynchronizationManager.getResource(this);
+		if (daTransacao == null) {
+			var novas = new LinkedHashSet<Chave>();
+			TransactionSynchronizationManager.bindResource(this, novas);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					enfileirar(novas);
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(BarramentoInvalidacao.this);
+				}
+			});
+			daTransacao = novas;
+		}
+		daTransacao.add(entrada);
+	}
+
+	/**
+	 * Quantidade de mensagens entregues ao canal por este nó.
+	 */
+	public long mensagensEnviadas() {
+		return mensagensEnviadas.get();
+	}
+
+	/**
+	 * Quantidade de chaves aguardando envio.
+	 */
+	public int pendentes() {
+		return pendentes.size();
+	}
+
+	private void enfileirar(Set<Chave> chaves) {
+		pendentes.addAll(chaves);
+		agendarEnvio(intervalo);
+	}
+
+	private void agendarEnvio(Duration espera) {
+		if (envioAgendado.compareAndSet(false, true)) {
+			envio.schedule(this::enviar, espera.toMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Envia tudo o que estiver pendente. Em caso de falha as chaves voltam às
+	 * pendentes, já reduzidas a uma ordem de limpar o cache inteiro quando
+	 * passam do limite, e o envio é reagendado; assim, com o canal fora do ar,
+	 * as pendentes não crescem além de {@code limiteChaves} por cache.
+	 */
+	void enviar() {
+		envioAgendado.set(false);
+		var porCache = new LinkedHashMap<String, Set<String>>();
+		for (var iterador = pendentes.iterator(); iterador.hasNext();) {
+			var chave = iterador.next();
+			iterador.remove();
+			porCache.computeIfAbsent(chave.cache(), cache -> new LinkedHashSet<>()).add(chave.chave());
+		}
+		if (porCache.isEmpty()) {
+			return;
+		}
+		var mensagens = montarMensagens(porCache);
+		try {
+			canal.enviar(mensagens);
+			mensagensEnviadas.addAndGet(mensagens.size());
+			falhasSeguidas.set(0);
+		} catch (RuntimeException e) {
+			var falhas = falhasSeguidas.incrementAndGet();
+			log.warn("Falha ao enviar {} mensagens de invalidação; nova tentativa em {}", mensagens.size(),
+					espera(falhas), e);
+			porCache.forEach((cache, chaves) -> reduzir(chaves)
+					.forEach(chave -> pendentes.add(new Chave(cache, chave))));
+			if (!envio.isShutdown()) {
+				agendarEnvio(espera(falhas));
+			}
+		}
+	}
+
+	private Duration espera(int falhas) {
+		var base = intervalo.compareTo(ESPERA_MINIMA) < 0 ? ESPERA_MINIMA : intervalo;
+		var espera = base.multipliedBy(1L << Math.min(falhas, 16));
+		return espera.compareTo(ESPERA_MAXIMA) > 0 ? ESPERA_MAXIMA : espera;
+	}
+
+	private Set<String> reduzir(Set<String> chaves) {
+		return chaves.size() > limiteChaves || chaves.contains(TODAS) ? Set.of(TODAS) : chaves;
+	}
+
+	private List<String> montarMensagens(Map<String, Set<String>> porCache) {
+		var mensagens = new ArrayList<String>();
+		var atual = new StringBuilder(origem);
+		var tamanho = tamanho(origem);
+		for (var cache : porCache.entrySet()) {
+			for (var chave : reduzir(cache.getValue())) {
+				var linha = "\n" + cache.getKey() + "\t" + chave;
+				var tamanhoLinha = tamanho(linha);
+				if (tamanho + tamanhoLinha > CanalInvalidacao.TAMANHO_MAXIMO) {
+					mensagens.add(atual.toString());
+					atual = new StringBuilder(origem);
+					tamanho = tamanho(origem);
+				}
+				atual.append(linha);
+				tamanho += tamanhoLinha;
+			}
+		}
+		mensagens.add(atual.toString());
+		return mensagens;
+	}
+
+	private void aplicar(String mensagem) {
+		var linhas = mensagem.split("\n");
+		if (linhas.length == 0 || origem.equals(linhas[0])) {
+			return;
+		}
+		for (int indice = 1; indice < linhas.length; indice++) {
+			var separador = linhas[indice].indexOf('\t');
+			if (separador < 0) {
+				continue;
+			}
+			var ouvinte = ouvintes.get(linhas[indice].substring(0, separador));
+			if (ouvinte == null) {
+				continue;
+			}
+			var chave = linhas[indice].substring(separador + 1);
+			if (TODAS.equals(chave)) {
+				ouvinte.limpar().run();
+			} else {
+				ouvinte.remover().accept(chave);
+			}
+		}
+	}
+
+	private void limparTudo() {
+		ouvintes.values().forEach(ouvinte -> ouvinte.limpar().run());
+	}
+
+	private static int tamanho(String texto) {
+		return texto.getBytes(StandardCharsets.UTF_8).length;
+	}
+
+	private static void validar(String texto) {
+		if (texto == null || texto.isEmpty() || texto.indexOf('\n') >= 0 || texto.indexOf('\t') >= 0) {
+			throw new IllegalArgumentException("Cache e chave não podem ser vazios nem conter quebras de linha ou tabulações");
+		}
+	}
+
+	/**
+	 * Envia o que ainda estiver pendente e encerra a thread de envio.
+	 */
+	@Override
+	public void close() throws InterruptedException {
+		envio.shutdown();
+		envio.awaitTermination(intervalo.toMillis() + 1000, TimeUnit.MILLISECONDS);
+		enviar();
+	}
+
+	private record Chave(String cache, String chave) {
+	}
+
+	private record Ouvinte(Consumer<String> remover, Runnable limpar) {
+	}
+}
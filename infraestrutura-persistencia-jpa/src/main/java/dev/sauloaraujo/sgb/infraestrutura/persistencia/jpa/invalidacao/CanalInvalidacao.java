@@ -0,0 +1,43 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao;
+
+import java.util.List;
+
+/**
+ * Meio de transporte das mensagens do {@link BarramentoInvalidacao} entre os
+ * nós da aplicação.
+ */
+public interface CanalInvalidacao extends AutoCloseable {
+
+	/**
+	 * Tamanho máximo, em bytes UTF-8, de uma mensagem. O PostgreSQL limita o
+	 * payload do NOTIFY a 8000 bytes.
+	 */
+	int TAMANHO_MAXIMO = 7900;
+
+	/**
+	 * Envia as mensagens a todos os nós, inclusive o que enviou.
+	 */
+	void enviar(List<String> mensagens);
+
+	/**
+	 * Passa a entregar ao receptor as mensagens de todos os nós.
+	 */
+	void ouvir(Receptor receptor);
+
+	/**
+	 * Para de ouvir e libera os recursos do canal.
+	 */
+	@Override
+	default void close() {
+	}
+
+	interface Receptor {
+
+		void receber(String mensagem);
+
+		/**
+		 * Avisa que mensagens podem ter sido perdidas, como na reconexão do canal.
+		 */
+		void perdeuMensagens();
+	}
+}
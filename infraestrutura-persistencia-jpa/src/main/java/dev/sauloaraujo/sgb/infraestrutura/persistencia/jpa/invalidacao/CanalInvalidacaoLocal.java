@@ -0,0 +1,29 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Canal dentro do próprio processo: entrega as mensagens, na thread de quem
+ * envia, a todos os receptores registrados nesta instância. Usado quando o
+ * banco não é o PostgreSQL (nó único) e nos testes, em que vários
+ * barramentos sobre o mesmo canal fazem as vezes de nós distintos.
+ */
+public class CanalInvalidacaoLocal implements CanalInvalidacao {
+
+	private final List<Receptor> receptores = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void enviar(List<String> mensagens) {
+		for (var mensagem : mensagens) {
+			for (var receptor : receptores) {
+				receptor.receber(mensagem);
+			}
+		}
+	}
+
+	@Override
+	public void ouvir(Receptor receptor) {
+		receptores.add(receptor);
+	}
+}
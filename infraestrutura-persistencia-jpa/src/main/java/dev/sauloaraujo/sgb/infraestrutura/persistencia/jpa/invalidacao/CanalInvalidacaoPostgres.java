@@ -0,0 +1,139 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Canal sobre o LISTEN/NOTIFY do PostgreSQL.
+ *
+ * <p>
+ * Todas as mensagens de um envio saem em um único comando ({@code pg_notify}
+ * sobre um array), fora de qualquer transação de negócio. A escuta usa uma
+ * conexão dedicada, mantida por uma thread própria: se a conexão cai, a thread
+ * reconecta com espera crescente e avisa o receptor de que mensagens podem ter
+ * se perdido nesse intervalo.
+ * </p>
+ */
+public class CanalInvalidacaoPostgres implements CanalInvalidacao {
+
+	private static final Logger log = LoggerFactory.getLogger(CanalInvalidacaoPostgres.class);
+	private static final Pattern NOME_CANAL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+	private static final int ESPERA_NOTIFICACOES_MILIS = 500;
+	private static final Duration ESPERA_MAXIMA_RECONEXAO = Duration.ofSeconds(30);
+
+	private final DataSource dataSource;
+	private final String canal;
+	private volatile boolean ativo = true;
+	private Thread escuta;
+
+	public CanalInvalidacaoPostgres(DataSource dataSource, String canal) {
+		if (!NOME_CANAL.matcher(canal).matches()) {
+			throw new IllegalArgumentException("Nome de canal inválido: " + canal);
+		}
+		this.dataSource = dataSource;
+		this.canal = canal;
+	}
+
+	@Override
+	public void enviar(List<String> mensagens) {
+		if (mensagens.isEmpty()) {
+			return;
+		}
+		try (var conexao = dataSource.getConnection();
+				var comando = conexao.prepareStatement("SELECT pg_notify(?, mensagem) FROM unnest(?) AS mensagem")) {
+			comando.setString(1, canal);
+			comando.setArray(2, conexao.createArrayOf("text", mensagens.toArray()));
+			comando.execute();
+			if (!conexao.getAutoCommit()) {
+				conexao.commit();
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Falha ao publicar invalidações no canal " + canal, e);
+		}
+	}
+
+	@Override
+	public synchronized void ouvir(Receptor receptor) {
+		if (escuta != null) {
+			throw new IllegalStateException("O canal " + canal + " já tem um receptor");
+		}
+		escuta = new Thread(() -> escutar(receptor), "sgb-invalidacao-" + canal);
+		escuta.setDaemon(true);
+		escuta.start();
+	}
+
+	private void escutar(Receptor receptor) {
+		var espera = Duration.ofMillis(ESPERA_NOTIFICACOES_MILIS);
+		var reconexao = false;
+		while (ativo) {
+			try (var conexao = dataSource.getConnection()) {
+				try (var comando = conexao.createStatement()) {
+					comando.execute("LISTEN " + canal);
+				}
+				if (!conexao.getAutoCommit()) {
+					conexao.commit();
+				}
+				if (reconexao) {
+					receptor.perdeuMensagens();
+				}
+				espera = Duration.ofMillis(ESPERA_NOTIFICACOES_MILIS);
+				var postgres = conexao.unwrap(PGConnection.class);
+				while (ativo) {
+					var notificacoes = postgres.getNotifications(ESPERA_NOTIFICACOES_MILIS);
+					if (notificacoes == null) {
+						continue;
+					}
+					for (var notificacao : notificacoes) {
+						receber(receptor, notificacao.getParameter());
+					}
+				}
+			} catch (SQLException e) {
+				if (!ativo) {
+					return;
+				}
+				log.warn("Escuta do canal {} interrompida; nova tentativa em {} ms", canal, espera.toMillis(), e);
+				reconexao = true;
+				dormir(espera);
+				espera = espera.multipliedBy(2).compareTo(ESPERA_MAXIMA_RECONEXAO) > 0 ? ESPERA_MAXIMA_RECONEXAO
+						: espera.multipliedBy(2);
+			}
+		}
+	}
+
+	private void receber(Receptor receptor, String mensagem) {
+		try {
+			receptor.receber(mensagem);
+		} catch (RuntimeException e) {
+			log.warn("Falha ao aplicar invalidação recebida no canal {}", canal, e);
+		}
+	}
+
+	private void dormir(Duration espera) {
+		try {
+			Thread.sleep(espera.toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			ativo = false;
+		}
+	}
+
+	@Override
+	public void close() {
+		ativo = false;
+		if (escuta != null) {
+			try {
+				escuta.join(ESPERA_NOTIFICACOES_MILIS * 4L);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
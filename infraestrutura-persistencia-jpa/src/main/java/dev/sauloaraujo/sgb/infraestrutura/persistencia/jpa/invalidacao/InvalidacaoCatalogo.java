@@ -0,0 +1,49 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.CategoriaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.VeiculoJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Leva aos outros nós as gravações de categorias e veículos, que ficam no cache
+ * de segundo nível.
+ *
+ * <p>
+ * Localmente o Hibernate já atualiza as regiões no commit. Nos outros nós a
+ * entidade gravada é descartada da sua região e, no caso de veículos, também
+ * as listas de disponíveis, que podem tê-lo incluído ou omitido.
+ * </p>
+ */
+@Component
+public class InvalidacaoCatalogo {
+
+	private final BarramentoInvalidacao barramentoInvalidacao;
+
+	public InvalidacaoCatalogo(BarramentoInvalidacao barramentoInvalidacao,
+			EntityManagerFactory entityManagerFactory) {
+		this.barramentoInvalidacao = barramentoInvalidacao;
+		var cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		barramentoInvalidacao.registrar(VeiculoJpa.REGIAO_CACHE, placa -> {
+			cache.evictEntityData(VeiculoJpa.class, placa);
+			cache.evictQueryRegion(VeiculoJpaRepository.REGIAO_DISPONIVEIS);
+		}, () -> {
+			cache.evictEntityData(VeiculoJpa.class);
+			cache.evictQueryRegion(VeiculoJpaRepository.REGIAO_DISPONIVEIS);
+		});
+		barramentoInvalidacao.registrar(CategoriaJpa.REGIAO_CACHE,
+				codigo -> cache.evictEntityData(CategoriaJpa.class, codigo),
+				() -> cache.evictEntityData(CategoriaJpa.class));
+	}
+
+	public void veiculoGravado(String placa) {
+		barramentoInvalidacao.publicar(VeiculoJpa.REGIAO_CACHE, placa);
+	}
+
+	public void categoriaGravada(String codigo) {
+		barramentoInvalidacao.publicar(CategoriaJpa.REGIAO_CACHE, codigo);
+	}
+}
@@ -0,0 +1,151 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.medicao;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Comandos SQL enviados e tempo gasto no banco por uma operação da aplicação,
+ * em geral uma requisição.
+ *
+ * <p>
+ * A medição vale para a thread que a iniciou, do {@link #iniciar()} ao
+ * {@link #close()}, e soma todas as sessões do Hibernate abertas nesse
+ * intervalo; os eventos chegam pelo {@link MedicaoSessao}. Medições podem ser
+ * aninhadas: a interna conta só o seu trecho, e ao fechá-la a externa volta a
+ * contar.
+ * </p>
+ *
+ * <p>
+ * Tarefas entregues a um pool passam por {@link #propagar(Runnable)}, e o que
+ * elas enviam conta na medição de quem as criou. Por isso os contadores
+ * aceitam eventos de várias threads ao mesmo tempo.
+ * </p>
+ */
+public final class MedicaoComandos implements AutoCloseable {
+
+	private static final ThreadLocal<MedicaoComandos> ATUAL = new ThreadLocal<>();
+
+	private final MedicaoComandos anterior;
+	private final long inicio = System.nanoTime();
+	private volatile long fim;
+	private final AtomicInteger comandos = new AtomicInteger();
+	private final AtomicInteger execucoes = new AtomicInteger();
+	private final AtomicInteger lotes = new AtomicInteger();
+	private final AtomicInteger flushes = new AtomicInteger();
+	private final AtomicLong nanosBanco = new AtomicLong();
+
+	private MedicaoComandos(MedicaoComandos anterior) {
+		this.anterior = anterior;
+	}
+
+	/**
+	 * Inicia uma medição na thread corrente; use-a em um try-with-resources.
+	 */
+	public static MedicaoComandos iniciar() {
+		var medicao = new MedicaoComandos(ATUAL.get());
+		ATUAL.set(medicao);
+		return medicao;
+	}
+
+	/**
+	 * Envolve a tarefa para que, na thread em que rodar, ela conte na medição
+	 * em curso nesta thread. Sem medição em curso, devolve a própria tarefa.
+	 */
+	public static Runnable propagar(Runnable tarefa) {
+		var medicao = ATUAL.get();
+		if (medicao == null) {
+			return tarefa;
+		}
+		return () -> {
+			var anterior = ATUAL.get();
+			ATUAL.set(medicao);
+			try {
+				tarefa.run();
+			} finally {
+				if (anterior == null) {
+					ATUAL.remove();
+				} else {
+					ATUAL.set(anterior);
+				}
+			}
+		};
+	}
+
+	static MedicaoComandos atual() {
+		return ATUAL.get();
+	}
+
+	void comandoPreparado() {
+		comandos.incrementAndGet();
+	}
+
+	void execucaoTerminada(boolean lote, long nanos) {
+		nanosBanco.addAndGet(nanos);
+		(lote ? lotes : execucoes).incrementAndGet();
+	}
+
+	void flushTerminado() {
+		flushes.incrementAndGet();
+	}
+
+	/**
+	 * Comandos SQL preparados: cada consulta, e cada comando de escrita, avulso
+	 * ou agrupado em lote.
+	 */
+	public int getComandos() {
+		return comandos.get();
+	}
+
+	/**
+	 * Idas ao banco: execuções avulsas mais lotes enviados.
+	 */
+	public int getIdasAoBanco() {
+		return execucoes.get() + lotes.get();
+	}
+
+	public int getLotes() {
+		return lotes.get();
+	}
+
+	public int getFlushes() {
+		return flushes.get();
+	}
+
+	/**
+	 * Tempo gasto na execução dos comandos, sem contar a preparação e a leitura
+	 * dos resultados.
+	 */
+	public Duration getTempoBanco() {
+		return Duration.ofNanos(nanosBanco.get());
+	}
+
+	/**
+	 * Duração total, até agora ou até o fechamento.
+	 */
+	public Duration getDuracao() {
+		var fim = this.fim;
+		return Duration.ofNanos((fim == 0 ? System.nanoTime() : fim) - inicio);
+	}
+
+	public String resumo() {
+		return String.format("%d comandos SQL em %d idas ao banco (%d lotes), %d flushes, %d ms no banco de %d ms",
+				getComandos(), getIdasAoBanco(), getLotes(), getFlushes(), getTempoBanco().toMillis(),
+				getDuracao().toMillis());
+	}
+
+	@Override
+	public void close() {
+		if (fim != 0) {
+			return;
+		}
+		fim = System.nanoTime();
+		if (ATUAL.get() == this) {
+			if (anterior == null) {
+				ATUAL.remove();
+			} else {
+				ATUAL.set(anterior);
+			}
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.medicao;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Repassa à {@link MedicaoComandos} da thread os eventos JDBC de uma sessão do
+ * Hibernate. Uma instância é criada para cada sessão; sem medição em curso, os
+ * eventos são ignorados. A sessão é usada por uma thread de cada vez, então o
+ * início da execução em curso fica aqui, e não na medição compartilhada.
+ */
+public class MedicaoSessao extends BaseSessionEventListener {
+
+	private long inicioExecucao;
+
+	@Override
+	public void jdbcPrepareStatementStart() {
+		var medicao = MedicaoComandos.atual();
+		if (medicao != null) {
+			medicao.comandoPreparado();
+		}
+	}
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		iniciarExecucao();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		terminarExecucao(false);
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		iniciarExecucao();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		terminarExecucao(true);
+	}
+
+	@Override
+	public void flushEnd(int numberOfEntities, int numberOfCollections) {
+		var medicao = MedicaoComandos.atual();
+		if (medicao != null) {
+			medicao.flushTerminado();
+		}
+	}
+
+	private void iniciarExecucao() {
+		inicioExecucao = System.nanoTime();
+	}
+
+	private void terminarExecucao(boolean lote) {
+		var medicao = MedicaoComandos.atual();
+		if (medicao != null) {
+			medicao.execucaoTerminada(lote, System.nanoTime() - inicioExecucao);
+		}
+	}
+}
@@ -1,8 +1,12 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ClienteJpa;
@@ -13,5 +17,17 @@ import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ClienteJpa;
 @Repository
 public interface ClienteJpaRepository extends JpaRepository<ClienteJpa, String> {
 	Optional<ClienteJpa> findByLogin(String login);
+
+	/**
+	 * Primeira página de clientes em ordem de CPF/CNPJ.
+	 */
+	@Query("SELECT c FROM ClienteJpa c ORDER BY c.cpfOuCnpj")
+	List<ClienteJpa> listarPagina(Limit limite);
+
+	/**
+	 * Clientes com CPF/CNPJ depois do informado, na mesma ordem.
+	 */
+	@Query("SELECT c FROM ClienteJpa c WHERE c.cpfOuCnpj > :cpfOuCnpj ORDER BY c.cpfOuCnpj")
+	List<ClienteJpa> listarPaginaApos(@Param("cpfOuCnpj") String cpfOuCnpj, Limit limite);
 }
 
@@ -1,13 +1,18 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoResumo;
 import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.LocacaoJpa;
 
@@ -18,33 +23,58 @@ import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.LocacaoJpa;
 public interface LocacaoJpaRepository extends JpaRepository<LocacaoJpa, String> {
     
     /**
-     * Busca uma locação pelo código.
+     * Busca uma locação pelo código, com reserva, cliente e veículo, para a devolução.
      */
-    @Query("SELECT l FROM LocacaoJpa l " +
-           "LEFT JOIN FETCH l.reserva r " +
-           "LEFT JOIN FETCH r.cliente " +
-           "LEFT JOIN FETCH l.veiculo " +
-           "WHERE l.codigo = :codigo")
+    @EntityGraph(LocacaoJpa.GRAFO_DEVOLUCAO)
+    @Query("SELECT l FROM LocacaoJpa l WHERE l.codigo = :codigo")
     Optional<LocacaoJpa> findByCodigo(@Param("codigo") String codigo);
+
+    /**
+     * Busca as locações dos códigos informados, com reserva, cliente e veículo,
+     * para as devoluções em lote.
+     */
+    @EntityGraph(LocacaoJpa.GRAFO_DEVOLUCAO)
+    @Query("SELECT l FROM LocacaoJpa l WHERE l.codigo IN :codigos")
+    List<LocacaoJpa> buscarPorCodigos(@Param("codigos") Collection<String> codigos);
     
     /**
      * Busca uma locação ativa pelo código (status = 'ATIVA').
      */
-    @Query("SELECT l FROM LocacaoJpa l " +
-           "LEFT JOIN FETCH l.reserva r " +
-           "LEFT JOIN FETCH r.cliente " +
-           "LEFT JOIN FETCH l.veiculo " +
-           "WHERE l.codigo = :codigo AND l.status = 'ATIVA'")
+    @EntityGraph(LocacaoJpa.GRAFO_DEVOLUCAO)
+    @Query("SELECT l FROM LocacaoJpa l WHERE l.codigo = :codigo AND l.status = 'ATIVA'")
     Optional<LocacaoJpa> findByCodigoAndStatusAtiva(@Param("codigo") String codigo);
+
+    /**
+     * Lista todas as locações com reserva, cliente e veículo.
+     */
+    @EntityGraph(LocacaoJpa.GRAFO_DEVOLUCAO)
+    @Query("SELECT l FROM LocacaoJpa l")
+    List<LocacaoJpa> listarComReservaEVeiculo();
+
+    /**
+     * Primeira página de locações em ordem de código, com reserva, cliente e veículo.
+     */
+    @EntityGraph(LocacaoJpa.GRAFO_DEVOLUCAO)
+    @Query("SELECT l FROM LocacaoJpa l ORDER BY l.codigo")
+    List<LocacaoJpa> listarPagina(Limit limite);
+
+    /**
+     * Locações com código depois do informado, na mesma ordem.
+     */
+    @EntityGraph(LocacaoJpa.GRAFO_DEVOLUCAO)
+    @Query("SELECT l FROM LocacaoJpa l WHERE l.codigo > :codigo ORDER BY l.codigo")
+    List<LocacaoJpa> listarPaginaApos(@Param("codigo") String codigo, Limit limite);
     
     /**
      * Busca locações por status.
      */
+    @EntityGraph(LocacaoJpa.GRAFO_DEVOLUCAO)
     List<LocacaoJpa> findByStatus(StatusLocacao status);
     
     /**
      * Busca locações por cliente (navega pelas propriedades: Reserva -> Cliente -> CpfOuCnpj).
      */
+    @EntityGraph(LocacaoJpa.GRAFO_DEVOLUCAO)
     List<LocacaoJpa> findByReserva_Cliente_CpfOuCnpj(String cpfOuCnpj);
     
     /**
@@ -55,4 +85,99 @@ public interface LocacaoJpaRepository extends JpaRepository<LocacaoJpa, String>
            "LEFT JOIN FETCH l.veiculo " +
            "WHERE l.reserva.codigo = :codigoReserva")
     Optional<LocacaoJpa> findByReservaCodigo(@Param("codigoReserva") String codigoReserva);
+
+    /**
+     * Conta as locações em um dos status informados da categoria cujo período
+     * da reserva se sobrepõe a [inicio, fim].
+     */
+    @Query("SELECT COUNT(l) FROM LocacaoJpa l JOIN l.reserva r " +
+           "WHERE l.status IN :status AND r.categoria = :categoria " +
+           "AND r.periodo.retirada <= :fim AND r.periodo.devolucao >= :inicio")
+    long contarConflitantes(@Param("categoria") String categoria,
+            @Param("status") Collection<StatusLocacao> status,
+            @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Lista as placas dos veículos com locação em um dos status informados cujo
+     * período da reserva se sobrepõe a [inicio, fim]. Retorna apenas a coluna
+     * veiculo_placa, sem carregar as entidades.
+     */
+    @Query("SELECT DISTINCT l.veiculo.placa FROM LocacaoJpa l JOIN l.reserva r " +
+           "WHERE l.status IN :status " +
+           "AND r.periodo.retirada <= :fim AND r.periodo.devolucao >= :inicio")
+    List<String> listarPlacasLocadas(@Param("status") Collection<StatusLocacao> status,
+            @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Placas dos veículos da cidade com locação em um dos status informados cujo
+     * período da reserva se sobrepõe a [inicio, fim]. Projeção escalar, sem
+     * hidratar entidades. A cidade é comparada sem diferenciar maiúsculas, como
+     * na busca dos veículos disponíveis.
+     */
+    @Query("SELECT DISTINCT v.placa FROM LocacaoJpa l JOIN l.veiculo v JOIN l.reserva r " +
+           "WHERE l.status IN :status AND lower(v.cidade) = lower(:cidade) " +
+           "AND r.periodo.retirada <= :fim AND r.periodo.devolucao >= :inicio")
+    List<String> listarPlacasLocadasPorCidade(@Param("cidade") String cidade,
+            @Param("status") Collection<StatusLocacao> status,
+            @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Igual a {@link #listarPlacasLocadasPorCidade}, restrito à categoria do veículo.
+     */
+    @Query("SELECT DISTINCT v.placa FROM LocacaoJpa l JOIN l.veiculo v JOIN l.reserva r " +
+           "WHERE l.status IN :status AND lower(v.cidade) = lower(:cidade) AND v.categoria = :categoria " +
+           "AND r.periodo.retirada <= :fim AND r.periodo.devolucao >= :inicio")
+    List<String> listarPlacasLocadasPorCidadeECategoria(@Param("cidade") String cidade,
+            @Param("categoria") String categoria,
+            @Param("status") Collection<StatusLocacao> status,
+            @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    /**
+     * Colunas do {@link LocacaoResumo}, com aliases iguais às propriedades da
+     * projeção, lidas em uma única consulta com as junções de reserva, cliente e
+     * veículo. As junções são externas, como as do grafo de entidades usado
+     * antes: uma locação sem algum dos relacionamentos continua listada, com
+     * as colunas dele nulas.
+     */
+    String SELECT_RESUMO = "SELECT l.codigo AS codigo, r.codigo AS reservaCodigo, v.placa AS veiculoPlaca, " +
+           "v.modelo AS veiculoModelo, c.nome AS clienteNome, l.diasPrevistos AS diasPrevistos, " +
+           "l.valorDiaria AS valorDiaria, l.status AS status " +
+           "FROM LocacaoJpa l LEFT JOIN l.reserva r LEFT JOIN r.cliente c LEFT JOIN l.veiculo v ";
+
+    /**
+     * Resumos de todas as locações.
+     */
+    @Query(SELECT_RESUMO)
+    List<LocacaoResumo> listarResumos();
+
+    /**
+     * Resumo de uma locação pelo código.
+     */
+    @Query(SELECT_RESUMO + "WHERE l.codigo = :codigo")
+    Optional<LocacaoResumo> buscarResumo(@Param("codigo") String codigo);
+
+    /**
+     * Resumos das locações no status informado.
+     */
+    @Query(SELECT_RESUMO + "WHERE l.status = :status")
+    List<LocacaoResumo> listarResumosPorStatus(@Param("status") StatusLocacao status);
+
+    /**
+     * Primeira página dos resumos no status informado, em ordem de código.
+     */
+    @Query(SELECT_RESUMO + "WHERE l.status = :status ORDER BY l.codigo")
+    List<LocacaoResumo> listarPaginaResumosPorStatus(@Param("status") StatusLocacao status, Limit limite);
+
+    /**
+     * Resumos no status informado com código depois do informado, na mesma ordem.
+     */
+    @Query(SELECT_RESUMO + "WHERE l.status = :status AND l.codigo > :codigo ORDER BY l.codigo")
+    List<LocacaoResumo> listarPaginaResumosPorStatusApos(@Param("status") StatusLocacao status,
+            @Param("codigo") String codigo, Limit limite);
+
+    /**
+     * Resumos das locações do cliente.
+     */
+    @Query(SELECT_RESUMO + "WHERE c.cpfOuCnpj = :cpfOuCnpj")
+    List<LocacaoResumo> listarResumosPorCliente(@Param("cpfOuCnpj") String cpfOuCnpj);
 }
@@ -1,19 +1,62 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.ReservaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+import jakarta.persistence.LockModeType;
 
 /**
  * Repositório Spring Data JPA para Reserva.
  */
 @Repository
 public interface ReservaJpaRepository extends JpaRepository<ReservaJpa, String> {
+
+	/**
+	 * Busca uma reserva pelo código já com o cliente, para retirada, alteração e
+	 * cancelamento.
+	 */
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r WHERE r.codigo = :codigo")
+	Optional<ReservaJpa> buscarComCliente(@Param("codigo") String codigo);
+
+	/**
+	 * Busca as reservas dos códigos informados já com os clientes, em uma
+	 * consulta.
+	 */
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r WHERE r.codigo IN :codigos")
+	List<ReservaJpa> buscarPorCodigos(@Param("codigos") Collection<String> codigos);
+
+	/**
+	 * Lê em uma consulta a reserva, com o cliente, e o veículo de uma retirada,
+	 * bloqueando as linhas até o fim da transação. Cada linha traz a
+	 * {@link ReservaJpa} e a {@link VeiculoJpa}; não há linha se uma delas não
+	 * existe.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r, v FROM ReservaJpa r JOIN FETCH r.cliente, VeiculoJpa v " +
+			"WHERE r.codigo = :codigo AND v.placa = :placa")
+	List<Object[]> carregarParaRetirada(@Param("codigo") String codigo, @Param("placa") String placa);
+
+	/**
+	 * Lista todas as reservas já com os clientes.
+	 */
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r")
+	List<ReservaJpa> listarComCliente();
 	
 	/**
 	 * Busca todas as reservas de um cliente específico.
@@ -21,6 +64,7 @@ public interface ReservaJpaRepository extends JpaRepository<ReservaJpa, String>
 	 * @param cpfOuCnpj CPF ou CNPJ do cliente
 	 * @return lista de reservas do cliente
 	 */
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
 	@Query("SELECT r FROM ReservaJpa r WHERE r.cliente.cpfOuCnpj = :cpfOuCnpj ORDER BY r.periodo.retirada DESC")
 	List<ReservaJpa> findByClienteCpfOuCnpj(@Param("cpfOuCnpj") String cpfOuCnpj);
 
@@ -30,7 +74,66 @@ public interface ReservaJpaRepository extends JpaRepository<ReservaJpa, String>
 	 * @param placaVeiculo placa do veículo
 	 * @return lista de reservas do veículo
 	 */
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
 	@Query("SELECT r FROM ReservaJpa r WHERE r.placaVeiculo = :placaVeiculo ORDER BY r.periodo.retirada DESC")
 	List<ReservaJpa> findByPlacaVeiculo(@Param("placaVeiculo") String placaVeiculo);
-}
 
+	/**
+	 * Conta as reservas da categoria no status informado cujo período se sobrepõe a [inicio, fim].
+	 * Usa o índice idx_reserva_categoria_status_periodo.
+	 */
+	@Query("SELECT COUNT(r) FROM ReservaJpa r " +
+			"WHERE r.categoria = :categoria AND r.status = :status " +
+			"AND r.periodo.retirada <= :fim AND r.periodo.devolucao >= :inicio")
+	long contarConflitantes(@Param("categoria") String categoria, @Param("status") StatusReserva status,
+			@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+	/**
+	 * Lista as placas com reserva no status informado cujo período se sobrepõe a [inicio, fim].
+	 */
+	@Query("SELECT DISTINCT r.placaVeiculo FROM ReservaJpa r " +
+			"WHERE r.status = :status AND r.placaVeiculo IS NOT NULL " +
+			"AND r.periodo.retirada <= :fim AND r.periodo.devolucao >= :inicio")
+	List<String> listarPlacasOcupadas(@Param("status") StatusReserva status,
+			@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+	/*
+	 * Paginação por chave: ordem decrescente de (retirada, código), que é única.
+	 * As páginas seguintes partem da chave da última reserva entregue em vez de
+	 * usar OFFSET, então o custo não cresce com a profundidade da página. A
+	 * chave é comparada como tupla, que o banco transforma em um único intervalo
+	 * dos índices idx_reserva_*_retirada_codigo da V14; a mesma condição escrita
+	 * com OR costuma virar uma leitura do índice seguida de filtro.
+	 */
+
+	String ORDEM_PAGINA = " ORDER BY r.periodo.retirada DESC, r.codigo DESC";
+
+	String APOS_CHAVE = "(r.periodo.retirada, r.codigo) < (:retirada, :codigo)";
+
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r" + ORDEM_PAGINA)
+	List<ReservaJpa> listarPagina(Limit limite);
+
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r WHERE " + APOS_CHAVE + ORDEM_PAGINA)
+	List<ReservaJpa> listarPaginaApos(@Param("retirada") LocalDateTime retirada, @Param("codigo") String codigo,
+			Limit limite);
+
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r WHERE r.cliente.cpfOuCnpj = :cpfOuCnpj" + ORDEM_PAGINA)
+	List<ReservaJpa> listarPaginaPorCliente(@Param("cpfOuCnpj") String cpfOuCnpj, Limit limite);
+
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r WHERE r.cliente.cpfOuCnpj = :cpfOuCnpj AND " + APOS_CHAVE + ORDEM_PAGINA)
+	List<ReservaJpa> listarPaginaPorClienteApos(@Param("cpfOuCnpj") String cpfOuCnpj,
+			@Param("retirada") LocalDateTime retirada, @Param("codigo") String codigo, Limit limite);
+
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r WHERE r.placaVeiculo = :placaVeiculo" + ORDEM_PAGINA)
+	List<ReservaJpa> listarPaginaPorVeiculo(@Param("placaVeiculo") String placaVeiculo, Limit limite);
+
+	@EntityGraph(ReservaJpa.GRAFO_COM_CLIENTE)
+	@Query("SELECT r FROM ReservaJpa r WHERE r.placaVeiculo = :placaVeiculo AND " + APOS_CHAVE + ORDEM_PAGINA)
+	List<ReservaJpa> listarPaginaPorVeiculoApos(@Param("placaVeiculo") String placaVeiculo,
+			@Param("retirada") LocalDateTime retirada, @Param("codigo") String codigo, Limit limite);
+}
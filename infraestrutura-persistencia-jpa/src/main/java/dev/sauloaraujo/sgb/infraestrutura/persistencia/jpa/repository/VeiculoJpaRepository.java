@@ -1,12 +1,18 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
 
 /**
@@ -15,22 +21,65 @@ import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
 @Repository
 public interface VeiculoJpaRepository extends JpaRepository<VeiculoJpa, String> {
 
+    /**
+     * Região do cache de consultas com as listas de veículos disponíveis. O
+     * Hibernate descarta os resultados guardados sempre que a tabela VEICULO é
+     * alterada, e os veículos em si vêm da região de {@link VeiculoJpa}.
+     */
+    String REGIAO_DISPONIVEIS = "catalogo-veiculos-disponiveis";
+
     /**
      * Busca veículos disponíveis por cidade e categoria.
-     * Usa query JPQL com função de string para garantir comparação correta.
+     * A cidade é comparada sem diferenciar maiúsculas, como no índice da frota
+     * e nas placas locadas de {@link LocacaoJpaRepository}, e pelo índice
+     * idx_veiculo_cidade_normalizada_categoria_status sobre {@code lower(cidade)}.
+     * A categoria é gravada com o nome do enum, então a comparação é direta.
      */
-    @Query("SELECT v FROM VeiculoJpa v WHERE v.cidade = :cidade " +
-           "AND UPPER(v.categoria) = UPPER(:categoria) AND v.status = 'DISPONIVEL'")
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_DISPONIVEIS) })
+    @Query("SELECT v FROM VeiculoJpa v WHERE lower(v.cidade) = lower(:cidade) " +
+           "AND v.categoria = :categoria AND v.status = 'DISPONIVEL'")
     List<VeiculoJpa> findDisponiveisPorCidadeECategoria(
             @Param("cidade") String cidade,
             @Param("categoria") String categoria);
 
     /**
-     * Busca veículos disponíveis por cidade.
+     * Busca veículos disponíveis por cidade, sem diferenciar maiúsculas.
      */
-    @Query("SELECT v FROM VeiculoJpa v WHERE v.cidade = :cidade AND v.status = 'DISPONIVEL'")
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_DISPONIVEIS) })
+    @Query("SELECT v FROM VeiculoJpa v WHERE lower(v.cidade) = lower(:cidade) AND v.status = 'DISPONIVEL'")
     List<VeiculoJpa> findDisponiveisPorCidade(@Param("cidade") String cidade);
 
+    /*
+     * Paginação por chave dos veículos disponíveis: a cidade, a categoria
+     * opcional, o status e a chave após o cursor vão na consulta, e o banco
+     * devolve só os primeiros da ordem pedida, pelos índices
+     * idx_veiculo_cidade_normalizada_status_placa e
+     * idx_veiculo_cidade_normalizada_status_diaria_placa da V16. A chave
+     * (diária, placa) é comparada como tupla, como nas reservas.
+     */
+
+    String DISPONIVEIS_DA_CIDADE = "SELECT v FROM VeiculoJpa v WHERE lower(v.cidade) = lower(:cidade) "
+            + "AND v.status = 'DISPONIVEL' AND (:categoria IS NULL OR v.categoria = :categoria)";
+
+    @Query(DISPONIVEIS_DA_CIDADE + " ORDER BY v.placa")
+    List<VeiculoJpa> listarDisponiveisPorPlaca(@Param("cidade") String cidade,
+            @Param("categoria") String categoria, Limit limite);
+
+    @Query(DISPONIVEIS_DA_CIDADE + " AND v.placa > :placa ORDER BY v.placa")
+    List<VeiculoJpa> listarDisponiveisPorPlacaApos(@Param("cidade") String cidade,
+            @Param("categoria") String categoria, @Param("placa") String placa, Limit limite);
+
+    @Query(DISPONIVEIS_DA_CIDADE + " ORDER BY v.diaria, v.placa")
+    List<VeiculoJpa> listarDisponiveisPorDiaria(@Param("cidade") String cidade,
+            @Param("categoria") String categoria, Limit limite);
+
+    @Query(DISPONIVEIS_DA_CIDADE + " AND (v.diaria, v.placa) > (:diaria, :placa) ORDER BY v.diaria, v.placa")
+    List<VeiculoJpa> listarDisponiveisPorDiariaApos(@Param("cidade") String cidade,
+            @Param("categoria") String categoria, @Param("diaria") BigDecimal diaria, @Param("placa") String placa,
+            Limit limite);
+
     /**
      * Busca veículos que precisam de manutenção (EM_MANUTENCAO sem data prevista).
      * Esses são veículos que foram enviados para manutenção devido a avarias,
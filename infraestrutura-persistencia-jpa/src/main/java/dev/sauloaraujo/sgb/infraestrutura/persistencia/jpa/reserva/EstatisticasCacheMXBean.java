@@ -0,0 +1,23 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.reserva;
+
+/**
+ * Estatísticas de um cache de reservas, publicadas via JMX em
+ * {@code dev.sauloaraujo.sgb:type=CacheReservas,name=<cache>}.
+ */
+public interface EstatisticasCacheMXBean {
+
+    long getAcertos();
+
+    long getFalhas();
+
+    /** Fração das leituras atendidas pelo cache, entre 0 e 1. */
+    double getTaxaAcerto();
+
+    /** Entradas removidas por tamanho ou por expiração. */
+    long getRemocoes();
+
+    /** Tempo médio das cargas no repositório real, em milissegundos. */
+    double getTempoMedioCargaMilis();
+
+    long getTamanhoEstimado();
+}
@@ -0,0 +1,169 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.reserva;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.api.Trigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Impede duas reservas ativas do mesmo veículo com períodos sobrepostos no
+ * próprio banco.
+ *
+ * <p>
+ * No PostgreSQL a regra é a restrição de exclusão {@value #RESTRICAO}, criada
+ * pela migração V13 sobre a coluna gerada {@code periodo}. O H2 não tem
+ * {@code tsrange} nem restrições de exclusão; nele, um gatilho equivalente é
+ * instalado sobre a tabela {@code RESERVA} assim que o schema está pronto. O
+ * gatilho falha com o mesmo SQLState do PostgreSQL ({@value #SQLSTATE_EXCLUSAO}),
+ * de modo que o repositório trata os dois bancos da mesma forma.
+ * </p>
+ *
+ * <p>
+ * A consulta do gatilho não enxerga as gravações ainda não confirmadas de
+ * outras transações. Para que duas transações não gravem ao mesmo tempo
+ * reservas sobrepostas, o gatilho primeiro bloqueia a única linha da tabela
+ * {@value #TRAVA} até o fim da transação: no H2 as gravações de reservas ativas
+ * com veículo são serializadas, o que basta para desenvolvimento e testes.
+ * </p>
+ */
+@Component
+public class ExclusaoReservaSobreposta {
+
+	public static final String RESTRICAO = "ex_reserva_veiculo_periodo";
+	public static final String SQLSTATE_EXCLUSAO = "23P01";
+
+	private static final Logger log = LoggerFactory.getLogger(ExclusaoReservaSobreposta.class);
+	private static final String GATILHO = "trg_reserva_veiculo_periodo";
+	private static final String TRAVA = "reserva_veiculo_trava";
+
+	private final DataSource dataSource;
+
+	/**
+	 * A fábrica de entidades é exigida apenas para que o schema já tenha sido
+	 * gerado pelo Hibernate quando o gatilho for instalado.
+	 */
+	public ExclusaoReservaSobreposta(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+		this.dataSource = dataSource;
+	}
+
+	/**
+	 * Indica se a falha de integridade foi causada por uma reserva sobreposta.
+	 */
+	public static boolean violadaPor(DataIntegrityViolationException excecao) {
+		for (Throwable causa = excecao; causa != null; causa = causa.getCause()) {
+			if (causa instanceof SQLException sql && SQLSTATE_EXCLUSAO.equals(sql.getSQLState())) {
+				return true;
+			}
+			var mensagem = causa.getMessage();
+			if (mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(RESTRICAO)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@EventListener(ContextRefreshedEvent.class)
+	public void instalarNoH2() throws SQLException {
+		try (var conexao = dataSource.getConnection()) {
+			if (!"H2".equals(conexao.getMetaData().getDatabaseProductName())) {
+				return;
+			}
+			try (var tabelas = conexao.getMetaData().getTables(null, null, "RESERVA", null)) {
+				if (!tabelas.next()) {
+					return;
+				}
+			}
+			try (var comando = conexao.createStatement()) {
+				comando.execute("CREATE TABLE IF NOT EXISTS " + TRAVA + " (id INT PRIMARY KEY)");
+				comando.execute("MERGE INTO " + TRAVA + " KEY (id) VALUES (1)");
+				comando.execute("CREATE TRIGGER IF NOT EXISTS " + GATILHO
+						+ " BEFORE INSERT, UPDATE ON RESERVA FOR EACH ROW CALL '" + GatilhoH2.class.getName() + "'");
+			}
+			log.debug("Gatilho {} instalado no H2 no lugar da restrição {}", GATILHO, RESTRICAO);
+		}
+	}
+
+	/**
+	 * Gatilho do H2 que rejeita a gravação de uma reserva ativa cujo período
+	 * (fechado nas duas pontas) cruza o de outra reserva ativa do mesmo veículo.
+	 * A consulta só é feita depois de obtida a trava, e portanto enxerga as
+	 * reservas confirmadas por quem a detinha.
+	 */
+	public static class GatilhoH2 implements Trigger {
+
+		private int colunaCodigo;
+		private int colunaPlaca;
+		private int colunaStatus;
+		private int colunaRetirada;
+		private int colunaDevolucao;
+		private String consulta;
+		private String travar;
+
+		@Override
+		public void init(Connection conexao, String schema, String gatilho, String tabela, boolean antes, int tipo)
+				throws SQLException {
+			Map<String, Integer> posicoes = new HashMap<>();
+			try (var colunas = conexao.getMetaData().getColumns(null, schema, tabela, null)) {
+				while (colunas.next()) {
+					posicoes.put(colunas.getString("COLUMN_NAME").toLowerCase(Locale.ROOT),
+							colunas.getInt("ORDINAL_POSITION") - 1);
+				}
+			}
+			colunaCodigo = posicao(posicoes, "codigo");
+			colunaPlaca = posicao(posicoes, "placa_veiculo");
+			colunaStatus = posicao(posicoes, "status");
+			colunaRetirada = posicao(posicoes, "data_retirada");
+			colunaDevolucao = posicao(posicoes, "data_devolucao");
+			consulta = "SELECT codigo FROM \"" + schema + "\".\"" + tabela + "\""
+					+ " WHERE placa_veiculo = ? AND status = 'ATIVA' AND codigo <> ?"
+					+ " AND data_retirada <= ? AND data_devolucao >= ? LIMIT 1";
+			travar = "SELECT id FROM \"" + schema + "\"." + TRAVA.toUpperCase(Locale.ROOT) + " WHERE id = 1 FOR UPDATE";
+		}
+
+		@Override
+		public void fire(Connection conexao, Object[] anterior, Object[] nova) throws SQLException {
+			var placa = nova[colunaPlaca];
+			if (placa == null || !"ATIVA".equals(nova[colunaStatus])) {
+				return;
+			}
+			try (var trava = conexao.prepareStatement(travar)) {
+				trava.executeQuery().close();
+			}
+			try (PreparedStatement comando = conexao.prepareStatement(consulta)) {
+				comando.setObject(1, placa);
+				comando.setObject(2, nova[colunaCodigo]);
+				comando.setObject(3, nova[colunaDevolucao]);
+				comando.setObject(4, nova[colunaRetirada]);
+				try (var resultado = comando.executeQuery()) {
+					if (resultado.next()) {
+						throw new SQLException("A reserva " + nova[colunaCodigo] + " viola " + RESTRICAO
+								+ ": o veículo " + placa + " já tem a reserva ativa " + resultado.getString(1)
+								+ " no período", SQLSTATE_EXCLUSAO);
+					}
+				}
+			}
+		}
+
+		private static int posicao(Map<String, Integer> posicoes, String coluna) throws SQLException {
+			var posicao = posicoes.get(coluna);
+			if (posicao == null) {
+				throw new SQLException("Coluna " + coluna + " não encontrada na tabela de reservas");
+			}
+			return posicao;
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.reserva;
+
+import java.math.BigDecimal;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.StatusCliente;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.RetiradaInfo;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Credenciais;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+
+/**
+ * Estado de uma reserva guardado no cache. Só contém valores imutáveis; cada
+ * leitura monta uma {@link Reserva} nova, de modo que quem a altera não afeta
+ * o cache nem as outras threads.
+ */
+record ReservaInstantanea(String codigo, CategoriaCodigo categoria, String cidadeRetirada, PeriodoLocacao periodo,
+        BigDecimal valorEstimado, StatusReserva status, String placaVeiculo, RetiradaInfo retiradaInfo, Long versao,
+        String clienteNome, String clienteCpfOuCnpj, String clienteCnh, String clienteEmail,
+        Credenciais clienteCredenciais, StatusCliente clienteStatus) {
+
+    static ReservaInstantanea de(Reserva reserva) {
+        var cliente = reserva.getCliente();
+        return new ReservaInstantanea(reserva.getCodigo(), reserva.getCategoria(), reserva.getCidadeRetirada(),
+                reserva.getPeriodo(), reserva.getValorEstimado(), reserva.getStatus(), reserva.getPlacaVeiculo(),
+                reserva.getRetiradaInfo(), reserva.getVersao(), cliente.getNome(), cliente.getCpfOuCnpj(),
+                cliente.getCnh(), cliente.getEmail(), cliente.getCredenciais(), cliente.getStatus());
+    }
+
+    Reserva paraReserva() {
+        var cliente = new Cliente(clienteNome, clienteCpfOuCnpj, clienteCnh, clienteEmail, clienteCredenciais,
+                clienteStatus);
+        var reserva = new Reserva(codigo, categoria, cidadeRetirada, periodo, valorEstimado, status, cliente,
+                placaVeiculo, retiradaInfo);
+        reserva.restaurarVersao(versao);
+        return reserva;
+    }
+}
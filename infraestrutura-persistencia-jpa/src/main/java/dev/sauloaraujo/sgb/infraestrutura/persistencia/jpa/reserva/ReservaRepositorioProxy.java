@@ -1,33 +1,168 @@
 package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.reserva;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
 import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.BarramentoInvalidacao;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
+/**
+ * Proxy de cache do {@link ReservaRepositorio}: atende a busca por código e as
+ * listagens por cliente e por veículo sem ir ao banco enquanto as entradas são
+ * válidas.
+ *
+ * <p>
+ * Os caches são do Caffeine, limitados em quantidade (com a política de
+ * admissão W-TinyLFU) e com expiração após a escrita. Guardam
+ * {@link ReservaInstantanea instantâneos} imutáveis e cada leitura devolve
+ * reservas novas. A carga de uma chave ausente é feita uma única vez, mesmo com
+ * leituras concorrentes, e uma invalidação que chega durante a carga só
+ * acontece depois dela, descartando o valor carregado.
+ * </p>
+ *
+ * <p>
+ * Salvar invalida a reserva e as listagens do seu cliente e do seu veículo
+ * antes e depois da gravação e, havendo transação, de novo ao seu término, seja
+ * commit ou rollback. Até lá, as chaves gravadas na transação são lidas direto
+ * do repositório real, para que um estado ainda não confirmado nunca entre no
+ * cache.
+ * </p>
+ *
+ * <p>
+ * As chaves gravadas também são publicadas no {@link BarramentoInvalidacao},
+ * que as leva, após o commit, aos caches dos outros nós.
+ * </p>
+ */
 @Repository
 @Primary
 public class ReservaRepositorioProxy implements ReservaRepositorio {
 
+    private static final String DOMINIO_JMX = "dev.sauloaraujo.sgb:type=CacheReservas,name=";
+    private static final String CACHE_POR_CODIGO = "reservas.porCodigo";
+    private static final String CACHE_POR_CLIENTE = "reservas.porCliente";
+    private static final String CACHE_POR_VEICULO = "reservas.porVeiculo";
+
     private final ReservaRepositorio reservaRepositorioReal;
-    private final Map<String, Reserva> cache = new ConcurrentHashMap<>();
+    private final BarramentoInvalidacao barramentoInvalidacao;
+    private final Cache<String, ReservaInstantanea> porCodigo;
+    private final Cache<String, List<ReservaInstantanea>> porCliente;
+    private final Cache<String, List<ReservaInstantanea>> porVeiculo;
 
-    public ReservaRepositorioProxy(@Qualifier("reservaRepositorioReal") ReservaRepositorio reservaRepositorioReal) {
+    public ReservaRepositorioProxy(@Qualifier("reservaRepositorioReal") ReservaRepositorio reservaRepositorioReal,
+            BarramentoInvalidacao barramentoInvalidacao,
+            @Value("${sgb.persistencia.cache-reservas.maximo:10000}") long maximo,
+            @Value("${sgb.persistencia.cache-reservas.maximo-listagens:2000}") long maximoListagens,
+            @Value("${sgb.persistencia.cache-reservas.expiracao:10m}") Duration expiracao) {
         this.reservaRepositorioReal = reservaRepositorioReal;
+        this.porCodigo = criarCache(maximo, expiracao);
+        this.porCliente = criarCache(maximoListagens, expiracao);
+        this.porVeiculo = criarCache(maximoListagens, expiracao);
+        this.barramentoInvalidacao = barramentoInvalidacao;
+        barramentoInvalidacao.registrar(CACHE_POR_CODIGO, porCodigo::invalidate, porCodigo::invalidateAll);
+        barramentoInvalidacao.registrar(CACHE_POR_CLIENTE, porCliente::invalidate, porCliente::invalidateAll);
+        barramentoInvalidacao.registrar(CACHE_POR_VEICULO, porVeiculo::invalidate, porVeiculo::invalidateAll);
+    }
+
+    private static <V> Cache<String, V> criarCache(long maximo, Duration expiracao) {
+        return Caffeine.newBuilder().maximumSize(maximo).expireAfterWrite(expiracao).recordStats().build();
+    }
+
+    @PostConstruct
+    void publicarEstatisticas() throws JMException {
+        var servidor = ManagementFactory.getPlatformMBeanServer();
+        for (var cache : caches().entrySet()) {
+            var nome = new ObjectName(DOMINIO_JMX + cache.getKey());
+            if (servidor.isRegistered(nome)) {
+                servidor.unregisterMBean(nome);
+            }
+            servidor.registerMBean(new Estatisticas(cache.getValue()), nome);
+        }
+    }
+
+    @PreDestroy
+    void retirarEstatisticas() throws JMException {
+        var servidor = ManagementFactory.getPlatformMBeanServer();
+        for (var nome : caches().keySet()) {
+            var objeto = new ObjectName(DOMINIO_JMX + nome);
+            if (servidor.isRegistered(objeto)) {
+                servidor.unregisterMBean(objeto);
+            }
+        }
+    }
+
+    /**
+     * Estatísticas de cada cache, pelo nome usado no JMX.
+     */
+    public Map<String, EstatisticasCacheMXBean> estatisticas() {
+        return caches().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, cache -> new Estatisticas(cache.getValue())));
+    }
+
+    private Map<String, Cache<String, ?>> caches() {
+        return Map.of("porCodigo", porCodigo, "porCliente", porCliente, "porVeiculo", porVeiculo);
     }
 
     @Override
     public void salvar(Reserva reserva) {
-        reservaRepositorioReal.salvar(reserva);
-        if (reserva != null && reserva.getCodigo() != null) {
-            cache.put(reserva.getCodigo(), reserva);
-            System.out.println("[PROXY] Atualizando cache após salvar reserva " + reserva.getCodigo());
+        registrarGravacao(reserva);
+        invalidar(reserva.getCodigo(), reserva.getCliente().getCpfOuCnpj(), reserva.getPlacaVeiculo());
+        try {
+            reservaRepositorioReal.salvar(reserva);
+        } finally {
+            invalidar(reserva.getCodigo(), reserva.getCliente().getCpfOuCnpj(), reserva.getPlacaVeiculo());
+        }
+        barramentoInvalidacao.publicar(CACHE_POR_CODIGO, reserva.getCodigo());
+        barramentoInvalidacao.publicar(CACHE_POR_CLIENTE, reserva.getCliente().getCpfOuCnpj());
+        barramentoInvalidacao.publicar(CACHE_POR_VEICULO, reserva.getPlacaVeiculo());
+    }
+
+    @Override
+    public void salvarTodas(Collection<Reserva> reservas) {
+        for (var reserva : reservas) {
+            registrarGravacao(reserva);
+            invalidar(reserva.getCodigo(), reserva.getCliente().getCpfOuCnpj(), reserva.getPlacaVeiculo());
+        }
+        try {
+            reservaRepositorioReal.salvarTodas(reservas);
+        } finally {
+            for (var reserva : reservas) {
+                invalidar(reserva.getCodigo(), reserva.getCliente().getCpfOuCnpj(), reserva.getPlacaVeiculo());
+            }
+        }
+        for (var reserva : reservas) {
+            barramentoInvalidacao.publicar(CACHE_POR_CODIGO, reserva.getCodigo());
+            barramentoInvalidacao.publicar(CACHE_POR_CLIENTE, reserva.getCliente().getCpfOuCnpj());
+            barramentoInvalidacao.publicar(CACHE_POR_VEICULO, reserva.getPlacaVeiculo());
         }
     }
 
@@ -36,35 +171,181 @@ public class ReservaRepositorioProxy implements ReservaRepositorio {
         if (codigo == null) {
             return Optional.empty();
         }
-
-        var emCache = cache.get(codigo);
-        if (emCache != null) {
-            System.out.println("[PROXY] Retornando do Cache para código " + codigo);
-            return Optional.of(emCache);
+        var gravacoes = gravacoesDaTransacao();
+        if (gravacoes != null && gravacoes.codigos.contains(codigo)) {
+            return reservaRepositorioReal.buscarPorCodigo(codigo);
         }
 
-        var resultado = reservaRepositorioReal.buscarPorCodigo(codigo);
-        resultado.ifPresent(reserva -> {
-            cache.put(codigo, reserva);
-            System.out.println("[PROXY] Salvando no Cache reserva " + codigo);
-        });
+        var instantanea = porCodigo.get(codigo,
+                chave -> reservaRepositorioReal.buscarPorCodigo(chave).map(ReservaInstantanea::de).orElse(null));
+        return Optional.ofNullable(instantanea).map(ReservaInstantanea::paraReserva);
+    }
 
-        return resultado;
+    /**
+     * Lê sempre do repositório real: quem busca em lote, como a expiração, quer
+     * o estado gravado, e o lote encheria o cache de reservas lidas uma vez.
+     */
+    @Override
+    public List<Reserva> buscarPorCodigos(Collection<String> codigos) {
+        return reservaRepositorioReal.buscarPorCodigos(codigos);
     }
 
     @Override
-    public java.util.List<Reserva> listar() {
+    public List<Reserva> listar() {
         return reservaRepositorioReal.listar();
     }
-    
+
     @Override
-    public java.util.List<Reserva> listarPorCliente(String cpfOuCnpj) {
-        return reservaRepositorioReal.listarPorCliente(cpfOuCnpj);
+    public List<Reserva> listarPorCliente(String cpfOuCnpj) {
+        var gravacoes = gravacoesDaTransacao();
+        var gravado = gravacoes != null && gravacoes.clientes.contains(cpfOuCnpj);
+        return listarEmCache(porCliente, cpfOuCnpj, gravado,
+                () -> reservaRepositorioReal.listarPorCliente(cpfOuCnpj));
     }
-    
+
     @Override
-    public java.util.List<Reserva> listarPorVeiculo(String placaVeiculo) {
-        return reservaRepositorioReal.listarPorVeiculo(placaVeiculo);
+    public List<Reserva> listarPorVeiculo(String placaVeiculo) {
+        var gravacoes = gravacoesDaTransacao();
+        var gravado = gravacoes != null && gravacoes.veiculos.contains(placaVeiculo);
+        return listarEmCache(porVeiculo, placaVeiculo, gravado,
+                () -> reservaRepositorioReal.listarPorVeiculo(placaVeiculo));
+    }
+
+    private static List<Reserva> listarEmCache(Cache<String, List<ReservaInstantanea>> cache, String chave,
+            boolean gravadoNaTransacao, Supplier<List<Reserva>> carga) {
+        if (chave == null || gravadoNaTransacao) {
+            return carga.get();
+        }
+        var instantaneas = cache.get(chave,
+                ignorada -> carga.get().stream().map(ReservaInstantanea::de).toList());
+        return instantaneas.stream().map(ReservaInstantanea::paraReserva).collect(Collectors.toList());
+    }
+
+    @Override
+    public Pagina<Reserva> listar(PedidoPagina pedido) {
+        return reservaRepositorioReal.listar(pedido);
+    }
+
+    @Override
+    public Pagina<Reserva> listarPorCliente(String cpfOuCnpj, PedidoPagina pedido) {
+        return reservaRepositorioReal.listarPorCliente(cpfOuCnpj, pedido);
+    }
+
+    @Override
+    public Pagina<Reserva> listarPorVeiculo(String placaVeiculo, PedidoPagina pedido) {
+        return reservaRepositorioReal.listarPorVeiculo(placaVeiculo, pedido);
+    }
+
+    @Override
+    public Stream<Reserva> percorrer() {
+        return reservaRepositorioReal.percorrer();
+    }
+
+    @Override
+    public Stream<Reserva> percorrerAtivas() {
+        return reservaRepositorioReal.percorrerAtivas();
     }
-}
 
+    @Override
+    public long contarConflitantes(CategoriaCodigo categoria, PeriodoLocacao periodo) {
+        return reservaRepositorioReal.contarConflitantes(categoria, periodo);
+    }
+
+    @Override
+    public Set<String> listarPlacasOcupadas(PeriodoLocacao periodo) {
+        return reservaRepositorioReal.listarPlacasOcupadas(periodo);
+    }
+
+    private void invalidar(String codigo, String cpfOuCnpj, String placaVeiculo) {
+        porCodigo.invalidate(codigo);
+        porCliente.invalidate(cpfOuCnpj);
+        porVeiculo.invalidate(placaVeiculo);
+    }
+
+    /**
+     * Chaves gravadas na transação corrente; {@code null} fora de transação ou
+     * antes da primeira gravação.
+     */
+    private Gravacoes gravacoesDaTransacao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return (Gravacoes) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private void registrarGravacao(Reserva reserva) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        var gravacoes = gravacoesDaTransacao();
+        if (gravacoes == null) {
+            gravacoes = new Gravacoes();
+            TransactionSynchronizationManager.bindResource(this, gravacoes);
+            TransactionSynchronizationManager.registerSynchronization(gravacoes);
+        }
+        gravacoes.registrar(reserva);
+    }
+
+    /**
+     * Invalida as chaves gravadas quando a transação termina. No rollback isso
+     * descarta o que uma leitura concorrente tenha carregado durante a
+     * transação; no commit, o que ainda estivesse com o estado anterior.
+     */
+    private final class Gravacoes implements TransactionSynchronization {
+        private final Set<String> codigos = new HashSet<>();
+        private final Set<String> clientes = new HashSet<>();
+        private final Set<String> veiculos = new HashSet<>();
+
+        void registrar(Reserva reserva) {
+            codigos.add(reserva.getCodigo());
+            clientes.add(reserva.getCliente().getCpfOuCnpj());
+            veiculos.add(reserva.getPlacaVeiculo());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ReservaRepositorioProxy.this);
+            porCodigo.invalidateAll(codigos);
+            porCliente.invalidateAll(clientes);
+            porVeiculo.invalidateAll(veiculos);
+        }
+    }
+
+    private static final class Estatisticas implements EstatisticasCacheMXBean {
+        private final Cache<String, ?> cache;
+
+        Estatisticas(Cache<String, ?> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public long getAcertos() {
+            return cache.stats().hitCount();
+        }
+
+        @Override
+        public long getFalhas() {
+            return cache.stats().missCount();
+        }
+
+        @Override
+        public double getTaxaAcerto() {
+            return cache.stats().hitRate();
+        }
+
+        @Override
+        public long getRemocoes() {
+            return cache.stats().evictionCount();
+        }
+
+        @Override
+        public double getTempoMedioCargaMilis() {
+            return cache.stats().averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        @Override
+        public long getTamanhoEstimado() {
+            return cache.estimatedSize();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+-- ============================================================
+-- Migração V10: Índices para consultas de conflito por período
+-- ============================================================
+
+-- Contagem de reservas ativas por categoria que se sobrepõem a um período
+-- (WHERE categoria = ? AND status = ? AND data_retirada <= ? AND data_devolucao >= ?)
+CREATE INDEX IF NOT EXISTS idx_reserva_categoria_status_periodo
+    ON RESERVA(categoria, status, data_retirada, data_devolucao);
+
+-- Placas com reserva ativa em um período
+CREATE INDEX IF NOT EXISTS idx_reserva_status_periodo_placa
+    ON RESERVA(status, data_retirada, data_devolucao, placa_veiculo);
+
+-- Locações por status, cobrindo a junção com a reserva e a placa do veículo
+CREATE INDEX IF NOT EXISTS idx_locacao_status_reserva_veiculo
+    ON LOCACAO(status, reserva_codigo, veiculo_placa);
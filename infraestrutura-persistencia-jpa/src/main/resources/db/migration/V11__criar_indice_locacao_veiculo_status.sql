@@ -0,0 +1,9 @@
+-- ============================================================
+-- Migração V11: Índice para placas locadas por cidade/período
+-- ============================================================
+
+-- A consulta do catálogo parte do veículo (cidade/categoria, já cobertos por
+-- idx_veiculo_cidade_categoria_status) e junta com as locações do veículo no
+-- status informado; este índice atende a junção sem ler a tabela LOCACAO.
+CREATE INDEX IF NOT EXISTS idx_locacao_veiculo_status_reserva
+    ON LOCACAO(veiculo_placa, status, reserva_codigo);
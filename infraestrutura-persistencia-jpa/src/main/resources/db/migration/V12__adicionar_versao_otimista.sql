@@ -0,0 +1,10 @@
+-- ============================================================
+-- Migração V12: Versão para controle otimista de concorrência
+-- ============================================================
+
+-- Cada gravação de reserva, locação ou veículo confere e incrementa a versão;
+-- uma gravação feita sobre uma versão desatualizada é rejeitada em vez de
+-- sobrescrever silenciosamente a alteração concorrente.
+ALTER TABLE RESERVA ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE LOCACAO ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE VEICULO ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
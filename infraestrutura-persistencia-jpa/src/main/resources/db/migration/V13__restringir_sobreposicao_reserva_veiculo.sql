@@ -0,0 +1,19 @@
+-- ============================================================
+-- Migração V13: Exclusão de reservas sobrepostas para o mesmo veículo
+-- ============================================================
+
+-- O operador de igualdade em VARCHAR dentro de um índice GiST vem do btree_gist.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Período da reserva como intervalo fechado nas duas pontas, como na regra de
+-- sobreposição do domínio (retirada <= devolucao' AND devolucao >= retirada').
+ALTER TABLE RESERVA ADD COLUMN periodo tsrange
+    GENERATED ALWAYS AS (tsrange(data_retirada, data_devolucao, '[]')) STORED;
+
+-- Duas reservas ativas do mesmo veículo não podem ter períodos que se cruzam.
+-- Reservas sem placa atribuída ficam de fora (NULL nunca é igual a NULL).
+-- Falha se já houver reservas ativas sobrepostas; elas precisam ser resolvidas
+-- antes de aplicar esta migração.
+ALTER TABLE RESERVA ADD CONSTRAINT ex_reserva_veiculo_periodo
+    EXCLUDE USING gist (placa_veiculo WITH =, periodo WITH &&)
+    WHERE (status = 'ATIVA');
@@ -0,0 +1,21 @@
+-- ============================================================
+-- Migração V14: Índices para a paginação por chave das listagens
+-- ============================================================
+
+-- Reservas em ordem decrescente de (data_retirada, codigo); o B-tree é lido de
+-- trás para frente a partir da chave da última reserva entregue
+CREATE INDEX IF NOT EXISTS idx_reserva_retirada_codigo
+    ON RESERVA(data_retirada, codigo);
+
+-- Reservas do cliente na mesma ordem
+CREATE INDEX IF NOT EXISTS idx_reserva_cliente_retirada_codigo
+    ON RESERVA(cliente_cpf_cnpj, data_retirada, codigo);
+
+-- Reservas do veículo na mesma ordem
+CREATE INDEX IF NOT EXISTS idx_reserva_placa_retirada_codigo
+    ON RESERVA(placa_veiculo, data_retirada, codigo);
+
+-- Locações de um status em ordem de código (clientes e locações sem filtro
+-- usam as chaves primárias)
+CREATE INDEX IF NOT EXISTS idx_locacao_status_codigo
+    ON LOCACAO(status, codigo);
@@ -0,0 +1,11 @@
+-- ============================================================
+-- Migração V15: Cidade do veículo comparada sem diferenciar maiúsculas
+-- ============================================================
+
+-- As buscas de veículos disponíveis e de placas locadas comparam
+-- lower(cidade), como o índice da frota em memória; o índice passa a ser sobre
+-- a expressão para continuar atendendo essas consultas
+DROP INDEX IF EXISTS idx_veiculo_cidade_categoria_status;
+
+CREATE INDEX IF NOT EXISTS idx_veiculo_cidade_normalizada_categoria_status
+    ON VEICULO(lower(cidade), categoria, status);
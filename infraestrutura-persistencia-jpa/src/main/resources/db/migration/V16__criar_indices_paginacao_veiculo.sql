@@ -0,0 +1,13 @@
+-- ============================================================
+-- Migração V16: Índices para a paginação dos veículos disponíveis
+-- ============================================================
+
+-- Veículos disponíveis da cidade em ordem de placa, a partir da placa do
+-- cursor
+CREATE INDEX IF NOT EXISTS idx_veiculo_cidade_normalizada_status_placa
+    ON VEICULO(lower(cidade), status, placa);
+
+-- Veículos disponíveis da cidade em ordem de (diaria, placa), a partir da
+-- chave do cursor
+CREATE INDEX IF NOT EXISTS idx_veiculo_cidade_normalizada_status_diaria_placa
+    ON VEICULO(lower(cidade), status, diaria, placa);
@@ -0,0 +1,228 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.BarramentoInvalidacao;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.CanalInvalidacao;
+
+/**
+ * Invalidação entre nós: um segundo {@link BarramentoInvalidacao} sobre o mesmo
+ * canal faz o papel de outro nó da aplicação.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Barramento de invalidação")
+class BarramentoInvalidacaoTest {
+
+	private static final String POR_CODIGO = "reservas.porCodigo";
+	private static final Duration ESPERA = Duration.ofSeconds(5);
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	@Qualifier("reservaRepositorioReal")
+	private ReservaRepositorio reservaRepositorioReal;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private CanalInvalidacao canalInvalidacao;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private BarramentoInvalidacao outroNo;
+	private final Set<String> removidasNoOutroNo = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger limpezasNoOutroNo = new AtomicInteger();
+	private Reserva reserva;
+
+	@BeforeEach
+	void preparar() {
+		outroNo = new BarramentoInvalidacao(canalInvalidacao, Duration.ofMillis(20), 100);
+		outroNo.registrar(POR_CODIGO, removidasNoOutroNo::add, limpezasNoOutroNo::incrementAndGet);
+
+		var sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		var documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		var cliente = new Cliente("Cliente " + sufixo, documento, documento, "nos" + sufixo + "@email.com",
+				"nos." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+		var placa = "N" + sufixo;
+		veiculoRepositorio.salvar(new Veiculo(placa, "Onix", CategoriaCodigo.ECONOMICO, "Caruaru",
+				new BigDecimal("110.00"), StatusVeiculo.DISPONIVEL));
+		var retirada = LocalDateTime.of(2027, 3, 1, 10, 0);
+		reserva = new Reserva(UUID.randomUUID().toString(), CategoriaCodigo.ECONOMICO, "Caruaru",
+				new PeriodoLocacao(retirada, retirada.plusDays(2)), new BigDecimal("220.00"), StatusReserva.ATIVA,
+				cliente, placa);
+		reservaRepositorio.salvar(reserva);
+
+		// Fora de transação a gravação é publicada de imediato
+		aguardar(() -> removidasNoOutroNo.contains(reserva.getCodigo()));
+		removidasNoOutroNo.clear();
+	}
+
+	@AfterEach
+	void encerrar() throws InterruptedException {
+		outroNo.close();
+	}
+
+	@Test
+	@DisplayName("Deve invalidar a reserva no outro nó após o commit")
+	void deveInvalidarNoOutroNoAposCommit() {
+		var codigo = reserva.getCodigo();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			var lida = reservaRepositorio.buscarPorCodigo(codigo).orElseThrow();
+			lida.cancelar();
+			reservaRepositorio.salvar(lida);
+			assertFalse(removidasNoOutroNo.contains(codigo), "Invalidação enviada antes do commit");
+		});
+
+		aguardar(() -> removidasNoOutroNo.contains(codigo));
+	}
+
+	@Test
+	@DisplayName("Não deve enviar nada quando a transação é desfeita")
+	void naoDeveEnviarAoDesfazer() throws InterruptedException {
+		var codigo = reserva.getCodigo();
+
+		assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+			var lida = reservaRepositorio.buscarPorCodigo(codigo).orElseThrow();
+			lida.cancelar();
+			reservaRepositorio.salvar(lida);
+			throw new IllegalStateException("Falha depois de salvar");
+		}));
+
+		Thread.sleep(300);
+		assertFalse(removidasNoOutroNo.contains(codigo));
+	}
+
+	@Test
+	@DisplayName("Deve descartar do cache local a reserva gravada por outro nó")
+	void deveDescartarGravacaoDeOutroNo() {
+		var codigo = reserva.getCodigo();
+		assertEquals(StatusReserva.ATIVA, reservaRepositorio.buscarPorCodigo(codigo).orElseThrow().getStatus());
+
+		// Outro nó grava direto no banco, sem passar pelo cache deste nó
+		var gravada = reservaRepositorioReal.buscarPorCodigo(codigo).orElseThrow();
+		gravada.cancelar();
+		reservaRepositorioReal.salvar(gravada);
+		assertEquals(StatusReserva.ATIVA, reservaRepositorio.buscarPorCodigo(codigo).orElseThrow().getStatus());
+
+		outroNo.publicar(POR_CODIGO, codigo);
+
+		aguardar(() -> reservaRepositorio.buscarPorCodigo(codigo).orElseThrow()
+				.getStatus() == StatusReserva.CANCELADA);
+	}
+
+	@Test
+	@DisplayName("Deve agrupar uma rajada de gravações em poucas mensagens")
+	void deveAgruparRajada() throws InterruptedException {
+		var publicador = new BarramentoInvalidacao(canalInvalidacao, Duration.ofMillis(200), 20_000);
+		try {
+			limpezasNoOutroNo.set(0);
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int indice = 0; indice < 5_000; indice++) {
+					publicador.publicar(POR_CODIGO, "rajada-" + indice);
+					publicador.publicar(POR_CODIGO, "rajada-" + indice);
+				}
+			});
+
+			aguardar(() -> removidasNoOutroNo.size() == 5_000);
+			assertTrue(publicador.mensagensEnviadas() <= 25,
+					"Mensagens enviadas: " + publicador.mensagensEnviadas());
+			assertEquals(0, limpezasNoOutroNo.get());
+
+			var enviadasAntes = outroNo.mensagensEnviadas();
+			for (int indice = 0; indice < 500; indice++) {
+				outroNo.publicar(POR_CODIGO, "excesso-" + indice);
+			}
+			outroNo.close();
+			assertEquals(enviadasAntes + 1, outroNo.mensagensEnviadas());
+		} finally {
+			publicador.close();
+		}
+	}
+
+	@Test
+	@DisplayName("Deve manter as chaves pendentes e reenviar quando o canal falha")
+	void deveReenviarAposFalhaDoCanal() throws InterruptedException {
+		var falhas = new AtomicInteger(2);
+		var instavel = new CanalInvalidacao() {
+			@Override
+			public void enviar(List<String> mensagens) {
+				if (falhas.getAndDecrement() > 0) {
+					throw new IllegalStateException("Canal fora do ar");
+				}
+				canalInvalidacao.enviar(mensagens);
+			}
+
+			@Override
+			public void ouvir(Receptor receptor) {
+				canalInvalidacao.ouvir(receptor);
+			}
+		};
+		var publicador = new BarramentoInvalidacao(instavel, Duration.ofMillis(20), 100);
+		try {
+			limpezasNoOutroNo.set(0);
+			publicador.publicar(POR_CODIGO, "instavel-1");
+			publicador.publicar(POR_CODIGO, "instavel-2");
+
+			aguardar(() -> falhas.get() < 0);
+			aguardar(() -> removidasNoOutroNo.containsAll(Set.of("instavel-1", "instavel-2")));
+			assertEquals(0, publicador.pendentes());
+			assertEquals(0, limpezasNoOutroNo.get());
+		} finally {
+			publicador.close();
+		}
+	}
+
+	private static void aguardar(BooleanSupplier condicao) {
+		var limite = System.nanoTime() + ESPERA.toNanos();
+		while (!condicao.getAsBoolean()) {
+			if (System.nanoTime() > limite) {
+				fail("Condição não atendida em " + ESPERA);
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.management.ObjectName;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.BarramentoInvalidacao;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.CanalInvalidacaoLocal;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.reserva.ReservaRepositorioProxy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cache do {@link ReservaRepositorioProxy}: leituras repetidas não vão ao banco,
+ * cada leitura recebe uma cópia, as gravações invalidam as entradas afetadas e
+ * os caches respeitam o limite de tamanho.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Cache de reservas")
+class CacheReservasTest {
+
+	private static final int QUANTIDADE = 3;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	@Qualifier("reservaRepositorioReal")
+	private ReservaRepositorio reservaRepositorioReal;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Cliente cliente;
+	private String placa;
+	private final List<Reserva> reservas = new ArrayList<>();
+
+	@BeforeEach
+	void preparar() {
+		var sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		var documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		cliente = new Cliente("Cliente " + sufixo, documento, documento, "cache" + sufixo + "@email.com",
+				"cache." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+		placa = "Q" + sufixo;
+		veiculoRepositorio.salvar(new Veiculo(placa, "Polo", CategoriaCodigo.ECONOMICO, "Garanhuns",
+				new BigDecimal("120.00"), StatusVeiculo.DISPONIVEL));
+
+		reservas.clear();
+		for (int indice = 0; indice < QUANTIDADE; indice++) {
+			reservas.add(novaReserva(indice));
+		}
+	}
+
+	@Test
+	@DisplayName("Deve servir a reserva do cache com uma cópia nova a cada leitura")
+	void deveServirCopiasDoCache() {
+		var codigo = reservas.get(0).getCodigo();
+		reservaRepositorio.buscarPorCodigo(codigo).orElseThrow();
+
+		var primeira = semConsultas(() -> reservaRepositorio.buscarPorCodigo(codigo).orElseThrow());
+		var segunda = semConsultas(() -> reservaRepositorio.buscarPorCodigo(codigo).orElseThrow());
+
+		assertNotSame(primeira, segunda);
+		assertNotSame(primeira.getCliente(), segunda.getCliente());
+		primeira.cancelar();
+		assertEquals(StatusReserva.ATIVA, segunda.getStatus());
+		assertEquals(StatusReserva.ATIVA, reservaRepositorio.buscarPorCodigo(codigo).orElseThrow().getStatus());
+		assertEquals(reservas.get(0).getVersao(), segunda.getVersao());
+	}
+
+	@Test
+	@DisplayName("Deve guardar as listagens por cliente e por veículo e invalidá-las ao salvar")
+	void deveInvalidarListagensAoSalvar() {
+		var documento = cliente.getCpfOuCnpj();
+		assertEquals(QUANTIDADE, reservaRepositorio.listarPorCliente(documento).size());
+		assertEquals(QUANTIDADE, reservaRepositorio.listarPorVeiculo(placa).size());
+		assertEquals(QUANTIDADE, semConsultas(() -> reservaRepositorio.listarPorCliente(documento)).size());
+		assertEquals(QUANTIDADE, semConsultas(() -> reservaRepositorio.listarPorVeiculo(placa)).size());
+
+		novaReserva(QUANTIDADE);
+
+		assertEquals(QUANTIDADE + 1, reservaRepositorio.listarPorCliente(documento).size());
+		assertEquals(QUANTIDADE + 1, reservaRepositorio.listarPorVeiculo(placa).size());
+	}
+
+	@Test
+	@DisplayName("Deve descartar o estado gravado por uma transação desfeita")
+	void deveInvalidarAoDesfazerTransacao() {
+		var codigo = reservas.get(0).getCodigo();
+		var documento = cliente.getCpfOuCnpj();
+		reservaRepositorio.buscarPorCodigo(codigo).orElseThrow();
+		reservaRepositorio.listarPorCliente(documento);
+
+		assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+			var reserva = reservaRepositorio.buscarPorCodigo(codigo).orElseThrow();
+			reserva.cancelar();
+			reservaRepositorio.salvar(reserva);
+
+			// Dentro da transação a gravação é visível, mas não entra no cache
+			assertEquals(StatusReserva.CANCELADA,
+					reservaRepositorio.buscarPorCodigo(codigo).orElseThrow().getStatus());
+			assertTrue(reservaRepositorio.listarPorCliente(documento).stream()
+					.anyMatch(lida -> lida.getStatus() == StatusReserva.CANCELADA));
+			throw new IllegalStateException("Falha depois de salvar");
+		}));
+
+		assertEquals(StatusReserva.ATIVA, reservaRepositorio.buscarPorCodigo(codigo).orElseThrow().getStatus());
+		assertTrue(reservaRepositorio.listarPorCliente(documento).stream()
+				.allMatch(lida -> lida.getStatus() == StatusReserva.ATIVA));
+	}
+
+	@Test
+	@DisplayName("Deve limitar o tamanho do cache e contar acertos, falhas e remoções")
+	void deveLimitarTamanhoEContarEstatisticas() throws Exception {
+		var barramento = new BarramentoInvalidacao(new CanalInvalidacaoLocal(), Duration.ZERO, 100);
+		var limitado = new ReservaRepositorioProxy(reservaRepositorioReal, barramento, 2, 2, Duration.ofMinutes(1));
+		for (var reserva : reservas) {
+			limitado.buscarPorCodigo(reserva.getCodigo()).orElseThrow();
+		}
+		limitado.buscarPorCodigo(reservas.get(QUANTIDADE - 1).getCodigo()).orElseThrow();
+
+		var estatisticas = limitado.estatisticas().get("porCodigo");
+		var limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (estatisticas.getRemocoes() == 0 && System.nanoTime() < limite) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, estatisticas.getAcertos());
+		assertEquals(QUANTIDADE, estatisticas.getFalhas());
+		assertEquals(0.25, estatisticas.getTaxaAcerto(), 0.001);
+		assertTrue(estatisticas.getRemocoes() >= 1);
+		assertTrue(estatisticas.getTamanhoEstimado() <= 2);
+		assertTrue(estatisticas.getTempoMedioCargaMilis() > 0);
+
+		var servidor = ManagementFactory.getPlatformMBeanServer();
+		var nome = new ObjectName("dev.sauloaraujo.sgb:type=CacheReservas,name=porCodigo");
+		assertTrue(servidor.isRegistered(nome));
+		assertNotNull(servidor.getAttribute(nome, "TaxaAcerto"));
+	}
+
+	private Reserva novaReserva(int indice) {
+		var retirada = LocalDateTime.of(2026, 12, 1, 10, 0).plusDays(indice * 5L);
+		var reserva = new Reserva(UUID.randomUUID().toString(), CategoriaCodigo.ECONOMICO, "Garanhuns",
+				new PeriodoLocacao(retirada, retirada.plusDays(2)), new BigDecimal("240.00"), StatusReserva.ATIVA,
+				cliente, placa);
+		reservaRepositorio.salvar(reserva);
+		return reserva;
+	}
+
+	private <T> T semConsultas(Supplier<T> leitura) {
+		var estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		var resultado = leitura.get();
+		assertEquals(0, estatisticas.getPrepareStatementCount(),
+				"Consultas executadas: " + estatisticas.getPrepareStatementCount());
+		return resultado;
+	}
+}
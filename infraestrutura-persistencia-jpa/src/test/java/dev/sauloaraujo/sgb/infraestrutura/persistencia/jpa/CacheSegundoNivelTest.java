@@ -0,0 +1,151 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.management.ObjectName;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Categoria;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.CategoriaJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository.VeiculoJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cache de segundo nível de categorias e veículos: leituras repetidas não vão ao
+ * banco e as gravações invalidam o que ficou desatualizado.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Cache de segundo nível")
+class CacheSegundoNivelTest {
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private CategoriaRepositorio categoriaRepositorio;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private String cidade;
+	private String placa;
+
+	@BeforeEach
+	void preparar() {
+		var sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		cidade = "Cidade " + sufixo;
+		placa = "C" + sufixo;
+		veiculoRepositorio.salvar(veiculo(placa));
+		veiculoRepositorio.salvar(veiculo("D" + sufixo));
+	}
+
+	@Test
+	@DisplayName("Deve servir o veículo pela placa sem ir ao banco após a primeira leitura")
+	void deveBuscarVeiculoNoCache() {
+		entityManagerFactory.getCache().evict(VeiculoJpa.class);
+		assertEquals(1, consultas(() -> veiculoRepositorio.buscarPorPlaca(placa).orElseThrow()));
+		assertEquals(0, consultas(() -> veiculoRepositorio.buscarPorPlaca(placa).orElseThrow()));
+		assertEquals(1, estatisticas().getDomainDataRegionStatistics(VeiculoJpa.REGIAO_CACHE).getHitCount());
+	}
+
+	@Test
+	@DisplayName("Deve atualizar o veículo em cache ao salvar")
+	void deveAtualizarVeiculoAoSalvar() {
+		var veiculo = veiculoRepositorio.buscarPorPlaca(placa).orElseThrow();
+		veiculo.locar();
+		veiculoRepositorio.salvar(veiculo);
+
+		var gravado = veiculoRepositorio.buscarPorPlaca(placa).orElseThrow();
+		assertEquals(StatusVeiculo.LOCADO, gravado.getStatus());
+		assertEquals(veiculo.getVersao(), gravado.getVersao());
+	}
+
+	@Test
+	@DisplayName("Deve guardar os disponíveis da cidade e descartá-los quando um veículo muda")
+	void deveInvalidarDisponiveisAoSalvar() {
+		var primeira = veiculoRepositorio.buscarDisponiveis(cidade, CategoriaCodigo.ECONOMICO);
+		assertEquals(2, primeira.size());
+		assertEquals(0, consultas(() -> veiculoRepositorio.buscarDisponiveis(cidade, CategoriaCodigo.ECONOMICO)));
+		assertEquals(1,
+				estatisticas().getQueryRegionStatistics(VeiculoJpaRepository.REGIAO_DISPONIVEIS).getHitCount());
+
+		var veiculo = veiculoRepositorio.buscarPorPlaca(placa).orElseThrow();
+		veiculo.locar();
+		veiculoRepositorio.salvar(veiculo);
+
+		var estatisticas = estatisticas();
+		estatisticas.clear();
+		List<Veiculo> depois = veiculoRepositorio.buscarDisponiveis(cidade, CategoriaCodigo.ECONOMICO);
+		assertEquals(1, estatisticas.getPrepareStatementCount());
+		assertEquals(1, depois.size());
+		assertFalse(depois.stream().anyMatch(disponivel -> disponivel.getPlaca().equals(placa)));
+		assertEquals(1, veiculoRepositorio.buscarDisponiveis(cidade).size());
+	}
+
+	@Test
+	@DisplayName("Deve servir a categoria pelo código do cache e refletir a gravação")
+	void deveBuscarCategoriaNoCache() {
+		categoriaRepositorio.salvar(new Categoria(CategoriaCodigo.SUV, "SUV", "Utilitários esportivos",
+				new BigDecimal("250.00"), List.of("Compass"), 3));
+		categoriaRepositorio.buscarPorCodigo(CategoriaCodigo.SUV).orElseThrow();
+		assertEquals(0, consultas(() -> categoriaRepositorio.buscarPorCodigo(CategoriaCodigo.SUV).orElseThrow()));
+		assertEquals(1, estatisticas().getDomainDataRegionStatistics(CategoriaJpa.REGIAO_CACHE).getHitCount());
+
+		categoriaRepositorio.salvar(new Categoria(CategoriaCodigo.SUV, "SUV", "Utilitários esportivos",
+				new BigDecimal("270.00"), List.of("Compass"), 2));
+		var atualizada = categoriaRepositorio.buscarPorCodigo(CategoriaCodigo.SUV).orElseThrow();
+		assertEquals(0, new BigDecimal("270.00").compareTo(atualizada.getDiaria()));
+	}
+
+	@Test
+	@DisplayName("Deve expor acertos e falhas de cada região via JMX")
+	void deveExporEstatisticasPorRegiao() throws Exception {
+		veiculoRepositorio.buscarPorPlaca(placa).orElseThrow();
+		veiculoRepositorio.buscarPorPlaca(placa).orElseThrow();
+
+		var servidor = ManagementFactory.getPlatformMBeanServer();
+		var nomes = servidor.queryNames(
+				new ObjectName("javax.cache:type=CacheStatistics,Cache=" + VeiculoJpa.REGIAO_CACHE + ",*"), null);
+		assertEquals(1, nomes.size());
+		var nome = nomes.iterator().next();
+		assertTrue((Long) servidor.getAttribute(nome, "CacheHits") > 0);
+		assertNotNull(servidor.getAttribute(nome, "CacheMisses"));
+	}
+
+	private long consultas(Supplier<?> leitura) {
+		var estatisticas = estatisticas();
+		estatisticas.clear();
+		leitura.get();
+		return estatisticas.getPrepareStatementCount();
+	}
+
+	private Statistics estatisticas() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private Veiculo veiculo(String placa) {
+		return new Veiculo(placa, "Argo", CategoriaCodigo.ECONOMICO, cidade, new BigDecimal("95.00"),
+				StatusVeiculo.DISPONIVEL);
+	}
+}
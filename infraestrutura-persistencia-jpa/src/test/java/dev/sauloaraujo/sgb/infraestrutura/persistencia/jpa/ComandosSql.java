@@ -0,0 +1,33 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registra os comandos SQL preparados pelo Hibernate nos testes, para conferir
+ * o que cada gravação de fato envia ao banco.
+ */
+public class ComandosSql implements StatementInspector {
+
+	private static final ConcurrentLinkedQueue<String> COMANDOS = new ConcurrentLinkedQueue<>();
+
+	@Override
+	public String inspect(String sql) {
+		COMANDOS.add(sql.toLowerCase(Locale.ROOT));
+		return sql;
+	}
+
+	public static void limpar() {
+		COMANDOS.clear();
+	}
+
+	/**
+	 * Comandos registrados desde a última limpeza que começam pelo prefixo.
+	 */
+	public static List<String> iniciadosPor(String prefixo) {
+		return COMANDOS.stream().filter(comando -> comando.startsWith(prefixo)).toList();
+	}
+}
@@ -0,0 +1,139 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ChecklistVistoria;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.MultaPadraoStrategy;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+/**
+ * Confere no H2 as consultas de conflito por período das reservas e das
+ * locações: limites inclusivos, filtro de status e de categoria, e uma única
+ * consulta agregada por chamada.
+ * Cada teste usa um intervalo de datas e placas próprios, para não contar os
+ * dados gravados pelas outras classes no mesmo contexto.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Consultas de conflito por período")
+class ConflitosPeriodoConsultasTest {
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	private String sufixo;
+	private LocalDateTime inicio;
+	private PeriodoLocacao periodo;
+	private Cliente cliente;
+
+	@BeforeEach
+	void preparar() {
+		sufixo = UUID.randomUUID().toString().substring(0, 5).toUpperCase();
+		inicio = LocalDateTime.of(2100, 1, 1, 10, 0).plusDays(Math.floorMod(sufixo.hashCode(), 300_000) * 30L);
+		periodo = new PeriodoLocacao(dia(10), dia(12));
+		var documento = String.format("%011d", Math.abs(("CPC" + sufixo).hashCode()) % 100_000_000_000L);
+		cliente = new Cliente("Cliente " + sufixo, documento, documento, "cpc" + sufixo + "@email.com",
+				"cpc." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+	}
+
+	@Test
+	@DisplayName("Deve contar as reservas ativas da categoria que se sobrepõem ao período")
+	void deveContarReservasConflitantes() {
+		var sobreposta = reservar(CategoriaCodigo.ECONOMICO, 9, 11, StatusReserva.ATIVA);
+		var noLimite = reservar(CategoriaCodigo.ECONOMICO, 12, 14, StatusReserva.ATIVA);
+		reservar(CategoriaCodigo.ECONOMICO, 13, 15, StatusReserva.ATIVA);
+		reservar(CategoriaCodigo.ECONOMICO, 10, 12, StatusReserva.CANCELADA);
+		var outraCategoria = reservar(CategoriaCodigo.SUV, 8, 10, StatusReserva.ATIVA);
+
+		ComandosSql.limpar();
+		assertEquals(2, reservaRepositorio.contarConflitantes(CategoriaCodigo.ECONOMICO, periodo));
+		assertEquals(1, reservaRepositorio.contarConflitantes(CategoriaCodigo.SUV, periodo));
+		assertEquals(0, reservaRepositorio.contarConflitantes(CategoriaCodigo.PREMIUM, periodo));
+		assertEquals(3, ComandosSql.iniciadosPor("select count(").size(),
+				"Consultas: " + ComandosSql.iniciadosPor("select"));
+
+		assertEquals(Set.of(sobreposta.getPlacaVeiculo(), noLimite.getPlacaVeiculo(), outraCategoria.getPlacaVeiculo()),
+				reservaRepositorio.listarPlacasOcupadas(periodo));
+		assertEquals(Set.of(), reservaRepositorio.listarPlacasOcupadas(new PeriodoLocacao(dia(20), dia(22))));
+	}
+
+	@Test
+	@DisplayName("Deve contar as locações que ocupam veículo da categoria no período")
+	void deveContarLocacoesConflitantes() {
+		var ativa = locar(CategoriaCodigo.ECONOMICO, 11, 13, StatusLocacao.ATIVA);
+		var emAndamento = locar(CategoriaCodigo.ECONOMICO, 8, 10, StatusLocacao.EM_ANDAMENTO);
+		locar(CategoriaCodigo.ECONOMICO, 10, 12, StatusLocacao.FINALIZADA);
+		locar(CategoriaCodigo.ECONOMICO, 5, 9, StatusLocacao.ATIVA);
+		var outraCategoria = locar(CategoriaCodigo.EXECUTIVO, 10, 11, StatusLocacao.ATIVA);
+
+		ComandosSql.limpar();
+		assertEquals(2, locacaoRepositorio.contarLocacoesConflitantes(CategoriaCodigo.ECONOMICO, periodo));
+		assertEquals(1, locacaoRepositorio.contarLocacoesConflitantes(CategoriaCodigo.EXECUTIVO, periodo));
+		assertEquals(2, ComandosSql.iniciadosPor("select count(").size(),
+				"Consultas: " + ComandosSql.iniciadosPor("select"));
+
+		assertEquals(Set.of(ativa.getVeiculo().getPlaca(), emAndamento.getVeiculo().getPlaca(),
+				outraCategoria.getVeiculo().getPlaca()), locacaoRepositorio.listarPlacasLocadas(periodo));
+		// As reservas das locações não estão ativas e não ocupam o período como reserva
+		assertEquals(0, reservaRepositorio.contarConflitantes(CategoriaCodigo.ECONOMICO, periodo));
+	}
+
+	private LocalDateTime dia(int dias) {
+		return inicio.plusDays(dias);
+	}
+
+	private Reserva reservar(CategoriaCodigo categoria, int retirada, int devolucao, StatusReserva status) {
+		var veiculo = new Veiculo("C" + sufixo + retirada + status.ordinal() + categoria.ordinal(), "Onix", categoria,
+				"Cidade " + sufixo, new BigDecimal("100.00"), StatusVeiculo.DISPONIVEL);
+		veiculoRepositorio.salvar(veiculo);
+		var reserva = new Reserva(UUID.randomUUID().toString(), categoria, "Cidade " + sufixo,
+				new PeriodoLocacao(dia(retirada), dia(devolucao)), new BigDecimal("200.00"), status, cliente,
+				veiculo.getPlaca());
+		reservaRepositorio.salvar(reserva);
+		return reserva;
+	}
+
+	private Locacao locar(CategoriaCodigo categoria, int retirada, int devolucao, StatusLocacao status) {
+		var reserva = reservar(categoria, retirada, devolucao, StatusReserva.EM_ANDAMENTO);
+		var veiculo = veiculoRepositorio.buscarPorPlaca(reserva.getPlacaVeiculo()).orElseThrow();
+		var locacao = new Locacao("LOC-" + reserva.getCodigo(), reserva, veiculo, devolucao - retirada,
+				new BigDecimal("100.00"), new ChecklistVistoria(1000, "CHEIO", false), new MultaPadraoStrategy(),
+				status);
+		locacaoRepositorio.salvar(locacao);
+		return locacao;
+	}
+}
@@ -0,0 +1,291 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.DevolucaoLoteServicoAplicacao;
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.ResultadoDevolucao;
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.IndiceFrota;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoDisponivel;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.DevolucaoServico;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Faturamento;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ProcessarDevolucaoCommand;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ProcessarRetiradaCommand;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaServico;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceDisponibilidadeVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.medicao.MedicaoComandos;
+
+/**
+ * Devoluções em lote pelo {@link DevolucaoLoteServicoAplicacao}: um resultado
+ * por item, na ordem recebida, e os itens recusados não impedem os demais. Uma
+ * fatia desfeita não tira os índices de disponibilidade do ar.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Devolução em lote")
+class DevolucaoLoteTest {
+
+	private static final LocalDateTime RETIRADA = LocalDateTime.of(2026, 11, 20, 9, 0);
+
+	@Autowired
+	private DevolucaoLoteServicoAplicacao devolucoesEmLote;
+
+	@Autowired
+	private DevolucaoServico devolucaoServico;
+
+	@Autowired
+	private RetentativaOtimista retentativa;
+
+	@Autowired
+	private PlatformTransactionManager gerenciadorTransacao;
+
+	@Autowired
+	private RetiradaServico retiradaServico;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private IndiceDisponibilidadeVeiculo indice;
+
+	@Autowired
+	private IndiceFrota indiceFrota;
+
+	private String sufixo;
+	private Cliente cliente;
+
+	@BeforeEach
+	void preparar() {
+		sufixo = UUID.randomUUID().toString().substring(0, 5).toUpperCase();
+		var documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		cliente = new Cliente("Cliente " + sufixo, documento, documento, "lote" + sufixo + "@email.com",
+				"lote." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+	}
+
+	@Test
+	@DisplayName("Deve devolver os itens válidos e informar o erro dos demais, na ordem recebida")
+	void deveDevolverOsValidosEInformarOsErros() {
+		var locacoes = retirar(3);
+		var comandos = List.of(devolucao(locacoes.get(0)), devolucao("LOC-INEXISTENTE-" + sufixo),
+				devolucao(locacoes.get(1)), devolucao(locacoes.get(0)), devolucao(locacoes.get(2)));
+
+		var resultados = devolucoesEmLote.processarDevolucoes(comandos);
+
+		assertEquals(5, resultados.size());
+		for (int i = 0; i < comandos.size(); i++) {
+			assertEquals(comandos.get(i).getCodigoLocacao(), resultados.get(i).codigoLocacao());
+		}
+		assertTrue(resultados.get(0).isSucesso(), resultados.get(0).erro());
+		assertEquals(new BigDecimal("200.00"), resultados.get(0).faturamento().total().setScale(2));
+		assertEquals("Locação não encontrada: LOC-INEXISTENTE-" + sufixo, resultados.get(1).erro());
+		assertTrue(resultados.get(2).isSucesso(), resultados.get(2).erro());
+		assertFalse(resultados.get(3).isSucesso());
+		assertTrue(resultados.get(3).erro().contains("já foi finalizada"), resultados.get(3).erro());
+		assertTrue(resultados.get(4).isSucesso(), resultados.get(4).erro());
+
+		for (var codigo : locacoes) {
+			var locacao = locacaoRepositorio.buscarPorCodigoLocacao(codigo).orElseThrow();
+			assertEquals(StatusLocacao.FINALIZADA, locacao.getStatus());
+			assertEquals(StatusVeiculo.DISPONIVEL,
+					veiculoRepositorio.buscarPorPlaca(locacao.getVeiculo().getPlaca()).orElseThrow().getStatus());
+		}
+	}
+
+	@Test
+	@DisplayName("Deve ler as locações da fatia em uma consulta e gravá-las em lote")
+	void deveLerEmUmaConsultaEGravarEmLote() {
+		var locacoes = retirar(3);
+		var comandos = locacoes.stream().map(this::devolucao).toList();
+
+		ComandosSql.limpar();
+		var resultados = devolucoesEmLote.processarDevolucoes(comandos);
+
+		assertTrue(resultados.stream().allMatch(ResultadoDevolucao::isSucesso), resultados.toString());
+		assertEquals(1, ComandosSql.iniciadosPor("select").size(), "Consultas: " + ComandosSql.iniciadosPor("select"));
+		assertEquals(1, ComandosSql.iniciadosPor("update locacao").size());
+		assertEquals(3, ComandosSql.iniciadosPor("update veiculo").size());
+	}
+
+	@Test
+	@DisplayName("Deve processar as fatias em paralelo sem separar as devoluções da mesma locação")
+	void deveProcessarAsFatiasEmParalelo() {
+		var locacoes = retirar(5);
+		var comandos = new ArrayList<ProcessarDevolucaoCommand>();
+		for (var codigo : locacoes) {
+			comandos.add(devolucao(codigo));
+		}
+		comandos.add(1, devolucao(locacoes.get(0)));
+
+		try (var servico = new DevolucaoLoteServicoAplicacao(devolucaoServico, retentativa, gerenciadorTransacao,
+				MedicaoComandos::propagar, 3, 2, 10)) {
+			var resultados = servico.processarDevolucoes(comandos);
+
+			assertTrue(resultados.get(0).isSucesso(), resultados.get(0).erro());
+			assertFalse(resultados.get(1).isSucesso());
+			for (int i = 2; i < resultados.size(); i++) {
+				assertTrue(resultados.get(i).isSucesso(), resultados.get(i).erro());
+			}
+			assertThrows(IllegalArgumentException.class, () -> servico.processarDevolucoes(
+					Collections.nCopies(11, comandos.get(0))));
+		}
+
+		for (var codigo : locacoes) {
+			assertEquals(StatusLocacao.FINALIZADA,
+					locacaoRepositorio.buscarPorCodigoLocacao(codigo).orElseThrow().getStatus());
+		}
+	}
+
+	@Test
+	@DisplayName("Deve contar na medição da requisição os comandos das fatias rodadas no pool")
+	void deveMedirAsFatiasDoPool() {
+		var locacoes = retirar(3);
+		var comandos = locacoes.stream().map(this::devolucao).toList();
+
+		try (var servico = new DevolucaoLoteServicoAplicacao(devolucaoServico, retentativa, gerenciadorTransacao,
+				MedicaoComandos::propagar, 3, 1, 10); var medicao = MedicaoComandos.iniciar()) {
+			var resultados = servico.processarDevolucoes(comandos);
+
+			assertTrue(resultados.stream().allMatch(ResultadoDevolucao::isSucesso), resultados.toString());
+			assertTrue(medicao.getComandos() >= 9, medicao.resumo());
+			assertTrue(medicao.getFlushes() >= 3, medicao.resumo());
+		}
+	}
+
+	@Test
+	@DisplayName("Deve manter os índices corretos quando a fatia falha e os itens são refeitos um a um")
+	void deveManterOsIndicesAoRefazerFatiaQueFalhou() {
+		indice.carregar(reservaRepositorio::listar, locacaoRepositorio::listarLocacoes);
+		indiceFrota.carregar(veiculoRepositorio::listarTodos);
+		var locacoes = retirar(3);
+		var conflitante = locacoes.get(1);
+		var comandos = locacoes.stream().map(this::devolucao).toList();
+
+		// Outro processo grava a locação conflitante depois que a fatia a leu, e
+		// a devolução dela, refeita sozinha, é recusada
+		var outraTransacao = new TransactionTemplate(gerenciadorTransacao);
+		outraTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		var servicoConflitante = new DevolucaoServico(locacaoRepositorio, veiculoRepositorio) {
+			@Override
+			public Map<String, Locacao> carregar(Collection<String> codigosLocacao) {
+				var carregadas = super.carregar(codigosLocacao);
+				outraTransacao.executeWithoutResult(status -> jdbcTemplate
+						.update("UPDATE LOCACAO SET versao = versao + 1 WHERE codigo = ?", conflitante));
+				return carregadas;
+			}
+
+			@Override
+			public Faturamento processar(ProcessarDevolucaoCommand comando) {
+				if (comando.getCodigoLocacao().equals(conflitante)) {
+					throw new IllegalStateException("Devolução recusada");
+				}
+				return super.processar(comando);
+			}
+		};
+
+		try (var servico = new DevolucaoLoteServicoAplicacao(servicoConflitante, retentativa, gerenciadorTransacao,
+				MedicaoComandos::propagar, 2, 20, 10)) {
+			var resultados = servico.processarDevolucoes(comandos);
+
+			assertTrue(resultados.get(0).isSucesso(), resultados.get(0).erro());
+			assertEquals("Devolução recusada", resultados.get(1).erro());
+			assertTrue(resultados.get(2).isSucesso(), resultados.get(2).erro());
+		}
+
+		assertTrue(indice.carregado());
+		assertTrue(indiceFrota.carregado());
+		var periodo = new PeriodoLocacao(RETIRADA, RETIRADA.plusDays(2));
+		var disponiveis = placas(StatusVeiculo.DISPONIVEL);
+		var locados = placas(StatusVeiculo.LOCADO);
+		for (int i = 0; i < locacoes.size(); i++) {
+			var placa = "B" + i + sufixo;
+			var devolvida = !locacoes.get(i).equals(conflitante);
+			assertEquals(devolvida, indice.livre(placa, periodo), placa);
+			assertEquals(devolvida, disponiveis.contains(placa), placa);
+			assertEquals(!devolvida, locados.contains(placa), placa);
+		}
+		assertEquals(StatusLocacao.EM_ANDAMENTO,
+				locacaoRepositorio.buscarPorCodigoLocacao(conflitante).orElseThrow().getStatus());
+	}
+
+	private List<String> placas(StatusVeiculo status) {
+		return indiceFrota.buscar("Olinda", Optional.empty(), status, List.of()).stream()
+				.map(VeiculoDisponivel::placa).toList();
+	}
+
+	private List<String> retirar(int quantidade) {
+		var codigos = new ArrayList<String>();
+		var retirada = RETIRADA;
+		for (int i = 0; i < quantidade; i++) {
+			var placa = "B" + i + sufixo;
+			veiculoRepositorio.salvar(new Veiculo(placa, "HB20", CategoriaCodigo.ECONOMICO, "Olinda",
+					new BigDecimal("100.00"), StatusVeiculo.DISPONIVEL));
+			var reserva = new Reserva("LOTE-" + i + sufixo, CategoriaCodigo.ECONOMICO, "Olinda",
+					new PeriodoLocacao(retirada, retirada.plusDays(2)), new BigDecimal("200.00"), StatusReserva.ATIVA,
+					cliente, placa);
+			reservaRepositorio.salvar(reserva);
+
+			var codigo = "LOC-L" + i + sufixo;
+			transactionTemplate.executeWithoutResult(status -> retiradaServico.processar(ProcessarRetiradaCommand
+					.builder().codigoReserva(reserva.getCodigo()).codigoLocacao(codigo).placaVeiculo(placa)
+					.quilometragem(20000).build()));
+			codigos.add(codigo);
+		}
+		return codigos;
+	}
+
+	private ProcessarDevolucaoCommand devolucao(String codigoLocacao) {
+		return ProcessarDevolucaoCommand.builder().codigoLocacao(codigoLocacao).quilometragem(20400)
+				.combustivel("CHEIO").possuiAvarias(false).dataDevolucao(LocalDateTime.of(2026, 11, 22, 9, 0))
+				.build();
+	}
+}
@@ -0,0 +1,141 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.DevolucaoServico;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ProcessarDevolucaoCommand;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ProcessarRetiradaCommand;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaServico;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.medicao.MedicaoComandos;
+
+/**
+ * Devolução pelo {@link DevolucaoServico}: a locação vem com reserva, cliente e
+ * veículo em uma consulta e as gravações saem juntas no flush do commit, como
+ * a {@link MedicaoComandos} registra.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Devolução")
+class DevolucaoTest {
+
+	@Autowired
+	private RetiradaRepositorio retiradaRepositorio;
+
+	@Autowired
+	private BloqueioVeiculo bloqueioVeiculo;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private DevolucaoServico devolucaoServico;
+	private String placa;
+	private String codigoLocacao;
+
+	@BeforeEach
+	void preparar() {
+		devolucaoServico = new DevolucaoServico(locacaoRepositorio, veiculoRepositorio);
+		var sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		var documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		var cliente = new Cliente("Cliente " + sufixo, documento, documento, "devolucao" + sufixo + "@email.com",
+				"devolucao." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+		placa = "D" + sufixo;
+		veiculoRepositorio.salvar(new Veiculo(placa, "HB20", CategoriaCodigo.ECONOMICO, "Olinda",
+				new BigDecimal("100.00"), StatusVeiculo.DISPONIVEL));
+		var retirada = LocalDateTime.of(2026, 11, 20, 9, 0);
+		var reserva = new Reserva("DEV-" + sufixo, CategoriaCodigo.ECONOMICO, "Olinda",
+				new PeriodoLocacao(retirada, retirada.plusDays(2)), new BigDecimal("200.00"), StatusReserva.ATIVA,
+				cliente, placa);
+		reservaRepositorio.salvar(reserva);
+
+		codigoLocacao = "LOC-" + sufixo;
+		var retiradaServico = new RetiradaServico(retiradaRepositorio, bloqueioVeiculo);
+		transactionTemplate.executeWithoutResult(status -> retiradaServico.processar(ProcessarRetiradaCommand
+				.builder().codigoReserva(reserva.getCodigo()).codigoLocacao(codigoLocacao).placaVeiculo(placa)
+				.quilometragem(20000).build()));
+	}
+
+	@Test
+	@DisplayName("Deve devolver com uma consulta e as gravações em um único flush")
+	void deveDevolverComUmaLeituraEUmFlush() {
+		var comando = ProcessarDevolucaoCommand.builder().codigoLocacao(codigoLocacao).quilometragem(20400)
+				.combustivel("CHEIO").possuiAvarias(false).dataDevolucao(LocalDateTime.of(2026, 11, 22, 9, 0))
+				.build();
+
+		ComandosSql.limpar();
+		try (var medicao = MedicaoComandos.iniciar()) {
+			var faturamento = transactionTemplate.execute(status -> devolucaoServico.processar(comando));
+
+			assertEquals(new BigDecimal("200.00"), faturamento.total().setScale(2));
+			assertEquals(1, ComandosSql.iniciadosPor("select").size(),
+					"Consultas: " + ComandosSql.iniciadosPor("select"));
+			assertEquals(1, ComandosSql.iniciadosPor("update locacao").size());
+			assertEquals(1, ComandosSql.iniciadosPor("update veiculo").size());
+			assertEquals(3, medicao.getComandos(), medicao.resumo());
+			assertEquals(1, medicao.getFlushes(), medicao.resumo());
+			assertEquals(3, medicao.getIdasAoBanco(), medicao.resumo());
+		}
+
+		assertEquals(StatusLocacao.FINALIZADA,
+				locacaoRepositorio.buscarPorCodigoLocacao(codigoLocacao).orElseThrow().getStatus());
+		assertEquals(StatusVeiculo.DISPONIVEL, veiculoRepositorio.buscarPorPlaca(placa).orElseThrow().getStatus());
+	}
+
+	@Test
+	@DisplayName("Deve medir só os comandos da thread e do trecho medido")
+	void deveMedirSoOTrechoMedido() throws Exception {
+		try (var externa = MedicaoComandos.iniciar()) {
+			locacaoRepositorio.buscarPorCodigoLocacao(codigoLocacao);
+			try (var interna = MedicaoComandos.iniciar()) {
+				locacaoRepositorio.buscarPorCodigoLocacao(codigoLocacao);
+				var outraThread = new Thread(() -> locacaoRepositorio.buscarPorCodigoLocacao(codigoLocacao));
+				outraThread.start();
+				outraThread.join();
+
+				assertEquals(1, interna.getComandos(), interna.resumo());
+				assertEquals(1, interna.getIdasAoBanco(), interna.resumo());
+			}
+			locacaoRepositorio.buscarPorCodigoLocacao(codigoLocacao);
+
+			assertEquals(2, externa.getComandos(), externa.resumo());
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaConflitanteException;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+
+/**
+ * Restrição do banco contra reservas ativas sobrepostas do mesmo veículo.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Exclusão de reservas sobrepostas")
+class ExclusaoReservaSobrepostaTest {
+
+	private static final LocalDateTime INICIO = LocalDateTime.of(2026, 3, 10, 10, 0);
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Cliente cliente;
+
+	@BeforeEach
+	void preparar() {
+		cliente = new Cliente("Maria Souza", "98765432100", "98765432100", "maria@email.com", "maria.souza",
+				"senha123");
+		clienteRepositorio.salvar(cliente);
+	}
+
+	@Test
+	@DisplayName("Deve rejeitar reserva ativa que cruza outra do mesmo veículo, inclusive na mesma data-limite")
+	void deveRejeitarReservaSobreposta() {
+		reservaRepositorio.salvar(reserva("EXC0001", StatusReserva.ATIVA, INICIO, INICIO.plusDays(3)));
+
+		var excecao = assertThrows(ReservaConflitanteException.class, () -> reservaRepositorio
+				.salvar(reserva("EXC0001", StatusReserva.ATIVA, INICIO.plusDays(3), INICIO.plusDays(5))));
+		assertEquals("O veículo já está reservado para outro cliente no período solicitado", excecao.getMessage());
+	}
+
+	@Test
+	@DisplayName("Deve aceitar períodos disjuntos, outros veículos e reservas não ativas")
+	void deveAceitarReservasSemConflito() {
+		reservaRepositorio.salvar(reserva("EXC0002", StatusReserva.ATIVA, INICIO, INICIO.plusDays(3)));
+
+		assertDoesNotThrow(() -> {
+			reservaRepositorio.salvar(reserva("EXC0002", StatusReserva.ATIVA, INICIO.plusDays(4), INICIO.plusDays(6)));
+			reservaRepositorio.salvar(reserva("EXC0003", StatusReserva.ATIVA, INICIO, INICIO.plusDays(3)));
+			reservaRepositorio.salvar(reserva("EXC0002", StatusReserva.CANCELADA, INICIO, INICIO.plusDays(3)));
+		});
+	}
+
+	@Test
+	@DisplayName("Deve rejeitar a reserva sobreposta gravada enquanto outra transação ainda não confirmou a sua")
+	void deveRejeitarReservaSobrepostaConcorrente() throws Exception {
+		var gravou = new CountDownLatch(1);
+		var confirmar = new CountDownLatch(1);
+		var transacao = new TransactionTemplate(transactionManager);
+		var primeira = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+			reservaRepositorio.salvar(reserva("EXC0004", StatusReserva.ATIVA, INICIO, INICIO.plusDays(3)));
+			gravou.countDown();
+			aguardar(confirmar);
+		}));
+		assertTrue(gravou.await(10, TimeUnit.SECONDS));
+
+		var segunda = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> reservaRepositorio
+				.salvar(reserva("EXC0004", StatusReserva.ATIVA, INICIO.plusDays(1), INICIO.plusDays(2)))));
+		Thread.sleep(300);
+		assertFalse(segunda.isDone(), "A segunda gravação deveria esperar a trava da primeira");
+		confirmar.countDown();
+		primeira.get(10, TimeUnit.SECONDS);
+
+		var excecao = assertThrows(Exception.class, () -> segunda.get(10, TimeUnit.SECONDS));
+		assertInstanceOf(ReservaConflitanteException.class, excecao.getCause());
+	}
+
+	private static void aguardar(CountDownLatch sinal) {
+		try {
+			sinal.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Reserva reserva(String placa, StatusReserva status, LocalDateTime retirada, LocalDateTime devolucao) {
+		return new Reserva(UUID.randomUUID().toString(), CategoriaCodigo.ECONOMICO, "Recife",
+				new PeriodoLocacao(retirada, devolucao), new BigDecimal("300.00"), status, cliente, placa);
+	}
+}
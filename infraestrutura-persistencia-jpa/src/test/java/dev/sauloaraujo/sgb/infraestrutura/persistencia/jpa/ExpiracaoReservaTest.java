@@ -0,0 +1,117 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.ExpiracaoReservaServicoAplicacao;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.AgendaExpiracaoReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+
+/**
+ * Expiração das reservas não retiradas pelo
+ * {@link ExpiracaoReservaServicoAplicacao}: a agenda acompanha as gravações e
+ * as vencidas são expiradas em lote.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Expiração de reservas")
+class ExpiracaoReservaTest {
+
+	@Autowired
+	private ExpiracaoReservaServicoAplicacao expiracao;
+
+	@Autowired
+	private AgendaExpiracaoReserva agenda;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	private String sufixo;
+	private Cliente cliente;
+
+	@BeforeEach
+	void preparar() {
+		sufixo = UUID.randomUUID().toString().substring(0, 5).toUpperCase();
+		var documento = String.format("%011d", Math.abs(("EXP" + sufixo).hashCode()) % 100_000_000_000L);
+		cliente = new Cliente("Cliente " + sufixo, documento, documento, "exp" + sufixo + "@email.com",
+				"exp." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+	}
+
+	@Test
+	@DisplayName("Deve agendar as reservas ao gravar e expirar em lote só as ativas de prazo vencido")
+	void deveExpirarEmLoteAsVencidas() {
+		var agora = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+		var vencidas = Stream.of(0, 1, 2).map(i -> salvar("V" + i, agora.minusDays(3))).toList();
+		var noPrazo = salvar("P", agora.minusHours(1));
+		var cancelada = salvar("C", agora.minusDays(3));
+		cancelada.cancelar();
+		reservaRepositorio.salvar(cancelada);
+
+		vencidas.forEach(reserva -> assertTrue(agenda.agendada(reserva.getCodigo())));
+		assertTrue(agenda.agendada(noPrazo.getCodigo()));
+		assertFalse(agenda.agendada(cancelada.getCodigo()));
+
+		ComandosSql.limpar();
+		var expiradas = expiracao.expirarVencidas();
+
+		assertTrue(expiradas >= 3, "Expiradas: " + expiradas);
+		assertTrue(ComandosSql.iniciadosPor("update reserva").size() < expiradas,
+				"Atualizações: " + ComandosSql.iniciadosPor("update reserva"));
+		for (var reserva : vencidas) {
+			assertEquals(StatusReserva.EXPIRADA, status(reserva));
+			assertFalse(agenda.agendada(reserva.getCodigo()));
+		}
+		assertEquals(StatusReserva.ATIVA, status(noPrazo));
+		assertTrue(agenda.agendada(noPrazo.getCodigo()));
+		assertEquals(StatusReserva.CANCELADA, status(cancelada));
+	}
+
+	@Test
+	@DisplayName("Deve reconstruir a agenda a partir das reservas ativas do banco")
+	void deveReconstruirAgendaDoBanco() {
+		var agora = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+		var vencida = salvar("R", agora.minusDays(2));
+		agenda.carregar(Stream.empty());
+		assertFalse(agenda.agendada(vencida.getCodigo()));
+
+		expiracao.reconstruir();
+
+		assertTrue(agenda.agendada(vencida.getCodigo()));
+		expiracao.expirarVencidas();
+		assertEquals(StatusReserva.EXPIRADA, status(vencida));
+	}
+
+	private Reserva salvar(String prefixo, LocalDateTime retirada) {
+		var reserva = new Reserva("EXP-" + prefixo + sufixo, CategoriaCodigo.ECONOMICO, "Recife",
+				new PeriodoLocacao(retirada, retirada.plusDays(1)), new BigDecimal("150.00"), StatusReserva.ATIVA,
+				cliente, "E" + prefixo + sufixo);
+		reservaRepositorio.salvar(reserva);
+		return reserva;
+	}
+
+	private StatusReserva status(Reserva reserva) {
+		return reservaRepositorio.buscarPorCodigo(reserva.getCodigo()).orElseThrow().getStatus();
+	}
+}
@@ -0,0 +1,183 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.ImportacaoReservaServicoAplicacao;
+import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.LinhaImportacaoReserva;
+import dev.sauloaraujo.sgb.aplicacao.locacao.reserva.ResultadoImportacaoReserva;
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Categoria;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.PedidoReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaServico;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+/**
+ * Importação em massa de reservas pelo {@link ImportacaoReservaServicoAplicacao}:
+ * um resultado por linha, conflitos dentro do arquivo resolvidos na ordem das
+ * linhas e inserções em lote.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Importação de reservas")
+class ImportacaoReservaTest {
+
+	private static final String RETIRADA = "2027-02-10T10:00";
+
+	@Autowired
+	private ImportacaoReservaServicoAplicacao importacao;
+
+	@Autowired
+	private ReservaServico reservaServico;
+
+	@Autowired
+	private RetentativaOtimista retentativa;
+
+	@Autowired
+	private CategoriaRepositorio categoriaRepositorio;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	private String sufixo;
+	private String documento;
+
+	@BeforeEach
+	void preparar() {
+		categoriaRepositorio.salvar(new Categoria(CategoriaCodigo.EXECUTIVO, "Executivo", "Sedãs executivos",
+				new BigDecimal("250.00"), List.of("Corolla"), 1000));
+		sufixo = UUID.randomUUID().toString().substring(0, 5).toUpperCase();
+		documento = String.format("%011d", Math.abs(("IMP" + sufixo).hashCode()) % 100_000_000_000L);
+		clienteRepositorio.salvar(new Cliente("Frota " + sufixo, documento, documento,
+				"frota" + sufixo + "@email.com", "frota." + sufixo, "senha123"));
+	}
+
+	@Test
+	@DisplayName("Deve aceitar as linhas válidas, resolver conflitos na ordem do arquivo e informar os erros")
+	void deveResolverConflitosNaOrdemDoArquivo() {
+		var primeiro = veiculo(0);
+		var segundo = veiculo(1);
+		var linhas = List.of(
+				linha("EXECUTIVO", RETIRADA, "2027-02-12T10:00", primeiro),
+				linha("EXECUTIVO", "2027-02-11T10:00", "2027-02-13T10:00", primeiro),
+				linha("executivo", RETIRADA, "2027-02-12T10:00", segundo),
+				linha("LUXO", RETIRADA, "2027-02-12T10:00", segundo),
+				linha("EXECUTIVO", "10/02/2027", "2027-02-12T10:00", segundo),
+				new LinhaImportacaoReserva("EXECUTIVO", "Recife", "2027-02-14T10:00", "2027-02-15T10:00",
+						"00000000000", segundo),
+				linha("EXECUTIVO", "2027-02-12T10:00", "2027-02-14T10:00", primeiro));
+
+		var resultados = importacao.importar(linhas.iterator());
+
+		assertEquals(7, resultados.size());
+		for (int i = 0; i < resultados.size(); i++) {
+			assertEquals(i + 1, resultados.get(i).linha());
+		}
+		assertTrue(resultados.get(0).isAceita(), resultados.get(0).erro());
+		assertEquals(new BigDecimal("500.00"), resultados.get(0).valorEstimado().setScale(2));
+		assertEquals("O veículo já está reservado para outro cliente no período solicitado",
+				resultados.get(1).erro());
+		assertTrue(resultados.get(2).isAceita(), resultados.get(2).erro());
+		assertEquals("Categoria inválida: LUXO", resultados.get(3).erro());
+		assertTrue(resultados.get(4).erro().startsWith("Data de retirada inválida"), resultados.get(4).erro());
+		assertEquals("Cliente não encontrado: 00000000000", resultados.get(5).erro());
+		assertFalse(resultados.get(6).isAceita());
+
+		var gravadas = reservaRepositorio.listarPorVeiculo(primeiro);
+		assertEquals(1, gravadas.size());
+		assertEquals(resultados.get(0).codigoReserva(), gravadas.get(0).getCodigo());
+		assertEquals(StatusReserva.ATIVA, gravadas.get(0).getStatus());
+		assertEquals(1, reservaRepositorio.listarPorVeiculo(segundo).size());
+	}
+
+	@Test
+	@DisplayName("Deve gravar as reservas de cada fatia em lote e ver nas fatias seguintes as já aceitas")
+	void deveGravarCadaFatiaEmLote() {
+		var linhas = new ArrayList<LinhaImportacaoReserva>();
+		for (int i = 0; i < 5; i++) {
+			linhas.add(linha("EXECUTIVO", RETIRADA, "2027-02-12T10:00", veiculo(i)));
+		}
+		linhas.add(linha("EXECUTIVO", "2027-02-11T10:00", "2027-02-12T10:00", linhas.get(0).placaVeiculo()));
+
+		var servico = new ImportacaoReservaServicoAplicacao(reservaServico, retentativa, 3, 16);
+		ComandosSql.limpar();
+		var resultados = servico.importar(linhas.iterator());
+
+		for (int i = 0; i < 5; i++) {
+			assertTrue(resultados.get(i).isAceita(), resultados.get(i).erro());
+		}
+		assertFalse(resultados.get(5).isAceita());
+		assertEquals(2, ComandosSql.iniciadosPor("insert into reserva").size(),
+				"Inserções: " + ComandosSql.iniciadosPor("insert into reserva"));
+		assertTrue(resultados.stream().filter(ResultadoImportacaoReserva::isAceita)
+				.allMatch(resultado -> reservaRepositorio.buscarPorCodigo(resultado.codigoReserva()).isPresent()));
+	}
+
+	@Test
+	@DisplayName("Deve fechar a fatia ao atingir o máximo de veículos distintos")
+	void deveLimitarVeiculosPorFatia() {
+		var placas = List.of(veiculo(0), veiculo(1), veiculo(2), veiculo(3));
+		var linhas = List.of(
+				linha("EXECUTIVO", RETIRADA, "2027-02-11T10:00", placas.get(0)),
+				linha("EXECUTIVO", "2027-02-12T10:00", "2027-02-13T10:00", placas.get(0)),
+				linha("EXECUTIVO", RETIRADA, "2027-02-11T10:00", placas.get(1)),
+				linha("EXECUTIVO", RETIRADA, "2027-02-11T10:00", placas.get(2)),
+				linha("EXECUTIVO", "2027-02-12T10:00", "2027-02-13T10:00", placas.get(2)),
+				linha("EXECUTIVO", RETIRADA, "2027-02-11T10:00", placas.get(3)));
+
+		var servico = new ImportacaoReservaServicoAplicacao(reservaServico, retentativa, 100, 2);
+		ComandosSql.limpar();
+		var resultados = servico.importar(linhas.iterator());
+
+		assertTrue(resultados.stream().allMatch(ResultadoImportacaoReserva::isAceita), resultados::toString);
+		assertEquals(2, ComandosSql.iniciadosPor("insert into reserva").size(),
+				"Inserções: " + ComandosSql.iniciadosPor("insert into reserva"));
+	}
+
+	@Test
+	@DisplayName("Deve recusar como entrada inválida um pedido sem placa")
+	void deveRecusarPedidoSemPlaca() {
+		var periodo = new PeriodoLocacao(LocalDateTime.parse(RETIRADA), LocalDateTime.parse("2027-02-12T10:00"));
+		var erro = assertThrows(IllegalArgumentException.class, () -> new PedidoReserva("RES-" + sufixo,
+				CategoriaCodigo.EXECUTIVO, "Recife", periodo, documento, " "));
+		assertEquals("A placa do veículo é obrigatória", erro.getMessage());
+	}
+
+	private String veiculo(int indice) {
+		var placa = "I" + indice + sufixo;
+		veiculoRepositorio.salvar(new Veiculo(placa, "Corolla", CategoriaCodigo.EXECUTIVO, "Recife",
+				new BigDecimal("250.00"), StatusVeiculo.DISPONIVEL));
+		return placa;
+	}
+
+	private LinhaImportacaoReserva linha(String categoria, String retirada, String devolucao, String placa) {
+		return new LinhaImportacaoReserva(categoria, "Recife", retirada, devolucao, documento, placa);
+	}
+}
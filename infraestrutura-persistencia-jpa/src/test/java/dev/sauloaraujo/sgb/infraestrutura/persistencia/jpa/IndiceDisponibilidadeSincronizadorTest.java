@@ -0,0 +1,166 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.IndiceFrota;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoDisponivel;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceDisponibilidadeVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.IndiceOcupacaoCategoria;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.BarramentoInvalidacao;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.invalidacao.CanalInvalidacao;
+
+/**
+ * Índices de disponibilidade diante de transações desfeitas e de gravações
+ * de outros nós: só os agregados afetados são relidos do banco, e os índices
+ * continuam carregados.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Sincronização dos índices de disponibilidade")
+class IndiceDisponibilidadeSincronizadorTest {
+
+	@Autowired
+	private IndiceDisponibilidadeVeiculo indice;
+
+	@Autowired
+	private IndiceOcupacaoCategoria indiceOcupacao;
+
+	@Autowired
+	private IndiceFrota indiceFrota;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private CanalInvalidacao canalInvalidacao;
+
+	private String sufixo;
+	private String cidade;
+	private Cliente cliente;
+	private PeriodoLocacao periodo;
+
+	@BeforeEach
+	void preparar() {
+		sufixo = UUID.randomUUID().toString().substring(0, 5).toUpperCase();
+		cidade = "Cidade " + sufixo;
+		var documento = String.format("%011d", Math.abs(("SIN" + sufixo).hashCode()) % 100_000_000_000L);
+		cliente = new Cliente("Cliente " + sufixo, documento, documento, "sin" + sufixo + "@email.com",
+				"sin." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+		var retirada = LocalDateTime.of(2028, 4, 10, 10, 0);
+		periodo = new PeriodoLocacao(retirada, retirada.plusDays(2));
+
+		indice.carregar(reservaRepositorio::listar, locacaoRepositorio::listarLocacoes);
+		indiceOcupacao.carregar(reservaRepositorio::listar, locacaoRepositorio::listarLocacoes);
+		indiceFrota.carregar(veiculoRepositorio::listarTodos);
+	}
+
+	@Test
+	@DisplayName("Deve devolver ao estado do banco só as reservas e veículos da transação desfeita")
+	void deveDesfazerSoOsAgregadosDaTransacao() {
+		var confirmada = reserva("C", "S" + sufixo + "1");
+		reservaRepositorio.salvar(confirmada);
+		var ocupacaoAntes = indiceOcupacao.ocupacaoMaxima(CategoriaCodigo.ECONOMICO, periodo);
+
+		assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+			var cancelada = reservaRepositorio.buscarPorCodigo(confirmada.getCodigo()).orElseThrow();
+			cancelada.cancelar();
+			reservaRepositorio.salvar(cancelada);
+			reservaRepositorio.salvar(reserva("D", "S" + sufixo + "2"));
+			veiculoRepositorio.salvar(new Veiculo("S" + sufixo + "3", "Onix", CategoriaCodigo.ECONOMICO, cidade,
+					new BigDecimal("100.00"), StatusVeiculo.DISPONIVEL));
+
+			assertTrue(indice.livre("S" + sufixo + "1", periodo));
+			assertFalse(indice.livre("S" + sufixo + "2", periodo));
+			assertEquals(1, veiculosDaCidade().size());
+			throw new IllegalStateException("Falha depois de gravar");
+		}));
+
+		assertTrue(indice.carregado());
+		assertTrue(indiceOcupacao.carregado());
+		assertTrue(indiceFrota.carregado());
+		assertFalse(indice.livre("S" + sufixo + "1", periodo));
+		assertTrue(indice.livre("S" + sufixo + "2", periodo));
+		assertEquals(ocupacaoAntes, indiceOcupacao.ocupacaoMaxima(CategoriaCodigo.ECONOMICO, periodo));
+		assertEquals(List.of(), veiculosDaCidade());
+	}
+
+	private Reserva reserva(String prefixo, String placa) {
+		return new Reserva("SIN-" + prefixo + sufixo, CategoriaCodigo.ECONOMICO, cidade, periodo,
+				new BigDecimal("200.00"), StatusReserva.ATIVA, cliente, placa);
+	}
+
+	@Test
+	@DisplayName("Deve reler só a reserva gravada por outro nó, sem limpar os índices")
+	void deveRelerReservaGravadaPorOutroNo() throws InterruptedException {
+		var reserva = reserva("O", "S" + sufixo + "4");
+		reservaRepositorio.salvar(reserva);
+		assertFalse(indice.livre("S" + sufixo + "4", periodo));
+
+		// Outro nó cancela a reserva direto no banco e publica a chave dela
+		jdbcTemplate.update("UPDATE RESERVA SET status = ? WHERE codigo = ?", StatusReserva.CANCELADA.name(),
+				reserva.getCodigo());
+		var outroNo = new BarramentoInvalidacao(canalInvalidacao, Duration.ofMillis(20), 100);
+		try {
+			outroNo.publicar("indices-disponibilidade",
+					IndiceDisponibilidadeVeiculo.ORIGEM_RESERVA + reserva.getCodigo());
+			var limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+			while (!indice.livre("S" + sufixo + "4", periodo)) {
+				assertTrue(System.nanoTime() < limite, "Reserva não relida");
+				Thread.sleep(10);
+			}
+		} finally {
+			outroNo.close();
+		}
+
+		assertTrue(indice.carregado());
+		assertTrue(indiceOcupacao.carregado());
+		assertTrue(indiceFrota.carregado());
+	}
+
+	private List<VeiculoDisponivel> veiculosDaCidade() {
+		return indiceFrota.buscar(cidade, Optional.empty(), StatusVeiculo.DISPONIVEL, List.of());
+	}
+}
@@ -0,0 +1,173 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ChecklistVistoria;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.MultaPadraoStrategy;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+
+/**
+ * Leituras em fluxo de reservas e locações.
+ *
+ * <p>
+ * Roda em uma execução própria do Surefire com heap reduzido (ver o pom do
+ * módulo) e sobre um H2 em arquivo, para que as linhas fiquem em disco e não no
+ * heap: um milhão de reservas convertidas de uma vez não caberia nesse heap,
+ * percorridas em fluxo a memória ocupada fica estável.
+ * </p>
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class, properties = {
+		"spring.datasource.url=jdbc:h2:file:./target/leitura-em-fluxo/alugacar;CACHE_SIZE=4096",
+		"sgb.persistencia.fluxo.fetch-size=1000", "sgb.persistencia.fluxo.limpar-a-cada=1000" })
+@ActiveProfiles("teste")
+@DisplayName("Leitura em fluxo")
+class LeituraEmFluxoTest {
+
+	private static final int QUANTIDADE = 1_000_000;
+	private static final int LOTE_INSERCAO = 100_000;
+	private static final int AMOSTRAGEM = 100_000;
+	private static final long CRESCIMENTO_MAXIMO = 16L * 1024 * 1024;
+
+	@Autowired
+	@Qualifier("reservaRepositorioReal")
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	@DisplayName("Deve percorrer um milhão de reservas com o heap estável")
+	void devePercorrerUmMilhaoDeReservas() throws SQLException {
+		var documento = "55544433322";
+		clienteRepositorio.salvar(new Cliente("Cliente Fluxo", documento, documento, "fluxo@email.com",
+				"cliente.fluxo", "senha123"));
+		for (int inicio = 1; inicio <= QUANTIDADE; inicio += LOTE_INSERCAO) {
+			jdbcTemplate.update("INSERT INTO RESERVA (codigo, categoria, cidade_retirada, data_retirada, "
+					+ "data_devolucao, valor_estimado, status, cliente_cpf_cnpj, placa_veiculo, versao) "
+					+ "SELECT 'FLX-' || LPAD(X, 7, '0'), 'ECONOMICO', 'Recife', "
+					+ "DATEADD('MINUTE', X, TIMESTAMP '2026-01-01 10:00:00'), "
+					+ "DATEADD('MINUTE', X + 4320, TIMESTAMP '2026-01-01 10:00:00'), 300.00, 'CANCELADA', ?, "
+					+ "'FLX' || MOD(X, 10000), 0 FROM SYSTEM_RANGE(?, ?)", documento, inicio,
+					inicio + LOTE_INSERCAO - 1);
+		}
+
+		long lidas = 0;
+		long sinteticas = 0;
+		long valorTotal = 0;
+		long menorHeap = Long.MAX_VALUE;
+		long maiorHeap = 0;
+		try (var reservas = reservaRepositorio.percorrer()) {
+			var iterador = reservas.iterator();
+			while (iterador.hasNext()) {
+				var reserva = iterador.next();
+				if (documento.equals(reserva.getCliente().getCpfOuCnpj())) {
+					sinteticas++;
+					valorTotal += reserva.getValorEstimado().longValue();
+				}
+				if (++lidas % AMOSTRAGEM == 0) {
+					var heap = heapOcupado();
+					menorHeap = Math.min(menorHeap, heap);
+					maiorHeap = Math.max(maiorHeap, heap);
+				}
+			}
+		}
+
+		assertEquals(QUANTIDADE, sinteticas);
+		assertTrue(lidas >= QUANTIDADE);
+		assertEquals(300L * QUANTIDADE, valorTotal);
+		assertTrue(maiorHeap - menorHeap < CRESCIMENTO_MAXIMO,
+				"O heap cresceu " + (maiorHeap - menorHeap) / 1024 + " KB durante a leitura");
+		assertEquals(0, conexoesEmUso());
+	}
+
+	@Test
+	@DisplayName("Deve devolver a conexão ao fechar o fluxo, inclusive quando o consumo falha")
+	void deveFecharRecursos() throws SQLException {
+		var sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		var documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		var cliente = new Cliente("Cliente " + sufixo, documento, documento, "recurso" + sufixo + "@email.com",
+				"recurso." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+		var retirada = LocalDateTime.of(2026, 11, 1, 10, 0);
+		for (int indice = 0; indice < 3; indice++) {
+			var veiculo = new Veiculo("F" + sufixo + indice, "Mobi", CategoriaCodigo.ECONOMICO, "Recife",
+					new BigDecimal("80.00"), StatusVeiculo.LOCADO);
+			veiculoRepositorio.salvar(veiculo);
+			var reserva = new Reserva(UUID.randomUUID().toString(), CategoriaCodigo.ECONOMICO, "Recife",
+					new PeriodoLocacao(retirada, retirada.plusDays(1)), new BigDecimal("80.00"),
+					StatusReserva.EM_ANDAMENTO, cliente, veiculo.getPlaca());
+			reservaRepositorio.salvar(reserva);
+			locacaoRepositorio.salvar(new Locacao("FLX-" + sufixo + indice, reserva, veiculo, 1,
+					new BigDecimal("80.00"), new ChecklistVistoria(500, "CHEIO", false), new MultaPadraoStrategy(),
+					StatusLocacao.ATIVA));
+		}
+
+		try (var locacoes = locacaoRepositorio.percorrerLocacoes()) {
+			assertEquals(1, conexoesEmUso());
+			var doCliente = locacoes.filter(locacao -> documento.equals(locacao.getReserva().getCliente().getCpfOuCnpj()))
+					.filter(locacao -> "Mobi".equals(locacao.getVeiculo().getModelo())).count();
+			assertEquals(3, doCliente);
+		}
+		assertEquals(0, conexoesEmUso());
+
+		assertThrows(IllegalStateException.class, () -> {
+			try (var locacoes = locacaoRepositorio.percorrerLocacoes()) {
+				locacoes.forEach(locacao -> {
+					throw new IllegalStateException("Falha no consumidor");
+				});
+			}
+		});
+		assertEquals(0, conexoesEmUso());
+	}
+
+	private int conexoesEmUso() throws SQLException {
+		return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+	}
+
+	private static long heapOcupado() {
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
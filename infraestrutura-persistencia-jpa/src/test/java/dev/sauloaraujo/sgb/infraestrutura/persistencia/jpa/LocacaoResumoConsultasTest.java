@@ -0,0 +1,179 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoRepositorioAplicacao;
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoResumo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ChecklistVistoria;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.MultaPadraoStrategy;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Garante que as listagens de resumos de locação são servidas por uma única consulta.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Consultas dos resumos de locação")
+class LocacaoResumoConsultasTest {
+
+	private static final int QUANTIDADE_LOCACOES = 6;
+
+	@Autowired
+	private LocacaoRepositorioAplicacao locacaoRepositorioAplicacao;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private String documento;
+	private String primeiraLocacao;
+	private String primeiraPlaca;
+
+	@BeforeEach
+	void preparar() {
+		var sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		var cliente = new Cliente("Cliente " + sufixo, documento, documento, "resumo" + sufixo + "@email.com",
+				"resumo." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+
+		var retirada = LocalDateTime.of(2026, 5, 10, 10, 0);
+		for (int indice = 0; indice < QUANTIDADE_LOCACOES; indice++) {
+			var veiculo = new Veiculo("R" + sufixo + indice, "Onix", CategoriaCodigo.ECONOMICO, "Caruaru",
+					new BigDecimal("100.00"), StatusVeiculo.LOCADO);
+			veiculoRepositorio.salvar(veiculo);
+
+			var reserva = new Reserva(UUID.randomUUID().toString(), CategoriaCodigo.ECONOMICO, "Caruaru",
+					new PeriodoLocacao(retirada, retirada.plusDays(3)), new BigDecimal("300.00"),
+					StatusReserva.EM_ANDAMENTO, cliente, veiculo.getPlaca());
+			reservaRepositorio.salvar(reserva);
+
+			var status = indice % 2 == 0 ? StatusLocacao.ATIVA : StatusLocacao.EM_ANDAMENTO;
+			var locacao = new Locacao("LOC-" + sufixo + indice, reserva, veiculo, 3, new BigDecimal("100.00"),
+					new ChecklistVistoria(1000, "CHEIO", false), new MultaPadraoStrategy(), status);
+			locacaoRepositorio.salvar(locacao);
+			if (indice == 0) {
+				primeiraLocacao = locacao.getCodigo();
+				primeiraPlaca = veiculo.getPlaca();
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Deve listar os resumos do cliente com uma única consulta")
+	void deveListarPorClienteComUmaConsulta() {
+		var resumos = comUmaConsulta(() -> locacaoRepositorioAplicacao.listarPorCliente(documento));
+
+		assertEquals(QUANTIDADE_LOCACOES, resumos.size());
+		var resumo = resumos.stream().filter(item -> item.getCodigo().equals(primeiraLocacao)).findFirst()
+				.orElseThrow();
+		assertEquals("Onix", resumo.getVeiculoModelo());
+		assertTrue(resumo.getClienteNome().startsWith("Cliente "));
+		assertEquals(3, resumo.getDiasPrevistos());
+		assertEquals(0, new BigDecimal("100.00").compareTo(resumo.getValorDiaria()));
+		assertEquals("ATIVA", resumo.getStatus());
+		assertNotNull(resumo.getReservaCodigo());
+		assertTrue(resumo.getVeiculoPlaca().startsWith("R"));
+	}
+
+	@Test
+	@DisplayName("Deve listar todas, as ativas e as em andamento com uma única consulta cada")
+	void deveListarPorStatusComUmaConsulta() {
+		assertTrue(comUmaConsulta(locacaoRepositorioAplicacao::pesquisarResumos).size() >= QUANTIDADE_LOCACOES);
+
+		var ativas = comUmaConsulta(locacaoRepositorioAplicacao::listarAtivas);
+		assertTrue(ativas.stream().allMatch(resumo -> "ATIVA".equals(resumo.getStatus())));
+		assertTrue(ativas.stream().anyMatch(resumo -> resumo.getCodigo().equals(primeiraLocacao)));
+
+		var emAndamento = comUmaConsulta(locacaoRepositorioAplicacao::listarEmAndamento);
+		assertTrue(emAndamento.stream().allMatch(resumo -> "EM_ANDAMENTO".equals(resumo.getStatus())));
+		assertTrue(emAndamento.size() >= QUANTIDADE_LOCACOES / 2);
+
+		var estatisticas = estatisticas();
+		estatisticas.clear();
+		var porCodigo = locacaoRepositorioAplicacao.buscarPorCodigo(primeiraLocacao).orElseThrow();
+		assertEquals(primeiraLocacao, porCodigo.getCodigo());
+		assertEquals(1, estatisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	@DisplayName("Deve manter nos resumos a locação cujo veículo não está mais cadastrado")
+	void deveManterLocacaoSemVeiculo() {
+		jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+		try {
+			jdbcTemplate.update("DELETE FROM VEICULO WHERE placa = ?", primeiraPlaca);
+
+			var resumo = locacaoRepositorioAplicacao.buscarPorCodigo(primeiraLocacao).orElseThrow();
+			assertNull(resumo.getVeiculoPlaca());
+			assertNull(resumo.getVeiculoModelo());
+			assertNotNull(resumo.getClienteNome());
+			assertEquals(QUANTIDADE_LOCACOES, locacaoRepositorioAplicacao.listarPorCliente(documento).size());
+		} finally {
+			jdbcTemplate.update("DELETE FROM LOCACAO WHERE codigo = ?", primeiraLocacao);
+			jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+		}
+	}
+
+	private List<LocacaoResumo> comUmaConsulta(Supplier<List<LocacaoResumo>> listagem) {
+		var estatisticas = estatisticas();
+		estatisticas.clear();
+
+		var resumos = listagem.get();
+		// Lê todas as propriedades, como a serialização da resposta faria
+		resumos.forEach(resumo -> assertNotNull(resumo.getCodigo() + resumo.getReservaCodigo()
+				+ resumo.getVeiculoPlaca() + resumo.getVeiculoModelo() + resumo.getClienteNome()
+				+ resumo.getDiasPrevistos() + resumo.getValorDiaria() + resumo.getStatus()));
+
+		assertEquals(1, estatisticas.getPrepareStatementCount(),
+				"Consultas executadas: " + estatisticas.getPrepareStatementCount());
+		assertEquals(0, estatisticas.getEntityLoadCount(), "Entidades carregadas: " + estatisticas.getEntityLoadCount());
+		return resumos;
+	}
+
+	private Statistics estatisticas() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+}
@@ -0,0 +1,187 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoRepositorioAplicacao;
+import dev.sauloaraujo.sgb.aplicacao.locacao.operacao.LocacaoResumo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ChecklistVistoria;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.MultaPadraoStrategy;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.CursorInvalidoException;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.Pagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Percorre as listagens paginadas por chave: cada página é uma consulta, as
+ * páginas não se repetem nem pulam itens e empates na data são desfeitos pelo
+ * código.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Paginação por chave")
+class PaginacaoChaveTest {
+
+	private static final int QUANTIDADE = 7;
+	private static final int LIMITE = 3;
+
+	@Autowired
+	@Qualifier("reservaRepositorioReal")
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private LocacaoRepositorioAplicacao locacaoRepositorioAplicacao;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private String documento;
+	private final List<Reserva> reservas = new ArrayList<>();
+
+	@BeforeEach
+	void preparar() {
+		var sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		var cliente = new Cliente("Cliente " + sufixo, documento, documento, "pagina" + sufixo + "@email.com",
+				"pagina." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+
+		var inicio = LocalDateTime.of(2026, 9, 1, 10, 0);
+		reservas.clear();
+		for (int indice = 0; indice < QUANTIDADE; indice++) {
+			var veiculo = new Veiculo("K" + sufixo + indice, "Kwid", CategoriaCodigo.ECONOMICO, "Paulista",
+					new BigDecimal("90.00"), StatusVeiculo.LOCADO);
+			veiculoRepositorio.salvar(veiculo);
+
+			// Pares de reservas com a mesma retirada, para exercitar o desempate
+			var retirada = inicio.plusDays(indice / 2);
+			var reserva = new Reserva(UUID.randomUUID().toString(), CategoriaCodigo.ECONOMICO, "Paulista",
+					new PeriodoLocacao(retirada, retirada.plusDays(2)), new BigDecimal("180.00"),
+					StatusReserva.EM_ANDAMENTO, cliente, veiculo.getPlaca());
+			reservaRepositorio.salvar(reserva);
+			reservas.add(reserva);
+
+			locacaoRepositorio.salvar(new Locacao("LOC-" + sufixo + indice, reserva, veiculo, 2,
+					new BigDecimal("90.00"), new ChecklistVistoria(3000, "CHEIO", false), new MultaPadraoStrategy(),
+					StatusLocacao.EM_ANDAMENTO));
+		}
+	}
+
+	@Test
+	@DisplayName("Deve percorrer as reservas do cliente da retirada mais recente para a mais antiga")
+	void devePercorrerReservasDoCliente() {
+		ComandosSql.limpar();
+		var lidas = percorrer(pedido -> reservaRepositorio.listarPorCliente(documento, pedido));
+		// As páginas seguintes comparam a chave como tupla, sem desdobrá-la em OR
+		var chaveComoTupla = ".*\\(\\w+\\.data_retirada,\\w+\\.codigo\\)<\\(\\?,\\?\\).*";
+		assertTrue(ComandosSql.iniciadosPor("select").stream()
+				.anyMatch(comando -> comando.replace(" ", "").matches(chaveComoTupla)),
+				"Comandos: " + ComandosSql.iniciadosPor("select"));
+
+		var esperadas = reservas.stream()
+				.sorted(Comparator.comparing((Reserva reserva) -> reserva.getPeriodo().getRetirada())
+						.thenComparing(Reserva::getCodigo).reversed())
+				.map(Reserva::getCodigo).toList();
+		assertEquals(esperadas, lidas.stream().map(Reserva::getCodigo).toList());
+		assertTrue(lidas.stream().allMatch(reserva -> documento.equals(reserva.getCliente().getCpfOuCnpj())));
+	}
+
+	@Test
+	@DisplayName("Deve percorrer as locações em andamento e todas as locações sem repetir itens")
+	void devePercorrerLocacoes() {
+		var resumos = percorrer(locacaoRepositorioAplicacao::listarEmAndamento);
+		var codigos = resumos.stream().map(LocacaoResumo::getCodigo).toList();
+		assertEquals(codigos.stream().sorted().toList(), codigos);
+		assertEquals(codigos.size(), codigos.stream().distinct().count());
+		assertTrue(resumos.stream().allMatch(resumo -> "EM_ANDAMENTO".equals(resumo.getStatus())));
+		assertTrue(codigos.size() >= QUANTIDADE);
+
+		var locacoes = percorrer(locacaoRepositorio::listarLocacoes).stream().map(Locacao::getCodigo).toList();
+		assertEquals(locacoes.stream().sorted().toList(), locacoes);
+		assertTrue(locacoes.containsAll(codigos));
+	}
+
+	@Test
+	@DisplayName("Deve percorrer os clientes em ordem de documento")
+	void devePercorrerClientes() {
+		var documentos = percorrer(clienteRepositorio::listarClientes).stream().map(Cliente::getCpfOuCnpj).toList();
+
+		assertEquals(documentos.stream().sorted().toList(), documentos);
+		assertTrue(documentos.contains(documento));
+	}
+
+	@Test
+	@DisplayName("Deve rejeitar cursor de outra listagem")
+	void deveRejeitarCursorInvalido() {
+		var cursorDeLocacao = Pagina.cursor("LOC-1");
+
+		assertThrows(CursorInvalidoException.class,
+				() -> reservaRepositorio.listarPorCliente(documento, new PedidoPagina(cursorDeLocacao, LIMITE)));
+		assertThrows(CursorInvalidoException.class, () -> reservaRepositorio.listarPorCliente(documento,
+				new PedidoPagina(Pagina.cursor("ontem", "X"), LIMITE)));
+	}
+
+	/**
+	 * Lê todas as páginas da listagem, verificando que cada uma custa uma consulta.
+	 */
+	private <T> List<T> percorrer(Function<PedidoPagina, Pagina<T>> listagem) {
+		var estatisticas = estatisticas();
+		var itens = new ArrayList<T>();
+		var pedido = PedidoPagina.primeira(LIMITE);
+		while (true) {
+			estatisticas.clear();
+			var pagina = listagem.apply(pedido);
+			assertEquals(1, estatisticas.getPrepareStatementCount(),
+					"Consultas executadas: " + estatisticas.getPrepareStatementCount());
+			assertTrue(pagina.itens().size() <= LIMITE);
+			itens.addAll(pagina.itens());
+			if (!pagina.temProxima()) {
+				return itens;
+			}
+			pedido = new PedidoPagina(pagina.proximoCursor(), LIMITE);
+		}
+	}
+
+	private Statistics estatisticas() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+}
@@ -0,0 +1,19 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Contexto Spring usado nos testes de persistência: infraestrutura JPA e
+ * serviços de aplicação sobre um H2 em memória, sem a camada REST.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(basePackages = { "dev.sauloaraujo.sgb.infraestrutura", "dev.sauloaraujo.sgb.aplicacao" })
+@EnableJpaRepositories(basePackages = "dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.repository")
+@EntityScan(basePackages = "dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities")
+public class PersistenciaTesteAplicacao {
+}
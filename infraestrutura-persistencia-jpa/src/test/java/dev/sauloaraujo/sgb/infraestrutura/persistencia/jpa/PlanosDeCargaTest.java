@@ -0,0 +1,148 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ChecklistVistoria;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.MultaPadraoStrategy;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Garante que cada caso de uso lê suas entidades com o plano de carga esperado,
+ * em uma única consulta, mesmo com as associações preguiçosas.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Planos de carga das reservas e locações")
+class PlanosDeCargaTest {
+
+	private static final int QUANTIDADE = 4;
+
+	@Autowired
+	@Qualifier("reservaRepositorioReal")
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private String documento;
+	private String reservaAtiva;
+	private String locacao;
+
+	@BeforeEach
+	void preparar() {
+		var sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		var cliente = new Cliente("Cliente " + sufixo, documento, documento, "plano" + sufixo + "@email.com",
+				"plano." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+
+		var retirada = LocalDateTime.of(2026, 7, 10, 10, 0);
+		for (int indice = 0; indice < QUANTIDADE; indice++) {
+			var veiculo = new Veiculo("P" + sufixo + indice, "HB20", CategoriaCodigo.ECONOMICO, "Olinda",
+					new BigDecimal("110.00"), StatusVeiculo.LOCADO);
+			veiculoRepositorio.salvar(veiculo);
+
+			var status = indice == 0 ? StatusReserva.ATIVA : StatusReserva.EM_ANDAMENTO;
+			var reserva = new Reserva(UUID.randomUUID().toString(), CategoriaCodigo.ECONOMICO, "Olinda",
+					new PeriodoLocacao(retirada, retirada.plusDays(2)), new BigDecimal("220.00"), status, cliente,
+					veiculo.getPlaca());
+			reservaRepositorio.salvar(reserva);
+			if (indice == 0) {
+				reservaAtiva = reserva.getCodigo();
+				continue;
+			}
+
+			var novaLocacao = new Locacao("LOC-" + sufixo + indice, reserva, veiculo, 2, new BigDecimal("110.00"),
+					new ChecklistVistoria(2000, "CHEIO", false), new MultaPadraoStrategy(), StatusLocacao.ATIVA);
+			locacaoRepositorio.salvar(novaLocacao);
+			locacao = novaLocacao.getCodigo();
+		}
+	}
+
+	@Test
+	@DisplayName("Retirada: a reserva vem com o cliente em uma consulta")
+	void deveBuscarReservaParaRetiradaComUmaConsulta() {
+		var reserva = comUmaConsulta(() -> reservaRepositorio.buscarPorCodigo(reservaAtiva).orElseThrow());
+
+		assertEquals(documento, reserva.getCliente().getCpfOuCnpj());
+		assertEquals(StatusReserva.ATIVA, reserva.getStatus());
+	}
+
+	@Test
+	@DisplayName("Listagem do cliente: as reservas vêm com o cliente em uma consulta")
+	void deveListarReservasDoClienteComUmaConsulta() {
+		var reservas = comUmaConsulta(() -> reservaRepositorio.listarPorCliente(documento));
+
+		assertEquals(QUANTIDADE, reservas.size());
+		assertTrue(reservas.stream().allMatch(reserva -> reserva.getCliente().getNome().startsWith("Cliente ")));
+	}
+
+	@Test
+	@DisplayName("Devolução: a locação vem com reserva, cliente e veículo em uma consulta")
+	void deveBuscarLocacaoParaDevolucaoComUmaConsulta() {
+		var encontrada = comUmaConsulta(() -> locacaoRepositorio.buscarPorCodigoLocacao(locacao).orElseThrow());
+
+		assertEquals(documento, encontrada.getReserva().getCliente().getCpfOuCnpj());
+		assertEquals("HB20", encontrada.getVeiculo().getModelo());
+	}
+
+	@Test
+	@DisplayName("Listagem de locações: uma consulta independente da quantidade")
+	void deveListarLocacoesComUmaConsulta() {
+		var locacoes = comUmaConsulta(locacaoRepositorio::listarLocacoes);
+
+		assertTrue(locacoes.size() >= QUANTIDADE - 1);
+	}
+
+	private <T> T comUmaConsulta(Supplier<T> leitura) {
+		var estatisticas = estatisticas();
+		estatisticas.clear();
+
+		var resultado = leitura.get();
+
+		assertEquals(1, estatisticas.getPrepareStatementCount(),
+				"Consultas executadas: " + estatisticas.getPrepareStatementCount());
+		return resultado;
+	}
+
+	private Statistics estatisticas() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+}
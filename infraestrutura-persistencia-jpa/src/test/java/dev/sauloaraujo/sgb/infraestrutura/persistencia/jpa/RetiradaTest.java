@@ -0,0 +1,159 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.BloqueioVeiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ProcessarRetiradaCommand;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.RetiradaServico;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.RetiradaInfo;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Retirada pelo {@link RetiradaRepositorio}: uma consulta com bloqueio para
+ * reserva e veículo e as três gravações em um único flush.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Retirada")
+class RetiradaTest {
+
+	@Autowired
+	private RetiradaRepositorio retiradaRepositorio;
+
+	@Autowired
+	private BloqueioVeiculo bloqueioVeiculo;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private RetiradaServico retiradaServico;
+	private String sufixo;
+	private String placa;
+	private Reserva reserva;
+
+	@BeforeEach
+	void preparar() {
+		retiradaServico = new RetiradaServico(retiradaRepositorio, bloqueioVeiculo);
+		sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		var documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		var cliente = new Cliente("Cliente " + sufixo, documento, documento, "retirada" + sufixo + "@email.com",
+				"retirada." + sufixo, "senha123");
+		clienteRepositorio.salvar(cliente);
+		placa = "T" + sufixo;
+		veiculoRepositorio.salvar(new Veiculo(placa, "Argo", CategoriaCodigo.ECONOMICO, "Caruaru",
+				new BigDecimal("110.00"), StatusVeiculo.DISPONIVEL));
+		var retirada = LocalDateTime.of(2026, 11, 10, 9, 0);
+		reserva = new Reserva("RET-" + sufixo, CategoriaCodigo.ECONOMICO, "Caruaru",
+				new PeriodoLocacao(retirada, retirada.plusDays(3)), new BigDecimal("330.00"), StatusReserva.ATIVA,
+				cliente, placa);
+		reservaRepositorio.salvar(reserva);
+	}
+
+	@Test
+	@DisplayName("Deve ler reserva e veículo em uma consulta bloqueada e gravar tudo em um flush")
+	void deveRetirarComUmaLeituraEUmaEscrita() {
+		var estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		ComandosSql.limpar();
+
+		var contrato = transactionTemplate.execute(status -> retiradaServico.processar(comando().build()));
+
+		var consultas = ComandosSql.iniciadosPor("select");
+		assertEquals(1, consultas.size(), "Consultas: " + consultas);
+		assertTrue(consultas.get(0).contains("for update") || consultas.get(0).contains("for no key update"),
+				consultas.get(0));
+		assertEquals(1, ComandosSql.iniciadosPor("insert into locacao").size());
+		assertEquals(1, ComandosSql.iniciadosPor("update veiculo").size());
+		assertEquals(1, ComandosSql.iniciadosPor("update reserva").size());
+		assertEquals(4, estatisticas.getPrepareStatementCount());
+
+		assertEquals(StatusLocacao.EM_ANDAMENTO, contrato.status());
+		assertEquals(StatusLocacao.EM_ANDAMENTO,
+				locacaoRepositorio.buscarPorCodigoLocacao(contrato.codigoLocacao()).orElseThrow().getStatus());
+		assertEquals(StatusReserva.CONCLUIDA,
+				reservaRepositorio.buscarPorCodigo(reserva.getCodigo()).orElseThrow().getStatus());
+		assertEquals(StatusVeiculo.LOCADO, veiculoRepositorio.buscarPorPlaca(placa).orElseThrow().getStatus());
+	}
+
+	@Test
+	@DisplayName("Deve registrar na reserva as informações da retirada no balcão")
+	void deveRegistrarInformacoesDaRetirada() {
+		var info = new RetiradaInfo(placa, "12345678900", LocalDateTime.of(2026, 11, 10, 9, 15), 15000, "CHEIO",
+				"sem avarias");
+
+		transactionTemplate.executeWithoutResult(status -> retiradaServico.processar(comando().retiradaInfo(info)
+				.build()));
+
+		var gravada = reservaRepositorio.buscarPorCodigo(reserva.getCodigo()).orElseThrow();
+		assertEquals(StatusReserva.EM_ANDAMENTO, gravada.getStatus());
+		assertEquals("12345678900", gravada.getRetiradaInfo().cnhCondutor());
+	}
+
+	@Test
+	@DisplayName("Deve contar a locação em andamento como ocupação do veículo")
+	void deveOcuparVeiculoComLocacaoEmAndamento() {
+		transactionTemplate.executeWithoutResult(status -> retiradaServico.processar(comando().build()));
+
+		assertTrue(locacaoRepositorio.listarPlacasLocadas("Caruaru", reserva.getPeriodo()).contains(placa));
+	}
+
+	@Test
+	@DisplayName("Deve apontar o veículo inexistente sem gravar nada")
+	void deveRejeitarVeiculoInexistente() {
+		var comando = ProcessarRetiradaCommand.builder().codigoReserva(reserva.getCodigo())
+				.codigoLocacao("LOC-" + sufixo).placaVeiculo("X" + sufixo).quilometragem(15000).build();
+
+		var erro = assertThrows(IllegalArgumentException.class,
+				() -> transactionTemplate.executeWithoutResult(status -> retiradaServico.processar(comando)));
+
+		assertEquals("Veículo não encontrado", erro.getMessage());
+		assertEquals(StatusReserva.ATIVA,
+				reservaRepositorio.buscarPorCodigo(reserva.getCodigo()).orElseThrow().getStatus());
+	}
+
+	private ProcessarRetiradaCommand.Builder comando() {
+		return ProcessarRetiradaCommand.builder().codigoReserva(reserva.getCodigo()).codigoLocacao("LOC-" + sufixo)
+				.placaVeiculo(placa).quilometragem(15000);
+	}
+}
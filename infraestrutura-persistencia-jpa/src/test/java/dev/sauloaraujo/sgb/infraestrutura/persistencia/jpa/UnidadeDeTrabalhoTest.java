@@ -0,0 +1,146 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Gravações pela {@link UnidadeDeTrabalho}: inserção sem consulta prévia,
+ * atualização só das colunas alteradas e lotes JDBC.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Unidade de trabalho")
+class UnidadeDeTrabalhoTest {
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private String sufixo;
+
+	@BeforeEach
+	void preparar() {
+		sufixo = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+	}
+
+	@Test
+	@DisplayName("Deve inserir o veículo novo sem consultá-lo antes")
+	void deveInserirSemConsultaPrevia() {
+		var veiculo = veiculo("U" + sufixo);
+		ComandosSql.limpar();
+
+		veiculoRepositorio.salvar(veiculo);
+
+		assertEquals(1, ComandosSql.iniciadosPor("insert into veiculo").size());
+		assertTrue(ComandosSql.iniciadosPor("select").isEmpty(), "Consultas: " + ComandosSql.iniciadosPor("select"));
+		assertEquals(0L, veiculo.getVersao());
+	}
+
+	@Test
+	@DisplayName("Deve atualizar só as colunas alteradas do veículo lido na transação")
+	void deveAtualizarSoColunasAlteradas() {
+		var placa = "U" + sufixo;
+		veiculoRepositorio.salvar(veiculo(placa));
+		ComandosSql.limpar();
+
+		var gravado = transactionTemplate.execute(status -> {
+			var veiculo = veiculoRepositorio.buscarPorPlaca(placa).orElseThrow();
+			veiculo.locar();
+			veiculoRepositorio.salvar(veiculo);
+			return veiculo;
+		});
+
+		var atualizacoes = ComandosSql.iniciadosPor("update veiculo");
+		assertEquals(1, atualizacoes.size());
+		assertTrue(atualizacoes.get(0).contains("status"), atualizacoes.get(0));
+		assertFalse(atualizacoes.get(0).contains("modelo"), atualizacoes.get(0));
+		assertEquals(1L, gravado.getVersao());
+		assertEquals(StatusVeiculo.LOCADO, veiculoRepositorio.buscarPorPlaca(placa).orElseThrow().getStatus());
+	}
+
+	@Test
+	@DisplayName("Não deve enviar UPDATE quando nada mudou")
+	void naoDeveAtualizarSemMudancas() {
+		var placa = "U" + sufixo;
+		veiculoRepositorio.salvar(veiculo(placa));
+		var lido = veiculoRepositorio.buscarPorPlaca(placa).orElseThrow();
+		ComandosSql.limpar();
+
+		veiculoRepositorio.salvar(lido);
+
+		assertTrue(ComandosSql.iniciadosPor("update").isEmpty());
+		assertEquals(0L, lido.getVersao());
+	}
+
+	@Test
+	@DisplayName("Deve gravar o cliente existente aplicando as mudanças sobre a entidade")
+	void deveAtualizarClienteExistente() {
+		var documento = String.format("%011d", Math.abs(sufixo.hashCode()) % 100_000_000_000L);
+		clienteRepositorio.salvar(new Cliente("Cliente " + sufixo, documento, documento,
+				"uow" + sufixo + "@email.com", "uow." + sufixo, "senha123"));
+		var cliente = clienteRepositorio.buscarPorDocumento(documento).orElseThrow();
+		cliente.bloquear();
+		ComandosSql.limpar();
+
+		clienteRepositorio.salvar(cliente);
+
+		var atualizacoes = ComandosSql.iniciadosPor("update cliente");
+		assertEquals(1, atualizacoes.size());
+		assertFalse(atualizacoes.get(0).contains("email"), atualizacoes.get(0));
+		assertTrue(ComandosSql.iniciadosPor("insert").isEmpty());
+		assertEquals(cliente.getStatus(), clienteRepositorio.buscarPorDocumento(documento).orElseThrow().getStatus());
+	}
+
+	@Test
+	@DisplayName("Deve enviar as inserções da transação em lote")
+	void deveInserirEmLote() {
+		var estatisticas = estatisticas();
+		estatisticas.clear();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int indice = 0; indice < 5; indice++) {
+				veiculoRepositorio.salvar(veiculo("L" + indice + sufixo.substring(0, 5)));
+			}
+		});
+
+		assertEquals(5, estatisticas.getEntityInsertCount());
+		assertEquals(1, estatisticas.getPrepareStatementCount());
+	}
+
+	private Statistics estatisticas() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private Veiculo veiculo(String placa) {
+		return new Veiculo(placa, "Mobi", CategoriaCodigo.ECONOMICO, "Petrolina", new BigDecimal("90.00"),
+				StatusVeiculo.DISPONIVEL);
+	}
+}
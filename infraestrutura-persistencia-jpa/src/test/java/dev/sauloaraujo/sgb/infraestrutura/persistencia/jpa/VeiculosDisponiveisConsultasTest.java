@@ -0,0 +1,253 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.catalogo.OrdenacaoVeiculos;
+import dev.sauloaraujo.sgb.aplicacao.locacao.catalogo.VeiculoResumo;
+import dev.sauloaraujo.sgb.aplicacao.locacao.catalogo.VeiculoServicoAplicacao;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.Cliente;
+import dev.sauloaraujo.sgb.dominio.locacao.cliente.ClienteRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.ChecklistVistoria;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.Locacao;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.LocacaoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.operacao.MultaPadraoStrategy;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.Reserva;
+import dev.sauloaraujo.sgb.dominio.locacao.reserva.ReservaRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PedidoPagina;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.PeriodoLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusLocacao;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusReserva;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Garante que a busca de veículos disponíveis não faz uma consulta por veículo retornado,
+ * que a paginação por cursor percorre todos os veículos na ordenação pedida com consultas
+ * limitadas e que o modo em fluxo lê os veículos em ordem de placa.
+ * Cada teste usa uma cidade e placas próprias, para não depender dos dados gravados
+ * pelas outras classes no mesmo contexto.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Consultas da busca de veículos disponíveis")
+class VeiculosDisponiveisConsultasTest {
+
+	private static final int QUANTIDADE_VEICULOS = 30;
+	private static final LocalDateTime RETIRADA = LocalDateTime.of(2026, 1, 10, 10, 0);
+	private static final LocalDateTime DEVOLUCAO = LocalDateTime.of(2026, 1, 12, 10, 0);
+
+	@Autowired
+	private VeiculoServicoAplicacao veiculoServico;
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private ClienteRepositorio clienteRepositorio;
+
+	@Autowired
+	private ReservaRepositorio reservaRepositorio;
+
+	@Autowired
+	private LocacaoRepositorio locacaoRepositorio;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private String sufixo;
+	private String cidade;
+
+	@BeforeEach
+	void preparar() {
+		sufixo = UUID.randomUUID().toString().substring(0, 5).toUpperCase();
+		cidade = "Cidade " + sufixo;
+		for (int indice = 0; indice < QUANTIDADE_VEICULOS; indice++) {
+			veiculoRepositorio.salvar(new Veiculo("E" + sufixo + indice, "Onix", CategoriaCodigo.ECONOMICO, cidade,
+					new BigDecimal(100 + indice % 4 * 10).setScale(2), StatusVeiculo.DISPONIVEL));
+		}
+	}
+
+	@Test
+	@DisplayName("Deve buscar veículos disponíveis com no máximo duas consultas")
+	void deveBuscarDisponiveisComNoMaximoDuasConsultas() {
+		var estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+
+		var resultado = veiculoServico.buscarDisponiveis(cidade, CategoriaCodigo.ECONOMICO, RETIRADA, DEVOLUCAO);
+
+		assertEquals(QUANTIDADE_VEICULOS, resultado.size());
+		assertTrue(resultado.stream().allMatch(veiculo -> cidade.equals(veiculo.cidade())
+				&& StatusVeiculo.DISPONIVEL.name().equals(veiculo.status())));
+		assertTrue(estatisticas.getPrepareStatementCount() <= 2,
+				"Consultas executadas: " + estatisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	@DisplayName("Deve percorrer por cursor todos os veículos na ordem da placa e na da diária")
+	void devePaginarPorCursorNaOrdenacaoPedida() {
+		for (var ordenacao : OrdenacaoVeiculos.values()) {
+			var esperados = veiculoServico.buscarDisponiveis(cidade, CategoriaCodigo.ECONOMICO, RETIRADA, DEVOLUCAO)
+					.stream().sorted(ordenacao.comparador()).toList();
+
+			var lidos = new ArrayList<VeiculoResumo>();
+			String cursor = null;
+			var paginas = 0;
+			do {
+				var pagina = veiculoServico.buscarDisponiveis(cidade, CategoriaCodigo.ECONOMICO, RETIRADA, DEVOLUCAO,
+						ordenacao, cursor, 7);
+				assertTrue(pagina.itens().size() <= 7);
+				lidos.addAll(pagina.itens());
+				cursor = pagina.proximoCursor();
+				paginas++;
+			} while (cursor != null);
+
+			assertEquals(esperados, lidos, "Ordenação " + ordenacao);
+			assertEquals(5, paginas);
+		}
+	}
+
+	@Test
+	@DisplayName("Deve rejeitar limite acima do máximo e cursor de outra ordenação")
+	void deveRejeitarLimiteAcimaDoMaximoECursorDeOutraOrdenacao() {
+		for (var limite : List.of(PedidoPagina.LIMITE_MAXIMO + 1, 2_000_000_000, Integer.MAX_VALUE)) {
+			assertThrows(IllegalArgumentException.class, () -> veiculoServico.buscarDisponiveis(cidade, null, null,
+					null, OrdenacaoVeiculos.PLACA, null, limite));
+		}
+		var pagina = veiculoServico.buscarDisponiveis(cidade, null, null, null, OrdenacaoVeiculos.PLACA, null,
+				PedidoPagina.LIMITE_MAXIMO);
+		assertEquals(QUANTIDADE_VEICULOS, pagina.itens().size());
+		assertNull(pagina.proximoCursor());
+
+		var cursorPorPlaca = veiculoServico.buscarDisponiveis(cidade, null, null, null, OrdenacaoVeiculos.PLACA,
+				null, 1).proximoCursor();
+		assertThrows(IllegalArgumentException.class, () -> veiculoServico.buscarDisponiveis(cidade, null, null,
+				null, OrdenacaoVeiculos.DIARIA, cursorPorPlaca, 1));
+	}
+
+	@Test
+	@DisplayName("Deve usar o limite padrão quando a página não informa limite")
+	void deveUsarLimitePadraoSemLimite() {
+		for (int indice = QUANTIDADE_VEICULOS; indice < PedidoPagina.LIMITE_PADRAO + 5; indice++) {
+			veiculoRepositorio.salvar(new Veiculo("E" + sufixo + indice, "Onix", CategoriaCodigo.ECONOMICO, cidade,
+					new BigDecimal("100.00"), StatusVeiculo.DISPONIVEL));
+		}
+
+		ComandosSql.limpar();
+		var primeira = veiculoServico.buscarDisponiveis(cidade, null, null, null, OrdenacaoVeiculos.DIARIA, null,
+				null);
+		var segunda = veiculoServico.buscarDisponiveis(cidade, null, null, null, OrdenacaoVeiculos.DIARIA,
+				primeira.proximoCursor(), null);
+
+		assertEquals(PedidoPagina.LIMITE_PADRAO, primeira.itens().size());
+		assertNotNull(primeira.proximoCursor());
+		assertEquals(5, segunda.itens().size());
+		assertNull(segunda.proximoCursor());
+		var consultas = ComandosSql.iniciadosPor("select");
+		assertEquals(2, consultas.size(), "Consultas: " + consultas);
+		assertTrue(consultas.stream().allMatch(consulta -> consulta.contains("order by")
+				&& (consulta.contains("fetch first") || consulta.contains("limit"))), "Consultas: " + consultas);
+	}
+
+	@Test
+	@DisplayName("Deve completar as páginas do período saltando os veículos locados nele")
+	void deveCompletarPaginasSemOsLocados() {
+		var locados = List.of("E" + sufixo + 1, "E" + sufixo + 2, "E" + sufixo + 3, "E" + sufixo + 12);
+		for (var placa : locados) {
+			locar(veiculoRepositorio.buscarPorPlaca(placa).orElseThrow());
+		}
+
+		for (var ordenacao : OrdenacaoVeiculos.values()) {
+			var lidos = new ArrayList<VeiculoResumo>();
+			var tamanhos = new ArrayList<Integer>();
+			String cursor = null;
+			do {
+				var pagina = veiculoServico.buscarDisponiveis(cidade, CategoriaCodigo.ECONOMICO, RETIRADA, DEVOLUCAO,
+						ordenacao, cursor, 4);
+				lidos.addAll(pagina.itens());
+				tamanhos.add(pagina.itens().size());
+				cursor = pagina.proximoCursor();
+			} while (cursor != null);
+
+			assertEquals(List.of(4, 4, 4, 4, 4, 4, 2), tamanhos, "Ordenação " + ordenacao);
+			assertEquals(lidos.stream().sorted(ordenacao.comparador()).toList(), lidos);
+			assertTrue(lidos.stream().noneMatch(veiculo -> locados.contains(veiculo.placa())));
+		}
+	}
+
+	@Test
+	@DisplayName("Deve percorrer os disponíveis do período em ordem de placa e liberar a leitura ao fechar")
+	void devePercorrerDisponiveisEmOrdemDePlaca() {
+		var locado = veiculoRepositorio.buscarPorPlaca("E" + sufixo + 5).orElseThrow();
+		locar(locado);
+
+		List<VeiculoResumo> lidos;
+		try (var veiculos = veiculoServico.percorrerDisponiveis(cidade.toUpperCase(Locale.ROOT), null, RETIRADA,
+				DEVOLUCAO)) {
+			lidos = veiculos.toList();
+		}
+		assertEquals(QUANTIDADE_VEICULOS - 1, lidos.size());
+		assertEquals(lidos.stream().sorted(OrdenacaoVeiculos.PLACA.comparador()).toList(), lidos);
+		assertTrue(lidos.stream().noneMatch(veiculo -> locado.getPlaca().equals(veiculo.placa())));
+
+		// Fechar depois de ler só o primeiro libera a conexão, e as leituras seguem
+		for (int vez = 0; vez < 20; vez++) {
+			try (var veiculos = veiculoServico.percorrerDisponiveis(cidade, null, null, null)) {
+				assertTrue(veiculos.findFirst().isPresent());
+			}
+		}
+		assertEquals(QUANTIDADE_VEICULOS, veiculoServico.buscarDisponiveis(cidade).size());
+	}
+
+	@Test
+	@DisplayName("Deve comparar a cidade sem diferenciar maiúsculas nos veículos e nas placas locadas")
+	void deveCompararCidadeSemDiferenciarMaiusculas() {
+		var locado = new Veiculo("L" + sufixo, "Onix", CategoriaCodigo.ECONOMICO, cidade, new BigDecimal("100.00"),
+				StatusVeiculo.DISPONIVEL);
+		veiculoRepositorio.salvar(locado);
+		locar(locado);
+
+		var noPeriodo = veiculoServico.buscarDisponiveis(cidade.toLowerCase(Locale.ROOT), CategoriaCodigo.ECONOMICO,
+				RETIRADA, DEVOLUCAO);
+		assertEquals(QUANTIDADE_VEICULOS, noPeriodo.size());
+		assertTrue(noPeriodo.stream().noneMatch(veiculo -> locado.getPlaca().equals(veiculo.placa())));
+
+		var semPeriodo = veiculoServico.buscarDisponiveis(cidade.toUpperCase(Locale.ROOT), CategoriaCodigo.ECONOMICO);
+		assertEquals(QUANTIDADE_VEICULOS + 1, semPeriodo.size());
+	}
+
+	/**
+	 * Grava uma locação ativa do veículo no período dos testes, sem mudar o
+	 * status do veículo.
+	 */
+	private void locar(Veiculo veiculo) {
+		var documento = String.format("%011d", Math.abs(("VDC" + veiculo.getPlaca()).hashCode()) % 100_000_000_000L);
+		var cliente = new Cliente("Cliente " + veiculo.getPlaca(), documento, documento,
+				"vdc" + veiculo.getPlaca() + "@email.com", "vdc." + veiculo.getPlaca(), "senha123");
+		clienteRepositorio.salvar(cliente);
+		var reserva = new Reserva(UUID.randomUUID().toString(), CategoriaCodigo.ECONOMICO, cidade,
+				new PeriodoLocacao(RETIRADA, DEVOLUCAO), new BigDecimal("200.00"), StatusReserva.EM_ANDAMENTO,
+				cliente, veiculo.getPlaca());
+		reservaRepositorio.salvar(reserva);
+		locacaoRepositorio.salvar(new Locacao("LOC-" + veiculo.getPlaca(), reserva, veiculo, 2,
+				new BigDecimal("100.00"), new ChecklistVistoria(1000, "CHEIO", false), new MultaPadraoStrategy(),
+				StatusLocacao.ATIVA));
+	}
+}
@@ -0,0 +1,99 @@
+package dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import dev.sauloaraujo.sgb.aplicacao.locacao.shared.RetentativaOtimista;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.CategoriaCodigo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.Veiculo;
+import dev.sauloaraujo.sgb.dominio.locacao.catalogo.VeiculoRepositorio;
+import dev.sauloaraujo.sgb.dominio.locacao.shared.StatusVeiculo;
+import dev.sauloaraujo.sgb.infraestrutura.persistencia.jpa.entities.VeiculoJpa;
+
+/**
+ * Controle otimista de concorrência das gravações e nova tentativa na aplicação.
+ */
+@SpringBootTest(classes = PersistenciaTesteAplicacao.class)
+@ActiveProfiles("teste")
+@DisplayName("Versão otimista")
+class VersaoOtimistaTest {
+
+	@Autowired
+	private VeiculoRepositorio veiculoRepositorio;
+
+	@Autowired
+	private RetentativaOtimista retentativa;
+
+	@Test
+	@DisplayName("Deve rejeitar a gravação feita sobre uma versão desatualizada")
+	void deveRejeitarGravacaoSobreVersaoDesatualizada() {
+		veiculoRepositorio.salvar(veiculo("VER0001"));
+		var primeiro = veiculoRepositorio.buscarPorPlaca("VER0001").orElseThrow();
+		var segundo = veiculoRepositorio.buscarPorPlaca("VER0001").orElseThrow();
+
+		primeiro.locar();
+		veiculoRepositorio.salvar(primeiro);
+		segundo.enviarParaManutencao();
+
+		assertEquals(1L, primeiro.getVersao());
+		assertThrows(OptimisticLockingFailureException.class, () -> veiculoRepositorio.salvar(segundo));
+		assertEquals(StatusVeiculo.LOCADO, veiculoRepositorio.buscarPorPlaca("VER0001").orElseThrow().getStatus());
+	}
+
+	@Test
+	@DisplayName("Deve refazer a transação sobre o estado atual após conflito de versão")
+	void deveRefazerTransacaoAposConflito() {
+		veiculoRepositorio.salvar(veiculo("VER0002"));
+		var tentativas = new AtomicInteger();
+
+		retentativa.executar(() -> {
+			var veiculo = veiculoRepositorio.buscarPorPlaca("VER0002").orElseThrow();
+			if (tentativas.incrementAndGet() == 1) {
+				CompletableFuture.runAsync(() -> {
+					var concorrente = veiculoRepositorio.buscarPorPlaca("VER0002").orElseThrow();
+					concorrente.enviarParaManutencao();
+					veiculoRepositorio.salvar(concorrente);
+				}).join();
+			}
+			if (veiculo.disponivel()) {
+				veiculo.locar();
+				veiculoRepositorio.salvar(veiculo);
+			}
+		});
+
+		assertEquals(2, tentativas.get());
+		var gravado = veiculoRepositorio.buscarPorPlaca("VER0002").orElseThrow();
+		assertEquals(StatusVeiculo.EM_MANUTENCAO, gravado.getStatus());
+		assertEquals(1L, gravado.getVersao());
+	}
+
+	@Test
+	@DisplayName("Deve informar conflito quando as tentativas se esgotam")
+	void deveInformarConflitoAoEsgotarTentativas() {
+		var tentativas = new AtomicInteger();
+
+		var erro = assertThrows(IllegalStateException.class, () -> retentativa.executar(() -> {
+			tentativas.incrementAndGet();
+			throw new ObjectOptimisticLockingFailureException(VeiculoJpa.class, "VER0003");
+		}));
+
+		assertEquals(RetentativaOtimista.TENTATIVAS, tentativas.get());
+		assertInstanceOf(OptimisticLockingFailureException.class, erro.getCause());
+	}
+
+	private Veiculo veiculo(String placa) {
+		return new Veiculo(placa, "Onix", CategoriaCodigo.ECONOMICO, "Olinda", new BigDecimal("100.00"),
+				StatusVeiculo.DISPONIVEL);
+	}
+}